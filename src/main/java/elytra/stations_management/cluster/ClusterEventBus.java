@@ -0,0 +1,105 @@
+package elytra.stations_management.cluster;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import elytra.stations_management.config.ClusterProperties;
+import elytra.stations_management.models.ClusterEvent;
+import elytra.stations_management.repositories.ClusterEventRepository;
+
+/**
+ * Broadcasts change topics to the other nodes through the shared database.
+ * {@link #publish} writes an event row in the caller's transaction, so only
+ * committed changes are announced; every node polls for rows from other nodes
+ * and republishes them locally as {@link ClusterInvalidationEvent}s. Polling
+ * follows the monotonic event id rather than timestamps, so clock skew between
+ * nodes cannot hide an event. Handlers must be idempotent: an event can be
+ * delivered more than once.
+ */
+@Component
+public class ClusterEventBus {
+
+    static final String CLEANUP_LOCK = "cluster-event-cleanup";
+    private static final int MAX_PENDING_IDS = 1000;
+
+    private final ClusterEventRepository clusterEventRepository;
+    private final ClusterProperties properties;
+    private final LeaderElection leaderElection;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // Highest event id read so far, and lower ids not yet visible (an insert still in
+    // flight or rolled back) with when they were first skipped
+    private long lastSeenId;
+    private final Map<Long, Instant> pendingIds = new HashMap<>();
+
+    public ClusterEventBus(ClusterEventRepository clusterEventRepository, ClusterProperties properties,
+            LeaderElection leaderElection, ApplicationEventPublisher applicationEventPublisher) {
+        this.clusterEventRepository = clusterEventRepository;
+        this.properties = properties;
+        this.leaderElection = leaderElection;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    public void publish(String topic) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        clusterEventRepository.save(ClusterEvent.builder()
+                .topic(topic)
+                .origin(properties.getNodeId())
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<ClusterEvent> events = new ArrayList<>();
+        if (!pendingIds.isEmpty()) {
+            for (ClusterEvent late : clusterEventRepository.findByIdIn(List.copyOf(pendingIds.keySet()))) {
+                pendingIds.remove(late.getId());
+                events.add(late);
+            }
+        }
+        for (ClusterEvent event : clusterEventRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId)) {
+            // Ids below the first one read at startup belong to purged or pre-start events
+            if (lastSeenId > 0) {
+                for (long id = lastSeenId + 1; id < event.getId() && pendingIds.size() < MAX_PENDING_IDS; id++) {
+                    pendingIds.put(id, now);
+                }
+            }
+            lastSeenId = event.getId();
+            events.add(event);
+        }
+        Instant expired = now.minus(properties.getEventLookback());
+        pendingIds.values().removeIf(skippedAt -> skippedAt.isBefore(expired));
+
+        Set<String> topics = new LinkedHashSet<>();
+        for (ClusterEvent event : events) {
+            if (!properties.getNodeId().equals(event.getOrigin())) {
+                topics.add(event.getTopic());
+            }
+        }
+        // One delivery per topic per poll; handlers drop whole caches anyway
+        topics.forEach(topic -> applicationEventPublisher.publishEvent(new ClusterInvalidationEvent(topic)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.cleanup-interval-ms:60000}")
+    public void purge() {
+        if (properties.isEnabled() && leaderElection.tryAcquire(CLEANUP_LOCK)) {
+            clusterEventRepository.deleteOlderThan(Instant.now().minus(properties.getEventRetention()));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package elytra.stations_management.cluster;
+
+/**
+ * Published locally when another node reported a change on {@code topic}.
+ */
+public record ClusterInvalidationEvent(String topic) {
+}
@@ -0,0 +1,56 @@
+package elytra.stations_management.cluster;
+
+import java.time.Instant;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import elytra.stations_management.config.ClusterProperties;
+import elytra.stations_management.repositories.ClusterLockRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lease-based leader election over the {@code cluster_locks} table. Callers
+ * ask before each run of a singleton job; the holder renews its lease on every
+ * call and another node takes over once the lease lapses.
+ */
+@Component
+@Slf4j
+public class LeaderElection {
+
+    private final ClusterLockRepository clusterLockRepository;
+    private final ClusterProperties properties;
+
+    public LeaderElection(ClusterLockRepository clusterLockRepository, ClusterProperties properties) {
+        this.clusterLockRepository = clusterLockRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns true if this node holds (or has just taken) the named lock.
+     * Always true when cluster mode is off.
+     */
+    public boolean tryAcquire(String lockName) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(properties.getLeaseDuration());
+        if (clusterLockRepository.renew(lockName, properties.getNodeId(), expiresAt, now) == 1) {
+            return true;
+        }
+        try {
+            return clusterLockRepository.insert(lockName, properties.getNodeId(), expiresAt) == 1;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lock {} is held by another node", lockName);
+            return false;
+        }
+    }
+
+    /** Gives up the lock early so another node can take it without waiting for the lease. */
+    public void release(String lockName) {
+        if (properties.isEnabled()) {
+            clusterLockRepository.release(lockName, properties.getNodeId(), Instant.now());
+        }
+    }
+}
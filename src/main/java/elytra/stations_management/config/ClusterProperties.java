@@ -0,0 +1,35 @@
+package elytra.stations_management.config;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Multi-node settings, bound from {@code app.cluster.*}. When disabled the node
+ * behaves as the only instance: it always leads and publishes nothing.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;
+
+    /** Identifies this node in locks and events; must differ between nodes. */
+    private String nodeId = UUID.randomUUID().toString();
+
+    /** How long a lock is held without renewal before another node may take it. */
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+    /**
+     * Event ids skipped by a poll are re-checked for this long, so events whose
+     * transaction committed after a higher id are still seen. Must exceed the
+     * longest write.
+     */
+    private Duration eventLookback = Duration.ofSeconds(10);
+
+    /** Events older than this are purged by the leader. */
+    private Duration eventRetention = Duration.ofMinutes(10);
+}
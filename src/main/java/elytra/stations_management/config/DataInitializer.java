@@ -1,5 +1,6 @@
 package elytra.stations_management.config;
 
+import elytra.stations_management.cluster.LeaderElection;
 import elytra.stations_management.models.Admin;
 import elytra.stations_management.models.User;
 import elytra.stations_management.repositories.UserRepository;
@@ -20,6 +21,7 @@ public class DataInitializer {
 
     private final UserRepository userRepository;
     private final AdminService adminService;
+    private final LeaderElection leaderElection;
 
     @Value("${app.admin.username:admin}")
     private String adminUsername;
@@ -39,6 +41,11 @@ public class DataInitializer {
     @Bean
     public CommandLineRunner initDatabase() {
         return args -> {
+            // Only one node of a cluster seeds the admin; the others find it already created
+            if (!leaderElection.tryAcquire("initial-admin")) {
+                log.info("Another node is initializing the admin user, skipping");
+                return;
+            }
             try {
                 // Check if admin already exists
                 if (!userRepository.existsByUsername(adminUsername)) {
@@ -0,0 +1,23 @@
+package elytra.stations_management.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Idempotency-Key handling settings, bound from {@code app.idempotency.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /** How long a stored response is replayed for its key. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Responses kept in the node-local cache in front of the table. */
+    private int maxEntries = 10000;
+
+    private int maxKeyLength = 255;
+}
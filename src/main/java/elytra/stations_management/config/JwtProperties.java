@@ -0,0 +1,51 @@
+package elytra.stations_management.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Data;
+
+/**
+ * Token settings, bound from {@code jwt.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    /**
+     * Base64 HS256 secret of tokens issued before signing moved to key pairs.
+     * While set, tokens without a {@code kid} are still accepted; clear it once
+     * they have expired.
+     */
+    private String secret;
+
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
+    private Duration refreshTokenTtl = Duration.ofDays(14);
+
+    private Keys keys = new Keys();
+
+    @Data
+    public static class Keys {
+
+        /** RS256 or ES256. */
+        private SignatureAlgorithm algorithm = SignatureAlgorithm.RS256;
+
+        /** A new signing key is generated once the newest key is this old. */
+        private Duration rotationInterval = Duration.ofDays(7);
+
+        /**
+         * New keys are published in the JWKS this long before they sign
+         * anything, so verifiers caching the JWKS pick them up first.
+         */
+        private Duration activationDelay = Duration.ofMinutes(10);
+
+        /** Cache lifetime of the JWKS response; keep below the activation delay. */
+        private Duration jwksMaxAge = Duration.ofMinutes(5);
+
+        /** An unknown {@code kid} reloads the keys at most this often. */
+        private Duration minReloadInterval = Duration.ofSeconds(10);
+    }
+}
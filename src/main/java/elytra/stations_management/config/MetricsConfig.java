@@ -0,0 +1,58 @@
+package elytra.stations_management.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import elytra.stations_management.observability.SqlStatementCounter;
+import elytra.stations_management.observability.Tracer;
+import elytra.stations_management.observability.TracingDataSource;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Hard cap on utilization series; BookingMetrics already folds overflow
+     * stations into "other", this only guards against a regression there.
+     */
+    @Bean
+    public MeterFilter stationTagCardinalityFilter(@Value("${app.metrics.max-station-tags:50}") int maxStationTags) {
+        return MeterFilter.maximumAllowableTags("chargers.utilization", "station", maxStationTags + 1,
+                MeterFilter.deny());
+    }
+
+    /**
+     * Wraps the DataSource for SQL spans. Static and lazy on the tracer so the
+     * post-processor does not force early initialization of the tracing beans.
+     * Only the application-facing "dataSource" bean is wrapped, not the pools
+     * behind it when the replica split is on.
+     */
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<Tracer> tracer,
+            ObjectProvider<TracingProperties> tracingProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        && !(bean instanceof TracingDataSource)) {
+                    return new TracingDataSource(dataSource, SingletonSupplier.of(tracer::getObject),
+                            SingletonSupplier.of(tracingProperties::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+}
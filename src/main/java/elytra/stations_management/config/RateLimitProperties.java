@@ -0,0 +1,53 @@
+package elytra.stations_management.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Per-route token-bucket limits and the adaptive concurrency limiter settings,
+ * bound from {@code app.rate-limit.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Hard cap on tracked client keys per route; clients beyond it share one bucket. */
+    private int maxKeysPerRoute = 100_000;
+
+    private List<Route> routes = new ArrayList<>();
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Route {
+        /** HTTP method to match, or null for any method. */
+        private String method;
+        /** Ant-style path pattern. */
+        private String path;
+        /** Burst size: requests a client may make back to back. */
+        private int capacity = 10;
+        /** Time for one token to be refilled. */
+        private Duration refillPeriod = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Concurrency {
+        private boolean enabled = true;
+        /** Ant-style path pattern of requests subject to load shedding. */
+        private String path = "/api/**";
+        private int initialLimit = 50;
+        private int minLimit = 5;
+        private int maxLimit = 500;
+        /** Latency growth over the observed minimum tolerated before the limit shrinks. */
+        private double tolerance = 2.0;
+        /** How often the limit is recalculated from the collected latency samples. */
+        private Duration window = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,51 @@
+package elytra.stations_management.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Remembers which users wrote recently so their reads stay on the primary
+ * until the replica has had time to catch up. Keyed by the authenticated
+ * user; anonymous reads always go to the replica. The state is per node.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long maxLagNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    public void recordWrite() {
+        String user = currentUser();
+        if (user == null || maxLagNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+        if (lastWrites.size() > SWEEP_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > maxLagNanos);
+        }
+    }
+
+    public boolean mustReadPrimary() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(user);
+        return writtenAt != null && System.nanoTime() - writtenAt <= maxLagNanos;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,53 @@
+package elytra.stations_management.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary. Must sit behind a LazyConnectionDataSourceProxy: the read-only flag
+ * is only bound after the transaction manager has asked for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWrites;
+    private final TransactionSynchronization recordWrite;
+
+    public ReplicaRoutingDataSource(ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        this.recordWrite = new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite();
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return Target.PRIMARY;
+        }
+        return readYourWrites.mustReadPrimary() ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    /**
+     * Pins the user to the primary once the read-write transaction commits;
+     * connections outside a transaction and rolled back transactions wrote
+     * nothing the replica could be missing.
+     */
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.getSynchronizations().contains(recordWrite)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(recordWrite);
+    }
+}
@@ -0,0 +1,30 @@
+package elytra.stations_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Request tracing settings, bound from {@code app.tracing.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    /** Share of new traces that are recorded. */
+    private double sampleRatio = 0.01;
+
+    /**
+     * Incoming sampled {@code traceparent} flags honoured per second; callers set
+     * the flag freely, so beyond this the local sample ratio decides. 0 ignores it.
+     */
+    private int maxParentSampledPerSecond = 10;
+
+    /** Finished spans buffered between exports; spans beyond this are dropped and counted. */
+    private int queueCapacity = 4096;
+
+    /** SQL text longer than this is truncated in the span. */
+    private int maxStatementLength = 1000;
+}
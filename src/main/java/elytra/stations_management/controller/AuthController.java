@@ -3,11 +3,18 @@ package elytra.stations_management.controller;
 import elytra.stations_management.dto.AdminRegistrationRequest;
 import elytra.stations_management.dto.DriverRegistrationRequest;
 import elytra.stations_management.dto.OperatorRegistrationRequest;
+import elytra.stations_management.dto.RefreshTokenRequest;
+import elytra.stations_management.exception.InvalidTokenException;
+import elytra.stations_management.exception.LicensePlateAlreadyRegisteredException;
+import elytra.stations_management.exception.UserException;
 import elytra.stations_management.models.*;
+import elytra.stations_management.repositories.UserProfile;
 import elytra.stations_management.services.*;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -34,6 +41,9 @@ public class AuthController {
     private final StationOperatorService stationOperatorService;
     private final AdminService adminService;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final IdempotencyService idempotencyService;
     private final AuthenticationManager authenticationManager;
 
     @PostMapping("/login")
@@ -44,27 +54,19 @@ public class AuthController {
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
             );
             if (authentication.isAuthenticated()) {
-                String token = jwtService.generateToken(authRequest.getUsername());
-                User user = userService.getUserByUsername(authRequest.getUsername());
+                UserProfile profile = authentication.getPrincipal() instanceof UserInfoDetails details
+                        && details.getProfile() != null
+                        ? details.getProfile()
+                        : userService.getProfileByUsername(authRequest.getUsername());
+                User user = profile.toUser();
 
                 Map<String, Object> response = new HashMap<>();
-                response.put("token", token);
-                response.put(USERNAME, user.getUsername());
-                response.put(USER_TYPE, user.getUserType());
-                response.put(USER_ID, user.getId());
-
-                // Add role-specific information
-                switch (user.getUserType()) {
-                    case EV_DRIVER:
-                        addDriverInfo(user, response);
-                        break;
-                    case STATION_OPERATOR:
-                        addOperatorInfo(user, response);
-                        break;
-                    case ADMIN:
-                        addAdminInfo(user, response);
-                        break;
-                }
+                response.put("token", jwtService.generateToken(user));
+                response.put("refreshToken", refreshTokenService.issue(user));
+                response.put(USERNAME, profile.getUsername());
+                response.put(USER_TYPE, profile.getUserType());
+                response.put(USER_ID, profile.getId());
+                addRoleInfo(profile, response);
 
                 return ResponseEntity.ok(response);
             }
@@ -74,61 +76,79 @@ public class AuthController {
         throw new BadCredentialsException("Invalid credentials");
     }
 
-    private void addDriverInfo(User user, Map<String, Object> response) {
-        try {
-            EVDriver driver = evDriverService.getDriverByUserId(user.getId());
-            response.put("driverId", driver.getId());
-        } catch (Exception e) {
-            // Driver might not be fully set up yet
-        }
-    }
-
-    private void addOperatorInfo(User user, Map<String, Object> response) {
-        try {
-            StationOperator operator = stationOperatorService.getStationOperatorByUserId(user.getId());
-            response.put("operatorId", operator.getId());
-            if (operator.getStation() != null) {
-                response.put("stationId", operator.getStation().getId());
-                response.put("stationName", operator.getStation().getName());
-            }
-        } catch (Exception e) {
-            // Operator might not be fully set up yet
+    /** Adds the driver, operator or admin id; absent while the role record is not set up yet. */
+    private void addRoleInfo(UserProfile profile, Map<String, Object> response) {
+        switch (profile.getUserType()) {
+            case EV_DRIVER:
+                putIfPresent(response, "driverId", profile.getDriverId());
+                break;
+            case STATION_OPERATOR:
+                putIfPresent(response, "operatorId", profile.getOperatorId());
+                putIfPresent(response, "stationId", profile.getStationId());
+                putIfPresent(response, "stationName", profile.getStationName());
+                break;
+            case ADMIN:
+                putIfPresent(response, "adminId", profile.getAdminId());
+                break;
         }
     }
 
-    private void addAdminInfo(User user, Map<String, Object> response) {
-        try {
-            Admin admin = adminService.getAdminByUserId(user.getId());
-            response.put("adminId", admin.getId());
-        } catch (Exception e) {
-            // Admin might not be fully set up yet
+    private static void putIfPresent(Map<String, Object> response, String key, Object value) {
+        if (value != null) {
+            response.put(key, value);
         }
     }
 
     @PostMapping("/register/driver")
     @Operation(summary = "Register a new EV driver")
-    public ResponseEntity<Map<String, Object>> registerDriver(@RequestBody DriverRegistrationRequest request) {
-        try {
-            // Set user type
-            request.getUser().setUserType(User.UserType.EV_DRIVER);
+    public ResponseEntity<?> registerDriver(@RequestBody DriverRegistrationRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        // The access token is minted per response, so the stored copy of the response never holds one
+        return idempotencyService.execute("register-driver", idempotencyKey, registrationFingerprint(request), () -> {
+            if (request.getUser() == null) {
+                return ResponseEntity.badRequest().body(Map.of(ERROR, "User details are required"));
+            }
+            try {
+                // Set user type
+                request.getUser().setUserType(User.UserType.EV_DRIVER);
 
-            // Register driver
-            EVDriver driver = evDriverService.registerDriver(request.getDriver(), request.getUser());
+                // Register driver
+                EVDriver driver = evDriverService.registerDriver(request.getDriver(), request.getUser());
 
-            // Generate token
-            String token = jwtService.generateToken(request.getUser().getUsername());
+                Map<String, Object> response = new HashMap<>();
+                response.put(USERNAME, driver.getUser().getUsername());
+                response.put(USER_TYPE, User.UserType.EV_DRIVER);
+                response.put(USER_ID, driver.getUser().getId());
+                response.put("driverId", driver.getId());
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("token", token);
-            response.put(USERNAME, driver.getUser().getUsername());
-            response.put(USER_TYPE, User.UserType.EV_DRIVER);
-            response.put(USER_ID, driver.getUser().getId());
-            response.put("driverId", driver.getId());
+                return ResponseEntity.ok(response);
+            } catch (UserException | LicensePlateAlreadyRegisteredException | IllegalArgumentException e) {
+                // Anything else propagates so the idempotency claim is released and a retry runs again
+                return ResponseEntity.badRequest().body(Map.of(ERROR, e.getMessage()));
+            }
+        }, response -> {
+            response.put("token", jwtService.generateToken(User.builder()
+                    .id(((Number) response.get(USER_ID)).longValue())
+                    .username((String) response.get(USERNAME))
+                    .userType(User.UserType.EV_DRIVER)
+                    .build()));
+            return response;
+        });
+    }
 
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(Map.of(ERROR, e.getMessage()));
-        }
+    /**
+     * The request as stored next to its idempotency key, minus the password:
+     * the fingerprint is a fast hash and must not become a way to check guesses.
+     */
+    private static Object registrationFingerprint(DriverRegistrationRequest request) {
+        User user = request.getUser();
+        // The driver part carries nothing of its own; registration replaces its user with this one
+        return user == null ? Map.of() : User.builder()
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .build();
     }
 
     @PostMapping("/register/operator")
@@ -145,7 +165,7 @@ public class AuthController {
             );
 
             // Generate token for auto-login
-            String token = jwtService.generateToken(request.getUser().getUsername());
+            String token = jwtService.generateToken(operator.getUser());
 
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
@@ -185,21 +205,52 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new access and refresh token")
+    public ResponseEntity<Map<String, Object>> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            RefreshTokenService.TokenPair tokens = refreshTokenService.rotate(request.getRefreshToken());
+            Map<String, Object> response = new HashMap<>();
+            response.put("token", tokens.accessToken());
+            response.put("refreshToken", tokens.refreshToken());
+            return ResponseEntity.ok(response);
+        } catch (InvalidTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(ERROR, e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the current access token and, if given, its refresh token family")
+    public ResponseEntity<Map<String, Object>> logout(@RequestHeader("Authorization") String token,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        try {
+            Claims claims = jwtService.extractAllClaims(token.substring(7));
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+            if (request != null && request.getRefreshToken() != null) {
+                refreshTokenService.revoke(request.getRefreshToken());
+            }
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(ERROR, "Invalid token"));
+        }
+    }
+
     @GetMapping("/me")
     @Operation(summary = "Get current user information")
     public ResponseEntity<Map<String, Object>> getCurrentUser(@RequestHeader("Authorization") String token) {
         try {
             String jwt = token.substring(7);
             String username = jwtService.extractUsername(jwt);
-            User user = userService.getUserByUsername(username);
+            UserProfile profile = userService.getProfileByUsername(username);
 
             Map<String, Object> response = new HashMap<>();
-            response.put(USERNAME, user.getUsername());
-            response.put("email", user.getEmail());
-            response.put("firstName", user.getFirstName());
-            response.put("lastName", user.getLastName());
-            response.put(USER_TYPE, user.getUserType());
-            response.put(USER_ID, user.getId());
+            response.put(USERNAME, profile.getUsername());
+            response.put("email", profile.getEmail());
+            response.put("firstName", profile.getFirstName());
+            response.put("lastName", profile.getLastName());
+            response.put(USER_TYPE, profile.getUserType());
+            response.put(USER_ID, profile.getId());
+            addRoleInfo(profile, response);
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -1,14 +1,22 @@
 package elytra.stations_management.controller;
 
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import elytra.stations_management.exception.InvalidBookingException;
 import elytra.stations_management.models.Booking;
+import elytra.stations_management.repositories.BookingHistoryEntry;
 import elytra.stations_management.services.BookingService;
+import elytra.stations_management.services.IdempotencyService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -17,15 +25,24 @@ import lombok.RequiredArgsConstructor;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Booking> createBooking(@RequestBody Booking booking) {
-        try {
-            Booking createdBooking = bookingService.createBooking(booking);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdBooking);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<?> createBooking(@RequestBody Booking booking,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Principal principal) {
+        // Keys are per caller; the charger is part of the fingerprint as it is not serialized with the booking
+        String scope = "bookings:" + (principal != null ? principal.getName() : "anonymous");
+        Object fingerprint = Arrays.asList(booking, booking.getCharger() != null ? booking.getCharger().getId() : null);
+        return idempotencyService.execute(scope, idempotencyKey, fingerprint, () -> {
+            try {
+                Booking createdBooking = bookingService.createBooking(booking);
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdBooking);
+            } catch (InvalidBookingException | IllegalArgumentException e) {
+                // Anything else propagates so the idempotency claim is released and a retry runs again
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
@@ -44,10 +61,36 @@ public class BookingController {
     }
 
     @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<Booking>> getBookingsByUser(@PathVariable String userId) {
+    public ResponseEntity<List<Booking>> getBookingsByUser(@PathVariable Long userId) {
         return ResponseEntity.ok(bookingService.getBookingsByUser(userId));
     }
 
+    @GetMapping(value = "/user/{userId}/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Page<BookingHistoryEntry>> getBookingHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Booking.Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingHistory(userId, status, from, to, page, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/user/{userId}/upcoming", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Booking>> getUpcomingBookings(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getUpcomingBookings(userId, limit));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping(value = "/charger/{chargerId}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<Booking>> getBookingsByCharger(@PathVariable Long chargerId) {
         return ResponseEntity.ok(bookingService.getBookingsByCharger(chargerId));
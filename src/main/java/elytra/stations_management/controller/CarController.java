@@ -1,11 +1,18 @@
 package elytra.stations_management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import elytra.stations_management.dto.CarImportResult;
 import elytra.stations_management.models.Car;
+import elytra.stations_management.services.CarImporter;
 import elytra.stations_management.services.CarService;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -13,6 +20,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CarController {
     private final CarService carService;
+    private final CarImporter carImporter;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/driver/{driverId}")
     public ResponseEntity<Car> registerCar(@PathVariable Long driverId, @RequestBody Car car) {
@@ -23,6 +32,29 @@ public class CarController {
         }
     }
 
+    /**
+     * Fleet import: registers up to {@code app.cars.import.max-rows} cars and
+     * streams one NDJSON result line per car as each batch is committed.
+     */
+    @PostMapping("/driver/{driverId}/batch")
+    public ResponseEntity<StreamingResponseBody> registerCars(@PathVariable Long driverId, @RequestBody List<Car> cars) {
+        if (cars.size() > carImporter.getMaxRows() || !carImporter.driverExists(driverId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> carImporter.importCars(driverId, cars, results -> {
+            try {
+                for (CarImportResult result : results) {
+                    out.write(objectMapper.writeValueAsBytes(result));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/driver/{driverId}")
     public ResponseEntity<List<Car>> getCarsByDriver(@PathVariable Long driverId) {
         return ResponseEntity.ok(carService.getCarsByDriver(driverId));
@@ -1,7 +1,11 @@
 package elytra.stations_management.controller;
 
+import java.time.Instant;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,21 +13,36 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import elytra.stations_management.dto.ChargerUptime;
 import elytra.stations_management.models.Charger;
 import elytra.stations_management.services.ChargerService;
+import elytra.stations_management.services.ChargerUptimeService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequestMapping("/api/v1/chargers")
 @RequiredArgsConstructor
 public class ChargerController {
+    // Availability flips with every booking; clients may keep a copy but must revalidate it
+    private static final CacheControl AVAILABILITY_CACHE = CacheControl.noCache().cachePrivate();
+
     private final ChargerService chargerService;
+    private final ChargerUptimeService chargerUptimeService;
 
     @GetMapping("/{chargerId}/availability")
-    public ResponseEntity<Charger.Status> getChargerAvailability(@PathVariable Long chargerId) {
-        return ResponseEntity.ok(chargerService.getChargerAvailability(chargerId));
+    public ResponseEntity<Charger.Status> getChargerAvailability(@PathVariable Long chargerId, WebRequest request) {
+        String eTag = chargerService.getChargerVersionTag(chargerId);
+        if (request.checkNotModified(eTag)) {
+            return notModified();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(AVAILABILITY_CACHE)
+                .body(chargerService.getChargerAvailability(chargerId));
     }
 
     @PutMapping("/{chargerId}/availability")
@@ -37,9 +56,29 @@ public class ChargerController {
         }
     }
 
+    @GetMapping("/{chargerId}/uptime")
+    public ResponseEntity<ChargerUptime> getChargerUptime(
+            @PathVariable Long chargerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        try {
+            return ResponseEntity.ok(chargerUptimeService.getChargerUptime(chargerId, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/availability/{status}")
-    public ResponseEntity<List<Charger>> getChargersByAvailability(@PathVariable Charger.Status status) {
-        return ResponseEntity.ok(chargerService.getChargersByAvailability(status));
+    public ResponseEntity<List<Charger>> getChargersByAvailability(@PathVariable Charger.Status status,
+            WebRequest request) {
+        String eTag = chargerService.getChargersByAvailabilityVersionTag(status);
+        if (request.checkNotModified(eTag)) {
+            return notModified();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(AVAILABILITY_CACHE)
+                .body(chargerService.getChargersByAvailability(status));
     }
 
     @PutMapping("/{chargerId}")
@@ -62,4 +101,9 @@ public class ChargerController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    // checkNotModified has already set the 304 status and ETag header on the response
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(AVAILABILITY_CACHE).build();
+    }
+}
@@ -0,0 +1,62 @@
+package elytra.stations_management.controller;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import elytra.stations_management.dto.LivePowerReading;
+import elytra.stations_management.dto.TelemetrySample;
+import elytra.stations_management.services.TelemetryService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/chargers")
+@RequiredArgsConstructor
+public class ChargerTelemetryController {
+
+    private final TelemetryService telemetryService;
+
+    @PostMapping(value = "/telemetry", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<Map<String, Integer>> ingest(@RequestBody List<TelemetrySample> samples) {
+        int accepted = telemetryService.ingest(samples);
+        return accepted(accepted, samples.size());
+    }
+
+    /** Compact form for gateways: back-to-back fixed-size frames, see {@link TelemetryService#FRAME_BYTES}. */
+    @PostMapping(value = "/telemetry", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<Map<String, Integer>> ingestFrames(@RequestBody byte[] frames) {
+        try {
+            int accepted = telemetryService.ingestFrames(ByteBuffer.wrap(frames));
+            return accepted(accepted, frames.length / TelemetryService.FRAME_BYTES);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{chargerId}/telemetry/live")
+    public ResponseEntity<LivePowerReading> getLiveReading(@PathVariable Long chargerId) {
+        try {
+            return ResponseEntity.ok(telemetryService.getLiveReading(chargerId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private static ResponseEntity<Map<String, Integer>> accepted(int accepted, int total) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("accepted", accepted, "rejected", total - accepted));
+    }
+}
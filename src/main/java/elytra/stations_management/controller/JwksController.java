@@ -0,0 +1,37 @@
+package elytra.stations_management.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import elytra.stations_management.config.JwtProperties;
+import elytra.stations_management.services.SigningKeyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Authentication and user registration APIs")
+public class JwksController {
+
+    private final SigningKeyService signingKeyService;
+    private final JwtProperties jwtProperties;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Public keys that verify issued tokens, by kid")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        // Makes sure a key exists before the first token is issued
+        signingKeyService.signingKey();
+        List<Map<String, Object>> keys = signingKeyService.publishedKeys().stream()
+                .map(SigningKeyService::toJwk)
+                .toList();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtProperties.getKeys().getJwksMaxAge()).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+}
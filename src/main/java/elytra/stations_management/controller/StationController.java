@@ -1,12 +1,19 @@
 package elytra.stations_management.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,18 +21,43 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import elytra.stations_management.dto.AutoBookingRequest;
+import elytra.stations_management.dto.ChargerStatusUpdateRequest;
+import elytra.stations_management.dto.ChargerStatusUpdateResult;
+import elytra.stations_management.dto.StationPatch;
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.exception.InvalidStatusTransitionException;
 import elytra.stations_management.models.Station;
 import elytra.stations_management.models.Charger;
+import elytra.stations_management.services.AutoBookingService;
+import elytra.stations_management.services.ChargerService;
+import elytra.stations_management.services.StationJsonCache;
 import elytra.stations_management.services.StationService;
 
 @RestController
 @RequestMapping("api/v1/stations")
 public class StationController {
 
+    // Station JSON embeds every charger's live status, so shared caches may keep a
+    // copy but must revalidate it by ETag on every use; a 304 costs no station load.
+    private static final CacheControl STATIONS_CACHE = CacheControl.noCache().cachePublic();
+    private static final CacheControl STATION_CACHE = CacheControl.noCache().cachePublic();
+    private static final CacheControl CHARGERS_CACHE = CacheControl.noCache().cachePublic();
+
     @Autowired
     private StationService stationService;
 
+    @Autowired
+    private StationJsonCache stationJsonCache;
+
+    @Autowired
+    private AutoBookingService autoBookingService;
+
+    @Autowired
+    private ChargerService chargerService;
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Station> registerStation(@RequestBody Station station) {
         if (station.getName() == null || station.getName().trim().isEmpty() ||
@@ -38,25 +70,33 @@ public class StationController {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<Station> getAllStations() {
-        return stationService.getAllStations();
+    public ResponseEntity<byte[]> getAllStations(WebRequest request) {
+        StationJsonCache.Entry entry = stationJsonCache.getStations(
+                stationService::getStationsVersionTag, stationService::getAllStations);
+        return cachedJson(entry, STATIONS_CACHE, request);
     }
 
     @GetMapping(value = "/{stationId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Station> getStationById(@PathVariable Long stationId) {
+    public ResponseEntity<byte[]> getStationById(@PathVariable Long stationId, WebRequest request) {
         try {
-            Station station = stationService.getStationById(stationId);
-            return ResponseEntity.ok(station);
+            StationJsonCache.Entry entry = stationJsonCache.getStation(stationId,
+                    () -> stationService.getStationVersionTag(stationId),
+                    () -> stationService.getStationById(stationId));
+            return cachedJson(entry, STATION_CACHE, request);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping(value = "/{stationId}/chargers", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<Charger>> getChargersByStation(@PathVariable Long stationId) {
+    public ResponseEntity<List<Charger>> getChargersByStation(@PathVariable Long stationId, WebRequest request) {
         try {
+            String eTag = stationService.getStationVersionTag(stationId);
+            if (request.checkNotModified(eTag)) {
+                return notModified(CHARGERS_CACHE);
+            }
             Station station = stationService.getStationById(stationId);
-            return ResponseEntity.ok(station.getChargers());
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CHARGERS_CACHE).body(station.getChargers());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -72,6 +112,35 @@ public class StationController {
         }
     }
 
+    @PutMapping(value = "/{stationId}/chargers/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<ChargerStatusUpdateResult> updateChargerStatuses(@PathVariable Long stationId,
+            @RequestBody ChargerStatusUpdateRequest request) {
+        return updateChargerStatuses(List.of(stationId), request);
+    }
+
+    @PutMapping(value = "/chargers/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<ChargerStatusUpdateResult> updateChargerStatuses(
+            @RequestBody ChargerStatusUpdateRequest request) {
+        return updateChargerStatuses(request.getStationIds(), request);
+    }
+
+    @PostMapping(value = "/{stationId}/bookings/auto", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> autoBook(@PathVariable Long stationId, @RequestBody AutoBookingRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(autoBookingService.autoBook(stationId, request));
+        } catch (InvalidBookingException e) {
+            HttpStatus status = switch (e.getReason()) {
+                case STATION_FULL -> HttpStatus.CONFLICT;
+                case NOT_FOUND -> HttpStatus.NOT_FOUND;
+                default -> HttpStatus.BAD_REQUEST;
+            };
+            return ResponseEntity.status(status).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping(value = "/{stationId}", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Station> updateStation(@PathVariable Long stationId, @RequestBody Station station) {
         try {
@@ -82,6 +151,20 @@ public class StationController {
         }
     }
 
+    @PatchMapping(value = "/{stationId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Station> patchStation(@PathVariable Long stationId, @RequestBody StationPatch patch) {
+        try {
+            return ResponseEntity.ok(stationService.patchStation(stationId, patch));
+        } catch (IllegalArgumentException | InvalidStatusTransitionException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            // A charger left out of the list still has bookings pointing at it
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @DeleteMapping(value = "/{stationId}")
     public ResponseEntity<Void> deleteStation(@PathVariable Long stationId) {
         try {
@@ -92,4 +175,58 @@ public class StationController {
         }
     }
 
+    private ResponseEntity<ChargerStatusUpdateResult> updateChargerStatuses(List<Long> stationIds,
+            ChargerStatusUpdateRequest request) {
+        try {
+            return ResponseEntity.ok(chargerService.updateChargerStatuses(stationIds, request.getChargerIds(),
+                    request.getStatus()));
+        } catch (IllegalArgumentException | InvalidStatusTransitionException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Writes the cached bytes as-is; gzip clients get the pre-compressed copy under its own ETag
+    private static ResponseEntity<byte[]> cachedJson(StationJsonCache.Entry entry, CacheControl cacheControl,
+            WebRequest request) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = gzip ? entry.eTag() + "-gzip" : entry.eTag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(entry.gzip());
+        }
+        return response.body(entry.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // checkNotModified has already set the 304 status and ETag header on the response
+    private static <T> ResponseEntity<T> notModified(CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
 }
@@ -1,17 +1,28 @@
 package elytra.stations_management.controller;
 
+import elytra.stations_management.dto.MaintenanceWindowReport;
 import elytra.stations_management.dto.OperatorRegistrationRequest;
+import elytra.stations_management.dto.StationUptime;
+import elytra.stations_management.models.DailyUsageRollup;
+import elytra.stations_management.models.MaintenanceWindow;
 import elytra.stations_management.models.Station;
 import elytra.stations_management.models.StationOperator;
+import elytra.stations_management.repositories.StationDailyUsage;
+import elytra.stations_management.services.ChargerUptimeService;
+import elytra.stations_management.services.MaintenanceService;
 import elytra.stations_management.services.StationOperatorService;
+import elytra.stations_management.services.UsageRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +33,9 @@ import java.util.Map;
 public class StationOperatorController {
 
     private final StationOperatorService stationOperatorService;
+    private final UsageRollupService usageRollupService;
+    private final ChargerUptimeService chargerUptimeService;
+    private final MaintenanceService maintenanceService;
 
     @PostMapping
     @Operation(summary = "Register a new station operator")
@@ -151,4 +165,96 @@ public class StationOperatorController {
     public ResponseEntity<List<Station>> getAvailableStations() {
         return ResponseEntity.ok(stationOperatorService.getAvailableStations());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/station/{stationId}/usage")
+    @Operation(summary = "Daily sessions, energy and booked minutes of a station")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<List<StationDailyUsage>> getStationUsage(
+            @PathVariable Long stationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(usageRollupService.getStationReport(stationId, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/station/{stationId}/usage/chargers")
+    @Operation(summary = "Daily usage of a station broken down per charger")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<List<DailyUsageRollup>> getChargerUsage(
+            @PathVariable Long stationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(usageRollupService.getChargerReport(stationId, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/station/{stationId}/uptime")
+    @Operation(summary = "Time each charger of a station spent in each status over a period")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<StationUptime> getStationUptime(
+            @PathVariable Long stationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        try {
+            return ResponseEntity.ok(chargerUptimeService.getStationUptime(stationId, from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/station/{stationId}/maintenance")
+    @Operation(summary = "Schedule maintenance of a station or one of its chargers and report the bookings it hits")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<MaintenanceWindowReport> scheduleMaintenance(
+            @PathVariable Long stationId,
+            @RequestBody MaintenanceWindow window) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(maintenanceService.scheduleWindow(stationId, window));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/station/{stationId}/maintenance")
+    @Operation(summary = "Scheduled and running maintenance windows of a station")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<List<MaintenanceWindow>> getMaintenanceWindows(@PathVariable Long stationId) {
+        return ResponseEntity.ok(maintenanceService.getOpenWindows(stationId));
+    }
+
+    @GetMapping("/maintenance/{windowId}/conflicts")
+    @Operation(summary = "Pending and confirmed bookings overlapping a maintenance window")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<MaintenanceWindowReport> getMaintenanceConflicts(@PathVariable Long windowId) {
+        try {
+            return ResponseEntity.ok(maintenanceService.getConflicts(windowId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/maintenance/{windowId}")
+    @Operation(summary = "Cancel a maintenance window")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STATION_OPERATOR')")
+    public ResponseEntity<MaintenanceWindow> cancelMaintenance(@PathVariable Long windowId) {
+        try {
+            return ResponseEntity.ok(maintenanceService.cancelWindow(windowId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/usage/rebuild")
+    @Operation(summary = "Recompute all usage rollups from raw bookings")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildUsage() {
+        int chargers = usageRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Usage rollups rebuilt", "chargers", chargers));
+    }
+}
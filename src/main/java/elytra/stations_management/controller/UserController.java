@@ -42,7 +42,7 @@ public class UserController {
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
             );
             if (authentication.isAuthenticated()) {
-                return jwtService.generateToken(authRequest.getUsername());
+                return jwtService.generateToken(userService.getUserByUsername(authRequest.getUsername()));
             }
         } catch (Exception e) {
             throw new BadCredentialsException("Invalid credentials");
@@ -0,0 +1,52 @@
+package elytra.stations_management.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import elytra.stations_management.models.WaitlistEntry;
+import elytra.stations_management.services.WaitlistService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WaitlistEntry> joinWaitlist(@RequestBody WaitlistEntry entry) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(entry));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/{entryId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WaitlistEntry> getEntryById(@PathVariable Long entryId) {
+        try {
+            return ResponseEntity.ok(waitlistService.getEntryById(entryId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<WaitlistEntry>> getEntriesByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(waitlistService.getEntriesByUser(userId));
+    }
+
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<WaitlistEntry> leaveWaitlist(@PathVariable Long entryId) {
+        try {
+            return ResponseEntity.ok(waitlistService.leave(entryId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package elytra.stations_management.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A booking request for any suitable charger of a station.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoBookingRequest {
+    private Long userId;
+    /** Optional; when set only chargers matching the car's charger type are considered. */
+    private Long carId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,28 @@
+package elytra.stations_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a bulk car import, written as one NDJSON line.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarImportResult {
+    /** Zero-based position of the car in the request. */
+    private int row;
+    private String licensePlate;
+    /** Id of the inserted car, null if the row was rejected. */
+    private Long carId;
+    private String error;
+
+    public static CarImportResult created(int row, String licensePlate, Long carId) {
+        return new CarImportResult(row, licensePlate, carId, null);
+    }
+
+    public static CarImportResult rejected(int row, String licensePlate, String error) {
+        return new CarImportResult(row, licensePlate, null, error);
+    }
+}
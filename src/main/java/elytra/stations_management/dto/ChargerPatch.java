@@ -0,0 +1,21 @@
+package elytra.stations_management.dto;
+
+import elytra.stations_management.models.Charger;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A charger in a {@link StationPatch}. Unlike {@link Charger}, an absent
+ * status stays null instead of defaulting to AVAILABLE.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChargerPatch {
+    /** Null for a charger to add. */
+    private Long id;
+    private String type;
+    private Double power;
+    private Charger.Status status;
+}
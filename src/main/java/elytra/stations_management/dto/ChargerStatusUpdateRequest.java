@@ -0,0 +1,22 @@
+package elytra.stations_management.dto;
+
+import java.util.List;
+
+import elytra.stations_management.models.Charger;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bulk status change for the chargers of one or more stations.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChargerStatusUpdateRequest {
+    /** Ignored by the single-station endpoint, which takes the station from the path. */
+    private List<Long> stationIds;
+    /** Only these chargers of the stations; every charger when null. */
+    private List<Long> chargerIds;
+    private Charger.Status status;
+}
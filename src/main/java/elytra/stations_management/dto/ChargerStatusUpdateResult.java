@@ -0,0 +1,20 @@
+package elytra.stations_management.dto;
+
+import java.util.List;
+
+import elytra.stations_management.models.Charger;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk status change: the chargers moved and those already in the status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChargerStatusUpdateResult {
+    private Charger.Status status;
+    private List<Long> updated;
+    private List<Long> unchanged;
+}
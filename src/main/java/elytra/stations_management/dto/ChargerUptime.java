@@ -0,0 +1,27 @@
+package elytra.stations_management.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import elytra.stations_management.models.Charger;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Time a charger spent in each status over a period, from the status history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChargerUptime {
+    private Long chargerId;
+    private Instant from;
+    /** End of the period, capped at the time of the query. */
+    private Instant to;
+    private Map<Charger.Status, Long> millisByStatus;
+    /** Share of the period the charger was in service (available or in use). */
+    private double uptime;
+    /** Share of the period the charger was available. */
+    private double availability;
+}
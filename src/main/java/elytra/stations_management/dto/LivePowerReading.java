@@ -0,0 +1,21 @@
+package elytra.stations_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest telemetry of a charger, straight from the in-memory buffer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LivePowerReading {
+    private Long chargerId;
+    private long timestamp;
+    private double powerKw;
+    private double energyKwh;
+    /** Mean power over the last minute of samples. */
+    private double averagePowerKw;
+    private boolean charging;
+}
@@ -0,0 +1,20 @@
+package elytra.stations_management.dto;
+
+import java.util.List;
+
+import elytra.stations_management.models.MaintenanceWindow;
+import elytra.stations_management.repositories.MaintenanceConflict;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A maintenance window with the pending and confirmed bookings it overlaps.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceWindowReport {
+    private MaintenanceWindow window;
+    private List<MaintenanceConflict> conflicts;
+}
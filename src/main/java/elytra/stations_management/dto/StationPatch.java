@@ -0,0 +1,26 @@
+package elytra.stations_management.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partial station update: null fields are left as they are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationPatch {
+    private String name;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+    /**
+     * The station's new set of chargers, matched by id: listed chargers are
+     * updated where they differ, chargers without an id are added and the
+     * rest are removed. Null leaves the chargers untouched.
+     */
+    private List<ChargerPatch> chargers;
+}
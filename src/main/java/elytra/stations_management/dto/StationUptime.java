@@ -0,0 +1,27 @@
+package elytra.stations_management.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import elytra.stations_management.models.Charger;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uptime of every charger of a station over a period, with station totals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationUptime {
+    private Long stationId;
+    private Instant from;
+    private Instant to;
+    /** Charger time summed over all chargers of the station. */
+    private Map<Charger.Status, Long> millisByStatus;
+    private double uptime;
+    private double availability;
+    private List<ChargerUptime> chargers;
+}
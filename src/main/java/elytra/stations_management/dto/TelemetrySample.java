@@ -0,0 +1,20 @@
+package elytra.stations_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One power reading reported by a charger.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetrySample {
+    private Long chargerId;
+    /** Epoch milliseconds. */
+    private long timestamp;
+    private double powerKw;
+    /** Meter reading of the current session. */
+    private double energyKwh;
+}
@@ -0,0 +1,34 @@
+package elytra.stations_management.exception;
+
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+/**
+ * Identifies which named constraint a failed write violated, so a unique
+ * index can stand in for a check-then-insert.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /** The violated constraint as reported by the database, lower case, or null if unknown. */
+    public static String constraintName(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * True if {@code e} violated {@code constraint}. Databases decorate the
+     * name (schema prefix, index suffix), so it is matched by containment.
+     */
+    public static boolean violates(Throwable e, String constraint) {
+        String name = constraintName(e);
+        return name != null && name.contains(constraint.toLowerCase(Locale.ROOT));
+    }
+}
@@ -1,5 +1,8 @@
 package elytra.stations_management.exception;
 
+import elytra.stations_management.models.Car;
+import elytra.stations_management.models.User;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -22,6 +25,11 @@ public class GlobalExceptionHandler {
 
     private static final String ERROR_KEY = "error";
 
+    private static final Map<String, String> UNIQUE_VIOLATIONS = Map.of(
+            User.UK_USERNAME, "Username already exists",
+            User.UK_EMAIL, "Email already exists",
+            Car.UK_LICENSE_PLATE, "License plate already registered");
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException e) {
         Map<String, String> error = new HashMap<>();
@@ -37,16 +45,11 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(DataIntegrityViolationException e) {
         Map<String, String> error = new HashMap<>();
-
-        if (e.getMessage() != null && e.getMessage().contains("USERNAME")) {
-            error.put(ERROR_KEY, "Username already exists");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        } else if (e.getMessage() != null && e.getMessage().contains("EMAIL")) {
-            error.put(ERROR_KEY, "Email already exists");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
-        }
-
-        error.put(ERROR_KEY, "Data integrity violation");
+        error.put(ERROR_KEY, UNIQUE_VIOLATIONS.entrySet().stream()
+                .filter(entry -> ConstraintViolations.violates(e, entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("Data integrity violation"));
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
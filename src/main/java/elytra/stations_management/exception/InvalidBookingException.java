@@ -1,7 +1,30 @@
 package elytra.stations_management.exception;
 
 public class InvalidBookingException extends RuntimeException {
+
+    public enum Reason {
+        INVALID_REQUEST,
+        IN_THE_PAST,
+        CHARGER_NOT_AVAILABLE,
+        STATION_FULL,
+        OVERLAP,
+        MAINTENANCE,
+        NOT_FOUND,
+        INVALID_STATUS_TRANSITION
+    }
+
+    private final Reason reason;
+
     public InvalidBookingException(String message) {
+        this(message, Reason.INVALID_REQUEST);
+    }
+
+    public InvalidBookingException(String message, Reason reason) {
         super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
     }
 }
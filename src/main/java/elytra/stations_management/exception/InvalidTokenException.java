@@ -0,0 +1,7 @@
+package elytra.stations_management.exception;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+package elytra.stations_management.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient concurrency limiter. Requests on this service are dominated by
+ * database time, so when latency rises above the best recently observed
+ * latency the number of in-flight requests allowed shrinks, and it grows back
+ * while latency stays flat.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder sampleNanos = new LongAdder();
+    private final LongAdder sampleCount = new LongAdder();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    private volatile long minLatencyNanos = Long.MAX_VALUE;
+    private volatile long windowStart;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+            long windowNanos, long nowNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = windowNanos;
+        this.windowStart = nowNanos;
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long latencyNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        sampleNanos.add(latencyNanos);
+        sampleCount.increment();
+        if (nowNanos - windowStart >= windowNanos && updateLock.tryLock()) {
+            try {
+                recalculate(nowNanos);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void recalculate(long nowNanos) {
+        long count = sampleCount.sumThenReset();
+        long total = sampleNanos.sumThenReset();
+        windowStart = nowNanos;
+        if (count == 0) {
+            return;
+        }
+        long average = Math.max(1, total / count);
+        // Let the baseline drift up slowly so a permanent shift in latency is eventually accepted
+        long baseline = Math.min(minLatencyNanos, average);
+        minLatencyNanos = baseline + (average - baseline) / 20;
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baseline / average));
+        int current = limit;
+        int headroom = (int) Math.ceil(Math.sqrt(current));
+        int next = (int) (current * gradient) + headroom;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -1,6 +1,11 @@
 package elytra.stations_management.filter;
 
+import elytra.stations_management.observability.Span;
+import elytra.stations_management.observability.Tracer;
 import elytra.stations_management.services.JwtService;
+import elytra.stations_management.services.TokenRevocationService;
+import elytra.stations_management.services.UserInfoDetails;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,34 +24,66 @@ import java.io.IOException;
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final UserDetailsService userDetailsService;
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final Tracer tracer;
 
     @Autowired
-    public JwtAuthFilter(UserDetailsService userDetailsService, JwtService jwtService) {
+    public JwtAuthFilter(UserDetailsService userDetailsService, JwtService jwtService,
+            TokenRevocationService tokenRevocationService, Tracer tracer) {
         this.userDetailsService = userDetailsService;
         this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.tracer = tracer;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain
             filterChain) throws ServletException, IOException {
 
+        Span span = tracer.startSpan("JwtAuthFilter");
+        try {
+            authenticate(request, span);
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Access tokens carry the user's role, so they authenticate from their claims
+     * alone; only tokens issued without one fall back to loading the user.
+     */
+    private void authenticate(HttpServletRequest request, Span span) {
         String authHeader = request.getHeader("Authorization");
         String jwt = null;
-        String username = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwt = authHeader.substring(7);
-            username = jwtService.extractUsername(jwt);
         }
+        span.setAttribute("app.auth.bearer", jwt != null);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtService.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = jwtService.extractAllClaims(jwt);
+            String username = claims.getSubject();
+            if (username == null || JwtService.TYPE_REFRESH.equals(claims.get(JwtService.CLAIM_TYPE))) {
+                return;
+            }
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                span.setAttribute("app.auth.revoked", true);
+                return;
             }
+            String role = claims.get(JwtService.CLAIM_ROLE, String.class);
+            UserDetails userDetails = role != null
+                    ? new UserInfoDetails(username, role)
+                    : this.userDetailsService.loadUserByUsername(username);
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            span.setAttribute("app.auth.stateless", role != null);
+            span.setAttribute("app.auth.authenticated", true);
         }
-        filterChain.doFilter(request, response);
     }
 }
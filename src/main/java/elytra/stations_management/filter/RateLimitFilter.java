@@ -0,0 +1,178 @@
+package elytra.stations_management.filter;
+
+import elytra.stations_management.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttles clients per route with token buckets keyed by the authenticated
+ * username (falling back to the client IP), and sheds load across the API with
+ * an adaptive concurrency limit. Registered as a plain servlet filter, so it
+ * runs after the security chain has populated the security context.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTIONS_METRIC = "http.server.requests.rejected";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<LimitedRoute> routes;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Counter concurrencyRejections;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.routes = properties.getRoutes().stream().map(LimitedRoute::new).toList();
+
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(),
+                concurrency.getMinLimit(), concurrency.getMaxLimit(), concurrency.getTolerance(),
+                concurrency.getWindow().toNanos(), System.nanoTime());
+        this.concurrencyRejections = Counter.builder(REJECTIONS_METRIC)
+                .tag("reason", "concurrency")
+                .tag("route", concurrency.getPath())
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.concurrency.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain
+            filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long now = System.nanoTime();
+
+        for (LimitedRoute route : routes) {
+            if (route.matches(request.getMethod(), path)) {
+                long waitNanos = route.bucketFor(clientKey(request), now).tryConsume(now);
+                if (waitNanos > 0) {
+                    route.rejections.increment();
+                    reject(response, waitNanos, "Too many requests");
+                    return;
+                }
+            }
+        }
+
+        if (!properties.getConcurrency().isEnabled()
+                || !pathMatcher.match(properties.getConcurrency().getPath(), path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            concurrencyRejections.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1), "Server is busy");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            concurrencyLimiter.release(end - now, end);
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    private final class LimitedRoute {
+        private final RateLimitProperties.Route config;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final TokenBucket overflow;
+        private final long sweepIntervalNanos;
+        private final AtomicLong nextSweep;
+        private final Counter rejections;
+
+        private LimitedRoute(RateLimitProperties.Route config) {
+            this.config = config;
+            this.overflow = newBucket();
+            // A bucket is only sweepable once it has refilled completely, so sweeping
+            // more often than a full refill cannot free anything new.
+            this.sweepIntervalNanos = config.getRefillPeriod().toNanos() * config.getCapacity();
+            this.nextSweep = new AtomicLong(System.nanoTime());
+            this.rejections = Counter.builder(REJECTIONS_METRIC)
+                    .tag("reason", "rate_limit")
+                    .tag("route", (config.getMethod() == null ? "" : config.getMethod() + " ") + config.getPath())
+                    .register(meterRegistry);
+        }
+
+        private boolean matches(String method, String path) {
+            return (config.getMethod() == null || config.getMethod().equalsIgnoreCase(method))
+                    && pathMatcher.match(config.getPath(), path);
+        }
+
+        /**
+         * Known clients keep their own bucket. A new client is only admitted
+         * while the route is under its key limit; idle buckets are swept at most
+         * once per refill interval, and clients that still do not fit share one
+         * overflow bucket, so a flood of distinct keys costs neither memory nor
+         * a full scan per request.
+         */
+        private TokenBucket bucketFor(String key, long now) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= properties.getMaxKeysPerRoute()) {
+                long due = nextSweep.get();
+                if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+                    return overflow;
+                }
+                buckets.values().removeIf(idle -> idle.isFull(now));
+                if (buckets.size() >= properties.getMaxKeysPerRoute()) {
+                    return overflow;
+                }
+            }
+            return buckets.computeIfAbsent(key, k -> newBucket());
+        }
+
+        private TokenBucket newBucket() {
+            return new TokenBucket(config.getCapacity(), config.getRefillPeriod().toNanos());
+        }
+    }
+}
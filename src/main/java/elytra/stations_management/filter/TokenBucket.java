@@ -0,0 +1,51 @@
+package elytra.stations_management.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the
+ * whole bucket state is the theoretical arrival time of the next request, so
+ * an update is a single compare-and-set on one long.
+ */
+public class TokenBucket {
+
+    private final long refillNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(int capacity, long refillNanos) {
+        if (capacity < 1 || refillNanos < 1) {
+            throw new IllegalArgumentException("Capacity and refill period must be positive");
+        }
+        this.refillNanos = refillNanos;
+        this.burstNanos = refillNanos * (capacity - 1);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long start = current == Long.MIN_VALUE || current - nowNanos < 0 ? nowNanos : current;
+            long waitNanos = start - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + refillNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has refilled completely; dropping it then is
+     * indistinguishable from keeping it.
+     */
+    public boolean isFull(long nowNanos) {
+        long current = theoreticalArrival.get();
+        return current == Long.MIN_VALUE || current - nowNanos <= 0;
+    }
+}
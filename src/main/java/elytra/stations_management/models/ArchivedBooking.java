@@ -0,0 +1,60 @@
+package elytra.stations_management.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished booking moved out of the hot {@code bookings} table. Keeps the
+ * original id; the charger is stored by id only so archived rows survive
+ * charger removal.
+ */
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_bookings_archive_user_start", columnList = "userId, startTime"),
+        @Index(name = "idx_bookings_archive_charger_id", columnList = "chargerId")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long chargerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Booking.Status status;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /** Read-only view as a booking; the charger carries only its id. */
+    public Booking toBooking() {
+        return Booking.builder()
+                .id(id)
+                .startTime(startTime)
+                .endTime(endTime)
+                .userId(userId)
+                .charger(Charger.builder().id(chargerId).build())
+                .status(status)
+                .build();
+    }
+}
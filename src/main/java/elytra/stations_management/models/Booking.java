@@ -5,12 +5,18 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        // Serves a user's history and upcoming bookings without touching other users' rows
+        @Index(name = "idx_bookings_user_start_status", columnList = "user_id, startTime, status")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,8 +33,8 @@ public class Booking {
     @Column(nullable = false)
     private LocalDateTime endTime;
 
-    @Column(nullable = false)
-    private String userId;
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
 
     @JsonBackReference
     @ManyToOne
@@ -40,6 +46,14 @@ public class Booking {
     @Builder.Default
     private Status status = Status.PENDING;
 
+    // Mapped only to get the foreign key to users.id; the booking is written through userId
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    private User user;
+
 
     public enum Status {
         PENDING,
@@ -8,12 +8,15 @@ import lombok.NoArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 @Entity
-@Table(name = "cars")
+@Table(name = "cars", uniqueConstraints = @UniqueConstraint(name = Car.UK_LICENSE_PLATE,
+        columnNames = "licensePlate"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Car {
+    public static final String UK_LICENSE_PLATE = "uk_cars_license_plate";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
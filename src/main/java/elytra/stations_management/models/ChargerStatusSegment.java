@@ -0,0 +1,59 @@
+package elytra.stations_management.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A run of consecutive status changes of one charger, appended by the status
+ * log in batches. The changes are packed in {@code changes}: per change a
+ * varint of the milliseconds since the previous change (the first one counts
+ * from {@code startedAt}), one byte holding the from and to status ordinals
+ * and one byte with the cause ordinal.
+ */
+@Entity
+@Table(name = "charger_status_segments", indexes = {
+        @Index(name = "idx_charger_status_segments_charger_start", columnList = "chargerId, startedAt"),
+        @Index(name = "idx_charger_status_segments_station_start", columnList = "stationId, startedAt") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChargerStatusSegment {
+
+    /** Why a charger changed status. Stored by ordinal: only ever append new values. */
+    public enum Cause {
+        MANUAL,
+        BOOKING,
+        TELEMETRY,
+        MAINTENANCE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long chargerId;
+
+    private Long stationId;
+
+    /** Time of the first change in the segment. */
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    /** Time of the last change in the segment. */
+    @Column(nullable = false)
+    private Instant endedAt;
+
+    @Column(nullable = false)
+    private Integer changeCount;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] changes;
+}
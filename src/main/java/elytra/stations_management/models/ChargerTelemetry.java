@@ -0,0 +1,45 @@
+package elytra.stations_management.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Downsampled charger telemetry: one row per charger and time bucket.
+ */
+@Entity
+@Table(name = "charger_telemetry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_charger_telemetry_charger_bucket",
+                columnNames = {"chargerId", "bucketStart"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChargerTelemetry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long chargerId;
+
+    @Column(nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private Double avgPowerKw;
+
+    @Column(nullable = false)
+    private Double maxPowerKw;
+
+    @Column(nullable = false)
+    private Double energyKwh;
+
+    @Column(nullable = false)
+    private Integer sampleCount;
+}
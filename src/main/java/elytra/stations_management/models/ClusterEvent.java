@@ -0,0 +1,35 @@
+package elytra.stations_management.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A change notification broadcast to the other nodes through the shared
+ * database, e.g. to drop a local cache.
+ */
+@Entity
+@Table(name = "cluster_events", indexes = @Index(name = "idx_cluster_events_created_at", columnList = "createdAt"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    @Column(nullable = false, length = 100)
+    private String origin;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,32 @@
+package elytra.stations_management.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A named lease held by one node; used to elect a single node for jobs that
+ * must not run concurrently across the cluster.
+ */
+@Entity
+@Table(name = "cluster_locks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterLock {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,48 @@
+package elytra.stations_management.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Completed-session totals of one charger on one day, keyed by the day the
+ * booking started. Energy is estimated from the booked duration and the
+ * charger's rated power.
+ */
+@Entity
+@Table(name = "daily_usage_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_usage_charger_day",
+                columnNames = {"chargerId", "usageDate"}),
+        indexes = @Index(name = "idx_daily_usage_station_day", columnList = "stationId, usageDate"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyUsageRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long stationId;
+
+    @Column(nullable = false)
+    private Long chargerId;
+
+    @Column(nullable = false)
+    private LocalDate usageDate;
+
+    @Column(nullable = false)
+    private Long sessions;
+
+    @Column(nullable = false)
+    private Double energyKwh;
+
+    @Column(nullable = false)
+    private Long bookedMinutes;
+}
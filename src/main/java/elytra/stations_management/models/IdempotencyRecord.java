@@ -0,0 +1,40 @@
+package elytra.stations_management.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The stored outcome of a request sent with an {@code Idempotency-Key}.
+ * A null status marks a request that is still running.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at",
+        columnList = "expiresAt"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    /** Scope and client key, e.g. {@code bookings:alice:3f2c...}. */
+    @Id
+    @Column(length = 400)
+    private String id;
+
+    /** SHA-256 of the request body, to detect a key reused for a different request. */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    private Integer status;
+
+    @Lob
+    private String body;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,76 @@
+package elytra.stations_management.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Planned maintenance of one charger, or of every charger of a station when
+ * {@code chargerId} is null. Checked together with bookings when a booking is
+ * created, and applied to the chargers' status while it runs.
+ */
+@Entity
+@Table(name = "maintenance_windows", indexes = {
+        @Index(name = "idx_maintenance_windows_charger_start", columnList = "chargerId, startTime"),
+        @Index(name = "idx_maintenance_windows_station_start", columnList = "stationId, startTime")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceWindow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long stationId;
+
+    /** Null for a window covering the whole station. */
+    private Long chargerId;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private Status status = Status.SCHEDULED;
+
+    /**
+     * Chargers this window moved to UNDER_MAINTENANCE (or took over from an
+     * overlapping window), and so the only ones it gives back when it ends.
+     */
+    @ElementCollection
+    @CollectionTable(name = "maintenance_window_chargers", joinColumns = @JoinColumn(name = "window_id"))
+    @Column(name = "charger_id", nullable = false)
+    @JsonIgnore
+    @Builder.Default
+    private Set<Long> heldChargerIds = new HashSet<>();
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    public enum Status {
+        SCHEDULED,
+        ACTIVE,
+        COMPLETED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,49 @@
+package elytra.stations_management.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A token signing key pair. Keys are published from creation, sign from
+ * {@code activatesAt} until a newer key activates, and verify until
+ * {@code expiresAt}, which outlives every token they can have signed.
+ */
+@Entity
+@Table(name = "signing_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    @Column(nullable = false, length = 10)
+    private String algorithm;
+
+    /** Base64 X.509 encoding. */
+    @Lob
+    @Column(nullable = false)
+    private String publicKey;
+
+    /** Base64 PKCS#8 encoding. */
+    @Lob
+    @Column(nullable = false)
+    private String privateKey;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant activatesAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,65 @@
+package elytra.stations_management.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A driver waiting for a time window on a specific charger, or on any
+ * charger of a station when {@code chargerId} is null.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_station_status_start", columnList = "stationId, status, startTime"),
+        @Index(name = "idx_waitlist_user", columnList = "userId")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long stationId;
+
+    private Long chargerId;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Status status = Status.WAITING;
+
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    /** The booking created for this entry once it was matched. */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long bookingId;
+
+    public enum Status {
+        WAITING,
+        FULFILLED,
+        EXPIRED,
+        CANCELLED
+    }
+}
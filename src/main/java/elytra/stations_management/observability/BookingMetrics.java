@@ -0,0 +1,172 @@
+package elytra.stations_management.observability;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.StationUtilization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Booking and charger business metrics. Counters are pre-registered per enum
+ * value so the hot path is a lookup and a striped add; charger utilization is
+ * snapshotted periodically instead of being maintained on every status change.
+ * Only the first {@code app.metrics.max-station-tags} stations get their own
+ * utilization series, the rest are folded into {@code station="other"}.
+ */
+@Component
+public class BookingMetrics {
+
+    static final String OTHER_STATIONS = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final ChargerRepository chargerRepository;
+    private final int maxStationTags;
+
+    private final Counter created;
+    private final Map<InvalidBookingException.Reason, Counter> rejected =
+            new EnumMap<>(InvalidBookingException.Reason.class);
+    private final Map<Booking.Status, Map<Booking.Status, Counter>> bookingTransitions =
+            new EnumMap<>(Booking.Status.class);
+    private final Map<Charger.Status, Map<Charger.Status, Counter>> chargerTransitions =
+            new EnumMap<>(Charger.Status.class);
+    private final Timer leadTime;
+    private final Map<String, AtomicLong> utilization = new ConcurrentHashMap<>();
+
+    public BookingMetrics(MeterRegistry meterRegistry, ChargerRepository chargerRepository,
+            @Value("${app.metrics.max-station-tags:50}") int maxStationTags) {
+        this.meterRegistry = meterRegistry;
+        this.chargerRepository = chargerRepository;
+        this.maxStationTags = maxStationTags;
+
+        this.created = Counter.builder("bookings.created")
+                .description("Bookings successfully created")
+                .register(meterRegistry);
+        for (InvalidBookingException.Reason reason : InvalidBookingException.Reason.values()) {
+            rejected.put(reason, Counter.builder("bookings.rejected")
+                    .description("Booking requests rejected, by reason")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        for (Booking.Status from : Booking.Status.values()) {
+            Map<Booking.Status, Counter> targets = new EnumMap<>(Booking.Status.class);
+            for (Booking.Status to : Booking.Status.values()) {
+                targets.put(to, Counter.builder("bookings.status.transitions")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(meterRegistry));
+            }
+            bookingTransitions.put(from, targets);
+        }
+        for (Charger.Status from : Charger.Status.values()) {
+            Map<Charger.Status, Counter> targets = new EnumMap<>(Charger.Status.class);
+            for (Charger.Status to : Charger.Status.values()) {
+                targets.put(to, Counter.builder("chargers.status.transitions")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(meterRegistry));
+            }
+            chargerTransitions.put(from, targets);
+        }
+        this.leadTime = Timer.builder("bookings.lead.time")
+                .description("Time between booking creation and the start of the booked slot")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMinutes(1))
+                .maximumExpectedValue(Duration.ofDays(30))
+                .register(meterRegistry);
+    }
+
+    public void bookingCreated(Booking booking) {
+        created.increment();
+        if (booking.getStartTime() != null) {
+            Duration lead = Duration.between(LocalDateTime.now(), booking.getStartTime());
+            leadTime.record(lead.isNegative() ? Duration.ZERO : lead);
+        }
+    }
+
+    public void bookingRejected(InvalidBookingException.Reason reason) {
+        rejected.get(reason).increment();
+    }
+
+    public void bookingStatusChanged(Booking.Status from, Booking.Status to) {
+        if (from != null && to != null) {
+            bookingTransitions.get(from).get(to).increment();
+        }
+    }
+
+    public void chargerStatusChanged(Charger.Status from, Charger.Status to) {
+        if (from != null && to != null) {
+            chargerTransitions.get(from).get(to).increment();
+        }
+    }
+
+    /**
+     * Recomputes per-station charger utilization (chargers in use / total) with
+     * one grouped query.
+     */
+    @Scheduled(fixedDelayString = "${app.metrics.utilization-refresh-ms:30000}")
+    @Transactional(readOnly = true)
+    public void refreshUtilization() {
+        List<StationUtilization> rows = chargerRepository.countUtilizationByStation(Charger.Status.BEING_USED);
+        Set<String> seen = new HashSet<>();
+        long otherTotal = 0;
+        long otherInUse = 0;
+        for (StationUtilization row : rows) {
+            String station = String.valueOf(row.getStationId());
+            if (utilization.containsKey(station) || stationTagCount() < maxStationTags) {
+                gaugeFor(station).set(Double.doubleToLongBits(ratio(row.getInUse(), row.getTotal())));
+                seen.add(station);
+            } else {
+                otherTotal += row.getTotal();
+                otherInUse += row.getInUse();
+            }
+        }
+        if (otherTotal > 0 || utilization.containsKey(OTHER_STATIONS)) {
+            gaugeFor(OTHER_STATIONS).set(Double.doubleToLongBits(ratio(otherInUse, otherTotal)));
+            seen.add(OTHER_STATIONS);
+        }
+        // Deleted stations keep their series slot but stop reporting a value
+        utilization.forEach((station, value) -> {
+            if (!seen.contains(station)) {
+                value.set(Double.doubleToLongBits(Double.NaN));
+            }
+        });
+    }
+
+    private int stationTagCount() {
+        return utilization.size() - (utilization.containsKey(OTHER_STATIONS) ? 1 : 0);
+    }
+
+    private AtomicLong gaugeFor(String station) {
+        return utilization.computeIfAbsent(station, key -> {
+            AtomicLong value = new AtomicLong(Double.doubleToLongBits(Double.NaN));
+            Gauge.builder("chargers.utilization", value, v -> Double.longBitsToDouble(v.get()))
+                    .description("Share of a station's chargers currently in use")
+                    .tag("station", key)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    private static double ratio(Long part, Long total) {
+        return total == null || total == 0 ? 0.0 : (part == null ? 0 : part) / (double) total;
+    }
+}
@@ -0,0 +1,41 @@
+package elytra.stations_management.observability;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Sliding-window latency of HTTP endpoints and repository queries, backing the
+ * {@code hotpaths} actuator endpoint. Covers the last minute in 10 second steps.
+ */
+@Component
+public class HotPathStats {
+
+    private static final int BUCKETS = 6;
+    private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_KEYS = 1_000;
+
+    private final SlidingWindowStats endpoints = new SlidingWindowStats(BUCKETS, BUCKET_NANOS, MAX_KEYS);
+    private final SlidingWindowStats queries = new SlidingWindowStats(BUCKETS, BUCKET_NANOS, MAX_KEYS);
+
+    public void recordEndpoint(String name, long durationNanos) {
+        endpoints.record(name, durationNanos, System.nanoTime());
+    }
+
+    public void recordQuery(String name, long durationNanos) {
+        queries.record(name, durationNanos, System.nanoTime());
+    }
+
+    public List<SlidingWindowStats.Summary> topEndpoints(int limit) {
+        return endpoints.top(limit, System.nanoTime());
+    }
+
+    public List<SlidingWindowStats.Summary> topQueries(int limit) {
+        return queries.top(limit, System.nanoTime());
+    }
+
+    public long windowSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(BUCKETS * BUCKET_NANOS);
+    }
+}
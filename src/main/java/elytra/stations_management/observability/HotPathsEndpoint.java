@@ -0,0 +1,35 @@
+package elytra.stations_management.observability;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/hotpaths}: the endpoints and repository queries that took
+ * the most total time over the recent window.
+ */
+@Component
+@Endpoint(id = "hotpaths")
+@RequiredArgsConstructor
+public class HotPathsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final HotPathStats hotPathStats;
+
+    @ReadOperation
+    public Map<String, Object> hotPaths(@Nullable Integer limit) {
+        int top = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("windowSeconds", hotPathStats.windowSeconds());
+        response.put("endpoints", hotPathStats.topEndpoints(top));
+        response.put("queries", hotPathStats.topQueries(top));
+        return response;
+    }
+}
@@ -0,0 +1,116 @@
+package elytra.stations_management.observability;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every controller, service and repository method with a percentile
+ * histogram. Repository timers are tagged with the entity and query (method)
+ * name and also feed the hot path window. Timers are resolved once per method.
+ */
+@Aspect
+@Component
+public class LatencyMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final HotPathStats hotPathStats;
+    private final Map<Method, Timer> methodTimers = new ConcurrentHashMap<>();
+    private final Map<Method, RepositoryTimer> repositoryTimers = new ConcurrentHashMap<>();
+
+    public LatencyMetricsAspect(MeterRegistry meterRegistry, HotPathStats hotPathStats) {
+        this.meterRegistry = meterRegistry;
+        this.hotPathStats = hotPathStats;
+    }
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryTimer timer = repositoryTimers.computeIfAbsent(method(joinPoint),
+                method -> repositoryTimer(joinPoint.getThis(), method));
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long duration = System.nanoTime() - start;
+            timer.timer().record(duration, TimeUnit.NANOSECONDS);
+            hotPathStats.recordQuery(timer.name(), duration);
+        }
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        Timer timer = methodTimers.computeIfAbsent(method(joinPoint), method -> Timer.builder("app.method.latency")
+                .description("Latency of controller and service methods")
+                .tag("layer", layer)
+                .tag("class", ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName())
+                .tag("method", method.getName())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private RepositoryTimer repositoryTimer(Object proxy, Method method) {
+        Class<?> repositoryInterface = repositoryInterface(proxy);
+        Class<?>[] typeArguments = repositoryInterface != null
+                ? GenericTypeResolver.resolveTypeArguments(repositoryInterface, Repository.class)
+                : null;
+        String repository = repositoryInterface != null ? repositoryInterface.getSimpleName() : "unknown";
+        String entity = typeArguments != null ? typeArguments[0].getSimpleName() : "unknown";
+        String name = repository + "." + method.getName();
+        Timer timer = Timer.builder("app.repository.latency")
+                .description("Latency of Spring Data repository calls")
+                .tag("entity", entity)
+                .tag("query", method.getName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new RepositoryTimer(name, timer);
+    }
+
+    // The proxy implements our repository interface; Spring Data's own interfaces come first in some orders
+    private static Class<?> repositoryInterface(Object proxy) {
+        for (Class<?> candidate : ClassUtils.getAllInterfaces(proxy)) {
+            if (Repository.class.isAssignableFrom(candidate)
+                    && !candidate.getName().startsWith("org.springframework.")) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Method method(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return AopUtils.getMostSpecificMethod(method, joinPoint.getTarget() != null
+                ? joinPoint.getTarget().getClass() : method.getDeclaringClass());
+    }
+
+    private record RepositoryTimer(String name, Timer timer) {
+    }
+}
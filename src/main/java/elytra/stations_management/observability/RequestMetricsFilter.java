@@ -0,0 +1,63 @@
+package elytra.stations_management.observability;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records SQL statements issued per request and feeds request latency into the
+ * hot path window, keyed by the matched route template rather than the raw URI.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final HotPathStats hotPathStats;
+    private final Map<String, DistributionSummary> sqlStatements = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, HotPathStats hotPathStats) {
+        this.meterRegistry = meterRegistry;
+        this.hotPathStats = hotPathStats;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain
+            filterChain) throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long duration = System.nanoTime() - start;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            String route = request.getMethod() + " " + uri;
+            sqlStatements.computeIfAbsent(route, k -> sqlStatementsSummary(request.getMethod(), uri))
+                    .record(SqlStatementCounter.current());
+            hotPathStats.recordEndpoint(route, duration);
+        }
+    }
+
+    private DistributionSummary sqlStatementsSummary(String method, String uri) {
+        return DistributionSummary.builder("http.server.requests.sql_statements")
+                .description("SQL statements issued while handling a request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,103 @@
+package elytra.stations_management.observability;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key latency statistics over a sliding time window, kept as a ring of
+ * fixed-width buckets. Recording is lock-free; a bucket whose slot is reused
+ * for a newer interval is reset by the first writer that notices.
+ */
+public class SlidingWindowStats {
+
+    public record Summary(String name, long count, double meanMillis, double maxMillis, double totalMillis) {
+    }
+
+    private final int bucketCount;
+    private final long bucketNanos;
+    private final int maxKeys;
+    private final Map<String, Bucket[]> series = new ConcurrentHashMap<>();
+
+    public SlidingWindowStats(int bucketCount, long bucketNanos, int maxKeys) {
+        this.bucketCount = bucketCount;
+        this.bucketNanos = bucketNanos;
+        this.maxKeys = maxKeys;
+    }
+
+    public void record(String name, long durationNanos, long nowNanos) {
+        Bucket[] buckets = series.get(name);
+        if (buckets == null) {
+            if (series.size() >= maxKeys) {
+                return;
+            }
+            buckets = series.computeIfAbsent(name, k -> newBuckets());
+        }
+        long epoch = Math.floorDiv(nowNanos, bucketNanos);
+        Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) bucketCount)];
+        bucket.roll(epoch);
+        bucket.count.increment();
+        bucket.totalNanos.add(durationNanos);
+        bucket.maxNanos.accumulate(durationNanos);
+    }
+
+    /**
+     * Keys ordered by total time spent in the window, so frequent moderate calls
+     * rank alongside rare slow ones.
+     */
+    public List<Summary> top(int limit, long nowNanos) {
+        long newestEpoch = Math.floorDiv(nowNanos, bucketNanos);
+        List<Summary> summaries = new ArrayList<>();
+        series.forEach((name, buckets) -> {
+            long count = 0;
+            long total = 0;
+            long max = 0;
+            for (Bucket bucket : buckets) {
+                long epoch = bucket.epoch.get();
+                if (newestEpoch - epoch < bucketCount) {
+                    count += bucket.count.sum();
+                    total += bucket.totalNanos.sum();
+                    max = Math.max(max, bucket.maxNanos.get());
+                }
+            }
+            if (count > 0) {
+                summaries.add(new Summary(name, count, toMillis(total) / count, toMillis(max), toMillis(total)));
+            }
+        });
+        summaries.sort(Comparator.comparingDouble(Summary::totalMillis).reversed());
+        return summaries.size() > limit ? summaries.subList(0, limit) : summaries;
+    }
+
+    private Bucket[] newBuckets() {
+        Bucket[] buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+        return buckets;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Bucket {
+        private final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void roll(long currentEpoch) {
+            long seen = epoch.get();
+            if (seen != currentEpoch && epoch.compareAndSet(seen, currentEpoch)) {
+                count.reset();
+                totalNanos.reset();
+                maxNanos.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package elytra.stations_management.observability;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation in a trace, identified W3C trace-context style (32 hex
+ * trace id, 16 hex span id). Spans are confined to the thread that started
+ * them; {@link #end()} hands recorded spans to the exporter and restores the
+ * parent as the current span.
+ */
+public class Span {
+
+    /** Returned when the current trace is not sampled; every operation is a no-op. */
+    static final Span NOOP = new Span(null, null, null, null, null, null, false, false);
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private String name;
+    private final Span previous;
+    private final boolean recording;
+    private final boolean current;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final Map<String, Object> attributes;
+    private long durationNanos;
+    private String status = "OK";
+    private boolean ended;
+
+    Span(Tracer tracer, String traceId, String spanId, String parentSpanId, String name, Span previous,
+            boolean recording, boolean current) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.previous = previous;
+        this.recording = recording;
+        this.current = current;
+        this.startEpochNanos = recording ? Tracer.epochNanos() : 0;
+        this.startNanos = recording ? System.nanoTime() : 0;
+        this.attributes = recording ? new LinkedHashMap<>() : Map.of();
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (recording && value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    public Span updateName(String name) {
+        if (recording) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span recordError(Throwable error) {
+        if (recording) {
+            status = "ERROR";
+            attributes.put("exception.type", error.getClass().getName());
+            if (error.getMessage() != null) {
+                attributes.put("exception.message", error.getMessage());
+            }
+        }
+        return this;
+    }
+
+    public void end() {
+        if (tracer == null || ended) {
+            return;
+        }
+        ended = true;
+        if (recording) {
+            durationNanos = System.nanoTime() - startNanos;
+        }
+        tracer.ended(this);
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /** W3C {@code traceparent} header value for this span. */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + (recording ? "-01" : "-00");
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    Span getPrevious() {
+        return previous;
+    }
+
+    boolean isCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,83 @@
+package elytra.stations_management.observability;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import elytra.stations_management.config.TracingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Buffers finished spans and periodically writes them as JSON lines to the
+ * {@code tracing} logger, using OTLP field names so a collector (or a log
+ * shipper in front of one) can ingest them. Request threads only enqueue;
+ * when the buffer is full spans are dropped rather than blocking.
+ */
+@Component
+public class SpanExporter {
+
+    private static final Logger TRACE_LOG = LoggerFactory.getLogger("tracing");
+
+    private final BlockingQueue<Span> queue;
+    private final ObjectMapper objectMapper;
+    private final Counter dropped;
+
+    public SpanExporter(TracingProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.objectMapper = objectMapper;
+        this.dropped = Counter.builder("tracing.spans.dropped")
+                .description("Finished spans dropped because the export buffer was full")
+                .register(meterRegistry);
+    }
+
+    void export(Span span) {
+        if (!queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tracing.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        for (Span span : drain()) {
+            try {
+                TRACE_LOG.info(objectMapper.writeValueAsString(toJson(span)));
+            } catch (JsonProcessingException e) {
+                dropped.increment();
+            }
+        }
+    }
+
+    /** Removes and returns everything buffered so far. */
+    public List<Span> drain() {
+        List<Span> spans = new ArrayList<>(queue.size());
+        queue.drainTo(spans);
+        return spans;
+    }
+
+    private static Map<String, Object> toJson(Span span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        json.put("parentSpanId", span.getParentSpanId());
+        json.put("name", span.getName());
+        json.put("startTimeUnixNano", span.getStartEpochNanos());
+        json.put("endTimeUnixNano", span.getStartEpochNanos() + span.getDurationNanos());
+        json.put("status", span.getStatus());
+        json.put("attributes", span.getAttributes());
+        return json;
+    }
+}
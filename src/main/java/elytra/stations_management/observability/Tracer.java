@@ -0,0 +1,134 @@
+package elytra.stations_management.observability;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import elytra.stations_management.config.TracingProperties;
+import elytra.stations_management.filter.TokenBucket;
+
+/**
+ * Minimal tracer compatible with W3C trace context. A trace is started per
+ * request by {@link TracingFilter}; the sampling decision is made once at the
+ * root so unsampled requests only pay for a thread-local lookup per
+ * instrumented call. An incoming {@code traceparent} can force sampling, but
+ * only up to a fixed rate, since any client may set the flag. Work outside a
+ * request (schedulers, startup) is not traced.
+ */
+@Component
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final SpanExporter exporter;
+    private final TracingProperties properties;
+    private final TokenBucket parentSampled;
+
+    public Tracer(SpanExporter exporter, TracingProperties properties) {
+        this.exporter = exporter;
+        this.properties = properties;
+        int perSecond = properties.getMaxParentSampledPerSecond();
+        this.parentSampled = perSecond > 0 ? new TokenBucket(perSecond, TimeUnit.SECONDS.toNanos(1) / perSecond) : null;
+    }
+
+    /**
+     * Starts the root span of a request and makes it current, continuing the
+     * caller's trace when a valid {@code traceparent} is given.
+     */
+    public Span startTrace(String name, String traceparent) {
+        if (!properties.isEnabled()) {
+            return Span.NOOP;
+        }
+        String traceId;
+        String parentSpanId = null;
+        boolean sampled;
+        if (isValidTraceparent(traceparent)) {
+            traceId = traceparent.substring(3, 35);
+            parentSpanId = traceparent.substring(36, 52);
+            sampled = (Character.digit(traceparent.charAt(54), 16) & 1) == 1
+                    && parentSampled != null && parentSampled.tryConsume(System.nanoTime()) == 0;
+        } else {
+            traceId = hex(ThreadLocalRandom.current().nextLong()) + hex(ThreadLocalRandom.current().nextLong());
+            sampled = false;
+        }
+        if (!sampled) {
+            sampled = ThreadLocalRandom.current().nextDouble() < properties.getSampleRatio();
+        }
+        Span span = new Span(this, traceId, hex(ThreadLocalRandom.current().nextLong()), parentSpanId, name,
+                CURRENT.get(), sampled, true);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * Starts a child of the current span and makes it current. Returns a no-op
+     * span when there is no sampled trace on this thread.
+     */
+    public Span startSpan(String name) {
+        return child(name, true);
+    }
+
+    /**
+     * Starts a child of the current span without making it current, for work
+     * whose end is not tied to the call stack (e.g. a result set being read).
+     */
+    public Span startDetachedSpan(String name) {
+        return child(name, false);
+    }
+
+    public boolean isRecording() {
+        Span current = CURRENT.get();
+        return current != null && current.isRecording();
+    }
+
+    private Span child(String name, boolean makeCurrent) {
+        Span parent = CURRENT.get();
+        if (parent == null || !parent.isRecording()) {
+            return Span.NOOP;
+        }
+        Span span = new Span(this, parent.getTraceId(), hex(ThreadLocalRandom.current().nextLong()),
+                parent.getSpanId(), name, parent, true, makeCurrent);
+        if (makeCurrent) {
+            CURRENT.set(span);
+        }
+        return span;
+    }
+
+    void ended(Span span) {
+        if (span.isCurrent()) {
+            if (span.getPrevious() != null) {
+                CURRENT.set(span.getPrevious());
+            } else {
+                CURRENT.remove();
+            }
+        }
+        if (span.isRecording()) {
+            exporter.export(span);
+        }
+    }
+
+    static long epochNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    private static boolean isValidTraceparent(String value) {
+        if (value == null || value.length() < 55 || value.charAt(2) != '-' || value.charAt(35) != '-'
+                || value.charAt(52) != '-') {
+            return false;
+        }
+        for (int i = 0; i < 55; i++) {
+            if (i != 2 && i != 35 && i != 52 && Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return !value.startsWith("ff") && !value.startsWith("00000000000000000000000000000000", 3);
+    }
+
+    private static String hex(long value) {
+        String hex = Long.toHexString(value);
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+}
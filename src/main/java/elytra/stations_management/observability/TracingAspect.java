@@ -0,0 +1,112 @@
+package elytra.stations_management.observability;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Spans for controller and service methods, plus a span for each outermost
+ * {@code @Transactional} call so commit time is visible. Ordered outside the
+ * transaction interceptor. Identifier arguments ({@code Long ...Id}) and the
+ * size of collection results are recorded as attributes.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class TracingAspect {
+
+    private final Tracer tracer;
+    private final Map<Method, TracedMethod> methods = new ConcurrentHashMap<>();
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller");
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (!tracer.isRecording()) {
+            return joinPoint.proceed();
+        }
+        TracedMethod traced = methods.computeIfAbsent(method(joinPoint), method -> tracedMethod(joinPoint, method));
+        Span transaction = traced.transactional() && !TransactionSynchronizationManager.isActualTransactionActive()
+                ? tracer.startSpan("transaction " + traced.name())
+                        .setAttribute("db.transaction.read_only", traced.readOnly())
+                : Span.NOOP;
+        Span span = tracer.startSpan(traced.name()).setAttribute("app.layer", layer);
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < traced.idParameters().length; i++) {
+            int index = traced.idParameters()[i];
+            span.setAttribute("app." + traced.idNames()[i], args[index]);
+        }
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof Collection<?> collection) {
+                span.setAttribute("app.result.count", collection.size());
+            }
+            return result;
+        } catch (Throwable e) {
+            span.recordError(e);
+            transaction.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+            transaction.end();
+        }
+    }
+
+    private static TracedMethod tracedMethod(ProceedingJoinPoint joinPoint, Method method) {
+        Class<?> type = ClassUtils.getUserClass(joinPoint.getTarget());
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class);
+        if (transactional == null) {
+            transactional = AnnotatedElementUtils.findMergedAnnotation(type, Transactional.class);
+        }
+        String[] parameterNames = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        List<Integer> indexes = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; parameterNames != null && i < parameterTypes.length; i++) {
+            if (parameterTypes[i] == Long.class && parameterNames[i].endsWith("Id")) {
+                indexes.add(i);
+                names.add(parameterNames[i]);
+            }
+        }
+        return new TracedMethod(type.getSimpleName() + "." + method.getName(),
+                transactional != null, transactional != null && transactional.readOnly(),
+                indexes.stream().mapToInt(Integer::intValue).toArray(), names.toArray(String[]::new));
+    }
+
+    private static Method method(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return AopUtils.getMostSpecificMethod(method, joinPoint.getTarget() != null
+                ? joinPoint.getTarget().getClass() : method.getDeclaringClass());
+    }
+
+    private record TracedMethod(String name, boolean transactional, boolean readOnly, int[] idParameters,
+            String[] idNames) {
+    }
+}
@@ -0,0 +1,179 @@
+package elytra.stations_management.observability;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import elytra.stations_management.config.TracingProperties;
+
+/**
+ * Wraps the application DataSource so every statement executed inside a
+ * sampled trace gets a span with its SQL, rows affected or rows read. Outside
+ * a sampled trace statements are returned unwrapped.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private final Supplier<Tracer> tracer;
+    private final Supplier<TracingProperties> properties;
+
+    public TracingDataSource(DataSource target, Supplier<Tracer> tracer, Supplier<TracingProperties> properties) {
+        super(target);
+        this.tracer = tracer;
+        this.properties = properties;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TracingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && tracer.get().isRecording()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return proxy(type, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private Span openQuery = Span.NOOP;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                openQuery.end();
+                return TracingDataSource.invoke(target, method, args);
+            }
+            if (!name.startsWith("execute")) {
+                return TracingDataSource.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            String operation = operation(sql);
+            Span span = tracer.get().startDetachedSpan("SQL " + operation)
+                    .setAttribute("db.operation", operation)
+                    .setAttribute("db.statement", truncate(sql));
+            Object result;
+            try {
+                result = TracingDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                span.recordError(e).end();
+                throw e;
+            }
+            if (result instanceof ResultSet resultSet) {
+                // Reading the rows is part of the query; the span ends when the result set is closed
+                openQuery = span;
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, span));
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                span.setAttribute("db.rows_affected", ((Number) result).longValue());
+            } else if (result instanceof int[] counts) {
+                span.setAttribute("db.batch.size", counts.length);
+                span.setAttribute("db.rows_affected", sum(counts));
+            }
+            span.end();
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final Span span;
+        private long rows;
+
+        ResultSetHandler(ResultSet target, Span span) {
+            this.target = target;
+            this.span = span;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TracingDataSource.invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (method.getName().equals("close")) {
+                span.setAttribute("db.rows_returned", rows).end();
+            }
+            return result;
+        }
+    }
+
+    private String truncate(String sql) {
+        int max = properties.get().getMaxStatementLength();
+        return sql != null && sql.length() > max ? sql.substring(0, max) : sql;
+    }
+
+    private static String operation(String sql) {
+        if (sql == null) {
+            return "BATCH";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "UNKNOWN" : trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static long sum(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,56 @@
+package elytra.stations_management.observability;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens the root span of every request, ahead of the security chain so the
+ * JWT filter is covered, and echoes the trace context in the response.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class TracingFilter extends OncePerRequestFilter {
+
+    static final String TRACEPARENT = "traceparent";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain
+            filterChain) throws ServletException, IOException {
+        Span span = tracer.startTrace("HTTP " + request.getMethod(), request.getHeader(TRACEPARENT));
+        if (span != Span.NOOP) {
+            response.setHeader(TRACEPARENT, span.traceparent());
+        }
+        span.setAttribute("http.request.method", request.getMethod());
+        span.setAttribute("url.path", request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                span.updateName(request.getMethod() + " " + pattern);
+                span.setAttribute("http.route", pattern.toString());
+            }
+            span.setAttribute("http.response.status_code", response.getStatus());
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package elytra.stations_management.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import elytra.stations_management.models.ArchivedBooking;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    List<ArchivedBooking> findByUserId(Long userId);
+
+    List<ArchivedBooking> findByChargerId(Long chargerId);
+
+    /** Copies the given hot bookings into the archive in one statement. */
+    @Modifying
+    @Query("INSERT INTO ArchivedBooking (id, startTime, endTime, userId, chargerId, status, archivedAt) " +
+            "SELECT b.id, b.startTime, b.endTime, b.userId, b.charger.id, b.status, :archivedAt " +
+            "FROM Booking b WHERE b.id IN :ids")
+    int copyFromBookings(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query("SELECT a.chargerId AS chargerId, c.station.id AS stationId, c.power AS power, " +
+            "a.startTime AS startTime, a.endTime AS endTime " +
+            "FROM ArchivedBooking a JOIN Charger c ON c.id = a.chargerId " +
+            "WHERE a.chargerId IN :chargerIds AND a.status = 'COMPLETED'")
+    List<CompletedSession> findCompletedSessions(@Param("chargerIds") List<Long> chargerIds);
+}
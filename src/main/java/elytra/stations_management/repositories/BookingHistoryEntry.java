@@ -0,0 +1,22 @@
+package elytra.stations_management.repositories;
+
+import java.time.LocalDateTime;
+
+import elytra.stations_management.models.Booking;
+
+/**
+ * One row of a user's booking history, from either the hot or the archive table.
+ */
+public interface BookingHistoryEntry {
+    Long getId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    Long getChargerId();
+
+    Booking.Status getStatus();
+
+    boolean isArchived();
+}
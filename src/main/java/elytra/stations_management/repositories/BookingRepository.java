@@ -3,16 +3,60 @@ package elytra.stations_management.repositories;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import elytra.stations_management.models.Booking;
 
+/**
+ * The hot booking segment: upcoming, active and recently finished bookings.
+ * Finished bookings past the retention window live in
+ * {@link ArchivedBookingRepository}, so conflict checks here never scan them.
+ */
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
-    List<Booking> findByUserId(String userId);
+    List<Booking> findByUserId(Long userId);
+
+    /** Next bookings of a user, read by range on the (user_id, start_time) index. */
+    @Query("SELECT b FROM Booking b WHERE b.userId = :userId AND b.startTime >= :from " +
+            "AND b.status IN :statuses ORDER BY b.startTime ASC")
+    List<Booking> findUpcoming(
+        @Param("userId") Long userId,
+        @Param("from") LocalDateTime from,
+        @Param("statuses") List<Booking.Status> statuses,
+        Pageable pageable
+    );
+
+    /**
+     * A user's bookings across the hot and archive tables, newest first. Both
+     * branches are range scans on their (user_id, start_time) index.
+     */
+    @Query(value = "SELECT id, startTime, endTime, chargerId, status, archived FROM (" +
+            "SELECT b.id AS id, b.start_time AS startTime, b.end_time AS endTime, " +
+            "b.charger_id AS chargerId, b.status AS status, FALSE AS archived FROM bookings b " +
+            "WHERE b.user_id = :userId AND b.start_time >= :from AND b.start_time < :to " +
+            "AND b.status IN (:statuses) " +
+            "UNION ALL " +
+            "SELECT a.id, a.start_time, a.end_time, a.charger_id, a.status, TRUE FROM bookings_archive a " +
+            "WHERE a.user_id = :userId AND a.start_time >= :from AND a.start_time < :to " +
+            "AND a.status IN (:statuses)) h ORDER BY startTime DESC, id DESC",
+            countQuery = "SELECT (SELECT COUNT(*) FROM bookings b WHERE b.user_id = :userId " +
+                    "AND b.start_time >= :from AND b.start_time < :to AND b.status IN (:statuses)) + " +
+                    "(SELECT COUNT(*) FROM bookings_archive a WHERE a.user_id = :userId " +
+                    "AND a.start_time >= :from AND a.start_time < :to AND a.status IN (:statuses))",
+            nativeQuery = true)
+    Page<BookingHistoryEntry> findHistory(
+        @Param("userId") Long userId,
+        @Param("statuses") List<String> statuses,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        Pageable pageable
+    );
     
     List<Booking> findByChargerId(Long chargerId);
 
@@ -26,6 +70,40 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("endTime") LocalDateTime endTime
     );
 
+    /**
+     * What blocks a new booking of the charger in [startTime, endTime]: one
+     * "BOOKING" per overlapping booking and one "MAINTENANCE" per open
+     * maintenance window of the charger or its station, in a single query.
+     */
+    @Query(value = "SELECT 'BOOKING' FROM bookings b WHERE b.charger_id = :chargerId " +
+            "AND b.status <> 'CANCELLED' AND b.start_time <= :endTime AND b.end_time >= :startTime " +
+            "UNION ALL " +
+            "SELECT 'MAINTENANCE' FROM maintenance_windows w WHERE w.status IN ('SCHEDULED', 'ACTIVE') " +
+            "AND w.start_time < :endTime AND w.end_time > :startTime " +
+            "AND (w.charger_id = :chargerId OR (w.charger_id IS NULL " +
+            "AND w.station_id = (SELECT c.station_id FROM chargers c WHERE c.id = :chargerId)))",
+            nativeQuery = true)
+    List<String> findConflicts(
+            @Param("chargerId") Long chargerId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    /** Bookings in {@code statuses} overlapping a window on the station, or on one charger if given. */
+    @Query("SELECT b.id AS bookingId, b.charger.id AS chargerId, b.userId AS userId, " +
+           "b.startTime AS startTime, b.endTime AS endTime, b.status AS status " +
+           "FROM Booking b WHERE b.charger.station.id = :stationId " +
+           "AND (:chargerId IS NULL OR b.charger.id = :chargerId) " +
+           "AND b.status IN :statuses AND b.startTime < :endTime AND b.endTime > :startTime " +
+           "ORDER BY b.startTime, b.id")
+    List<MaintenanceConflict> findMaintenanceConflicts(
+        @Param("stationId") Long stationId,
+        @Param("chargerId") Long chargerId,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        @Param("statuses") List<Booking.Status> statuses
+    );
+
     @Query("SELECT b FROM Booking b WHERE b.charger.id = :chargerId " +
            "AND b.startTime >= :startTime " +
            "AND b.startTime <= :endTime " +
@@ -37,4 +115,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     );
 
     List<Booking> findByChargerIdAndStatus(Long chargerId, Booking.Status status);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status IN :statuses AND b.endTime < :cutoff ORDER BY b.id")
+    List<Long> findArchivableIds(
+        @Param("statuses") List<Booking.Status> statuses,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT b.charger.id AS chargerId, b.charger.station.id AS stationId, b.charger.power AS power, " +
+           "b.startTime AS startTime, b.endTime AS endTime " +
+           "FROM Booking b WHERE b.charger.id IN :chargerIds AND b.status = 'COMPLETED'")
+    List<CompletedSession> findCompletedSessions(@Param("chargerIds") List<Long> chargerIds);
+
+    @Query("SELECT b FROM Booking b WHERE b.charger.station.id = :stationId " +
+           "AND b.status != 'CANCELLED' " +
+           "AND b.startTime <= :endTime AND b.endTime >= :startTime")
+    List<Booking> findActiveAtStation(
+        @Param("stationId") Long stationId,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime
+    );
 }
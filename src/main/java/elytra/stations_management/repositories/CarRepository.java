@@ -1,14 +1,19 @@
 package elytra.stations_management.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import elytra.stations_management.models.Car;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CarRepository extends JpaRepository<Car, Long> {
     List<Car> findByEvDriverId(Long driverId);
     List<Car> findByChargerType(String chargerType);
-    boolean existsByLicensePlate(String licensePlate);
+
+    @Query("SELECT c.licensePlate FROM Car c WHERE c.licensePlate IN :plates")
+    List<String> findRegisteredLicensePlates(@Param("plates") Collection<String> plates);
 } 
\ No newline at end of file
@@ -1,15 +1,63 @@
 package elytra.stations_management.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import elytra.stations_management.models.Charger;
 import elytra.stations_management.models.Charger.Status;
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface ChargerRepository extends JpaRepository<Charger, Long> {
     List<Charger> findByStationIdAndStatus(Long stationId, Status status);
 
+    List<Charger> findByStationIdOrderById(Long stationId);
+
     List<Charger> findByStatus(Status status);
-}
\ No newline at end of file
+
+    @Query("SELECT c.version FROM Charger c WHERE c.id = :chargerId")
+    Optional<Long> findVersionById(@Param("chargerId") Long chargerId);
+
+    @Query("SELECT COUNT(c) AS rowCount, COALESCE(SUM(c.id), 0) AS idSum, " +
+            "COALESCE(SUM(c.version), 0) AS versionSum FROM Charger c")
+    VersionStamp findVersionStamp();
+
+    @Query("SELECT COUNT(c) AS rowCount, COALESCE(SUM(c.id), 0) AS idSum, " +
+            "COALESCE(SUM(c.version), 0) AS versionSum FROM Charger c WHERE c.status = :status")
+    VersionStamp findVersionStampByStatus(@Param("status") Status status);
+
+    @Query("SELECT c.station.id AS stationId, COUNT(c) AS total, " +
+            "SUM(CASE WHEN c.status = :inUse THEN 1 ELSE 0 END) AS inUse " +
+            "FROM Charger c GROUP BY c.station.id")
+    List<StationUtilization> countUtilizationByStation(@Param("inUse") Status inUse);
+
+    @Query("SELECT c.id FROM Charger c ORDER BY c.id")
+    List<Long> findAllIds();
+
+    /** Row-locks the chargers until the end of the transaction, in id order so lockers cannot deadlock. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Charger c WHERE c.id IN :ids ORDER BY c.id")
+    List<Charger> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id AS id, c.station.id AS stationId, c.status AS status FROM Charger c " +
+            "WHERE c.station.id IN :stationIds ORDER BY c.id")
+    List<ChargerStatusView> findStatusesByStationIds(@Param("stationIds") Collection<Long> stationIds);
+
+    /**
+     * Moves the chargers to {@code status} in one statement, bumping their
+     * versions so cached tags change. Only rows still in {@code expected} are
+     * touched; returns the number updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Charger c SET c.status = :status, c.version = c.version + 1 " +
+            "WHERE c.id IN :ids AND c.status = :expected")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("expected") Status expected,
+            @Param("status") Status status);
+}
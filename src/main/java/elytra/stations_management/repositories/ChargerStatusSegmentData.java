@@ -0,0 +1,13 @@
+package elytra.stations_management.repositories;
+
+import java.time.Instant;
+
+/**
+ * The parts of a status segment an uptime scan decodes; read as a projection
+ * so a streamed scan does not fill the persistence context.
+ */
+public interface ChargerStatusSegmentData {
+    Long getChargerId();
+    Instant getStartedAt();
+    byte[] getChanges();
+}
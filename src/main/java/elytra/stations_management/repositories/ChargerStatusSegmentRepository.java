@@ -0,0 +1,36 @@
+package elytra.stations_management.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import elytra.stations_management.models.ChargerStatusSegment;
+
+@Repository
+public interface ChargerStatusSegmentRepository extends JpaRepository<ChargerStatusSegment, Long> {
+
+    /** Segments starting in [from, to), per charger in time order. */
+    @Query("SELECT s.chargerId AS chargerId, s.startedAt AS startedAt, s.changes AS changes " +
+           "FROM ChargerStatusSegment s WHERE s.chargerId IN :chargerIds " +
+           "AND s.startedAt >= :from AND s.startedAt < :to ORDER BY s.chargerId, s.startedAt, s.id")
+    Stream<ChargerStatusSegmentData> streamByChargerIds(@Param("chargerIds") Collection<Long> chargerIds,
+            @Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * For each charger, the segment(s) with the latest start before {@code from},
+     * plus earlier ones still running then: a segment written late can overlap
+     * the ones before it. Per charger in time order.
+     */
+    @Query("SELECT s.chargerId AS chargerId, s.startedAt AS startedAt, s.changes AS changes " +
+           "FROM ChargerStatusSegment s WHERE s.chargerId IN :chargerIds AND s.startedAt < :from AND s.endedAt >= " +
+           "(SELECT MAX(p.startedAt) FROM ChargerStatusSegment p WHERE p.chargerId = s.chargerId AND p.startedAt < :from) " +
+           "ORDER BY s.chargerId, s.startedAt, s.id")
+    List<ChargerStatusSegmentData> findLatestBefore(@Param("chargerIds") Collection<Long> chargerIds,
+            @Param("from") Instant from);
+}
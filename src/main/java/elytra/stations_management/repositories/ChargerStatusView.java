@@ -0,0 +1,14 @@
+package elytra.stations_management.repositories;
+
+import elytra.stations_management.models.Charger;
+
+/**
+ * Id, station and status of a charger, without loading the entity.
+ */
+public interface ChargerStatusView {
+    Long getId();
+
+    Long getStationId();
+
+    Charger.Status getStatus();
+}
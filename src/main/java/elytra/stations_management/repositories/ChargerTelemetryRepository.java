@@ -0,0 +1,31 @@
+package elytra.stations_management.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import elytra.stations_management.models.ChargerTelemetry;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ChargerTelemetryRepository extends JpaRepository<ChargerTelemetry, Long> {
+
+    List<ChargerTelemetry> findByChargerIdAndBucketStartGreaterThanEqualOrderByBucketStartAsc(Long chargerId,
+            Instant from);
+
+    /**
+     * Stored buckets of the given chargers, locked so concurrent flushes merge
+     * into a row one after the other. May include combinations of charger and
+     * bucket that were not asked for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM ChargerTelemetry t WHERE t.chargerId IN :chargerIds AND t.bucketStart IN :starts")
+    List<ChargerTelemetry> findForUpdate(@Param("chargerIds") Collection<Long> chargerIds,
+            @Param("starts") Collection<Instant> starts);
+}
@@ -0,0 +1,27 @@
+package elytra.stations_management.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import elytra.stations_management.models.ClusterEvent;
+
+@Repository
+public interface ClusterEventRepository extends JpaRepository<ClusterEvent, Long> {
+
+    List<ClusterEvent> findByIdGreaterThanOrderByIdAsc(Long id);
+
+    List<ClusterEvent> findByIdIn(Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ClusterEvent e WHERE e.createdAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -0,0 +1,36 @@
+package elytra.stations_management.repositories;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import elytra.stations_management.models.ClusterLock;
+
+@Repository
+public interface ClusterLockRepository extends JpaRepository<ClusterLock, String> {
+
+    /** Extends our own lease or takes over an expired one; returns 1 if we now hold the lock. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ClusterLock l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int renew(@Param("name") String name, @Param("owner") String owner,
+            @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    /** Plain insert so a concurrent creator fails on the primary key instead of being merged over. */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO cluster_locks (name, owner, expires_at) VALUES (:name, :owner, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ClusterLock l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
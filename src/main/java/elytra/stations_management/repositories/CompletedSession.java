@@ -0,0 +1,18 @@
+package elytra.stations_management.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a completed booking that usage rollups are built from.
+ */
+public interface CompletedSession {
+    Long getChargerId();
+
+    Long getStationId();
+
+    Double getPower();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
@@ -0,0 +1,38 @@
+package elytra.stations_management.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import elytra.stations_management.models.DailyUsageRollup;
+
+@Repository
+public interface DailyUsageRollupRepository extends JpaRepository<DailyUsageRollup, Long> {
+
+    /** Adds one session to an existing row; returns 0 when the charger has no row for that day yet. */
+    @Modifying
+    @Query(value = "UPDATE daily_usage_rollups SET sessions = sessions + 1, energy_kwh = energy_kwh + :energyKwh, " +
+            "booked_minutes = booked_minutes + :minutes WHERE charger_id = :chargerId AND usage_date = :day",
+            nativeQuery = true)
+    int addSession(@Param("chargerId") Long chargerId, @Param("day") LocalDate day,
+            @Param("energyKwh") double energyKwh, @Param("minutes") long minutes);
+
+    @Query("SELECT r.usageDate AS usageDate, SUM(r.sessions) AS sessions, SUM(r.energyKwh) AS energyKwh, " +
+            "SUM(r.bookedMinutes) AS bookedMinutes FROM DailyUsageRollup r " +
+            "WHERE r.stationId = :stationId AND r.usageDate BETWEEN :from AND :to " +
+            "GROUP BY r.usageDate ORDER BY r.usageDate")
+    List<StationDailyUsage> findStationDailyUsage(@Param("stationId") Long stationId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    List<DailyUsageRollup> findByStationIdAndUsageDateBetweenOrderByUsageDateAscChargerIdAsc(Long stationId,
+            LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailyUsageRollup r WHERE r.chargerId IN :chargerIds")
+    int deleteByChargerIdIn(@Param("chargerIds") List<Long> chargerIds);
+}
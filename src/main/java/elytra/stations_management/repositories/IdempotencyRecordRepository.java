@@ -0,0 +1,45 @@
+package elytra.stations_management.repositories;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import elytra.stations_management.models.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /** Plain insert so a concurrent claim of the same key fails on the primary key instead of being merged over. */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id, request_hash, expires_at) VALUES (:id, :requestHash, :expiresAt)",
+            nativeQuery = true)
+    int claim(@Param("id") String id, @Param("requestHash") String requestHash,
+            @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.body = :body WHERE r.id = :id")
+    int complete(@Param("id") String id, @Param("status") int status, @Param("body") String body);
+
+    /** Drops an unfinished claim so the client can retry. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.status IS NULL")
+    int release(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("id") String id, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
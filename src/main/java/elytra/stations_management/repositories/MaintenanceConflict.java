@@ -0,0 +1,22 @@
+package elytra.stations_management.repositories;
+
+import java.time.LocalDateTime;
+
+import elytra.stations_management.models.Booking;
+
+/**
+ * A pending or confirmed booking that overlaps a maintenance window.
+ */
+public interface MaintenanceConflict {
+    Long getBookingId();
+
+    Long getChargerId();
+
+    Long getUserId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    Booking.Status getStatus();
+}
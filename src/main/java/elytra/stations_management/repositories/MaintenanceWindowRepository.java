@@ -0,0 +1,33 @@
+package elytra.stations_management.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import elytra.stations_management.models.MaintenanceWindow;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface MaintenanceWindowRepository extends JpaRepository<MaintenanceWindow, Long> {
+
+    List<MaintenanceWindow> findByStatus(MaintenanceWindow.Status status);
+
+    /** Row-locks the window until the end of the transaction, so the leader's pass and a cancel take turns. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM MaintenanceWindow w WHERE w.id = :id")
+    Optional<MaintenanceWindow> lockById(@Param("id") Long id);
+
+    @Query("SELECT w FROM MaintenanceWindow w WHERE w.status = 'SCHEDULED' AND w.startTime <= :now ORDER BY w.startTime")
+    List<MaintenanceWindow> findDue(@Param("now") LocalDateTime now);
+
+    /** Scheduled and running windows of a station, including those of single chargers. */
+    @Query("SELECT w FROM MaintenanceWindow w WHERE w.stationId = :stationId " +
+           "AND w.status IN ('SCHEDULED', 'ACTIVE') ORDER BY w.startTime, w.id")
+    List<MaintenanceWindow> findOpenByStationId(@Param("stationId") Long stationId);
+}
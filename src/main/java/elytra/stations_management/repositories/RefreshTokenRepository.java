@@ -0,0 +1,33 @@
+package elytra.stations_management.repositories;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import elytra.stations_management.models.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /** Marks a live token as used; returns 0 if it was already used, revoked or expired. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now " +
+            "WHERE t.id = :id AND t.usedAt IS NULL AND t.revoked = false AND t.expiresAt > :now")
+    int markUsed(@Param("id") String id, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
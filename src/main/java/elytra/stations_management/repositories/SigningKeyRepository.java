@@ -0,0 +1,25 @@
+package elytra.stations_management.repositories;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import elytra.stations_management.models.SigningKey;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    Optional<SigningKey> findFirstByOrderByCreatedAtDesc();
+
+    /** Drops expired keys except {@code keep}, the key currently signing. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SigningKey k WHERE k.expiresAt < :now AND k.kid <> :keep")
+    int deleteExpired(@Param("now") Instant now, @Param("keep") String keep);
+}
@@ -0,0 +1,16 @@
+package elytra.stations_management.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * Usage totals of one station on one day, summed over its chargers.
+ */
+public interface StationDailyUsage {
+    LocalDate getUsageDate();
+
+    Long getSessions();
+
+    Double getEnergyKwh();
+
+    Long getBookedMinutes();
+}
@@ -1,7 +1,24 @@
 package elytra.stations_management.repositories;
 
+import java.util.Collection;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import elytra.stations_management.models.Station;
 
 public interface StationRepository extends JpaRepository<Station, Long> {
-}
\ No newline at end of file
+
+    long countByIdIn(Collection<Long> ids);
+
+    @Query("SELECT s.version AS version, COUNT(c) AS rowCount, " +
+            "COALESCE(SUM(c.id), 0) AS idSum, COALESCE(SUM(c.version), 0) AS versionSum " +
+            "FROM Station s LEFT JOIN s.chargers c WHERE s.id = :stationId " +
+            "GROUP BY s.id, s.version")
+    Optional<StationVersionStamp> findVersionStampById(@Param("stationId") Long stationId);
+
+    @Query("SELECT COUNT(s) AS rowCount, COALESCE(SUM(s.id), 0) AS idSum, " +
+            "COALESCE(SUM(s.version), 0) AS versionSum FROM Station s")
+    VersionStamp findVersionStamp();
+}
@@ -0,0 +1,12 @@
+package elytra.stations_management.repositories;
+
+/**
+ * Charger counts of one station, total and currently in use.
+ */
+public interface StationUtilization {
+    Long getStationId();
+
+    Long getTotal();
+
+    Long getInUse();
+}
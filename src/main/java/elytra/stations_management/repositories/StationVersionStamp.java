@@ -0,0 +1,14 @@
+package elytra.stations_management.repositories;
+
+/**
+ * Version of a single station combined with the fingerprint of its chargers,
+ * which are embedded in the station representation.
+ */
+public interface StationVersionStamp extends VersionStamp {
+    Long getVersion();
+
+    @Override
+    default String toTag() {
+        return getVersion() + "-" + VersionStamp.super.toTag();
+    }
+}
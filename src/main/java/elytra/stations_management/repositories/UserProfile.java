@@ -0,0 +1,45 @@
+package elytra.stations_management.repositories;
+
+import elytra.stations_management.models.User;
+
+/**
+ * A user with the ids of its driver, operator or admin record and the
+ * operator's station, as needed to log in and answer {@code /auth/me}.
+ */
+public interface UserProfile {
+    Long getId();
+
+    String getUsername();
+
+    String getPassword();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    User.UserType getUserType();
+
+    Long getDriverId();
+
+    Long getOperatorId();
+
+    Long getStationId();
+
+    String getStationName();
+
+    Long getAdminId();
+
+    /** The user fields tokens are issued from; carries no password. */
+    default User toUser() {
+        return User.builder()
+                .id(getId())
+                .username(getUsername())
+                .email(getEmail())
+                .firstName(getFirstName())
+                .lastName(getLastName())
+                .userType(getUserType())
+                .build();
+    }
+}
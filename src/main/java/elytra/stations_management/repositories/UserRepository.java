@@ -1,6 +1,8 @@
 package elytra.stations_management.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import elytra.stations_management.models.User;
 
@@ -11,5 +13,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
-    boolean existsByEmail(String email);
+
+    /** The user and its role-specific ids in one round trip. */
+    @Query("SELECT u.id AS id, u.username AS username, u.password AS password, u.email AS email, " +
+            "u.firstName AS firstName, u.lastName AS lastName, u.userType AS userType, " +
+            "d.id AS driverId, o.id AS operatorId, s.id AS stationId, s.name AS stationName, a.id AS adminId " +
+            "FROM User u " +
+            "LEFT JOIN EVDriver d ON d.user = u " +
+            "LEFT JOIN StationOperator o ON o.user = u " +
+            "LEFT JOIN o.station s " +
+            "LEFT JOIN Admin a ON a.user = u " +
+            "WHERE u.username = :username")
+    Optional<UserProfile> findProfileByUsername(@Param("username") String username);
 } 
\ No newline at end of file
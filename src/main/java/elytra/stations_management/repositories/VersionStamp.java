@@ -0,0 +1,18 @@
+package elytra.stations_management.repositories;
+
+/**
+ * Cheap fingerprint of a set of versioned rows, used to derive ETags without
+ * loading the entities themselves. Any insert, delete or update of a row in the
+ * set changes at least one of the three components.
+ */
+public interface VersionStamp {
+    Long getRowCount();
+
+    Long getIdSum();
+
+    Long getVersionSum();
+
+    default String toTag() {
+        return getRowCount() + "-" + getIdSum() + "-" + getVersionSum();
+    }
+}
@@ -0,0 +1,42 @@
+package elytra.stations_management.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import elytra.stations_management.models.WaitlistEntry;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByUserIdOrderByStartTimeAsc(Long userId);
+
+    /**
+     * Waiting entries that could use a freed slot on {@code chargerId}: their
+     * window overlaps the slot, starts after {@code now}, and they asked for
+     * that charger or for any charger of its station.
+     */
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.status = 'WAITING' AND w.stationId = :stationId " +
+            "AND (w.chargerId IS NULL OR w.chargerId = :chargerId) " +
+            "AND w.startTime < :endTime AND w.endTime > :startTime AND w.startTime > :now " +
+            "ORDER BY w.createdAt, w.id")
+    List<WaitlistEntry> findCandidates(@Param("stationId") Long stationId, @Param("chargerId") Long chargerId,
+            @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime,
+            @Param("now") LocalDateTime now, Pageable pageable);
+
+    /** Marks an entry fulfilled unless another matcher got there first. */
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'FULFILLED', w.bookingId = :bookingId " +
+            "WHERE w.id = :id AND w.status = 'WAITING'")
+    int fulfill(@Param("id") Long id, @Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED' WHERE w.status = 'WAITING' AND w.startTime <= :now")
+    int expireStarted(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,159 @@
+package elytra.stations_management.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.dto.AutoBookingRequest;
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.observability.BookingMetrics;
+import elytra.stations_management.repositories.BookingRepository;
+import elytra.stations_management.repositories.CarRepository;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.StationRepository;
+
+/**
+ * Books the best free charger of a station for a time window. All bookings
+ * around the window are read in one query and each compatible charger is
+ * scored by the free gap that would contain the window; the tightest gap
+ * wins so long gaps stay available for long sessions. If a charger is taken
+ * between scoring and booking, the next best one is tried.
+ */
+@Service
+public class AutoBookingService {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ChargerRepository chargerRepository;
+    private final StationRepository stationRepository;
+    private final CarRepository carRepository;
+    private final BookingMetrics bookingMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration fitHorizon;
+
+    public AutoBookingService(BookingService bookingService, BookingRepository bookingRepository,
+            ChargerRepository chargerRepository, StationRepository stationRepository, CarRepository carRepository,
+            BookingMetrics bookingMetrics, PlatformTransactionManager transactionManager,
+            @Value("${app.bookings.auto.fit-horizon-hours:24}") int fitHorizonHours) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.chargerRepository = chargerRepository;
+        this.stationRepository = stationRepository;
+        this.carRepository = carRepository;
+        this.bookingMetrics = bookingMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fitHorizon = Duration.ofHours(fitHorizonHours);
+    }
+
+    /** Records exactly one created or rejected booking per request, however many chargers were tried. */
+    public Booking autoBook(Long stationId, AutoBookingRequest request) {
+        try {
+            Booking booking = doAutoBook(stationId, request);
+            bookingMetrics.bookingCreated(booking);
+            return booking;
+        } catch (InvalidBookingException e) {
+            bookingMetrics.bookingRejected(e.getReason());
+            throw e;
+        }
+    }
+
+    private Booking doAutoBook(Long stationId, AutoBookingRequest request) {
+        if (request.getStartTime() == null || request.getEndTime() == null
+                || !request.getEndTime().isAfter(request.getStartTime())) {
+            throw new InvalidBookingException("End time must be after start time");
+        }
+        if (request.getUserId() == null) {
+            throw new InvalidBookingException("User ID is required");
+        }
+        if (!stationRepository.existsById(stationId)) {
+            throw new InvalidBookingException("Station not found", InvalidBookingException.Reason.NOT_FOUND);
+        }
+        String chargerType = request.getCarId() == null ? null : carRepository.findById(request.getCarId())
+                .orElseThrow(() -> new InvalidBookingException("Car not found",
+                        InvalidBookingException.Reason.NOT_FOUND))
+                .getChargerType();
+
+        for (Charger charger : rankChargers(stationId, chargerType, request.getStartTime(), request.getEndTime())) {
+            try {
+                Booking booking = Booking.builder()
+                        .userId(request.getUserId())
+                        .charger(charger)
+                        .startTime(request.getStartTime())
+                        .endTime(request.getEndTime())
+                        .build();
+                return transactionTemplate.execute(status -> bookingService.createBookingWithoutMetrics(booking));
+            } catch (InvalidBookingException e) {
+                if (e.getReason() != InvalidBookingException.Reason.CHARGER_NOT_AVAILABLE
+                        && e.getReason() != InvalidBookingException.Reason.OVERLAP
+                        && e.getReason() != InvalidBookingException.Reason.MAINTENANCE) {
+                    throw e;
+                }
+            } catch (OptimisticLockingFailureException e) {
+                // Another request took this charger between scoring and commit
+            }
+        }
+        throw new InvalidBookingException("No compatible charger is free for this time period",
+                InvalidBookingException.Reason.STATION_FULL);
+    }
+
+    /** Free compatible chargers of the station, tightest fit first. */
+    List<Charger> rankChargers(Long stationId, String chargerType, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime horizonStart = start.minus(fitHorizon);
+        LocalDateTime horizonEnd = end.plus(fitHorizon);
+        Map<Long, List<Booking>> bookingsByCharger = bookingRepository
+                .findActiveAtStation(stationId, horizonStart, horizonEnd).stream()
+                .collect(Collectors.groupingBy(b -> b.getCharger().getId()));
+
+        List<Fit> fits = new ArrayList<>();
+        for (Charger charger : chargerRepository.findByStationIdAndStatus(stationId, Charger.Status.AVAILABLE)) {
+            if (chargerType != null && !chargerType.equalsIgnoreCase(charger.getType())) {
+                continue;
+            }
+            Duration gap = freeGap(bookingsByCharger.getOrDefault(charger.getId(), List.of()),
+                    start, end, horizonStart, horizonEnd);
+            if (gap != null) {
+                fits.add(new Fit(charger, gap));
+            }
+        }
+        fits.sort(Comparator.comparing(Fit::gap).thenComparing(fit -> fit.charger().getId()));
+        return fits.stream().map(Fit::charger).toList();
+    }
+
+    /**
+     * Length of the free gap around [start, end], clipped to the horizon, or
+     * null when a booking overlaps the window. Overlap is inclusive, as in
+     * {@link BookingRepository#findOverlappingBookings}.
+     */
+    static Duration freeGap(List<Booking> bookings, LocalDateTime start, LocalDateTime end,
+            LocalDateTime horizonStart, LocalDateTime horizonEnd) {
+        LocalDateTime gapStart = horizonStart;
+        LocalDateTime gapEnd = horizonEnd;
+        for (Booking booking : bookings) {
+            if (!booking.getStartTime().isAfter(end) && !booking.getEndTime().isBefore(start)) {
+                return null;
+            }
+            if (booking.getEndTime().isBefore(start) && booking.getEndTime().isAfter(gapStart)) {
+                gapStart = booking.getEndTime();
+            }
+            if (booking.getStartTime().isAfter(end) && booking.getStartTime().isBefore(gapEnd)) {
+                gapEnd = booking.getStartTime();
+            }
+        }
+        return Duration.between(gapStart, gapEnd);
+    }
+
+    private record Fit(Charger charger, Duration gap) {
+    }
+}
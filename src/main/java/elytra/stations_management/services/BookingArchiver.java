@@ -0,0 +1,92 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.cluster.LeaderElection;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.repositories.ArchivedBookingRepository;
+import elytra.stations_management.repositories.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves completed and cancelled bookings that ended more than
+ * {@code app.bookings.archive.after-days} ago from the hot table to the
+ * archive. Each batch is its own short transaction (copy, then delete by id)
+ * so the hot table is never locked for long. Runs on the cluster leader only.
+ */
+@Component
+@Slf4j
+public class BookingArchiver {
+
+    static final String LOCK = "booking-archiver";
+    private static final List<Booking.Status> FINISHED = List.of(Booking.Status.COMPLETED, Booking.Status.CANCELLED);
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private final int afterDays;
+    private final int batchSize;
+
+    public BookingArchiver(BookingRepository bookingRepository, ArchivedBookingRepository archivedBookingRepository,
+            LeaderElection leaderElection, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.bookings.archive.after-days:30}") int afterDays,
+            @Value("${app.bookings.archive.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = Counter.builder("bookings.archived")
+                .description("Bookings moved to the archive table")
+                .register(meterRegistry);
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.bookings.archive.interval-ms:3600000}",
+            initialDelayString = "${app.bookings.archive.initial-delay-ms:60000}")
+    public void scheduledArchive() {
+        if (leaderElection.tryAcquire(LOCK)) {
+            int moved = archive(LocalDateTime.now().minusDays(afterDays));
+            if (moved > 0) {
+                log.info("Archived {} finished bookings", moved);
+            }
+        }
+    }
+
+    /**
+     * Archives every finished booking that ended before {@code cutoff}.
+     * Returns the number of bookings moved.
+     */
+    public int archive(LocalDateTime cutoff) {
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = bookingRepository.findArchivableIds(FINISHED, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedBookingRepository.copyFromBookings(ids, LocalDateTime.now());
+        bookingRepository.deleteByIdIn(ids);
+        archived.increment(ids.size());
+        return ids.size();
+    }
+}
@@ -2,53 +2,104 @@ package elytra.stations_management.services;
 
 import elytra.stations_management.exception.InvalidBookingException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import org.springframework.context.annotation.Lazy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import elytra.stations_management.models.ArchivedBooking;
 import elytra.stations_management.models.Booking;
 import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.observability.BookingMetrics;
+import elytra.stations_management.repositories.ArchivedBookingRepository;
+import elytra.stations_management.repositories.BookingHistoryEntry;
 import elytra.stations_management.repositories.BookingRepository;
-import elytra.stations_management.repositories.ChargerRepository;
 
 @Service
 public class BookingService {
 
+    private static final String BOOKING_NOT_FOUND = "Booking not found";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String MAINTENANCE_CONFLICT = "MAINTENANCE";
+    private static final List<Booking.Status> UPCOMING = List.of(Booking.Status.PENDING, Booking.Status.CONFIRMED);
+    // Open bounds for the history range; kept inside what every database can store
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final ChargerService chargerService;
-    private final BookingService self;
+    private final BookingMetrics bookingMetrics;
+    private final UsageRollupService usageRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BookingService(BookingRepository bookingRepository, ChargerService chargerService, @Lazy BookingService self) {
+    public BookingService(BookingRepository bookingRepository, ArchivedBookingRepository archivedBookingRepository,
+            ChargerService chargerService, BookingMetrics bookingMetrics, UsageRollupService usageRollupService,
+            ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
         this.chargerService = chargerService;
-        this.self = self;
+        this.bookingMetrics = bookingMetrics;
+        this.usageRollupService = usageRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Booking createBooking(Booking booking) {
+        try {
+            Booking saved = doCreateBooking(booking);
+            bookingMetrics.bookingCreated(saved);
+            return saved;
+        } catch (InvalidBookingException e) {
+            bookingMetrics.bookingRejected(e.getReason());
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the booking without recording its outcome, for callers that try
+     * several chargers for one request and record a single outcome themselves.
+     */
+    @Transactional
+    public Booking createBookingWithoutMetrics(Booking booking) {
+        return doCreateBooking(booking);
+    }
+
+    private Booking doCreateBooking(Booking booking) {
         validateBooking(booking);
 
         // Check if charger is available
         Charger charger = booking.getCharger();
         if (charger.getStatus() != Charger.Status.AVAILABLE) {
-            throw new InvalidBookingException("Charger is not available for booking");
+            throw new InvalidBookingException("Charger is not available for booking",
+                    InvalidBookingException.Reason.CHARGER_NOT_AVAILABLE);
         }
 
-        // Check for overlapping bookings
-        List<Booking> existingBookings = bookingRepository.findOverlappingBookings(
+        // Overlapping bookings and maintenance windows, in one lookup
+        List<String> conflicts = bookingRepository.findConflicts(
             charger.getId(),
             booking.getStartTime(),
             booking.getEndTime()
         );
 
-        if (!existingBookings.isEmpty()) {
-            throw new InvalidBookingException("Charger is already booked for this time period");
+        if (conflicts.contains(MAINTENANCE_CONFLICT)) {
+            throw new InvalidBookingException("Charger is under maintenance for this time period",
+                    InvalidBookingException.Reason.MAINTENANCE);
+        }
+        if (!conflicts.isEmpty()) {
+            throw new InvalidBookingException("Charger is already booked for this time period",
+                    InvalidBookingException.Reason.OVERLAP);
         }
 
         // Update charger status
-        chargerService.updateChargerAvailability(charger.getId(), Charger.Status.BEING_USED);
+        chargerService.updateChargerAvailability(charger.getId(), Charger.Status.BEING_USED,
+                ChargerStatusSegment.Cause.BOOKING);
 
         return bookingRepository.save(booking);
     }
@@ -58,32 +109,81 @@ public class BookingService {
         return bookingRepository.findAll();
     }
 
+    /**
+     * Looks in the hot table first, then in the archive.
+     */
     @Transactional(readOnly = true)
     public Booking getBookingById(Long bookingId) {
         return bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new InvalidBookingException("Booking not found"));
+                .or(() -> archivedBookingRepository.findById(bookingId).map(ArchivedBooking::toBooking))
+                .orElseThrow(() -> new InvalidBookingException(BOOKING_NOT_FOUND,
+                        InvalidBookingException.Reason.NOT_FOUND));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Booking> getBookingsByUser(Long userId) {
+        return withArchived(bookingRepository.findByUserId(userId), archivedBookingRepository.findByUserId(userId));
+    }
+
+    /**
+     * One page of a user's history, newest first, optionally narrowed to a
+     * status and to bookings starting in [from, to).
+     */
+    @Transactional(readOnly = true)
+    public Page<BookingHistoryEntry> getBookingHistory(Long userId, Booking.Status status, LocalDateTime from,
+            LocalDateTime to, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidBookingException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new InvalidBookingException("End of range must be after its start");
+        }
+        List<String> statuses = status != null
+                ? List.of(status.name())
+                : Arrays.stream(Booking.Status.values()).map(Enum::name).toList();
+        return bookingRepository.findHistory(userId, statuses, from != null ? from : EARLIEST,
+                to != null ? to : LATEST, PageRequest.of(page, size));
     }
 
+    /**
+     * The user's next pending or confirmed bookings, soonest first. Reads only
+     * future rows of the hot table.
+     */
     @Transactional(readOnly = true)
-    public List<Booking> getBookingsByUser(String userId) {
-        return bookingRepository.findByUserId(userId);
+    public List<Booking> getUpcomingBookings(Long userId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidBookingException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return bookingRepository.findUpcoming(userId, LocalDateTime.now(), UPCOMING, PageRequest.of(0, limit));
     }
 
     @Transactional(readOnly = true)
     public List<Booking> getBookingsByCharger(Long chargerId) {
-        return bookingRepository.findByChargerId(chargerId);
+        return withArchived(bookingRepository.findByChargerId(chargerId),
+                archivedBookingRepository.findByChargerId(chargerId));
     }
 
     @Transactional
     public Booking updateBookingStatus(Long bookingId, Booking.Status newStatus) {
-        Booking booking = self.getBookingById(bookingId);
+        Booking booking = getHotBooking(bookingId);
 
-        validateStatusTransition(booking.getStatus(), newStatus);
+        Booking.Status previousStatus = booking.getStatus();
+        validateStatusTransition(previousStatus, newStatus);
         booking.setStatus(newStatus);
+        if (previousStatus != newStatus) {
+            bookingMetrics.bookingStatusChanged(previousStatus, newStatus);
+        }
 
         // If booking is cancelled or completed, make charger available again
         if (newStatus == Booking.Status.CANCELLED || newStatus == Booking.Status.COMPLETED) {
-            chargerService.updateChargerAvailability(booking.getCharger().getId(), Charger.Status.AVAILABLE);
+            chargerService.updateChargerAvailability(booking.getCharger().getId(), Charger.Status.AVAILABLE,
+                    ChargerStatusSegment.Cause.BOOKING);
+        }
+        if (newStatus == Booking.Status.COMPLETED && previousStatus != Booking.Status.COMPLETED) {
+            usageRollupService.recordCompleted(booking);
+        }
+        if (newStatus == Booking.Status.CANCELLED && previousStatus != Booking.Status.CANCELLED) {
+            releaseSlot(booking);
         }
 
         return bookingRepository.save(booking);
@@ -91,14 +191,44 @@ public class BookingService {
 
     @Transactional
     public void deleteBooking(Long bookingId) {
-        Booking booking = self.getBookingById(bookingId);
+        Booking booking = getHotBooking(bookingId);
 
         // If booking is active, make charger available again
         if (booking.getStatus() == Booking.Status.CONFIRMED) {
-            chargerService.updateChargerAvailability(booking.getCharger().getId(), Charger.Status.AVAILABLE);
+            chargerService.updateChargerAvailability(booking.getCharger().getId(), Charger.Status.AVAILABLE,
+                    ChargerStatusSegment.Cause.BOOKING);
         }
 
         bookingRepository.delete(booking);
+        if (booking.getStatus() == Booking.Status.PENDING || booking.getStatus() == Booking.Status.CONFIRMED) {
+            releaseSlot(booking);
+        }
+    }
+
+    // Waitlist matching picks this up after commit, off the request thread
+    private void releaseSlot(Booking booking) {
+        if (booking.getEndTime().isAfter(LocalDateTime.now())) {
+            Charger charger = booking.getCharger();
+            eventPublisher.publishEvent(new SlotReleasedEvent(charger.getId(), charger.getStation().getId(),
+                    booking.getStartTime(), booking.getEndTime()));
+        }
+    }
+
+    // Archived bookings are finished and immutable, so mutations only look at the hot table
+    private Booking getHotBooking(Long bookingId) {
+        return bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new InvalidBookingException(BOOKING_NOT_FOUND,
+                        InvalidBookingException.Reason.NOT_FOUND));
+    }
+
+    private static List<Booking> withArchived(List<Booking> hot, List<ArchivedBooking> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<Booking> bookings = new ArrayList<>(hot.size() + archived.size());
+        bookings.addAll(hot);
+        archived.forEach(booking -> bookings.add(booking.toBooking()));
+        return bookings;
     }
 
     private void validateBooking(Booking booking) {
@@ -108,23 +238,26 @@ public class BookingService {
         if (booking.getEndTime() == null || !booking.getEndTime().isAfter(booking.getStartTime())) {
             throw new InvalidBookingException("End time must be after start time");
         }
-        if (booking.getUserId() == null || booking.getUserId().trim().isEmpty()) {
+        if (booking.getUserId() == null) {
             throw new InvalidBookingException("User ID is required");
         }
         if (booking.getCharger() == null) {
             throw new InvalidBookingException("Charger is required");
         }
         if (booking.getStartTime().isBefore(LocalDateTime.now())) {
-            throw new InvalidBookingException("Cannot create booking in the past");
+            throw new InvalidBookingException("Cannot create booking in the past",
+                    InvalidBookingException.Reason.IN_THE_PAST);
         }
     }
 
     private void validateStatusTransition(Booking.Status currentStatus, Booking.Status newStatus) {
         if (currentStatus == Booking.Status.COMPLETED && newStatus != Booking.Status.COMPLETED) {
-            throw new InvalidBookingException("Cannot change status of a completed booking");
+            throw new InvalidBookingException("Cannot change status of a completed booking",
+                    InvalidBookingException.Reason.INVALID_STATUS_TRANSITION);
         }
         if (currentStatus == Booking.Status.CANCELLED && newStatus != Booking.Status.CANCELLED) {
-            throw new InvalidBookingException("Cannot change status of a cancelled booking");
+            throw new InvalidBookingException("Cannot change status of a cancelled booking",
+                    InvalidBookingException.Reason.INVALID_STATUS_TRANSITION);
         }
     }
 }
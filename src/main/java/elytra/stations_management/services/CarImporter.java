@@ -0,0 +1,181 @@
+package elytra.stations_management.services;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.dto.CarImportResult;
+import elytra.stations_management.models.Car;
+import elytra.stations_management.repositories.CarRepository;
+import elytra.stations_management.repositories.EVDriverRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers a fleet of cars for one driver. Rows are processed in chunks of
+ * {@code app.cars.import.batch-size}: plates are checked against the rest of
+ * the request in memory and against the database with one {@code IN} query,
+ * then the chunk is written with one JDBC batch insert in its own
+ * transaction. Results are handed to the caller chunk by chunk so they can be
+ * streamed while the import runs.
+ */
+@Component
+@Slf4j
+public class CarImporter {
+
+    static final String DUPLICATE_IN_REQUEST = "Duplicate license plate in request";
+    static final String ALREADY_REGISTERED = "License plate already registered";
+    static final String INCOMPLETE = "model, licensePlate, batteryCapacity and chargerType are required";
+
+    private static final String INSERT =
+            "INSERT INTO cars (model, license_plate, battery_capacity, charger_type, driver_id) VALUES (?, ?, ?, ?, ?)";
+
+    private record Row(int index, Car car) {
+    }
+
+    private final CarRepository carRepository;
+    private final EVDriverRepository evDriverRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxRows;
+
+    public CarImporter(CarRepository carRepository, EVDriverRepository evDriverRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.cars.import.batch-size:500}") int batchSize,
+            @Value("${app.cars.import.max-rows:10000}") int maxRows) {
+        this.carRepository = carRepository;
+        this.evDriverRepository = evDriverRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public boolean driverExists(Long driverId) {
+        return evDriverRepository.existsById(driverId);
+    }
+
+    /**
+     * Imports {@code cars} for the driver, passing each chunk's results to
+     * {@code sink} as soon as the chunk is committed. Returns the number of
+     * cars created.
+     */
+    public int importCars(Long driverId, List<Car> cars, Consumer<List<CarImportResult>> sink) {
+        Set<String> seen = new HashSet<>();
+        int created = 0;
+        for (int start = 0; start < cars.size(); start += batchSize) {
+            List<CarImportResult> results = importChunk(driverId, cars, start,
+                    Math.min(start + batchSize, cars.size()), seen);
+            created += (int) results.stream().filter(result -> result.getCarId() != null).count();
+            sink.accept(results);
+        }
+        log.info("Imported {} of {} cars for driver {}", created, cars.size(), driverId);
+        return created;
+    }
+
+    private List<CarImportResult> importChunk(Long driverId, List<Car> cars, int from, int to, Set<String> seen) {
+        List<CarImportResult> results = new ArrayList<>(to - from);
+        List<Row> candidates = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Car car = cars.get(i);
+            if (!isComplete(car)) {
+                results.add(CarImportResult.rejected(i, car == null ? null : car.getLicensePlate(), INCOMPLETE));
+            } else if (!seen.add(car.getLicensePlate())) {
+                results.add(CarImportResult.rejected(i, car.getLicensePlate(), DUPLICATE_IN_REQUEST));
+            } else {
+                candidates.add(new Row(i, car));
+            }
+        }
+        if (!candidates.isEmpty()) {
+            Set<String> registered = new HashSet<>(carRepository.findRegisteredLicensePlates(
+                    candidates.stream().map(row -> row.car().getLicensePlate()).toList()));
+            List<Row> inserts = new ArrayList<>(candidates.size());
+            for (Row row : candidates) {
+                if (registered.contains(row.car().getLicensePlate())) {
+                    results.add(CarImportResult.rejected(row.index(), row.car().getLicensePlate(), ALREADY_REGISTERED));
+                } else {
+                    inserts.add(row);
+                }
+            }
+            results.addAll(insert(driverId, inserts));
+        }
+        results.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return results;
+    }
+
+    private List<CarImportResult> insert(Long driverId, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> insertBatch(driverId, rows));
+        } catch (DuplicateKeyException e) {
+            // A plate was registered after the IN check; retry one row at a time to find it
+            List<CarImportResult> results = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                try {
+                    results.addAll(transactionTemplate.execute(status -> insertBatch(driverId, List.of(row))));
+                } catch (DuplicateKeyException duplicate) {
+                    // The plate is the only unique key a car insert can collide on
+                    results.add(CarImportResult.rejected(row.index(), row.car().getLicensePlate(), ALREADY_REGISTERED));
+                }
+            }
+            return results;
+        }
+    }
+
+    private List<CarImportResult> insertBatch(Long driverId, List<Row> rows) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Car car = rows.get(i).car();
+                        statement.setString(1, car.getModel());
+                        statement.setString(2, car.getLicensePlate());
+                        statement.setDouble(3, car.getBatteryCapacity());
+                        statement.setString(4, car.getChargerType());
+                        statement.setLong(5, driverId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+        List<Number> ids = keys.getKeyList().stream().map(key -> (Number) key.values().iterator().next()).toList();
+        List<CarImportResult> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            Long id = i < ids.size() ? ids.get(i).longValue() : null;
+            results.add(CarImportResult.created(row.index(), row.car().getLicensePlate(), id));
+        }
+        return results;
+    }
+
+    private static boolean isComplete(Car car) {
+        return car != null
+                && car.getModel() != null && !car.getModel().isBlank()
+                && car.getLicensePlate() != null && !car.getLicensePlate().isBlank()
+                && car.getBatteryCapacity() != null
+                && car.getChargerType() != null && !car.getChargerType().isBlank();
+    }
+}
@@ -1,6 +1,8 @@
 package elytra.stations_management.services;
 
+import elytra.stations_management.exception.ConstraintViolations;
 import elytra.stations_management.exception.LicensePlateAlreadyRegisteredException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import elytra.stations_management.models.Car;
@@ -22,12 +24,8 @@ public class CarService {
         EVDriver driver = evDriverRepository.findById(driverId)
                 .orElseThrow(() -> new RuntimeException("Driver not found"));
 
-        if (carRepository.existsByLicensePlate(car.getLicensePlate())) {
-            throw new LicensePlateAlreadyRegisteredException("License plate already registered");
-        }
-
         car.setEvDriver(driver);
-        return carRepository.save(car);
+        return saveUnique(car);
     }
 
     @Transactional(readOnly = true)
@@ -45,18 +43,24 @@ public class CarService {
         Car existingCar = carRepository.findById(carId)
                 .orElseThrow(() -> new RuntimeException("Car not found"));
 
-        // Check if license plate is being changed and if it's already taken
-        if (!existingCar.getLicensePlate().equals(updatedCar.getLicensePlate()) &&
-                carRepository.existsByLicensePlate(updatedCar.getLicensePlate())) {
-            throw new LicensePlateAlreadyRegisteredException("License plate already registered");
-        }
-
         existingCar.setModel(updatedCar.getModel());
         existingCar.setLicensePlate(updatedCar.getLicensePlate());
         existingCar.setBatteryCapacity(updatedCar.getBatteryCapacity());
         existingCar.setChargerType(updatedCar.getChargerType());
 
-        return carRepository.save(existingCar);
+        return saveUnique(existingCar);
+    }
+
+    /** The unique constraint on the license plate rejects duplicates, even concurrent ones. */
+    private Car saveUnique(Car car) {
+        try {
+            return carRepository.saveAndFlush(car);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, Car.UK_LICENSE_PLATE)) {
+                throw new LicensePlateAlreadyRegisteredException("License plate already registered");
+            }
+            throw e;
+        }
     }
 
     @Transactional
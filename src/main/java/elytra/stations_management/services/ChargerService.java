@@ -1,40 +1,171 @@
 package elytra.stations_management.services;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import elytra.stations_management.dto.ChargerStatusUpdateResult;
 import elytra.stations_management.exception.InvalidStatusTransitionException;
 import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.observability.BookingMetrics;
 import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.ChargerStatusView;
+import elytra.stations_management.repositories.StationRepository;
 
 @Service
 public class ChargerService {
+    private static final String CHARGER_NOT_FOUND = "Charger not found";
 
     private final ChargerRepository chargerRepository;
+    private final StationRepository stationRepository;
+    private final StationJsonCache stationJsonCache;
+    private final BookingMetrics bookingMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ChargerService(ChargerRepository chargerRepository) {
+    public ChargerService(ChargerRepository chargerRepository, StationRepository stationRepository,
+            StationJsonCache stationJsonCache, BookingMetrics bookingMetrics,
+            ApplicationEventPublisher eventPublisher) {
         this.chargerRepository = chargerRepository;
+        this.stationRepository = stationRepository;
+        this.stationJsonCache = stationJsonCache;
+        this.bookingMetrics = bookingMetrics;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
     public Charger.Status getChargerAvailability(Long chargerId) {
         Charger charger = chargerRepository.findById(chargerId)
-                .orElseThrow(() -> new RuntimeException("Charger not found"));
+                .orElseThrow(() -> new RuntimeException(CHARGER_NOT_FOUND));
         return charger.getStatus();
     }
 
+    /**
+     * Version tag for a single charger, read from its version column only.
+     */
+    @Transactional(readOnly = true)
+    public String getChargerVersionTag(Long chargerId) {
+        return chargerRepository.findVersionById(chargerId)
+                .map(version -> "charger-" + chargerId + "-" + version)
+                .orElseThrow(() -> new RuntimeException(CHARGER_NOT_FOUND));
+    }
+
+    /**
+     * Version tag for the set of chargers currently in the given status.
+     */
+    @Transactional(readOnly = true)
+    public String getChargersByAvailabilityVersionTag(Charger.Status status) {
+        return "chargers-" + status.name() + "-" + chargerRepository.findVersionStampByStatus(status).toTag();
+    }
+
     @Transactional
     public Charger updateChargerAvailability(Long chargerId, Charger.Status newStatus) {
+        return updateChargerAvailability(chargerId, newStatus, ChargerStatusSegment.Cause.MANUAL);
+    }
+
+    @Transactional
+    public Charger updateChargerAvailability(Long chargerId, Charger.Status newStatus,
+            ChargerStatusSegment.Cause cause) {
         Charger charger = chargerRepository.findById(chargerId)
-                .orElseThrow(() -> new RuntimeException("Charger not found"));
+                .orElseThrow(() -> new RuntimeException(CHARGER_NOT_FOUND));
 
         validateStatusTransition(charger.getStatus(), newStatus);
-        charger.setStatus(newStatus);
+        changeStatus(charger, newStatus, cause);
+        stationJsonCache.invalidate();
         return chargerRepository.save(charger);
     }
 
+    /**
+     * Moves the charger to {@code newStatus} only if it is currently in
+     * {@code expectedStatus}; returns whether it changed. Used for automatic
+     * transitions, which must not override a manual OUT_OF_SERVICE.
+     */
+    @Transactional
+    public boolean updateChargerAvailabilityIf(Long chargerId, Charger.Status expectedStatus,
+            Charger.Status newStatus, ChargerStatusSegment.Cause cause) {
+        Charger charger = chargerRepository.findById(chargerId)
+                .orElseThrow(() -> new RuntimeException(CHARGER_NOT_FOUND));
+        if (charger.getStatus() != expectedStatus) {
+            return false;
+        }
+        changeStatus(charger, newStatus, cause);
+        stationJsonCache.invalidate();
+        chargerRepository.save(charger);
+        return true;
+    }
+
+    /**
+     * Moves the chargers of the given stations to {@code newStatus}: all of
+     * them, or only {@code chargerIds} when given. Every transition is
+     * validated before anything is written, then the chargers that change are
+     * updated with one bulk UPDATE per status they are leaving, each checking
+     * that status, and reported in one {@link ChargerStatusBulkChangedEvent}.
+     */
+    @Transactional
+    public ChargerStatusUpdateResult updateChargerStatuses(Collection<Long> stationIds, Collection<Long> chargerIds,
+            Charger.Status newStatus) {
+        if (newStatus == null || stationIds == null || stationIds.isEmpty()) {
+            throw new IllegalArgumentException("A status and at least one station are required");
+        }
+        Set<Long> stations = new LinkedHashSet<>(stationIds);
+        if (stationRepository.countByIdIn(stations) != stations.size()) {
+            throw new RuntimeException("Station not found");
+        }
+        List<ChargerStatusView> chargers = chargerRepository.findStatusesByStationIds(stations);
+        if (chargerIds != null) {
+            Set<Long> requested = new LinkedHashSet<>(chargerIds);
+            chargers = chargers.stream().filter(charger -> requested.contains(charger.getId())).toList();
+            if (chargers.size() != requested.size()) {
+                throw new RuntimeException(CHARGER_NOT_FOUND);
+            }
+        }
+
+        List<ChargerStatusView> changing = new ArrayList<>();
+        List<Long> unchanged = new ArrayList<>();
+        Map<Charger.Status, List<Long>> byCurrentStatus = new EnumMap<>(Charger.Status.class);
+        for (ChargerStatusView charger : chargers) {
+            validateStatusTransition(charger.getStatus(), newStatus);
+            if (charger.getStatus() == newStatus) {
+                unchanged.add(charger.getId());
+            } else {
+                changing.add(charger);
+                byCurrentStatus.computeIfAbsent(charger.getStatus(), status -> new ArrayList<>()).add(charger.getId());
+            }
+        }
+        if (changing.isEmpty()) {
+            return new ChargerStatusUpdateResult(newStatus, List.of(), unchanged);
+        }
+
+        for (Map.Entry<Charger.Status, List<Long>> group : byCurrentStatus.entrySet()) {
+            List<Long> groupIds = group.getValue();
+            if (chargerRepository.updateStatuses(groupIds, group.getKey(), newStatus) != groupIds.size()) {
+                // A charger changed status after it was read; roll back rather than apply a stale validation
+                throw new OptimisticLockingFailureException("Charger status changed during bulk update");
+            }
+        }
+        List<Long> ids = changing.stream().map(ChargerStatusView::getId).toList();
+        Instant now = Instant.now();
+        List<ChargerStatusChangedEvent> changes = new ArrayList<>(changing.size());
+        for (ChargerStatusView charger : changing) {
+            bookingMetrics.chargerStatusChanged(charger.getStatus(), newStatus);
+            changes.add(new ChargerStatusChangedEvent(charger.getId(), charger.getStationId(), charger.getStatus(),
+                    newStatus, now, ChargerStatusSegment.Cause.MANUAL));
+        }
+        eventPublisher.publishEvent(new ChargerStatusBulkChangedEvent(changes));
+        stationJsonCache.invalidate();
+        return new ChargerStatusUpdateResult(newStatus, ids, unchanged);
+    }
+
     @Transactional(readOnly = true)
     public List<Charger> getChargersByAvailability(Charger.Status status) {
         return chargerRepository.findByStatus(status);
@@ -43,24 +174,37 @@ public class ChargerService {
     @Transactional
     public Charger updateCharger(Long chargerId, Charger updatedCharger) {
         Charger existingCharger = chargerRepository.findById(chargerId)
-                .orElseThrow(() -> new RuntimeException("Charger not found"));
+                .orElseThrow(() -> new RuntimeException(CHARGER_NOT_FOUND));
 
         existingCharger.setType(updatedCharger.getType());
         existingCharger.setPower(updatedCharger.getPower());
         
         if (updatedCharger.getStatus() != null) {
             validateStatusTransition(existingCharger.getStatus(), updatedCharger.getStatus());
-            existingCharger.setStatus(updatedCharger.getStatus());
+            changeStatus(existingCharger, updatedCharger.getStatus(), ChargerStatusSegment.Cause.MANUAL);
         }
 
+        stationJsonCache.invalidate();
         return chargerRepository.save(existingCharger);
     }
 
     @Transactional
     public void deleteCharger(Long chargerId) {
         Charger charger = chargerRepository.findById(chargerId)
-                .orElseThrow(() -> new RuntimeException("Charger not found"));
+                .orElseThrow(() -> new RuntimeException(CHARGER_NOT_FOUND));
         chargerRepository.delete(charger);
+        stationJsonCache.invalidate();
+    }
+
+    private void changeStatus(Charger charger, Charger.Status newStatus, ChargerStatusSegment.Cause cause) {
+        Charger.Status previousStatus = charger.getStatus();
+        charger.setStatus(newStatus);
+        if (previousStatus != newStatus) {
+            bookingMetrics.chargerStatusChanged(previousStatus, newStatus);
+            eventPublisher.publishEvent(new ChargerStatusChangedEvent(charger.getId(),
+                    charger.getStation() != null ? charger.getStation().getId() : null,
+                    previousStatus, newStatus, Instant.now(), cause));
+        }
     }
 
     private void validateStatusTransition(Charger.Status currentStatus,
@@ -0,0 +1,9 @@
+package elytra.stations_management.services;
+
+import java.util.List;
+
+/**
+ * Published once for a bulk status update, carrying every charger that changed.
+ */
+public record ChargerStatusBulkChangedEvent(List<ChargerStatusChangedEvent> changes) {
+}
@@ -0,0 +1,13 @@
+package elytra.stations_management.services;
+
+import java.time.Instant;
+
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+
+/**
+ * Published whenever a charger moves to a different status.
+ */
+public record ChargerStatusChangedEvent(Long chargerId, Long stationId, Charger.Status from, Charger.Status to,
+        Instant at, ChargerStatusSegment.Cause cause) {
+}
@@ -0,0 +1,68 @@
+package elytra.stations_management.services;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+
+/**
+ * Packs the changes of a {@link ChargerStatusSegment}: a varint time delta
+ * from the previous change, then {@code from << 4 | to} and the cause
+ * ordinal, one byte each. A change costs 4 bytes when changes are less than
+ * 16 seconds apart and 6 bytes up to three days apart.
+ */
+final class ChargerStatusCodec {
+
+    record Change(long atMillis, Charger.Status from, Charger.Status to, ChargerStatusSegment.Cause cause) {
+    }
+
+    private static final Charger.Status[] STATUSES = Charger.Status.values();
+    private static final ChargerStatusSegment.Cause[] CAUSES = ChargerStatusSegment.Cause.values();
+
+    private ChargerStatusCodec() {
+    }
+
+    /** Encodes {@code changes}, which must be in time order, relative to the first one. */
+    static byte[] encode(List<Change> changes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(changes.size() * 3);
+        long previous = changes.isEmpty() ? 0 : changes.get(0).atMillis();
+        for (Change change : changes) {
+            long delta = change.atMillis() - previous;
+            if (delta < 0) {
+                throw new IllegalArgumentException("Status changes must be in time order");
+            }
+            while ((delta & ~0x7FL) != 0) {
+                out.write((int) (delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.write((int) delta);
+            out.write(change.from().ordinal() << 4 | change.to().ordinal());
+            out.write(change.cause().ordinal());
+            previous = change.atMillis();
+        }
+        return out.toByteArray();
+    }
+
+    static List<Change> decode(long startedAtMillis, byte[] changes) {
+        List<Change> decoded = new ArrayList<>();
+        ByteBuffer in = ByteBuffer.wrap(changes);
+        long at = startedAtMillis;
+        while (in.hasRemaining()) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.get();
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            at += delta;
+            int statuses = in.get() & 0xFF;
+            decoded.add(new Change(at, STATUSES[statuses >>> 4], STATUSES[statuses & 0x0F], CAUSES[in.get()]));
+        }
+        return decoded;
+    }
+}
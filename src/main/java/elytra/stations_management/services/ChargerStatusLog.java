@@ -0,0 +1,116 @@
+package elytra.stations_management.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.repositories.ChargerStatusSegmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only history of charger status changes. Committed changes are only
+ * queued on the request path; a scheduled flush drains the queue in batches
+ * and writes one {@link ChargerStatusSegment} per charger and batch, so a
+ * busy charger costs a few bytes per change instead of a row.
+ */
+@Component
+@Slf4j
+public class ChargerStatusLog {
+
+    private final BlockingQueue<ChargerStatusChangedEvent> pending;
+    private final ChargerStatusSegmentRepository segmentRepository;
+    private final Counter logged;
+    private final Counter dropped;
+    private final int batchSize;
+
+    public ChargerStatusLog(ChargerStatusSegmentRepository segmentRepository, MeterRegistry meterRegistry,
+            @Value("${app.charger-status.queue-capacity:100000}") int queueCapacity,
+            @Value("${app.charger-status.batch-size:5000}") int batchSize) {
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.segmentRepository = segmentRepository;
+        this.logged = Counter.builder("charger.status.changes.logged")
+                .description("Charger status changes written to the history")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("charger.status.changes.dropped")
+                .description("Charger status changes lost because the history queue was full")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(ChargerStatusChangedEvent event) {
+        if (!pending.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusesChanged(ChargerStatusBulkChangedEvent event) {
+        for (ChargerStatusChangedEvent change : event.changes()) {
+            onStatusChanged(change);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.charger-status.flush-interval-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        int written;
+        do {
+            written = flushBatch();
+        } while (written == batchSize);
+    }
+
+    /** Writes up to one batch of queued changes. Returns the number of changes written. */
+    int flushBatch() {
+        List<ChargerStatusChangedEvent> batch = new ArrayList<>();
+        pending.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<ChargerStatusChangedEvent>> byCharger = new LinkedHashMap<>();
+        for (ChargerStatusChangedEvent event : batch) {
+            byCharger.computeIfAbsent(event.chargerId(), id -> new ArrayList<>()).add(event);
+        }
+        List<ChargerStatusSegment> segments = new ArrayList<>(byCharger.size());
+        for (List<ChargerStatusChangedEvent> events : byCharger.values()) {
+            // Listeners run after commit, so two requests may enqueue out of order
+            events.sort(Comparator.comparing(ChargerStatusChangedEvent::at));
+            ChargerStatusChangedEvent first = events.get(0);
+            Instant last = events.get(events.size() - 1).at();
+            segments.add(ChargerStatusSegment.builder()
+                    .chargerId(first.chargerId())
+                    .stationId(first.stationId())
+                    .startedAt(first.at())
+                    .endedAt(last)
+                    .changeCount(events.size())
+                    .changes(ChargerStatusCodec.encode(events.stream()
+                            .map(event -> new ChargerStatusCodec.Change(event.at().toEpochMilli(), event.from(),
+                                    event.to(), event.cause()))
+                            .toList()))
+                    .build());
+        }
+        try {
+            segmentRepository.saveAll(segments);
+        } catch (RuntimeException e) {
+            dropped.increment(batch.size());
+            log.error("Could not write {} charger status changes", batch.size(), e);
+            return batch.size();
+        }
+        logged.increment(batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,144 @@
+package elytra.stations_management.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import elytra.stations_management.models.Charger;
+
+/**
+ * Fixed-size ring of one charger's recent samples, stored column by column in
+ * primitive arrays so a sample costs 20 bytes and no allocation. Also tracks
+ * whether the charger is drawing power, to derive status transitions from
+ * edges in the readings. Guarded by its own monitor; each charger has one.
+ */
+final class ChargerTelemetryBuffer {
+
+    record Bucket(long startMillis, double avgPowerKw, double maxPowerKw, double energyKwh, int samples) {
+    }
+
+    record Live(long timestamp, double powerKw, double energyKwh, double averagePowerKw, boolean charging) {
+    }
+
+    private final long[] timestamps;
+    private final float[] powerKw;
+    private final double[] energyKwh;
+    private final double activeThresholdKw;
+    private final long idleMillis;
+
+    private int next;
+    private int size;
+    // Samples appended since the last drain, capped at capacity (older ones were overwritten)
+    private int unflushed;
+    private long overwritten;
+    private boolean drawing;
+    private long lastActiveMillis;
+    // Server clock, unlike the sample timestamps, which come from the charger
+    private long lastReceivedMillis;
+
+    ChargerTelemetryBuffer(int capacity, double activeThresholdKw, long idleMillis) {
+        this.timestamps = new long[capacity];
+        this.powerKw = new float[capacity];
+        this.energyKwh = new double[capacity];
+        this.activeThresholdKw = activeThresholdKw;
+        this.idleMillis = idleMillis;
+    }
+
+    /**
+     * Appends a sample and returns the status the charger should move to, or
+     * null if this sample does not change whether it is in use.
+     */
+    synchronized Charger.Status append(long timestamp, double power, double energy) {
+        lastReceivedMillis = System.currentTimeMillis();
+        timestamps[next] = timestamp;
+        powerKw[next] = (float) power;
+        energyKwh[next] = energy;
+        next = (next + 1) % timestamps.length;
+        size = Math.min(size + 1, timestamps.length);
+        if (unflushed == timestamps.length) {
+            overwritten++;
+        } else {
+            unflushed++;
+        }
+
+        if (power > activeThresholdKw) {
+            lastActiveMillis = Math.max(lastActiveMillis, timestamp);
+            if (!drawing) {
+                drawing = true;
+                return Charger.Status.BEING_USED;
+            }
+        } else if (drawing && timestamp - lastActiveMillis >= idleMillis) {
+            drawing = false;
+            return Charger.Status.AVAILABLE;
+        }
+        return null;
+    }
+
+    synchronized Live live(long windowMillis) {
+        if (size == 0) {
+            return null;
+        }
+        int latest = index(size - 1);
+        long from = timestamps[latest] - windowMillis;
+        double sum = 0;
+        int count = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            int index = index(i);
+            if (timestamps[index] < from) {
+                break;
+            }
+            sum += powerKw[index];
+            count++;
+        }
+        return new Live(timestamps[latest], powerKw[latest], energyKwh[latest], sum / count, drawing);
+    }
+
+    /**
+     * Aggregates the samples appended since the last call into buckets of
+     * {@code bucketMillis}, oldest bucket first, and marks them flushed. Samples
+     * are bucketed by their own timestamp whatever order they arrived in, so a
+     * bucket can also come back in a later drain when a late sample lands in
+     * it; callers merge such buckets into what they already stored. The energy
+     * of a bucket is the highest cumulative meter reading in it.
+     */
+    synchronized List<Bucket> drain(long bucketMillis) {
+        Map<Long, double[]> totals = new TreeMap<>();
+        for (int i = size - unflushed; i < size; i++) {
+            int index = index(i);
+            long start = Math.floorDiv(timestamps[index], bucketMillis) * bucketMillis;
+            // sum, max, energy, count
+            double[] total = totals.computeIfAbsent(start, k -> new double[4]);
+            total[0] += powerKw[index];
+            total[1] = Math.max(total[1], powerKw[index]);
+            total[2] = Math.max(total[2], energyKwh[index]);
+            total[3]++;
+        }
+        unflushed = 0;
+        List<Bucket> buckets = new ArrayList<>(totals.size());
+        totals.forEach((start, total) -> buckets.add(
+                new Bucket(start, total[0] / total[3], total[1], total[2], (int) total[3])));
+        return buckets;
+    }
+
+    /**
+     * True when nothing arrived since {@code receivedBefore}, everything has
+     * been drained and the charger is not mid-session, so dropping the buffer
+     * loses neither samples nor a pending transition back to available.
+     */
+    synchronized boolean isIdle(long receivedBefore) {
+        return unflushed == 0 && !drawing && lastReceivedMillis < receivedBefore;
+    }
+
+    synchronized long takeOverwritten() {
+        long value = overwritten;
+        overwritten = 0;
+        return value;
+    }
+
+    // i-th oldest sample still held
+    private int index(int i) {
+        int oldest = size < timestamps.length ? 0 : next;
+        return (oldest + i) % timestamps.length;
+    }
+}
@@ -0,0 +1,187 @@
+package elytra.stations_management.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import elytra.stations_management.dto.ChargerUptime;
+import elytra.stations_management.dto.StationUptime;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.ChargerStatusSegmentData;
+import elytra.stations_management.repositories.ChargerStatusSegmentRepository;
+import elytra.stations_management.repositories.StationRepository;
+
+/**
+ * Uptime and availability from the charger status history. The status at the
+ * start of the period comes from the last segment before it; the segments in
+ * the period are then streamed once, in time order per charger, and each
+ * change closes the interval spent in the previous status. Segments can
+ * overlap when a change committed late, so their changes are merged by time.
+ */
+@Service
+public class ChargerUptimeService {
+
+    private final ChargerStatusSegmentRepository segmentRepository;
+    private final ChargerRepository chargerRepository;
+    private final StationRepository stationRepository;
+
+    public ChargerUptimeService(ChargerStatusSegmentRepository segmentRepository,
+            ChargerRepository chargerRepository, StationRepository stationRepository) {
+        this.segmentRepository = segmentRepository;
+        this.chargerRepository = chargerRepository;
+        this.stationRepository = stationRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ChargerUptime getChargerUptime(Long chargerId, Instant from, Instant to) {
+        Charger charger = chargerRepository.findById(chargerId)
+                .orElseThrow(() -> new RuntimeException("Charger not found"));
+        return compute(List.of(charger), from, to).get(0);
+    }
+
+    @Transactional(readOnly = true)
+    public StationUptime getStationUptime(Long stationId, Instant from, Instant to) {
+        if (!stationRepository.existsById(stationId)) {
+            throw new RuntimeException("Station not found");
+        }
+        List<ChargerUptime> chargers = compute(chargerRepository.findByStationIdOrderById(stationId), from, to);
+        Map<Charger.Status, Long> totals = emptyTotals();
+        for (ChargerUptime charger : chargers) {
+            charger.getMillisByStatus().forEach((status, millis) -> totals.merge(status, millis, Long::sum));
+        }
+        Instant end = chargers.isEmpty() ? cap(to) : chargers.get(0).getTo();
+        return new StationUptime(stationId, from, end, totals, share(totals, true), share(totals, false), chargers);
+    }
+
+    private List<ChargerUptime> compute(List<Charger> chargers, Instant from, Instant to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        Instant end = cap(to);
+        Map<Long, Tally> tallies = new LinkedHashMap<>();
+        for (Charger charger : chargers) {
+            tallies.put(charger.getId(), new Tally(from.toEpochMilli(), Math.max(from.toEpochMilli(), end.toEpochMilli())));
+        }
+        if (!tallies.isEmpty() && from.isBefore(end)) {
+            for (ChargerStatusSegmentData segment : segmentRepository.findLatestBefore(tallies.keySet(), from)) {
+                tallies.get(segment.getChargerId()).apply(segment);
+            }
+            try (Stream<ChargerStatusSegmentData> segments =
+                    segmentRepository.streamByChargerIds(tallies.keySet(), from, end)) {
+                segments.forEach(segment -> tallies.get(segment.getChargerId()).apply(segment));
+            }
+        }
+        List<ChargerUptime> result = new ArrayList<>(chargers.size());
+        for (Charger charger : chargers) {
+            Map<Charger.Status, Long> millis = tallies.get(charger.getId()).finish(charger.getStatus());
+            result.add(new ChargerUptime(charger.getId(), from, end.isAfter(from) ? end : from, millis,
+                    share(millis, true), share(millis, false)));
+        }
+        return result;
+    }
+
+    private static Instant cap(Instant to) {
+        Instant now = Instant.now();
+        return to.isAfter(now) ? now : to;
+    }
+
+    private static Map<Charger.Status, Long> emptyTotals() {
+        Map<Charger.Status, Long> totals = new EnumMap<>(Charger.Status.class);
+        for (Charger.Status status : Charger.Status.values()) {
+            totals.put(status, 0L);
+        }
+        return totals;
+    }
+
+    /** Share of the tallied time in service ({@code inService}) or available. */
+    private static double share(Map<Charger.Status, Long> millis, boolean inService) {
+        long total = millis.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return 0;
+        }
+        long counted = millis.get(Charger.Status.AVAILABLE)
+                + (inService ? millis.get(Charger.Status.BEING_USED) : 0);
+        return (double) counted / total;
+    }
+
+    /** Time per status of one charger, fed its segments in order of their start. */
+    private static final class Tally {
+        private final long start;
+        private final long end;
+        private final long[] millis = new long[Charger.Status.values().length];
+        // Changes read but not applied yet, in time order and then in the order they were read
+        private final PriorityQueue<Queued> queued = new PriorityQueue<>(
+                Comparator.comparingLong((Queued entry) -> entry.change().atMillis()).thenComparingLong(Queued::seq));
+        private long seq;
+        private Charger.Status status;
+        private long cursor;
+
+        private record Queued(ChargerStatusCodec.Change change, long seq) {
+        }
+
+        Tally(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.cursor = start;
+        }
+
+        void apply(ChargerStatusSegmentData segment) {
+            long startedAt = segment.getStartedAt().toEpochMilli();
+            // Every segment still to come starts here or later, so no change of theirs can precede these
+            release(startedAt);
+            for (ChargerStatusCodec.Change change : ChargerStatusCodec.decode(startedAt, segment.getChanges())) {
+                queued.add(new Queued(change, seq++));
+            }
+        }
+
+        private void release(long before) {
+            while (!queued.isEmpty() && queued.peek().change().atMillis() < before) {
+                apply(queued.poll().change());
+            }
+        }
+
+        private void apply(ChargerStatusCodec.Change change) {
+            if (change.atMillis() < start) {
+                status = change.to();
+                return;
+            }
+            if (status == null) {
+                // Nothing recorded before the period: the first change says what it left
+                status = change.from();
+            }
+            if (change.atMillis() >= end) {
+                return;
+            }
+            millis[status.ordinal()] += change.atMillis() - cursor;
+            cursor = change.atMillis();
+            status = change.to();
+        }
+
+        Map<Charger.Status, Long> finish(Charger.Status current) {
+            release(Long.MAX_VALUE);
+            if (status == null) {
+                // No history at all: the charger has kept its current status
+                status = current;
+            }
+            if (end > cursor && status != null) {
+                millis[status.ordinal()] += end - cursor;
+                cursor = end;
+            }
+            Map<Charger.Status, Long> result = emptyTotals();
+            for (Charger.Status s : Charger.Status.values()) {
+                result.put(s, millis[s.ordinal()]);
+            }
+            return result;
+        }
+    }
+}
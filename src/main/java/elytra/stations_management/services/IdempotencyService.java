@@ -0,0 +1,225 @@
+package elytra.stations_management.services;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import elytra.stations_management.config.IdempotencyProperties;
+import elytra.stations_management.models.IdempotencyRecord;
+import elytra.stations_management.repositories.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays the stored response of a POST retried with the same
+ * {@code Idempotency-Key}. A key is claimed with a plain insert before the
+ * request runs, so concurrent retries on any node get 409 instead of running
+ * twice; the finished response is written to the row and to a bounded local
+ * cache. Server errors release the claim so the client can retry.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String ERROR = "error";
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Map<String, IdempotencyRecord> cache;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyService(IdempotencyRecordRepository repository, ObjectMapper objectMapper,
+            IdempotencyProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        });
+    }
+
+    /**
+     * Runs {@code action} once per {@code scope} and key; later calls with the
+     * same key get the first response back. Without a key the action simply runs.
+     * A plain hash of {@code request} is stored with the key, so callers leave
+     * secrets such as passwords out of it.
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object request,
+            Supplier<? extends ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > properties.getMaxKeyLength()) {
+            return ResponseEntity.badRequest().body(Map.of(ERROR,
+                    HEADER + " must be at most " + properties.getMaxKeyLength() + " characters"));
+        }
+
+        String id = scope + ":" + key;
+        String requestHash = hash(request);
+        if (!inFlight.add(id)) {
+            return inProgress();
+        }
+        try {
+            IdempotencyRecord existing = lookup(id);
+            if (existing != null) {
+                return replay(existing, requestHash);
+            }
+            if (!claim(id, requestHash)) {
+                existing = lookup(id);
+                return existing != null ? replay(existing, requestHash) : inProgress();
+            }
+
+            ResponseEntity<?> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                repository.release(id);
+                throw e;
+            }
+            if (response.getStatusCode().is5xxServerError()) {
+                repository.release(id);
+            } else {
+                store(id, requestHash, response);
+            }
+            return response;
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    /**
+     * Like {@link #execute(String, String, Object, Supplier)} for actions that
+     * answer with a JSON object, but {@code credentials} adds secrets such as an
+     * access token to a successful body on its way out, on the first run and
+     * again on every replay. They are never stored with the response.
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object request,
+            Supplier<? extends ResponseEntity<?>> action, UnaryOperator<Map<String, Object>> credentials) {
+        ResponseEntity<?> response = execute(scope, key, request, action);
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            return response;
+        }
+        Map<String, Object> body;
+        try {
+            body = response.getBody() instanceof String json
+                    ? objectMapper.readValue(json, JSON_OBJECT)
+                    : new HashMap<>(objectMapper.convertValue(response.getBody(), JSON_OBJECT));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response is not a JSON object", e);
+        }
+        return new ResponseEntity<>(credentials.apply(body), response.getHeaders(), response.getStatusCode());
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        repository.deleteExpired(Instant.now());
+        Instant now = Instant.now();
+        synchronized (cache) {
+            cache.values().removeIf(record -> record.getExpiresAt().isBefore(now));
+        }
+    }
+
+    private IdempotencyRecord lookup(String id) {
+        Instant now = Instant.now();
+        IdempotencyRecord cached = cache.get(id);
+        if (cached != null && cached.getExpiresAt().isAfter(now)) {
+            return cached;
+        }
+        IdempotencyRecord stored = repository.findById(id)
+                .filter(record -> record.getExpiresAt().isAfter(now))
+                .orElse(null);
+        if (stored != null && stored.getStatus() != null) {
+            cache.put(id, stored);
+        }
+        return stored;
+    }
+
+    private boolean claim(String id, String requestHash) {
+        Instant now = Instant.now();
+        repository.deleteIfExpired(id, now);
+        try {
+            return repository.claim(id, requestHash, now.plus(properties.getTtl())) == 1;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Idempotency key {} was claimed concurrently", id);
+            return false;
+        }
+    }
+
+    private void store(String id, String requestHash, ResponseEntity<?> response) {
+        String body;
+        try {
+            body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException e) {
+            repository.release(id);
+            return;
+        }
+        int status = response.getStatusCode().value();
+        repository.complete(id, status, body);
+        cache.put(id, IdempotencyRecord.builder()
+                .id(id)
+                .requestHash(requestHash)
+                .status(status)
+                .body(body)
+                .expiresAt(Instant.now().plus(properties.getTtl()))
+                .build());
+    }
+
+    private ResponseEntity<?> replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            return ResponseEntity.unprocessableEntity().body(Map.of(ERROR,
+                    HEADER + " was already used for a different request"));
+        }
+        if (record.getStatus() == null) {
+            return inProgress();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(record.getStatus())
+                .header(REPLAYED_HEADER, "true");
+        if (record.getBody() == null) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(record.getBody());
+    }
+
+    private static ResponseEntity<?> inProgress() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(ERROR,
+                "A request with this " + HEADER + " is still being processed"));
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = request instanceof byte[] raw ? raw : objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+}
@@ -1,43 +1,116 @@
 package elytra.stations_management.services;
 
+import elytra.stations_management.config.JwtProperties;
+import elytra.stations_management.models.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.beans.factory.annotation.Value;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies tokens. Tokens are signed with the current key pair of
+ * {@link SigningKeyService} and carry its {@code kid}, so other services can
+ * verify them against the published JWKS without sharing a secret.
+ */
 @Component
 public class JwtService {
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TYPE = "typ";
+    public static final String CLAIM_FAMILY = "fam";
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    private final JwtProperties properties;
+    private final SigningKeyService signingKeyService;
+    private final Key legacyKey;
+    private final JwtParser parser;
+
+    public JwtService(JwtProperties properties, SigningKeyService signingKeyService) {
+        this.properties = properties;
+        this.signingKeyService = signingKeyService;
+        this.legacyKey = properties.getSecret() == null || properties.getSecret().isBlank()
+                ? null
+                : Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret()));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(String username) { // Use email as username
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
+        return createToken(claims, username, Duration.ofMinutes(30));
+    }
+
+    /** Access token carrying the user id and role, so requests authenticate without a user lookup. */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRoles());
+        claims.put(CLAIM_TYPE, TYPE_ACCESS);
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        return createToken(claims, user.getUsername(), properties.getAccessTokenTtl());
+    }
+
+    /** Refresh token {@code jti} in rotation {@code family}; only accepted by the refresh endpoint. */
+    public String generateRefreshToken(User user, String family, String jti) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
+        claims.put(CLAIM_FAMILY, family);
+        claims.put(Claims.ID, jti);
+        return createToken(claims, user.getUsername(), properties.getRefreshTokenTtl());
+    }
+
+    public Duration getRefreshTokenTtl() {
+        return properties.getRefreshTokenTtl();
     }
 
-    private String createToken(Map<String, Object> claims, String email) {
+    private String createToken(Map<String, Object> claims, String email, Duration ttl) {
+        SigningKeyService.ActiveKey key = signingKeyService.signingKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
                 .setClaims(claims)
                 .setSubject(email)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 30))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + ttl.toMillis()))
+                .signWith(key.privateKey(), key.algorithm())
                 .compact();
     }
 
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /** Tokens without a {@code kid} predate key pairs and verify with the legacy secret, if still configured. */
+    private Key verificationKey(String kid) {
+        if (kid == null) {
+            if (legacyKey == null) {
+                throw new UnsupportedJwtException("Token has no key id");
+            }
+            return legacyKey;
+        }
+        Key key = signingKeyService.verificationKey(kid);
+        if (key == null) {
+            throw new JwtException("Unknown signing key " + kid);
+        }
+        return key;
     }
 
     public String extractUsername(String token) {
@@ -53,12 +126,9 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /** Verifies the signature and expiry; throws a {@code JwtException} otherwise. */
+    public Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private Boolean isTokenExpired(String token) {
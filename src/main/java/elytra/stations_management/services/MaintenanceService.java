@@ -0,0 +1,237 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.cluster.LeaderElection;
+import elytra.stations_management.dto.MaintenanceWindowReport;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.models.MaintenanceWindow;
+import elytra.stations_management.repositories.BookingRepository;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.MaintenanceConflict;
+import elytra.stations_management.repositories.MaintenanceWindowRepository;
+import elytra.stations_management.repositories.StationRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintenance windows of a charger or a whole station. Open windows are
+ * checked by {@link BookingRepository#findConflicts} in the same lookup as
+ * overlapping bookings; a scheduled pass on the cluster leader moves windows
+ * through their lifecycle and the covered chargers in and out of
+ * UNDER_MAINTENANCE at the window boundaries. A window only gives back the
+ * chargers it took itself, so a charger an operator put under maintenance by
+ * hand stays there.
+ */
+@Service
+@Slf4j
+public class MaintenanceService {
+
+    static final String LOCK = "maintenance-transitions";
+    private static final List<Booking.Status> ACTIVE_BOOKINGS = List.of(Booking.Status.PENDING, Booking.Status.CONFIRMED);
+
+    private final MaintenanceWindowRepository maintenanceWindowRepository;
+    private final BookingRepository bookingRepository;
+    private final ChargerRepository chargerRepository;
+    private final StationRepository stationRepository;
+    private final ChargerService chargerService;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    public MaintenanceService(MaintenanceWindowRepository maintenanceWindowRepository,
+            BookingRepository bookingRepository, ChargerRepository chargerRepository,
+            StationRepository stationRepository, ChargerService chargerService, LeaderElection leaderElection,
+            PlatformTransactionManager transactionManager) {
+        this.maintenanceWindowRepository = maintenanceWindowRepository;
+        this.bookingRepository = bookingRepository;
+        this.chargerRepository = chargerRepository;
+        this.stationRepository = stationRepository;
+        this.chargerService = chargerService;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Schedules a window on the station, or on one of its chargers when
+     * {@code window.chargerId} is set, and reports the bookings it overlaps.
+     */
+    @Transactional
+    public MaintenanceWindowReport scheduleWindow(Long stationId, MaintenanceWindow window) {
+        if (window.getStartTime() == null || window.getEndTime() == null) {
+            throw new IllegalArgumentException("Start and end time are required");
+        }
+        if (!window.getEndTime().isAfter(window.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (!window.getEndTime().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Maintenance window is already over");
+        }
+        if (!stationRepository.existsById(stationId)) {
+            throw new RuntimeException("Station not found");
+        }
+        if (window.getChargerId() != null) {
+            Charger charger = chargerRepository.findById(window.getChargerId())
+                    .orElseThrow(() -> new RuntimeException("Charger not found"));
+            if (!charger.getStation().getId().equals(stationId)) {
+                throw new IllegalArgumentException("Charger does not belong to the station");
+            }
+        }
+        window.setId(null);
+        window.setStationId(stationId);
+        window.setStatus(MaintenanceWindow.Status.SCHEDULED);
+        MaintenanceWindow saved = maintenanceWindowRepository.save(window);
+        return new MaintenanceWindowReport(saved, findConflicts(saved));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MaintenanceWindow> getOpenWindows(Long stationId) {
+        return maintenanceWindowRepository.findOpenByStationId(stationId);
+    }
+
+    @Transactional(readOnly = true)
+    public MaintenanceWindowReport getConflicts(Long windowId) {
+        MaintenanceWindow window = getWindow(windowId);
+        return new MaintenanceWindowReport(window, findConflicts(window));
+    }
+
+    /** Cancels a scheduled or running window, giving its chargers back if it was running. */
+    @Transactional
+    public MaintenanceWindow cancelWindow(Long windowId) {
+        MaintenanceWindow window = lockWindow(windowId);
+        MaintenanceWindow.Status previous = window.getStatus();
+        if (previous != MaintenanceWindow.Status.SCHEDULED && previous != MaintenanceWindow.Status.ACTIVE) {
+            throw new IllegalStateException("Maintenance window is already " + previous);
+        }
+        window.setStatus(MaintenanceWindow.Status.CANCELLED);
+        maintenanceWindowRepository.save(window);
+        if (previous == MaintenanceWindow.Status.ACTIVE) {
+            release(window);
+        }
+        return window;
+    }
+
+    @Scheduled(fixedDelayString = "${app.maintenance.transition-interval-ms:30000}")
+    public void scheduledTransitions() {
+        if (leaderElection.tryAcquire(LOCK)) {
+            applyTransitions(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Starts the windows due at {@code now}, holds the chargers of running
+     * windows in UNDER_MAINTENANCE (a charger still in use when its window
+     * opened is taken once it frees up) and completes the windows that have
+     * ended. Each window is handled in its own transaction, re-read under a
+     * row lock so a cancel in between is neither undone nor left holding chargers.
+     */
+    public void applyTransitions(LocalDateTime now) {
+        for (MaintenanceWindow listed : maintenanceWindowRepository.findDue(now)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    MaintenanceWindow due = lockWindow(listed.getId());
+                    if (due.getStatus() == MaintenanceWindow.Status.SCHEDULED) {
+                        due.setStatus(MaintenanceWindow.Status.ACTIVE);
+                        maintenanceWindowRepository.save(due);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not start maintenance window {}", listed.getId(), e);
+            }
+        }
+        for (MaintenanceWindow listed : maintenanceWindowRepository.findByStatus(MaintenanceWindow.Status.ACTIVE)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Re-read: an earlier window in this pass may have handed its chargers to this one
+                    MaintenanceWindow active = lockWindow(listed.getId());
+                    if (active.getStatus() != MaintenanceWindow.Status.ACTIVE) {
+                        return;
+                    }
+                    if (active.getEndTime().isAfter(now)) {
+                        hold(active);
+                    } else {
+                        active.setStatus(MaintenanceWindow.Status.COMPLETED);
+                        maintenanceWindowRepository.save(active);
+                        release(active);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not apply maintenance window {}", listed.getId(), e);
+            }
+        }
+    }
+
+    private void hold(MaintenanceWindow window) {
+        for (Long chargerId : chargerIds(window)) {
+            if (chargerService.updateChargerAvailabilityIf(chargerId, Charger.Status.AVAILABLE,
+                    Charger.Status.UNDER_MAINTENANCE, ChargerStatusSegment.Cause.MAINTENANCE)) {
+                window.getHeldChargerIds().add(chargerId);
+            }
+        }
+    }
+
+    /**
+     * Gives back the chargers the window took: each passes to another running
+     * window covering it, or else returns to AVAILABLE unless someone changed
+     * its status meanwhile.
+     */
+    private void release(MaintenanceWindow window) {
+        List<MaintenanceWindow> stillActive = maintenanceWindowRepository.findByStatus(MaintenanceWindow.Status.ACTIVE);
+        Set<Long> existing = chargerRepository.findAllById(window.getHeldChargerIds()).stream()
+                .map(Charger::getId)
+                .collect(Collectors.toSet());
+        for (Long chargerId : existing) {
+            Optional<MaintenanceWindow> successor = stillActive.stream()
+                    .filter(other -> !other.getId().equals(window.getId())
+                            && covers(other, window.getStationId(), chargerId))
+                    .findFirst();
+            if (successor.isPresent()) {
+                successor.get().getHeldChargerIds().add(chargerId);
+            } else {
+                chargerService.updateChargerAvailabilityIf(chargerId, Charger.Status.UNDER_MAINTENANCE,
+                        Charger.Status.AVAILABLE, ChargerStatusSegment.Cause.MAINTENANCE);
+            }
+        }
+        window.getHeldChargerIds().clear();
+    }
+
+    private static boolean covers(MaintenanceWindow window, Long stationId, Long chargerId) {
+        return window.getChargerId() == null
+                ? window.getStationId().equals(stationId)
+                : window.getChargerId().equals(chargerId);
+    }
+
+    private List<Long> chargerIds(MaintenanceWindow window) {
+        if (window.getChargerId() != null) {
+            return List.of(window.getChargerId());
+        }
+        return chargerRepository.findByStationIdOrderById(window.getStationId()).stream()
+                .map(Charger::getId)
+                .toList();
+    }
+
+    private List<MaintenanceConflict> findConflicts(MaintenanceWindow window) {
+        return bookingRepository.findMaintenanceConflicts(window.getStationId(), window.getChargerId(),
+                window.getStartTime(), window.getEndTime(), ACTIVE_BOOKINGS);
+    }
+
+    private MaintenanceWindow lockWindow(Long windowId) {
+        return maintenanceWindowRepository.lockById(windowId)
+                .orElseThrow(() -> new RuntimeException("Maintenance window not found"));
+    }
+
+    private MaintenanceWindow getWindow(Long windowId) {
+        return maintenanceWindowRepository.findById(windowId)
+                .orElseThrow(() -> new RuntimeException("Maintenance window not found"));
+    }
+}
@@ -0,0 +1,92 @@
+package elytra.stations_management.services;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import elytra.stations_management.exception.InvalidTokenException;
+import elytra.stations_management.models.RefreshToken;
+import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.RefreshTokenRepository;
+import elytra.stations_management.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Issues and rotates refresh tokens. Each token is single use: refreshing
+ * marks it used and returns a new access token plus the next refresh token of
+ * the same family. A used token presented again means it was copied, so the
+ * whole family is revoked and the holder has to log in again.
+ */
+@Service
+public class RefreshTokenService {
+
+    public record TokenPair(String accessToken, String refreshToken) {
+    }
+
+    private final RefreshTokenRepository repository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+
+    public RefreshTokenService(RefreshTokenRepository repository, UserRepository userRepository,
+            JwtService jwtService) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+    }
+
+    /** Starts a new token family, e.g. on login. */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    public TokenPair rotate(String refreshToken) {
+        Claims claims = parse(refreshToken);
+        String family = claims.get(JwtService.CLAIM_FAMILY, String.class);
+        if (repository.markUsed(claims.getId(), Instant.now()) == 0) {
+            repository.revokeFamily(family);
+            throw new InvalidTokenException("Refresh token is no longer valid");
+        }
+        long userId = ((Number) claims.get(JwtService.CLAIM_USER_ID)).longValue();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new InvalidTokenException("Refresh token is no longer valid"));
+        return new TokenPair(jwtService.generateToken(user), issue(user, family));
+    }
+
+    /** Revokes the family of {@code refreshToken}, e.g. on logout. */
+    public void revoke(String refreshToken) {
+        repository.revokeFamily(parse(refreshToken).get(JwtService.CLAIM_FAMILY, String.class));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        repository.deleteExpired(Instant.now());
+    }
+
+    private String issue(User user, String family) {
+        String jti = UUID.randomUUID().toString();
+        repository.save(RefreshToken.builder()
+                .id(jti)
+                .familyId(family)
+                .userId(user.getId())
+                .expiresAt(Instant.now().plus(jwtService.getRefreshTokenTtl()))
+                .build());
+        return jwtService.generateRefreshToken(user, family, jti);
+    }
+
+    private Claims parse(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        if (!JwtService.TYPE_REFRESH.equals(claims.get(JwtService.CLAIM_TYPE))
+                || claims.getId() == null || claims.get(JwtService.CLAIM_FAMILY) == null) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        return claims;
+    }
+}
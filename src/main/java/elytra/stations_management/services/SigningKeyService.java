@@ -0,0 +1,249 @@
+package elytra.stations_management.services;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.ClusterInvalidationEvent;
+import elytra.stations_management.cluster.LeaderElection;
+import elytra.stations_management.config.JwtProperties;
+import elytra.stations_management.models.SigningKey;
+import elytra.stations_management.repositories.SigningKeyRepository;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token signing key pairs, shared by all nodes through the
+ * {@code signing_keys} table and cached in memory. Tokens are signed with the
+ * newest active key and name it in their {@code kid} header; verification
+ * looks the public key up by {@code kid}, so older keys keep verifying after
+ * a rotation. The leader generates a new key every rotation interval.
+ */
+@Service
+@Slf4j
+public class SigningKeyService {
+
+    static final String CLUSTER_TOPIC = "signing-keys";
+
+    private static final String ROTATION_LOCK = "jwt-key-rotation";
+
+    public record ActiveKey(String kid, SignatureAlgorithm algorithm, PrivateKey privateKey) {
+    }
+
+    public record PublishedKey(String kid, SignatureAlgorithm algorithm, PublicKey publicKey) {
+    }
+
+    private record KeySet(ActiveKey signing, Map<String, PublishedKey> published) {
+    }
+
+    private final SigningKeyRepository repository;
+    private final ClusterEventBus clusterEventBus;
+    private final LeaderElection leaderElection;
+    private final JwtProperties properties;
+    private volatile KeySet keySet = new KeySet(null, Map.of());
+    private volatile long lastReload = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+
+    public SigningKeyService(SigningKeyRepository repository, ClusterEventBus clusterEventBus,
+            LeaderElection leaderElection, JwtProperties properties) {
+        this.repository = repository;
+        this.clusterEventBus = clusterEventBus;
+        this.leaderElection = leaderElection;
+        this.properties = properties;
+    }
+
+    /** The key new tokens are signed with; the first call on an empty table creates one. */
+    public ActiveKey signingKey() {
+        ActiveKey signing = keySet.signing();
+        if (signing != null) {
+            return signing;
+        }
+        synchronized (this) {
+            if (keySet.signing() == null) {
+                reload();
+            }
+            if (keySet.signing() == null) {
+                SigningKey key = create(Instant.now());
+                repository.save(key);
+                apply(List.of(key));
+            }
+            return keySet.signing();
+        }
+    }
+
+    /**
+     * Public key for {@code kid}, or null if unknown. A miss reloads the keys,
+     * at most once per {@code jwt.keys.min-reload-interval}, to pick up a key
+     * another node has just created.
+     */
+    public PublicKey verificationKey(String kid) {
+        PublishedKey key = keySet.published().get(kid);
+        if (key == null && System.nanoTime() - lastReload > properties.getKeys().getMinReloadInterval().toNanos()) {
+            reload();
+            key = keySet.published().get(kid);
+        }
+        return key != null ? key.publicKey() : null;
+    }
+
+    public List<PublishedKey> publishedKeys() {
+        return List.copyOf(keySet.published().values());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval-ms:60000}")
+    public synchronized void reload() {
+        lastReload = System.nanoTime();
+        apply(repository.findAll());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.rotation-check-interval-ms:3600000}")
+    public void rotate() {
+        if (!leaderElection.tryAcquire(ROTATION_LOCK)) {
+            return;
+        }
+        Instant now = Instant.now();
+        Optional<SigningKey> newest = repository.findFirstByOrderByCreatedAtDesc();
+        boolean due = newest
+                .map(key -> !key.getCreatedAt().plus(properties.getKeys().getRotationInterval()).isAfter(now))
+                .orElse(true);
+        if (due) {
+            // The very first key signs right away; nobody can have cached an older JWKS
+            SigningKey key = create(newest.isPresent() ? now.plus(properties.getKeys().getActivationDelay()) : now);
+            repository.save(key);
+            log.info("Generated signing key {}, active from {}", key.getKid(), key.getActivatesAt());
+        }
+        ActiveKey signing = signingKey();
+        int removed = repository.deleteExpired(now, signing.kid());
+        if (due || removed > 0) {
+            clusterEventBus.publish(CLUSTER_TOPIC);
+            reload();
+        }
+    }
+
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (CLUSTER_TOPIC.equals(event.topic())) {
+            reload();
+        }
+    }
+
+    /** The key as a JSON Web Key (RFC 7517) for the JWKS endpoint. */
+    public static Map<String, Object> toJwk(PublishedKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm().getValue());
+        if (key.publicKey() instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+        } else if (key.publicKey() instanceof ECPublicKey ec) {
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + ec.getParams().getCurve().getField().getFieldSize());
+            jwk.put("x", base64Url(ec.getW().getAffineX(), size));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), size));
+        }
+        return jwk;
+    }
+
+    private void apply(List<SigningKey> keys) {
+        Instant now = Instant.now();
+        Map<String, PublishedKey> published = new LinkedHashMap<>();
+        ActiveKey signing = null;
+        SigningKey newestActive = keys.stream()
+                .filter(key -> !key.getActivatesAt().isAfter(now))
+                .max(Comparator.comparing(SigningKey::getActivatesAt))
+                .orElse(null);
+        for (SigningKey key : keys) {
+            try {
+                SignatureAlgorithm algorithm = SignatureAlgorithm.forName(key.getAlgorithm());
+                KeyFactory factory = KeyFactory.getInstance(algorithm.getFamilyName().equals("RSA") ? "RSA" : "EC");
+                PublicKey publicKey = factory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+                published.put(key.getKid(), new PublishedKey(key.getKid(), algorithm, publicKey));
+                if (key == newestActive) {
+                    PrivateKey privateKey = factory.generatePrivate(
+                            new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key.getPrivateKey())));
+                    signing = new ActiveKey(key.getKid(), algorithm, privateKey);
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.error("Skipping unreadable signing key {}", key.getKid(), e);
+            }
+        }
+        keySet = new KeySet(signing, published);
+    }
+
+    private SigningKey create(Instant activatesAt) {
+        SignatureAlgorithm algorithm = properties.getKeys().getAlgorithm();
+        KeyPair pair = generate(algorithm);
+        // Signs until the next rotation has activated, then must outlive the longest token it signed
+        Instant expiresAt = activatesAt
+                .plus(properties.getKeys().getRotationInterval().multipliedBy(2))
+                .plus(properties.getRefreshTokenTtl());
+        return SigningKey.builder()
+                .kid(UUID.randomUUID().toString())
+                .algorithm(algorithm.getValue())
+                .publicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()))
+                .privateKey(Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()))
+                .createdAt(Instant.now())
+                .activatesAt(activatesAt)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static KeyPair generate(SignatureAlgorithm algorithm) {
+        try {
+            switch (algorithm) {
+                case RS256:
+                    KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+                    rsa.initialize(2048);
+                    return rsa.generateKeyPair();
+                case ES256:
+                    KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+                    ec.initialize(new ECGenParameterSpec("secp256r1"));
+                    return ec.generateKeyPair();
+                default:
+                    throw new IllegalStateException("Unsupported signing algorithm " + algorithm);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm + " key", e);
+        }
+    }
+
+    /** Unsigned big-endian bytes, left-padded to {@code length} when non-zero. */
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
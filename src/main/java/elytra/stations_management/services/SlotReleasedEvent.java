@@ -0,0 +1,9 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a cancelled or deleted booking frees its window on a charger.
+ */
+public record SlotReleasedEvent(Long chargerId, Long stationId, LocalDateTime startTime, LocalDateTime endTime) {
+}
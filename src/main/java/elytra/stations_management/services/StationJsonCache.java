@@ -0,0 +1,115 @@
+package elytra.stations_management.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.ClusterInvalidationEvent;
+
+/**
+ * Holds the serialized JSON (plain and gzipped) of the station list and of each
+ * station, so hot reads skip both the database and Jackson. Any station or
+ * charger mutation drops every entry; writes are rare compared to reads. In
+ * cluster mode the invalidation is also broadcast to the other nodes.
+ */
+@Component
+public class StationJsonCache {
+
+    public record Entry(String eTag, byte[] json, byte[] gzip) {
+    }
+
+    static final String CLUSTER_TOPIC = "stations";
+
+    private static final Long ALL_STATIONS = -1L;
+
+    private final ObjectMapper objectMapper;
+    private final ClusterEventBus clusterEventBus;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public StationJsonCache(ObjectMapper objectMapper, ClusterEventBus clusterEventBus) {
+        this.objectMapper = objectMapper;
+        this.clusterEventBus = clusterEventBus;
+    }
+
+    public Entry getStations(Supplier<String> versionTag, Supplier<?> loader) {
+        return get(ALL_STATIONS, versionTag, loader);
+    }
+
+    public Entry getStation(Long stationId, Supplier<String> versionTag, Supplier<?> loader) {
+        return get(stationId, versionTag, loader);
+    }
+
+    /**
+     * Drops all entries now and again once the surrounding transaction commits,
+     * so a reader that loaded pre-commit state cannot repopulate the cache with it.
+     */
+    public void invalidate() {
+        clear();
+        clusterEventBus.publish(CLUSTER_TOPIC);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (CLUSTER_TOPIC.equals(event.topic())) {
+            clear();
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private Entry get(Long key, Supplier<String> versionTag, Supplier<?> loader) {
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        String eTag = versionTag.get();
+        Entry entry = serialize(eTag, loader.get());
+        // Only publish if no invalidation raced with the load
+        if (generation.get() == loadedAt) {
+            entries.putIfAbsent(key, entry);
+        }
+        return entry;
+    }
+
+    private Entry serialize(String eTag, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Entry(eTag, json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize station response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
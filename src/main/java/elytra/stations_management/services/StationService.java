@@ -1,20 +1,39 @@
 package elytra.stations_management.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import elytra.stations_management.dto.ChargerPatch;
+import elytra.stations_management.dto.StationPatch;
 import elytra.stations_management.models.Charger;
 import elytra.stations_management.models.Station;
+import elytra.stations_management.repositories.ChargerRepository;
 import elytra.stations_management.repositories.StationRepository;
 
 @Service
 public class StationService {
+    private static final String STATION_NOT_FOUND = "Station not found";
+
     @Autowired
     private StationRepository stationRepository;
 
+    @Autowired
+    private ChargerRepository chargerRepository;
+
+    @Autowired
+    private StationJsonCache stationJsonCache;
+
+    @Autowired
+    private ChargerService chargerService;
+
     @Transactional
     public Station registerStation(Station station) {
         if (station.getChargers() != null) {
@@ -22,6 +41,7 @@ public class StationService {
                 charger.setStation(station);
             }
         }
+        stationJsonCache.invalidate();
         return stationRepository.save(station);
     }
 
@@ -31,7 +51,27 @@ public class StationService {
 
     public Station getStationById(Long stationId) {
         return stationRepository.findById(stationId)
-                .orElseThrow(() -> new RuntimeException("Station not found"));
+                .orElseThrow(() -> new RuntimeException(STATION_NOT_FOUND));
+    }
+
+    /**
+     * Version tag for the station list, derived from aggregate version columns
+     * so conditional requests can be answered without loading any station.
+     */
+    @Transactional(readOnly = true)
+    public String getStationsVersionTag() {
+        return "stations-" + stationRepository.findVersionStamp().toTag()
+                + "-" + chargerRepository.findVersionStamp().toTag();
+    }
+
+    /**
+     * Version tag for a single station and its chargers.
+     */
+    @Transactional(readOnly = true)
+    public String getStationVersionTag(Long stationId) {
+        return stationRepository.findVersionStampById(stationId)
+                .map(stamp -> "station-" + stationId + "-" + stamp.toTag())
+                .orElseThrow(() -> new RuntimeException(STATION_NOT_FOUND));
     }
 
     @Transactional
@@ -41,6 +81,7 @@ public class StationService {
 
         station.getChargers().add(charger);
         stationRepository.save(station);
+        stationJsonCache.invalidate();
         return charger;
     }
 
@@ -52,23 +93,111 @@ public class StationService {
         existingStation.setLatitude(station.getLatitude());
         existingStation.setLongitude(station.getLongitude());
 
+        reconcileChargers(existingStation, station.getChargers() != null ? station.getChargers() : List.of());
+        stationRepository.save(existingStation);
+        stationJsonCache.invalidate();
 
-        existingStation.getChargers().clear();
-        if (station.getChargers() != null) {
-            for (Charger charger : station.getChargers()) {
-                charger.setStation(existingStation);
-                existingStation.getChargers().add(charger);
+        return existingStation;
+    }
+
+    /**
+     * Applies the non-null fields of {@code patch}. Only what differs is
+     * written, so renaming a station is a single UPDATE however many
+     * chargers it has.
+     */
+    @Transactional
+    public Station patchStation(Long stationId, StationPatch patch) {
+        if (patch.getName() != null && patch.getName().trim().isEmpty()
+                || patch.getAddress() != null && patch.getAddress().trim().isEmpty()) {
+            throw new IllegalArgumentException("Name and address cannot be blank");
+        }
+        Station existingStation = getStationById(stationId);
+        if (patch.getName() != null) {
+            existingStation.setName(patch.getName());
+        }
+        if (patch.getAddress() != null) {
+            existingStation.setAddress(patch.getAddress());
+        }
+        if (patch.getLatitude() != null) {
+            existingStation.setLatitude(patch.getLatitude());
+        }
+        if (patch.getLongitude() != null) {
+            existingStation.setLongitude(patch.getLongitude());
+        }
+        if (patch.getChargers() != null) {
+            List<Charger> chargers = new ArrayList<>(patch.getChargers().size());
+            for (ChargerPatch charger : patch.getChargers()) {
+                if (charger.getId() == null && (charger.getType() == null || charger.getPower() == null)) {
+                    throw new IllegalArgumentException("New chargers need a type and power");
+                }
+                chargers.add(Charger.builder()
+                        .id(charger.getId())
+                        .type(charger.getType())
+                        .power(charger.getPower())
+                        .status(charger.getStatus())
+                        .build());
             }
+            reconcileChargers(existingStation, chargers);
         }
         stationRepository.save(existingStation);
+        stationJsonCache.invalidate();
 
         return existingStation;
     }
 
+    /**
+     * Makes {@code incoming} the station's chargers by id instead of
+     * rebuilding the collection: existing chargers keep their rows (and the
+     * bookings pointing at them) and are only updated where a field differs,
+     * chargers without an id are added and chargers left out are removed.
+     */
+    private void reconcileChargers(Station station, List<Charger> incoming) {
+        Map<Long, Charger> current = new HashMap<>();
+        for (Charger charger : station.getChargers()) {
+            current.put(charger.getId(), charger);
+        }
+        Set<Long> kept = new HashSet<>();
+        List<Charger> added = new ArrayList<>();
+        for (Charger charger : incoming) {
+            if (charger.getId() == null) {
+                if (charger.getStatus() == null) {
+                    charger.setStatus(Charger.Status.AVAILABLE);
+                }
+                charger.setStation(station);
+                added.add(charger);
+                continue;
+            }
+            Charger existing = current.get(charger.getId());
+            if (existing == null) {
+                throw new IllegalArgumentException("Charger " + charger.getId() + " does not belong to the station");
+            }
+            if (!kept.add(charger.getId())) {
+                throw new IllegalArgumentException("Charger " + charger.getId() + " is listed twice");
+            }
+            applyChanges(existing, charger);
+        }
+        station.getChargers().removeIf(charger -> !kept.contains(charger.getId()));
+        station.getChargers().addAll(added);
+    }
+
+    private void applyChanges(Charger existing, Charger changes) {
+        if (changes.getType() != null && !changes.getType().equals(existing.getType())) {
+            existing.setType(changes.getType());
+        }
+        if (changes.getPower() != null && !changes.getPower().equals(existing.getPower())) {
+            existing.setPower(changes.getPower());
+        }
+        if (changes.getStatus() != null && changes.getStatus() != existing.getStatus()) {
+            // Goes through ChargerService so the transition is validated and recorded in the status history
+            chargerService.updateChargerAvailability(existing.getId(), changes.getStatus());
+        }
+    }
+
     @Transactional
     public void deleteStation(Long stationId) {
         Station station = stationRepository.findById(stationId)
-                .orElseThrow(() -> new RuntimeException("Station not found"));
+                .orElseThrow(() -> new RuntimeException(STATION_NOT_FOUND));
         stationRepository.delete(station);
+        stationJsonCache.invalidate();
     }
 }
@@ -0,0 +1,270 @@
+package elytra.stations_management.services;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.dto.LivePowerReading;
+import elytra.stations_management.dto.TelemetrySample;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.models.ChargerTelemetry;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.ChargerTelemetryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Telemetry ingest. Samples go into a per-charger in-memory ring buffer and
+ * never touch the database on the request path; only ids of existing chargers,
+ * from a periodically refreshed set, get a buffer, and buffers that fall idle
+ * are dropped. A scheduled flush upserts one downsampled row per charger and
+ * bucket, merging into the row an earlier flush (or another node) wrote for
+ * the same bucket, and a scheduled task applies the status changes derived
+ * from the readings (power above the threshold means the charger is in use,
+ * power below it for the idle period means it is free). Buffers are per node.
+ */
+@Service
+@Slf4j
+public class TelemetryService {
+
+    /** Binary frame: charger id (long), timestamp millis (long), kW (float), kWh (double), big-endian. */
+    public static final int FRAME_BYTES = Long.BYTES + Long.BYTES + Float.BYTES + Double.BYTES;
+
+    private static final long LIVE_WINDOW_MILLIS = 60_000;
+
+    private final ChargerTelemetryRepository chargerTelemetryRepository;
+    private final ChargerRepository chargerRepository;
+    private final ChargerService chargerService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, ChargerTelemetryBuffer> buffers = new ConcurrentHashMap<>();
+    private final Map<Long, Charger.Status> pendingTransitions = new ConcurrentHashMap<>();
+    private final Counter ingested;
+    private final Counter rejected;
+    private final Counter overwritten;
+
+    private final int bufferSize;
+    private final int maxChargers;
+    private final double activeThresholdKw;
+    private final long idleMillis;
+    private final long bucketMillis;
+    private final long evictAfterMillis;
+
+    // Ids of existing chargers, so new chargers are accepted from the next refresh; null until first loaded
+    private volatile Set<Long> knownChargerIds;
+
+    public TelemetryService(ChargerTelemetryRepository chargerTelemetryRepository, ChargerRepository chargerRepository,
+            ChargerService chargerService, MeterRegistry meterRegistry, PlatformTransactionManager transactionManager,
+            @Value("${app.telemetry.buffer-size:256}") int bufferSize,
+            @Value("${app.telemetry.max-chargers:5000}") int maxChargers,
+            @Value("${app.telemetry.active-threshold-kw:0.5}") double activeThresholdKw,
+            @Value("${app.telemetry.idle-ms:120000}") long idleMillis,
+            @Value("${app.telemetry.bucket-ms:60000}") long bucketMillis,
+            @Value("${app.telemetry.evict-after-ms:600000}") long evictAfterMillis) {
+        this.chargerTelemetryRepository = chargerTelemetryRepository;
+        this.chargerRepository = chargerRepository;
+        this.chargerService = chargerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ingested = Counter.builder("telemetry.samples.ingested").register(meterRegistry);
+        this.rejected = Counter.builder("telemetry.samples.rejected")
+                .description("Samples with a missing or unknown charger id or beyond the tracked charger limit")
+                .register(meterRegistry);
+        this.overwritten = Counter.builder("telemetry.samples.overwritten")
+                .description("Samples overwritten in a ring buffer before they were flushed")
+                .register(meterRegistry);
+        this.bufferSize = bufferSize;
+        this.maxChargers = maxChargers;
+        this.activeThresholdKw = activeThresholdKw;
+        this.idleMillis = idleMillis;
+        this.bucketMillis = bucketMillis;
+        this.evictAfterMillis = evictAfterMillis;
+    }
+
+    /** Returns the number of samples accepted. */
+    public int ingest(List<TelemetrySample> samples) {
+        int accepted = 0;
+        for (TelemetrySample sample : samples) {
+            if (sample.getChargerId() != null
+                    && append(sample.getChargerId(), sample.getTimestamp(), sample.getPowerKw(), sample.getEnergyKwh())) {
+                accepted++;
+            }
+        }
+        return count(accepted, samples.size());
+    }
+
+    /**
+     * Ingests back-to-back {@link #FRAME_BYTES}-byte frames. Returns the number
+     * of samples accepted.
+     */
+    public int ingestFrames(ByteBuffer frames) {
+        if (frames.remaining() % FRAME_BYTES != 0) {
+            throw new IllegalArgumentException("Telemetry body must be a multiple of " + FRAME_BYTES + " bytes");
+        }
+        int total = frames.remaining() / FRAME_BYTES;
+        int accepted = 0;
+        while (frames.hasRemaining()) {
+            long chargerId = frames.getLong();
+            long timestamp = frames.getLong();
+            float powerKw = frames.getFloat();
+            double energyKwh = frames.getDouble();
+            if (append(chargerId, timestamp, powerKw, energyKwh)) {
+                accepted++;
+            }
+        }
+        return count(accepted, total);
+    }
+
+    public LivePowerReading getLiveReading(Long chargerId) {
+        ChargerTelemetryBuffer buffer = buffers.get(chargerId);
+        ChargerTelemetryBuffer.Live live = buffer != null ? buffer.live(LIVE_WINDOW_MILLIS) : null;
+        if (live == null) {
+            throw new RuntimeException("No telemetry for charger " + chargerId);
+        }
+        return new LivePowerReading(chargerId, live.timestamp(), live.powerKw(), live.energyKwh(),
+                live.averagePowerKw(), live.charging());
+    }
+
+    @Scheduled(fixedDelayString = "${app.telemetry.flush-interval-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        Map<Long, List<ChargerTelemetryBuffer.Bucket>> drained = new HashMap<>();
+        long lost = 0;
+        for (Map.Entry<Long, ChargerTelemetryBuffer> entry : buffers.entrySet()) {
+            List<ChargerTelemetryBuffer.Bucket> buckets = entry.getValue().drain(bucketMillis);
+            if (!buckets.isEmpty()) {
+                drained.put(entry.getKey(), buckets);
+            }
+            lost += entry.getValue().takeOverwritten();
+        }
+        overwritten.increment(lost);
+        evictIdleBuffers();
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(drained));
+        } catch (DataIntegrityViolationException e) {
+            // Another node inserted one of these buckets first; merge into its row instead
+            transactionTemplate.executeWithoutResult(status -> upsert(drained));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.telemetry.charger-refresh-ms:60000}")
+    public void refreshKnownChargers() {
+        knownChargerIds = Set.copyOf(chargerRepository.findAllIds());
+    }
+
+    @Scheduled(fixedDelayString = "${app.telemetry.transition-interval-ms:1000}")
+    public void applyStatusTransitions() {
+        for (Long chargerId : List.copyOf(pendingTransitions.keySet())) {
+            Charger.Status target = pendingTransitions.remove(chargerId);
+            Charger.Status expected = target == Charger.Status.BEING_USED
+                    ? Charger.Status.AVAILABLE : Charger.Status.BEING_USED;
+            try {
+                chargerService.updateChargerAvailabilityIf(chargerId, expected, target,
+                        ChargerStatusSegment.Cause.TELEMETRY);
+            } catch (RuntimeException e) {
+                log.debug("Skipping telemetry status change for charger {}: {}", chargerId, e.getMessage());
+            }
+        }
+    }
+
+    private boolean append(long chargerId, long timestamp, double powerKw, double energyKwh) {
+        ChargerTelemetryBuffer buffer;
+        Charger.Status transition;
+        do {
+            buffer = buffers.get(chargerId);
+            if (buffer == null) {
+                if (buffers.size() >= maxChargers || !knownChargers().contains(chargerId)) {
+                    return false;
+                }
+                buffer = buffers.computeIfAbsent(chargerId,
+                        id -> new ChargerTelemetryBuffer(bufferSize, activeThresholdKw, idleMillis));
+            }
+            transition = buffer.append(timestamp, powerKw, energyKwh);
+            // An eviction racing this append discards the buffer; append again to its replacement
+        } while (buffers.get(chargerId) != buffer);
+        if (transition != null) {
+            // Only the latest edge matters if several arrive before the next apply
+            pendingTransitions.put(chargerId, transition);
+        }
+        return true;
+    }
+
+    private Set<Long> knownChargers() {
+        Set<Long> ids = knownChargerIds;
+        if (ids == null) {
+            refreshKnownChargers();
+            ids = knownChargerIds;
+        }
+        return ids;
+    }
+
+    private void evictIdleBuffers() {
+        long receivedBefore = System.currentTimeMillis() - evictAfterMillis;
+        Set<Long> known = knownChargers();
+        for (Long chargerId : List.copyOf(buffers.keySet())) {
+            buffers.computeIfPresent(chargerId,
+                    (id, buffer) -> !known.contains(id) || buffer.isIdle(receivedBefore) ? null : buffer);
+        }
+    }
+
+    private void upsert(Map<Long, List<ChargerTelemetryBuffer.Bucket>> drained) {
+        Set<Instant> starts = new HashSet<>();
+        for (List<ChargerTelemetryBuffer.Bucket> buckets : drained.values()) {
+            buckets.forEach(bucket -> starts.add(Instant.ofEpochMilli(bucket.startMillis())));
+        }
+        Map<Long, Map<Instant, ChargerTelemetry>> stored = new HashMap<>();
+        for (ChargerTelemetry row : chargerTelemetryRepository.findForUpdate(drained.keySet(), starts)) {
+            stored.computeIfAbsent(row.getChargerId(), id -> new HashMap<>()).put(row.getBucketStart(), row);
+        }
+
+        List<ChargerTelemetry> rows = new ArrayList<>();
+        drained.forEach((chargerId, buckets) -> {
+            for (ChargerTelemetryBuffer.Bucket bucket : buckets) {
+                Instant start = Instant.ofEpochMilli(bucket.startMillis());
+                ChargerTelemetry row = stored.getOrDefault(chargerId, Map.of()).get(start);
+                if (row == null) {
+                    rows.add(ChargerTelemetry.builder()
+                            .chargerId(chargerId)
+                            .bucketStart(start)
+                            .avgPowerKw(bucket.avgPowerKw())
+                            .maxPowerKw(bucket.maxPowerKw())
+                            .energyKwh(bucket.energyKwh())
+                            .sampleCount(bucket.samples())
+                            .build());
+                } else {
+                    int samples = row.getSampleCount() + bucket.samples();
+                    row.setAvgPowerKw((row.getAvgPowerKw() * row.getSampleCount()
+                            + bucket.avgPowerKw() * bucket.samples()) / samples);
+                    row.setMaxPowerKw(Math.max(row.getMaxPowerKw(), bucket.maxPowerKw()));
+                    row.setEnergyKwh(Math.max(row.getEnergyKwh(), bucket.energyKwh()));
+                    row.setSampleCount(samples);
+                    rows.add(row);
+                }
+            }
+        });
+        chargerTelemetryRepository.saveAll(rows);
+    }
+
+    private int count(int accepted, int total) {
+        ingested.increment(accepted);
+        rejected.increment(total - accepted);
+        return accepted;
+    }
+}
@@ -0,0 +1,80 @@
+package elytra.stations_management.services;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.ClusterInvalidationEvent;
+import elytra.stations_management.models.RevokedToken;
+import elytra.stations_management.repositories.RevokedTokenRepository;
+
+/**
+ * Deny list of access tokens revoked before they expire. Every request checks
+ * an in-memory bloom filter of the revoked {@code jti}s first, so only a filter
+ * hit (a revoked token or a rare false positive) reaches the database. The
+ * filter is rebuilt periodically to drop expired entries, and on every node
+ * when another node revokes a token.
+ */
+@Service
+public class TokenRevocationService {
+
+    static final String CLUSTER_TOPIC = "revoked-tokens";
+
+    private final RevokedTokenRepository repository;
+    private final ClusterEventBus clusterEventBus;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(RevokedTokenRepository repository, ClusterEventBus clusterEventBus,
+            @Value("${app.auth.revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${app.auth.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.repository = repository;
+        this.clusterEventBus = clusterEventBus;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return repository.existsById(jti);
+    }
+
+    /** Synchronized with {@link #rebuild} so a revocation cannot land in a filter that is being replaced. */
+    public synchronized void revoke(String jti, Instant expiresAt) {
+        if (jti == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        repository.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).build());
+        filter.put(jti);
+        clusterEventBus.publish(CLUSTER_TOPIC);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        List<String> jtis = repository.findActiveJtis(Instant.now());
+        BloomFilter next = new BloomFilter(Math.max(expectedEntries, jtis.size() * 2), falsePositiveRate);
+        jtis.forEach(next::put);
+        filter = next;
+    }
+
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (CLUSTER_TOPIC.equals(event.topic())) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        repository.deleteExpired(Instant.now());
+    }
+}
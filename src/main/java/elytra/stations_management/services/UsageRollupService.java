@@ -0,0 +1,198 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.cluster.LeaderElection;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.DailyUsageRollup;
+import elytra.stations_management.repositories.ArchivedBookingRepository;
+import elytra.stations_management.repositories.BookingRepository;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.CompletedSession;
+import elytra.stations_management.repositories.DailyUsageRollupRepository;
+import elytra.stations_management.repositories.StationDailyUsage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains per charger and day usage rollups. Completed bookings are added
+ * incrementally inside the completing transaction; {@link #rebuild()}
+ * recomputes everything from the hot and archived bookings, in parallel
+ * chunks of chargers, each chunk in its own transaction. Both row-lock the
+ * chargers they touch first, so for any one charger an incremental add and a
+ * rebuild (or two adds) run one after the other: a rebuild never overwrites
+ * an add it did not read, and only one add can create a day's row.
+ */
+@Service
+@Slf4j
+public class UsageRollupService {
+
+    static final String LOCK = "usage-rollup-rebuild";
+    private static final int MAX_REPORT_DAYS = 366;
+
+    private final DailyUsageRollupRepository rollupRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ChargerRepository chargerRepository;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public UsageRollupService(DailyUsageRollupRepository rollupRepository, BookingRepository bookingRepository,
+            ArchivedBookingRepository archivedBookingRepository, ChargerRepository chargerRepository,
+            LeaderElection leaderElection, PlatformTransactionManager transactionManager,
+            @Value("${app.reports.rollup.chunk-size:200}") int chunkSize,
+            @Value("${app.reports.rollup.parallelism:4}") int parallelism) {
+        this.rollupRepository = rollupRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.chargerRepository = chargerRepository;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Adds a just-completed booking to its charger's row for the day it
+     * started. Must run in the transaction that completes the booking.
+     */
+    @Transactional
+    public void recordCompleted(Booking booking) {
+        Charger charger = booking.getCharger();
+        chargerRepository.lockByIdIn(List.of(charger.getId()));
+        long minutes = bookedMinutes(booking.getStartTime(), booking.getEndTime());
+        double energyKwh = energyKwh(charger.getPower(), minutes);
+        LocalDate day = booking.getStartTime().toLocalDate();
+
+        if (rollupRepository.addSession(charger.getId(), day, energyKwh, minutes) == 0) {
+            rollupRepository.save(DailyUsageRollup.builder()
+                    .stationId(charger.getStation().getId())
+                    .chargerId(charger.getId())
+                    .usageDate(day)
+                    .sessions(1L)
+                    .energyKwh(energyKwh)
+                    .bookedMinutes(minutes)
+                    .build());
+        }
+    }
+
+    /** Daily totals of a station for the inclusive range [from, to]. */
+    @Transactional(readOnly = true)
+    public List<StationDailyUsage> getStationReport(Long stationId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return rollupRepository.findStationDailyUsage(stationId, from, to);
+    }
+
+    /** Per charger and day rows of a station for the inclusive range [from, to]. */
+    @Transactional(readOnly = true)
+    public List<DailyUsageRollup> getChargerReport(Long stationId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return rollupRepository.findByStationIdAndUsageDateBetweenOrderByUsageDateAscChargerIdAsc(stationId, from, to);
+    }
+
+    @Scheduled(cron = "${app.reports.rollup.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        if (leaderElection.tryAcquire(LOCK)) {
+            log.info("Rebuilt usage rollups for {} chargers", rebuild());
+        }
+    }
+
+    /**
+     * Recomputes every rollup row from raw bookings. Returns the number of
+     * chargers processed.
+     */
+    public int rebuild() {
+        List<Long> chargerIds = chargerRepository.findAllIds();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < chargerIds.size(); i += chunkSize) {
+            chunks.add(chargerIds.subList(i, Math.min(i + chunkSize, chargerIds.size())));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, chunks.size())));
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks.size());
+            for (List<Long> chunk : chunks) {
+                futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(s -> rebuildChunk(chunk))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Usage rollup rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Usage rollup rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return chargerIds.size();
+    }
+
+    private void rebuildChunk(List<Long> chargerIds) {
+        chargerRepository.lockByIdIn(chargerIds);
+        Map<Long, Map<LocalDate, DailyUsageRollup>> rows = new HashMap<>();
+        addSessions(rows, bookingRepository.findCompletedSessions(chargerIds));
+        addSessions(rows, archivedBookingRepository.findCompletedSessions(chargerIds));
+
+        rollupRepository.deleteByChargerIdIn(chargerIds);
+        List<DailyUsageRollup> rebuilt = new ArrayList<>();
+        rows.values().forEach(byDay -> rebuilt.addAll(byDay.values()));
+        rollupRepository.saveAll(rebuilt);
+    }
+
+    private static void addSessions(Map<Long, Map<LocalDate, DailyUsageRollup>> rows,
+            List<CompletedSession> sessions) {
+        for (CompletedSession session : sessions) {
+            LocalDate day = session.getStartTime().toLocalDate();
+            long minutes = bookedMinutes(session.getStartTime(), session.getEndTime());
+            DailyUsageRollup row = rows.computeIfAbsent(session.getChargerId(), id -> new HashMap<>())
+                    .computeIfAbsent(day, d -> DailyUsageRollup.builder()
+                            .stationId(session.getStationId())
+                            .chargerId(session.getChargerId())
+                            .usageDate(d)
+                            .sessions(0L)
+                            .energyKwh(0.0)
+                            .bookedMinutes(0L)
+                            .build());
+            row.setSessions(row.getSessions() + 1);
+            row.setEnergyKwh(row.getEnergyKwh() + energyKwh(session.getPower(), minutes));
+            row.setBookedMinutes(row.getBookedMinutes() + minutes);
+        }
+    }
+
+    private static long bookedMinutes(LocalDateTime start, LocalDateTime end) {
+        return Math.max(0, ChronoUnit.MINUTES.between(start, end));
+    }
+
+    private static double energyKwh(Double powerKw, long minutes) {
+        return powerKw == null ? 0.0 : powerKw * minutes / 60.0;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Report range must have a start on or before its end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new IllegalArgumentException("Report range is limited to " + MAX_REPORT_DAYS + " days");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package elytra.stations_management.services;
 
 import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.UserProfile;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,6 +13,7 @@ public class UserInfoDetails implements UserDetails {
     private String username; // Changed from 'name' to 'email' for clarity
     private String password;
     private List<GrantedAuthority> authorities;
+    private UserProfile profile;
 
     public UserInfoDetails(User user) {
         this.username = user.getUsername(); // Use username as username
@@ -19,6 +21,24 @@ public class UserInfoDetails implements UserDetails {
         this.authorities = List.of(new SimpleGrantedAuthority(user.getRoles()));
     }
 
+    /** Keeps the profile so login can answer without loading the user again. */
+    public UserInfoDetails(UserProfile profile) {
+        this(profile.toUser());
+        this.password = profile.getPassword();
+        this.profile = profile;
+    }
+
+    /** Built from access-token claims; carries no password. */
+    public UserInfoDetails(String username, String role) {
+        this.username = username;
+        this.authorities = List.of(new SimpleGrantedAuthority(role));
+    }
+
+    /** The profile loaded at authentication, or null. */
+    public UserProfile getProfile() {
+        return profile;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
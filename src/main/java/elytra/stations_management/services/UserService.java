@@ -1,7 +1,9 @@
 package elytra.stations_management.services;
 
+import elytra.stations_management.exception.ConstraintViolations;
 import elytra.stations_management.exception.UserException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -9,6 +11,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.UserProfile;
 import elytra.stations_management.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -27,22 +30,15 @@ public class UserService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> userDetail = repository.findByUsername(username);
-        return userDetail.map(UserInfoDetails::new)
+        return repository.findProfileByUsername(username)
+                .map(UserInfoDetails::new)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
+    /** One insert; the unique constraints on username and email reject duplicates, even concurrent ones. */
     public User registerUser(User user) {
-        // Check if username already exists
-        if (repository.existsByUsername(user.getUsername())) {
-            throw new UserException("Username already exists: " + user.getUsername());
-        }
-        // Check if email already exists
-        if (repository.existsByEmail(user.getEmail())) {
-            throw new UserException("Email already exists: " + user.getEmail());
-        }
         user.setPassword(encoder.encode(user.getPassword()));
-        return repository.save(user);
+        return saveUnique(user);
     }
 
     public User updateUser(Long id, User user) {
@@ -59,7 +55,21 @@ public class UserService implements UserDetailsService {
             existingUser.setUserType(user.getUserType());
         }
         
-        return repository.save(existingUser);
+        return saveUnique(existingUser);
+    }
+
+    private User saveUnique(User user) {
+        try {
+            return repository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, User.UK_USERNAME)) {
+                throw new UserException("Username already exists: " + user.getUsername());
+            }
+            if (ConstraintViolations.violates(e, User.UK_EMAIL)) {
+                throw new UserException("Email already exists: " + user.getEmail());
+            }
+            throw e;
+        }
     }
 
     public List<User> getAllUsers() {
@@ -70,4 +80,9 @@ public class UserService implements UserDetailsService {
         return repository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
-} 
\ No newline at end of file
+
+    public UserProfile getProfileByUsername(String username) {
+        return repository.findProfileByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+}
@@ -0,0 +1,168 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.WaitlistEntry;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.WaitlistEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands freed booking slots to waitlisted drivers. Cancelling requests only
+ * enqueue a {@link SlotReleasedEvent} after their commit; a scheduled pass
+ * drains the queue in batches, ranks every candidate of every freed slot in
+ * one priority queue (charger-specific requests first, then oldest) and books
+ * each match in its own transaction, so a failed match leaves the entry
+ * waiting.
+ */
+@Component
+@Slf4j
+public class WaitlistMatcher {
+
+    static final Comparator<WaitlistEntry> PRIORITY = Comparator
+            .comparing((WaitlistEntry e) -> e.getChargerId() == null)
+            .thenComparing(WaitlistEntry::getCreatedAt)
+            .thenComparing(WaitlistEntry::getId);
+
+    private final BlockingQueue<SlotReleasedEvent> releasedSlots;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ChargerRepository chargerRepository;
+    private final BookingService bookingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter matched;
+    private final Counter dropped;
+    private final Counter failed;
+    private final int batchSize;
+    private final int candidatesPerSlot;
+
+    public WaitlistMatcher(WaitlistEntryRepository waitlistEntryRepository, ChargerRepository chargerRepository,
+            BookingService bookingService, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.waitlist.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.waitlist.batch-size:200}") int batchSize,
+            @Value("${app.waitlist.candidates-per-slot:20}") int candidatesPerSlot) {
+        this.releasedSlots = new ArrayBlockingQueue<>(queueCapacity);
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.chargerRepository = chargerRepository;
+        this.bookingService = bookingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.matched = Counter.builder("waitlist.matched")
+                .description("Waitlist entries turned into bookings")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("waitlist.slots.dropped")
+                .description("Freed slots not matched because the matcher queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("waitlist.match.failures")
+                .description("Waitlist matches that failed unexpectedly, such as on a concurrent charger update")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.candidatesPerSlot = candidatesPerSlot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotReleased(SlotReleasedEvent event) {
+        if (!releasedSlots.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.match-interval-ms:1000}")
+    public void scheduledMatch() {
+        int booked;
+        do {
+            booked = matchBatch();
+        } while (booked > 0 && !releasedSlots.isEmpty());
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.expire-interval-ms:60000}")
+    public void expireStarted() {
+        transactionTemplate.executeWithoutResult(
+                status -> waitlistEntryRepository.expireStarted(LocalDateTime.now()));
+    }
+
+    /**
+     * Matches up to one batch of freed slots. Returns the number of bookings
+     * created.
+     */
+    public int matchBatch() {
+        List<SlotReleasedEvent> slots = new ArrayList<>();
+        releasedSlots.drainTo(slots, batchSize);
+        if (slots.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(
+                Comparator.comparing(Candidate::entry, PRIORITY));
+        for (SlotReleasedEvent slot : slots) {
+            waitlistEntryRepository.findCandidates(slot.stationId(), slot.chargerId(), slot.startTime(),
+                    slot.endTime(), now, PageRequest.of(0, candidatesPerSlot))
+                    .forEach(entry -> candidates.add(new Candidate(entry, slot.chargerId())));
+        }
+
+        Set<Long> served = new HashSet<>();
+        int booked = 0;
+        Candidate candidate;
+        while ((candidate = candidates.poll()) != null) {
+            if (!served.contains(candidate.entry().getId()) && tryBook(candidate)) {
+                served.add(candidate.entry().getId());
+                booked++;
+            }
+        }
+        matched.increment(booked);
+        return booked;
+    }
+
+    private boolean tryBook(Candidate candidate) {
+        WaitlistEntry entry = candidate.entry();
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Booking booking = bookingService.createBooking(Booking.builder()
+                        .userId(entry.getUserId())
+                        .charger(chargerRepository.findById(candidate.chargerId()).orElseThrow())
+                        .startTime(entry.getStartTime())
+                        .endTime(entry.getEndTime())
+                        .status(Booking.Status.CONFIRMED)
+                        .build());
+                if (waitlistEntryRepository.fulfill(entry.getId(), booking.getId()) == 0) {
+                    // Withdrawn or matched elsewhere since it was read
+                    status.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            }));
+        } catch (InvalidBookingException | NoSuchElementException e) {
+            log.debug("Waitlist entry {} not matched to charger {}: {}", entry.getId(), candidate.chargerId(),
+                    e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            // The slot is already off the queue, so the rest of the batch must still be tried
+            failed.increment();
+            log.warn("Waitlist entry {} could not be matched to charger {}", entry.getId(), candidate.chargerId(), e);
+            return false;
+        }
+    }
+
+    private record Candidate(WaitlistEntry entry, Long chargerId) {
+    }
+}
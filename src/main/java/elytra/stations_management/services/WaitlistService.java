@@ -0,0 +1,89 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.WaitlistEntry;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.StationRepository;
+import elytra.stations_management.repositories.WaitlistEntryRepository;
+
+@Service
+public class WaitlistService {
+
+    private static final String ENTRY_NOT_FOUND = "Waitlist entry not found";
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ChargerRepository chargerRepository;
+    private final StationRepository stationRepository;
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository, ChargerRepository chargerRepository,
+            StationRepository stationRepository) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.chargerRepository = chargerRepository;
+        this.stationRepository = stationRepository;
+    }
+
+    /**
+     * Adds a driver to the waitlist of a charger, or of a whole station when
+     * no charger is given.
+     */
+    @Transactional
+    public WaitlistEntry join(WaitlistEntry entry) {
+        if (entry.getUserId() == null) {
+            throw new InvalidBookingException("User ID is required");
+        }
+        if (entry.getStartTime() == null || entry.getEndTime() == null
+                || !entry.getEndTime().isAfter(entry.getStartTime())) {
+            throw new InvalidBookingException("End time must be after start time");
+        }
+        if (!entry.getStartTime().isAfter(LocalDateTime.now())) {
+            throw new InvalidBookingException("Cannot wait for a slot in the past",
+                    InvalidBookingException.Reason.IN_THE_PAST);
+        }
+
+        if (entry.getChargerId() != null) {
+            Charger charger = chargerRepository.findById(entry.getChargerId())
+                    .orElseThrow(() -> new InvalidBookingException("Charger not found",
+                            InvalidBookingException.Reason.NOT_FOUND));
+            entry.setStationId(charger.getStation().getId());
+        } else if (entry.getStationId() == null || !stationRepository.existsById(entry.getStationId())) {
+            throw new InvalidBookingException("A charger or an existing station is required",
+                    InvalidBookingException.Reason.NOT_FOUND);
+        }
+
+        entry.setId(null);
+        entry.setStatus(WaitlistEntry.Status.WAITING);
+        entry.setBookingId(null);
+        entry.setCreatedAt(LocalDateTime.now());
+        return waitlistEntryRepository.save(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistEntry getEntryById(Long entryId) {
+        return waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new InvalidBookingException(ENTRY_NOT_FOUND,
+                        InvalidBookingException.Reason.NOT_FOUND));
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getEntriesByUser(Long userId) {
+        return waitlistEntryRepository.findByUserIdOrderByStartTimeAsc(userId);
+    }
+
+    @Transactional
+    public WaitlistEntry leave(Long entryId) {
+        WaitlistEntry entry = getEntryById(entryId);
+        if (entry.getStatus() != WaitlistEntry.Status.WAITING) {
+            throw new InvalidBookingException("Only waiting entries can be withdrawn",
+                    InvalidBookingException.Reason.INVALID_STATUS_TRANSITION);
+        }
+        entry.setStatus(WaitlistEntry.Status.CANCELLED);
+        return waitlistEntryRepository.save(entry);
+    }
+}
@@ -0,0 +1,83 @@
+package elytra.stations_management.cluster;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import elytra.stations_management.config.ClusterProperties;
+import elytra.stations_management.models.ClusterEvent;
+import elytra.stations_management.repositories.ClusterEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterEventBusTest {
+
+    @Mock
+    private ClusterEventRepository clusterEventRepository;
+
+    @Mock
+    private LeaderElection leaderElection;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private ClusterEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setEnabled(true);
+        properties.setNodeId("node-a");
+        bus = new ClusterEventBus(clusterEventRepository, properties, leaderElection, applicationEventPublisher);
+    }
+
+    private static ClusterEvent event(long id, String topic, String origin) {
+        // Timestamps far in the past: delivery must not depend on the writer's clock
+        return new ClusterEvent(id, topic, origin, Instant.EPOCH);
+    }
+
+    @Test
+    void poll_followsEventIdsAndSkipsOwnEvents() {
+        when(clusterEventRepository.findByIdGreaterThanOrderByIdAsc(0L))
+                .thenReturn(List.of(event(1, "stations", "node-b"), event(2, "users", "node-a")));
+        when(clusterEventRepository.findByIdGreaterThanOrderByIdAsc(2L)).thenReturn(List.of());
+
+        bus.poll();
+        bus.poll();
+
+        verify(applicationEventPublisher, times(1)).publishEvent(new ClusterInvalidationEvent("stations"));
+        verify(applicationEventPublisher, never()).publishEvent(new ClusterInvalidationEvent("users"));
+    }
+
+    @Test
+    void poll_deliversEventThatCommitsAfterAHigherId() {
+        when(clusterEventRepository.findByIdGreaterThanOrderByIdAsc(0L))
+                .thenReturn(List.of(event(1, "stations", "node-b")));
+        when(clusterEventRepository.findByIdGreaterThanOrderByIdAsc(1L))
+                .thenReturn(List.of(event(3, "stations", "node-b")));
+        when(clusterEventRepository.findByIdGreaterThanOrderByIdAsc(3L)).thenReturn(List.of());
+        when(clusterEventRepository.findByIdIn(List.of(2L))).thenReturn(List.of(event(2, "users", "node-b")));
+
+        bus.poll();
+        bus.poll();
+        bus.poll();
+        bus.poll();
+
+        ArgumentCaptor<ClusterInvalidationEvent> delivered = ArgumentCaptor.forClass(ClusterInvalidationEvent.class);
+        verify(applicationEventPublisher, times(3)).publishEvent(delivered.capture());
+        assertEquals(List.of("stations", "stations", "users"),
+                delivered.getAllValues().stream().map(ClusterInvalidationEvent::topic).toList());
+        verify(clusterEventRepository, times(1)).findByIdIn(List.of(2L));
+    }
+}
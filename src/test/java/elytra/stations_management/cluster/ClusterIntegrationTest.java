@@ -0,0 +1,94 @@
+package elytra.stations_management.cluster;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.StationsManagementApplication;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.services.StationJsonCache;
+import elytra.stations_management.services.StationService;
+
+/**
+ * Two application instances sharing one database, as behind a load balancer.
+ */
+class ClusterIntegrationTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(StationsManagementApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "app.cluster.enabled=true",
+                        "app.cluster.node-id=" + nodeId,
+                        "app.cluster.poll-interval-ms=50")
+                .run();
+    }
+
+    @Test
+    void onlyOneNodeHoldsALockUntilItIsReleased() {
+        LeaderElection a = nodeA.getBean(LeaderElection.class);
+        LeaderElection b = nodeB.getBean(LeaderElection.class);
+
+        assertTrue(a.tryAcquire("test-job"));
+        assertFalse(b.tryAcquire("test-job"));
+        assertTrue(a.tryAcquire("test-job"));
+
+        a.release("test-job");
+
+        assertTrue(b.tryAcquire("test-job"));
+        assertFalse(a.tryAcquire("test-job"));
+    }
+
+    @Test
+    void stationChangeOnOneNodeInvalidatesTheOthersCache() throws InterruptedException {
+        StationService serviceA = nodeA.getBean(StationService.class);
+        StationService serviceB = nodeB.getBean(StationService.class);
+        StationJsonCache cacheB = nodeB.getBean(StationJsonCache.class);
+        TransactionTemplate transactionB = new TransactionTemplate(nodeB.getBean(PlatformTransactionManager.class));
+
+        assertFalse(cachedStations(transactionB, cacheB, serviceB).contains("Replicated Station"));
+
+        serviceA.registerStation(Station.builder().name("Replicated Station").address("1 Cluster Rd").build());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!cachedStations(transactionB, cacheB, serviceB).contains("Replicated Station")) {
+            assertTrue(System.currentTimeMillis() < deadline, "node B kept serving its stale station list");
+            Thread.sleep(50);
+        }
+    }
+
+    // Serialization walks lazy collections, as it does under open-in-view in a request
+    private static String cachedStations(TransactionTemplate transaction, StationJsonCache cache,
+            StationService service) {
+        return transaction.execute(status -> new String(
+                cache.getStations(service::getStationsVersionTag, service::getAllStations).json(),
+                StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package elytra.stations_management.config;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import elytra.stations_management.models.Station;
+import elytra.stations_management.services.StationService;
+
+/**
+ * Primary and replica are two separate H2 databases that are deliberately not
+ * replicated, so the rows a query returns show which one served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.max-lag=1m"})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private StationService stationService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        List<String> ddl = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA", String.class);
+        ddl.stream().filter(statement -> !statement.startsWith("CREATE USER")).forEach(replica::execute);
+        replica.update("INSERT INTO stations (name, address, version) VALUES ('Replica Only', 'Nowhere', 0)");
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        stationService.registerStation(Station.builder().name("Primary Only").address("Main St").build());
+
+        List<String> names = stationNames();
+
+        assertTrue(names.contains("Replica Only"));
+        assertFalse(names.contains("Primary Only"));
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("driver1", null, List.of()));
+
+        stationService.registerStation(Station.builder().name("Fresh Write").address("Main St").build());
+        List<String> names = stationNames();
+
+        assertTrue(names.contains("Fresh Write"));
+        assertFalse(names.contains("Replica Only"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("someone-else", null, List.of()));
+        assertTrue(stationNames().contains("Replica Only"));
+    }
+
+    @Test
+    void rolledBackWritesAndReadsOutsideTransactionsDoNotPinToPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("driver2", null, List.of()));
+
+        new JdbcTemplate(dataSource).queryForList("SELECT name FROM stations", String.class);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            stationService.registerStation(Station.builder().name("Rolled Back").address("Main St").build());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(stationNames().contains("Replica Only"));
+    }
+
+    private List<String> stationNames() {
+        return stationService.getAllStations().stream().map(Station::getName).toList();
+    }
+}
@@ -4,14 +4,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import elytra.stations_management.dto.AdminRegistrationRequest;
 import elytra.stations_management.dto.DriverRegistrationRequest;
 import elytra.stations_management.dto.OperatorRegistrationRequest;
+import elytra.stations_management.exception.InvalidTokenException;
+import elytra.stations_management.exception.UserException;
 import elytra.stations_management.models.*;
+import elytra.stations_management.repositories.IdempotencyRecordRepository;
+import elytra.stations_management.repositories.UserProfile;
 import elytra.stations_management.services.*;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -19,8 +26,15 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +49,9 @@ class AuthControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
     @MockBean
     private UserService userService;
 
@@ -50,6 +67,12 @@ class AuthControllerTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @MockBean
     private AuthenticationManager authenticationManager;
 
@@ -99,22 +122,27 @@ class AuthControllerTest {
         
         when(authenticationManager.authenticate(any(Authentication.class)))
                 .thenReturn(authentication);
-        when(jwtService.generateToken("testuser")).thenReturn("test-jwt-token-12345");
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-        when(evDriverService.getDriverByUserId(1L)).thenReturn(testDriver);
+        when(jwtService.generateToken(any(User.class))).thenReturn("test-jwt-token-12345");
+        when(refreshTokenService.issue(any(User.class))).thenReturn("test-refresh-token");
+        when(authentication.getPrincipal())
+                .thenReturn(new UserInfoDetails(profile(testUser, Map.of("driverId", 1L))));
 
         mockMvc.perform(post("/api/v1/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(authRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("test-jwt-token-12345"))
+                .andExpect(jsonPath("$.refreshToken").value("test-refresh-token"))
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.userType").value("EV_DRIVER"))
                 .andExpect(jsonPath("$.userId").value(1))
                 .andExpect(jsonPath("$.driverId").value(1));
 
         verify(authenticationManager).authenticate(any(Authentication.class));
-        verify(jwtService).generateToken("testuser");
+        verify(jwtService).generateToken(argThat((User user) -> user.getId().equals(1L)
+                && user.getUserType() == User.UserType.EV_DRIVER));
+        verify(userService, never()).getProfileByUsername(any());
+        verifyNoInteractions(evDriverService);
     }
 
     @Test
@@ -176,9 +204,9 @@ class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(Authentication.class)))
                 .thenReturn(authentication);
-        when(jwtService.generateToken("operator1")).thenReturn("operator-jwt-token");
-        when(userService.getUserByUsername("operator1")).thenReturn(operatorUser);
-        when(stationOperatorService.getStationOperatorByUserId(2L)).thenReturn(operator);
+        when(jwtService.generateToken(any(User.class))).thenReturn("operator-jwt-token");
+        when(userService.getProfileByUsername("operator1")).thenReturn(profile(operatorUser,
+                Map.of("operatorId", operator.getId(), "stationId", station.getId(), "stationName", station.getName())));
 
         // When & Then
         mockMvc.perform(post("/api/v1/auth/login")
@@ -193,7 +221,7 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.stationId").value(1))
                 .andExpect(jsonPath("$.stationName").value("Test Station"));
 
-        verify(stationOperatorService).getStationOperatorByUserId(2L);
+        verifyNoInteractions(stationOperatorService);
     }
 
     @Test
@@ -220,9 +248,9 @@ class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(Authentication.class)))
                 .thenReturn(authentication);
-        when(jwtService.generateToken("admin1")).thenReturn("admin-jwt-token");
-        when(userService.getUserByUsername("admin1")).thenReturn(adminUser);
-        when(adminService.getAdminByUserId(3L)).thenReturn(admin);
+        when(jwtService.generateToken(any(User.class))).thenReturn("admin-jwt-token");
+        when(userService.getProfileByUsername("admin1"))
+                .thenReturn(profile(adminUser, Map.of("adminId", admin.getId())));
 
         // When & Then
         mockMvc.perform(post("/api/v1/auth/login")
@@ -235,7 +263,7 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.userId").value(3))
                 .andExpect(jsonPath("$.adminId").value(1));
 
-        verify(adminService).getAdminByUserId(3L);
+        verifyNoInteractions(adminService);
     }
 
     @Test
@@ -257,10 +285,8 @@ class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(Authentication.class)))
                 .thenReturn(authentication);
-        when(jwtService.generateToken("newdriver")).thenReturn("driver-jwt-token");
-        when(userService.getUserByUsername("newdriver")).thenReturn(driverUser);
-        when(evDriverService.getDriverByUserId(4L))
-                .thenThrow(new RuntimeException("Driver not found"));
+        when(jwtService.generateToken(any(User.class))).thenReturn("driver-jwt-token");
+        when(userService.getProfileByUsername("newdriver")).thenReturn(profile(driverUser, Map.of()));
 
         // When & Then
         mockMvc.perform(post("/api/v1/auth/login")
@@ -273,7 +299,7 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.userId").value(4))
                 .andExpect(jsonPath("$.driverId").doesNotExist());
 
-        verify(evDriverService).getDriverByUserId(4L);
+        verify(userService).getProfileByUsername("newdriver");
     }
 
     @Test
@@ -295,10 +321,8 @@ class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(Authentication.class)))
                 .thenReturn(authentication);
-        when(jwtService.generateToken("newoperator")).thenReturn("operator-jwt-token");
-        when(userService.getUserByUsername("newoperator")).thenReturn(operatorUser);
-        when(stationOperatorService.getStationOperatorByUserId(5L))
-                .thenThrow(new RuntimeException("Operator not found"));
+        when(jwtService.generateToken(any(User.class))).thenReturn("operator-jwt-token");
+        when(userService.getProfileByUsername("newoperator")).thenReturn(profile(operatorUser, Map.of()));
 
         // When & Then
         mockMvc.perform(post("/api/v1/auth/login")
@@ -312,7 +336,7 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.operatorId").doesNotExist())
                 .andExpect(jsonPath("$.stationId").doesNotExist());
 
-        verify(stationOperatorService).getStationOperatorByUserId(5L);
+        verify(userService).getProfileByUsername("newoperator");
     }
 
     @Test
@@ -334,10 +358,8 @@ class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(Authentication.class)))
                 .thenReturn(authentication);
-        when(jwtService.generateToken("newadmin")).thenReturn("admin-jwt-token");
-        when(userService.getUserByUsername("newadmin")).thenReturn(adminUser);
-        when(adminService.getAdminByUserId(6L))
-                .thenThrow(new RuntimeException("Admin not found"));
+        when(jwtService.generateToken(any(User.class))).thenReturn("admin-jwt-token");
+        when(userService.getProfileByUsername("newadmin")).thenReturn(profile(adminUser, Map.of()));
 
         // When & Then
         mockMvc.perform(post("/api/v1/auth/login")
@@ -350,7 +372,7 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.userId").value(6))
                 .andExpect(jsonPath("$.adminId").doesNotExist());
 
-        verify(adminService).getAdminByUserId(6L);
+        verify(userService).getProfileByUsername("newadmin");
     }
 
     @Test
@@ -378,9 +400,9 @@ class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(Authentication.class)))
                 .thenReturn(authentication);
-        when(jwtService.generateToken("operator_no_station")).thenReturn("operator-jwt-token");
-        when(userService.getUserByUsername("operator_no_station")).thenReturn(operatorUser);
-        when(stationOperatorService.getStationOperatorByUserId(7L)).thenReturn(operator);
+        when(jwtService.generateToken(any(User.class))).thenReturn("operator-jwt-token");
+        when(userService.getProfileByUsername("operator_no_station"))
+                .thenReturn(profile(operatorUser, Map.of("operatorId", operator.getId())));
 
         // When & Then
         mockMvc.perform(post("/api/v1/auth/login")
@@ -395,7 +417,7 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.stationId").doesNotExist())
                 .andExpect(jsonPath("$.stationName").doesNotExist());
 
-        verify(stationOperatorService).getStationOperatorByUserId(7L);
+        verify(userService).getProfileByUsername("operator_no_station");
     }
 
     @Test
@@ -413,7 +435,7 @@ class AuthControllerTest {
 
         when(evDriverService.registerDriver(any(EVDriver.class), any(User.class)))
                 .thenReturn(testDriver);
-        when(jwtService.generateToken("newdriver")).thenReturn("new-driver-token");
+        when(jwtService.generateToken(any(User.class))).thenReturn("new-driver-token");
 
         mockMvc.perform(post("/api/v1/auth/register/driver")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -425,6 +447,77 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.driverId").value(1));
     }
 
+    @Test
+    void registerDriver_WithSameIdempotencyKey_ShouldReplayFirstResponse() throws Exception {
+        DriverRegistrationRequest request = new DriverRegistrationRequest();
+        request.setUser(User.builder()
+                .username("retrydriver")
+                .password("password123")
+                .email("retry@example.com")
+                .firstName("Retry")
+                .lastName("Driver")
+                .build());
+        request.setDriver(EVDriver.builder()
+                .build());
+        String key = UUID.randomUUID().toString();
+
+        when(evDriverService.registerDriver(any(EVDriver.class), any(User.class)))
+                .thenReturn(testDriver);
+        when(jwtService.generateToken(any(User.class))).thenReturn("retry-token");
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/v1/auth/register/driver")
+                    .header("Idempotency-Key", key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.token").value("retry-token"))
+                    .andExpect(jsonPath("$.driverId").value(1));
+        }
+
+        verify(evDriverService, times(1)).registerDriver(any(EVDriver.class), any(User.class));
+        verify(jwtService, times(2)).generateToken(argThat((User user) -> user.getId() == 1L
+                && "testuser".equals(user.getUsername()) && user.getUserType() == User.UserType.EV_DRIVER));
+        String stored = idempotencyRecordRepository.findById("register-driver:" + key).orElseThrow().getBody();
+        assertFalse(stored.contains("retry-token"));
+    }
+
+    @Test
+    void registerDriver_IdempotencyFingerprint_ShouldLeaveOutPassword() throws Exception {
+        DriverRegistrationRequest request = new DriverRegistrationRequest();
+        request.setUser(User.builder()
+                .username("retrydriver")
+                .password("password123")
+                .email("retry@example.com")
+                .firstName("Retry")
+                .lastName("Driver")
+                .build());
+        request.setDriver(EVDriver.builder()
+                .build());
+        String key = UUID.randomUUID().toString();
+
+        when(evDriverService.registerDriver(any(EVDriver.class), any(User.class)))
+                .thenReturn(testDriver);
+        when(jwtService.generateToken(any(User.class))).thenReturn("retry-token");
+
+        mockMvc.perform(post("/api/v1/auth/register/driver")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // Only the password differs, so the stored fingerprint cannot tell the two requests apart
+        request.getUser().setPassword("another-password");
+        mockMvc.perform(post("/api/v1/auth/register/driver")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        verify(evDriverService, times(1)).registerDriver(any(EVDriver.class), any(User.class));
+    }
+
     @Test
     void registerDriver_ShouldReturn400_WhenRegistrationFails() throws Exception {
         DriverRegistrationRequest request = new DriverRegistrationRequest();
@@ -439,7 +532,7 @@ class AuthControllerTest {
                 .build());
 
         when(evDriverService.registerDriver(any(EVDriver.class), any(User.class)))
-                .thenThrow(new RuntimeException("Username already exists"));
+                .thenThrow(new UserException("Username already exists"));
 
         mockMvc.perform(post("/api/v1/auth/register/driver")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -494,7 +587,7 @@ class AuthControllerTest {
         when(stationOperatorService.registerStationOperator(
                 any(StationOperator.class), any(User.class), isNull()))
                 .thenReturn(testOperator);
-        when(jwtService.generateToken("newoperator")).thenReturn("operator-jwt-token");
+        when(jwtService.generateToken(any(User.class))).thenReturn("operator-jwt-token");
 
         // When & Then
         mockMvc.perform(post("/api/v1/auth/register/operator")
@@ -539,7 +632,7 @@ class AuthControllerTest {
         String token = "Bearer test-jwt-token-12345";
         
         when(jwtService.extractUsername("test-jwt-token-12345")).thenReturn("testuser");
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
+        when(userService.getProfileByUsername("testuser")).thenReturn(profile(testUser, Map.of("driverId", 1L)));
 
         mockMvc.perform(get("/api/v1/auth/me")
                 .header("Authorization", token))
@@ -549,6 +642,61 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.firstName").value("Test"))
                 .andExpect(jsonPath("$.lastName").value("User"))
                 .andExpect(jsonPath("$.userType").value("EV_DRIVER"))
-                .andExpect(jsonPath("$.userId").value(1));
+                .andExpect(jsonPath("$.userId").value(1))
+                .andExpect(jsonPath("$.driverId").value(1));
+    }
+
+    @Test
+    void refresh_ShouldReturnRotatedTokens() throws Exception {
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.TokenPair("new-access", "new-refresh"));
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"old-refresh\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new-access"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh"));
+    }
+
+    @Test
+    void refresh_ShouldReturn401_WhenTokenReused() throws Exception {
+        when(refreshTokenService.rotate("used-refresh"))
+                .thenThrow(new InvalidTokenException("Refresh token is no longer valid"));
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"used-refresh\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Refresh token is no longer valid"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void logout_ShouldRevokeAccessTokenAndRefreshFamily() throws Exception {
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        Claims claims = Jwts.claims().setSubject("testuser").setId("access-jti").setExpiration(expiration);
+        when(jwtService.extractAllClaims("access-token")).thenReturn(claims);
+
+        mockMvc.perform(post("/api/v1/auth/logout")
+                .header("Authorization", "Bearer access-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"refresh-token\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(tokenRevocationService).revoke("access-jti", expiration.toInstant());
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+
+    private static UserProfile profile(User user, Map<String, Object> roleIds) {
+        Map<String, Object> values = new HashMap<>(roleIds);
+        values.put("id", user.getId());
+        values.put("username", user.getUsername());
+        values.put("password", user.getPassword());
+        values.put("email", user.getEmail());
+        values.put("firstName", user.getFirstName());
+        values.put("lastName", user.getLastName());
+        values.put("userType", user.getUserType());
+        return new SpelAwareProxyProjectionFactory().createProjection(UserProfile.class, values);
     }
-}
\ No newline at end of file
+}
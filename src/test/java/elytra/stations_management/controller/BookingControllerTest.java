@@ -1,6 +1,7 @@
 package elytra.stations_management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import elytra.stations_management.exception.InvalidBookingException;
 import elytra.stations_management.models.Booking;
 import elytra.stations_management.models.Charger;
 import elytra.stations_management.services.BookingService;
@@ -11,6 +12,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import elytra.stations_management.config.TestSecurityConfig;
@@ -18,6 +22,7 @@ import elytra.stations_management.config.TestSecurityConfig;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -59,7 +64,7 @@ class BookingControllerTest {
                 .id(1L)
                 .startTime(startTime)
                 .endTime(endTime)
-                .userId("user123")
+                .userId(123L)
                 .charger(charger)
                 .status(Booking.Status.PENDING)
                 .build();
@@ -77,12 +82,78 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("PENDING"));
     }
 
+    @Test
+    void createBooking_WithSameIdempotencyKey_ShouldNotBookTwice() throws Exception {
+        when(bookingService.createBooking(any(Booking.class))).thenReturn(booking);
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/v1/bookings")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        mockMvc.perform(post("/api/v1/bookings")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(bookingService, times(1)).createBooking(any(Booking.class));
+    }
+
+    @Test
+    void createBooking_WithReusedIdempotencyKey_ShouldRejectDifferentRequest() throws Exception {
+        when(bookingService.createBooking(any(Booking.class))).thenReturn(booking);
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/v1/bookings")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isCreated());
+
+        booking.setEndTime(endTime.plusHours(1));
+        mockMvc.perform(post("/api/v1/bookings")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createBooking_WithSameIdempotencyKey_ShouldRunAgainAfterDataAccessFailure() throws Exception {
+        when(bookingService.createBooking(any(Booking.class)))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .thenReturn(booking);
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/v1/bookings")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isInternalServerError());
+
+        mockMvc.perform(post("/api/v1/bookings")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(bookingService, times(2)).createBooking(any(Booking.class));
+    }
+
     @Test
     void createBooking_WithInvalidData_ShouldReturnBadRequest() throws Exception {
         booking.setStartTime(null);
 
         when(bookingService.createBooking(any(Booking.class)))
-                .thenThrow(new RuntimeException("Start time is required"));
+                .thenThrow(new InvalidBookingException("Start time is required"));
 
 
         mockMvc.perform(post("/api/v1/bookings")
@@ -123,12 +194,45 @@ class BookingControllerTest {
     @Test
     void getBookingsByUser_ShouldReturnUserBookings() throws Exception {
         List<Booking> bookings = Arrays.asList(booking);
-        when(bookingService.getBookingsByUser("user123")).thenReturn(bookings);
+        when(bookingService.getBookingsByUser(123L)).thenReturn(bookings);
 
-        mockMvc.perform(get("/api/v1/bookings/user/user123"))
+        mockMvc.perform(get("/api/v1/bookings/user/123"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].userId").value("user123"));
+                .andExpect(jsonPath("$[0].userId").value(123));
+    }
+
+    @Test
+    void getUpcomingBookings_ShouldReturnBookings() throws Exception {
+        when(bookingService.getUpcomingBookings(123L, 5)).thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/api/v1/bookings/user/123/upcoming").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void getBookingHistory_ShouldPassFiltersAndPage() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(bookingService.getBookingHistory(123L, Booking.Status.COMPLETED, from, null, 1, 10))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(1, 10), 10));
+
+        mockMvc.perform(get("/api/v1/bookings/user/123/history")
+                        .param("status", "COMPLETED")
+                        .param("from", "2025-01-01T00:00:00")
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(10));
+    }
+
+    @Test
+    void getBookingHistory_WithInvalidPage_ShouldReturnBadRequest() throws Exception {
+        when(bookingService.getBookingHistory(eq(123L), any(), any(), any(), anyInt(), eq(500)))
+                .thenThrow(new RuntimeException("Page must be >= 0 and size between 1 and 100"));
+
+        mockMvc.perform(get("/api/v1/bookings/user/123/history").param("size", "500"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -1,8 +1,10 @@
 package elytra.stations_management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import elytra.stations_management.dto.CarImportResult;
 import elytra.stations_management.models.Car;
 import elytra.stations_management.models.EVDriver;
+import elytra.stations_management.services.CarImporter;
 import elytra.stations_management.services.CarService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,11 +14,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -38,6 +44,9 @@ class CarControllerTest {
     @MockBean
     private CarService carService;
 
+    @MockBean
+    private CarImporter carImporter;
+
     private Car testCar;
     private EVDriver testDriver;
 
@@ -99,6 +108,62 @@ class CarControllerTest {
         verify(carService).registerCar(any(Car.class), eq(1L));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerCars_ShouldStreamOneResultLinePerCar() throws Exception {
+        when(carImporter.getMaxRows()).thenReturn(10);
+        when(carImporter.driverExists(1L)).thenReturn(true);
+        when(carImporter.importCars(eq(1L), anyList(), any())).thenAnswer(invocation -> {
+            Consumer<List<CarImportResult>> sink = invocation.getArgument(2);
+            sink.accept(List.of(CarImportResult.created(0, "FLEET-1", 10L)));
+            sink.accept(List.of(CarImportResult.rejected(1, "FLEET-1", "Duplicate license plate in request")));
+            return 1;
+        });
+
+        MvcResult result = mockMvc.perform(post("/api/v1/cars/driver/1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testCar, testCar))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], CarImportResult.class))
+                .isEqualTo(CarImportResult.created(0, "FLEET-1", 10L));
+        assertThat(objectMapper.readValue(lines[1], CarImportResult.class).getError())
+                .isEqualTo("Duplicate license plate in request");
+    }
+
+    @Test
+    void registerCars_ShouldReturnBadRequest_WhenDriverNotFound() throws Exception {
+        when(carImporter.getMaxRows()).thenReturn(10);
+        when(carImporter.driverExists(99L)).thenReturn(false);
+
+        mockMvc.perform(post("/api/v1/cars/driver/99/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testCar))))
+                .andExpect(status().isBadRequest());
+
+        verify(carImporter, never()).importCars(any(), anyList(), any());
+    }
+
+    @Test
+    void registerCars_ShouldReturnBadRequest_WhenTooManyRows() throws Exception {
+        when(carImporter.getMaxRows()).thenReturn(1);
+
+        mockMvc.perform(post("/api/v1/cars/driver/1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testCar, testCar))))
+                .andExpect(status().isBadRequest());
+
+        verify(carImporter, never()).importCars(any(), anyList(), any());
+    }
+
     @Test
     void getCarsByDriver_ShouldReturnCarsList() throws Exception {
         List<Car> cars = Arrays.asList(testCar,
@@ -1,8 +1,10 @@
 package elytra.stations_management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import elytra.stations_management.dto.ChargerUptime;
 import elytra.stations_management.models.Charger;
 import elytra.stations_management.services.ChargerService;
+import elytra.stations_management.services.ChargerUptimeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,12 +16,16 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import elytra.stations_management.config.TestSecurityConfig;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +44,9 @@ class ChargerControllerTest {
     @MockBean
     private ChargerService chargerService;
 
+    @MockBean
+    private ChargerUptimeService chargerUptimeService;
+
     private Charger charger;
 
     @BeforeEach
@@ -59,6 +68,29 @@ class ChargerControllerTest {
                 .andExpect(content().string("\"AVAILABLE\""));
     }
 
+    @Test
+    void getChargerAvailability_WhenETagMatches_ShouldReturnNotModified() throws Exception {
+        when(chargerService.getChargerVersionTag(1L)).thenReturn("charger-1-3");
+
+        mockMvc.perform(get("/api/v1/chargers/1/availability").header("If-None-Match", "\"charger-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"charger-1-3\""));
+
+        verify(chargerService, never()).getChargerAvailability(1L);
+    }
+
+    @Test
+    void getChargerAvailability_WhenETagStale_ShouldReturnStatus() throws Exception {
+        when(chargerService.getChargerVersionTag(1L)).thenReturn("charger-1-4");
+        when(chargerService.getChargerAvailability(1L)).thenReturn(Charger.Status.BEING_USED);
+
+        mockMvc.perform(get("/api/v1/chargers/1/availability").header("If-None-Match", "\"charger-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"charger-1-4\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().string("\"BEING_USED\""));
+    }
+
     @Test
     void updateChargerAvailability_ShouldUpdateStatus() throws Exception {
         when(chargerService.updateChargerAvailability(eq(1L), any(Charger.Status.class)))
@@ -160,4 +192,31 @@ class ChargerControllerTest {
         mockMvc.perform(delete("/api/v1/chargers/1"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getChargerUptime_ShouldReturnTimePerStatus() throws Exception {
+        Instant from = Instant.parse("2026-03-01T00:00:00Z");
+        Instant to = Instant.parse("2026-03-02T00:00:00Z");
+        when(chargerUptimeService.getChargerUptime(1L, from, to)).thenReturn(new ChargerUptime(1L, from, to,
+                Map.of(Charger.Status.AVAILABLE, 72_000_000L, Charger.Status.OUT_OF_SERVICE, 14_400_000L),
+                72_000_000.0 / 86_400_000, 72_000_000.0 / 86_400_000));
+
+        mockMvc.perform(get("/api/v1/chargers/1/uptime")
+                        .param("from", "2026-03-01T00:00:00Z")
+                        .param("to", "2026-03-02T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chargerId").value(1))
+                .andExpect(jsonPath("$.millisByStatus.OUT_OF_SERVICE").value(14_400_000));
+    }
+
+    @Test
+    void getChargerUptime_ShouldReturnBadRequest_WhenPeriodInvalid() throws Exception {
+        when(chargerUptimeService.getChargerUptime(eq(1L), any(), any()))
+                .thenThrow(new IllegalArgumentException("from must be before to"));
+
+        mockMvc.perform(get("/api/v1/chargers/1/uptime")
+                        .param("from", "2026-03-02T00:00:00Z")
+                        .param("to", "2026-03-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,108 @@
+package elytra.stations_management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import elytra.stations_management.dto.LivePowerReading;
+import elytra.stations_management.dto.TelemetrySample;
+import elytra.stations_management.services.TelemetryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import elytra.stations_management.config.TestSecurityConfig;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestSecurityConfig.class)
+class ChargerTelemetryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TelemetryService telemetryService;
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void ingestJson_ShouldReturnAcceptedCounts() throws Exception {
+        List<TelemetrySample> samples = List.of(new TelemetrySample(1L, 1_000, 22.0, 0.5),
+                new TelemetrySample(99L, 1_000, 22.0, 0.5));
+        when(telemetryService.ingest(anyList())).thenReturn(1);
+
+        mockMvc.perform(post("/api/v1/chargers/telemetry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(samples)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void ingestFrames_ShouldDecodeBinaryBody() throws Exception {
+        byte[] body = ByteBuffer.allocate(TelemetryService.FRAME_BYTES)
+                .putLong(1L).putLong(1_000).putFloat(22f).putDouble(0.5).array();
+        when(telemetryService.ingestFrames(any(ByteBuffer.class))).thenReturn(1);
+
+        mockMvc.perform(post("/api/v1/chargers/telemetry")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void ingestFrames_WithTruncatedFrame_ShouldReturnBadRequest() throws Exception {
+        when(telemetryService.ingestFrames(any(ByteBuffer.class)))
+                .thenThrow(new IllegalArgumentException("Telemetry body must be a multiple of 28 bytes"));
+
+        mockMvc.perform(post("/api/v1/chargers/telemetry")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[5]))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "EV_DRIVER")
+    void ingestJson_AsDriver_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/chargers/telemetry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getLiveReading_ShouldReturnLatestSample() throws Exception {
+        when(telemetryService.getLiveReading(1L)).thenReturn(new LivePowerReading(1L, 1_000, 22.0, 0.5, 21.0, true));
+
+        mockMvc.perform(get("/api/v1/chargers/1/telemetry/live"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.powerKw").value(22.0))
+                .andExpect(jsonPath("$.charging").value(true));
+    }
+
+    @Test
+    void getLiveReading_WithoutTelemetry_ShouldReturnNotFound() throws Exception {
+        when(telemetryService.getLiveReading(2L)).thenThrow(new RuntimeException("No telemetry for charger 2"));
+
+        mockMvc.perform(get("/api/v1/chargers/2/telemetry/live"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -2,22 +2,43 @@ package elytra.stations_management.controller;
 
 import com.jayway.jsonpath.JsonPath;
 import elytra.stations_management.config.TestSecurityConfig;
+import elytra.stations_management.models.User;
+import elytra.stations_management.observability.SqlStatementCounter;
+import elytra.stations_management.repositories.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -32,6 +53,9 @@ class StationControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Test
     void shouldRegisterNewStation() throws Exception {
         String stationJson = "{" +
@@ -306,4 +330,272 @@ class StationControllerTest {
                 .andExpect(status().isNotFound());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getStation_withMatchingETag_returns304() throws Exception {
+        String stationJson = "{" +
+                "\"name\": \"West Station\"," +
+                "\"address\": \"10 Bay St\"" +
+                "}";
+        MvcResult created = mockMvc.perform(post("/api/v1/stations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(stationJson))
+                .andExpect(status().isCreated())
+                .andReturn();
+        int stationId = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+        MvcResult first = mockMvc.perform(get("/api/v1/stations/" + stationId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/stations/" + stationId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getStation_eTagChangesAfterUpdate() throws Exception {
+        String stationJson = "{" +
+                "\"name\": \"Harbour Station\"," +
+                "\"address\": \"1 Dock Rd\"" +
+                "}";
+        MvcResult created = mockMvc.perform(post("/api/v1/stations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(stationJson))
+                .andExpect(status().isCreated())
+                .andReturn();
+        int stationId = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+        String eTag = mockMvc.perform(get("/api/v1/stations/" + stationId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/v1/stations/" + stationId + "/chargers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\": \"CCS\", \"power\": 50.0}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/stations/" + stationId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/stations").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+    }
+
+    @Test
+    void getAllStations_withGzip_returnsPrecompressedBody() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/api/v1/stations"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        MvcResult gzipped = mockMvc.perform(get("/api/v1/stations").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+
+        byte[] body = gzipped.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(plain.getResponse().getContentAsByteArray(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void autoBook_booksFreeChargerThenReportsStationFull() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/v1/stations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Auto Station\", \"address\": \"4 Fit Rd\"," +
+                                "\"chargers\": [{\"type\": \"CCS\", \"power\": 50.0}]}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        int stationId = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+        Long userId = userRepository.findByUsername("auto-booker")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .username("auto-booker").password("password").email("auto-booker@example.com")
+                        .firstName("Auto").lastName("Booker").userType(User.UserType.EV_DRIVER).build()))
+                .getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        String request = "{\"userId\": " + userId + ", \"startTime\": \"" + start + "\", \"endTime\": \""
+                + start.plusHours(1) + "\"}";
+
+        mockMvc.perform(post("/api/v1/stations/" + stationId + "/bookings/auto")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.userId").value(userId));
+
+        mockMvc.perform(post("/api/v1/stations/" + stationId + "/bookings/auto")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void autoBook_unknownStation_returns404() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        mockMvc.perform(post("/api/v1/stations/999999/bookings/auto")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 1, \"startTime\": \"" + start + "\", \"endTime\": \""
+                                + start.plusHours(1) + "\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void updateChargerStatuses_takesTheWholeStationOffline() throws Exception {
+        int stationId = createStationWithChargers("Offline Station");
+
+        mockMvc.perform(put("/api/v1/stations/" + stationId + "/chargers/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"OUT_OF_SERVICE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", hasSize(2)))
+                .andExpect(jsonPath("$.unchanged", hasSize(0)));
+
+        mockMvc.perform(get("/api/v1/stations/" + stationId + "/chargers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status", contains("OUT_OF_SERVICE", "OUT_OF_SERVICE")));
+
+        // OUT_OF_SERVICE cannot go straight to BEING_USED, so nothing is written
+        mockMvc.perform(put("/api/v1/stations/" + stationId + "/chargers/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"BEING_USED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateChargerStatuses_acrossStationsOnlyTouchesListedChargers() throws Exception {
+        int first = createStationWithChargers("Bulk Station A");
+        int second = createStationWithChargers("Bulk Station B");
+        List<Integer> secondChargers = JsonPath.read(mockMvc.perform(get("/api/v1/stations/" + second + "/chargers"))
+                .andReturn().getResponse().getContentAsString(), "$[*].id");
+
+        mockMvc.perform(put("/api/v1/stations/chargers/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"stationIds\": [" + first + ", " + second + "], \"chargerIds\": ["
+                                + secondChargers.get(0) + "], \"status\": \"UNDER_MAINTENANCE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", contains(secondChargers.get(0))));
+
+        mockMvc.perform(get("/api/v1/stations/" + second + "/chargers"))
+                .andExpect(jsonPath("$[*].status", contains("UNDER_MAINTENANCE", "AVAILABLE")));
+        mockMvc.perform(get("/api/v1/stations/" + first + "/chargers"))
+                .andExpect(jsonPath("$[*].status", contains("AVAILABLE", "AVAILABLE")));
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void updateChargerStatuses_unknownStation_returns404() throws Exception {
+        mockMvc.perform(put("/api/v1/stations/chargers/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"stationIds\": [999999], \"status\": \"OUT_OF_SERVICE\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "EV_DRIVER")
+    void updateChargerStatuses_asDriver_returns403() throws Exception {
+        mockMvc.perform(put("/api/v1/stations/1/chargers/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"OUT_OF_SERVICE\"}"))
+                .andExpect(status().isForbidden());
+    }
+
+    private int createStationWithChargers(String name) throws Exception {
+        String stationJson = "{\"name\": \"" + name + "\", \"address\": \"1 Bulk Rd\"," +
+                "\"chargers\": [{\"type\": \"CCS\", \"power\": 50.0}, {\"type\": \"Type2\", \"power\": 22.0}]}";
+        MvcResult result = mockMvc.perform(post("/api/v1/stations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(stationJson))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+    }
+
+    @Test
+    void patchStation_renameLeavesTheChargersAlone() throws Exception {
+        StringBuilder chargers = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            chargers.append(i == 0 ? "" : ",").append("{\"type\": \"CCS\", \"power\": 50.0}");
+        }
+        MvcResult created = mockMvc.perform(post("/api/v1/stations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Big Station\", \"address\": \"50 Plug Rd\", \"chargers\": ["
+                                + chargers + "]}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        int stationId = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+        List<Integer> chargerIds = JsonPath.read(created.getResponse().getContentAsString(), "$.chargers[*].id");
+
+        mockMvc.perform(patch("/api/v1/stations/" + stationId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed Station\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed Station"))
+                .andExpect(jsonPath("$.address").value("50 Plug Rd"));
+        // Load the station, one UPDATE of the station row, read the chargers for the response body
+        assertEquals(3, SqlStatementCounter.current());
+
+        mockMvc.perform(get("/api/v1/stations/" + stationId + "/chargers"))
+                .andExpect(jsonPath("$[*].id", contains(chargerIds.toArray())))
+                .andExpect(jsonPath("$[*].version", everyItem(is(0))));
+    }
+
+    @Test
+    void patchStation_reconcilesChargersById() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/v1/stations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Diff Station\", \"address\": \"3 Diff Rd\", \"chargers\": ["
+                                + "{\"type\": \"CCS\", \"power\": 50.0}, {\"type\": \"Type2\", \"power\": 22.0},"
+                                + "{\"type\": \"CHAdeMO\", \"power\": 50.0}]}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        int stationId = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+        List<Integer> ids = JsonPath.read(created.getResponse().getContentAsString(), "$.chargers[*].id");
+
+        // Keep the first as is, raise the second's power, drop the third and add a new one
+        mockMvc.perform(patch("/api/v1/stations/" + stationId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"chargers\": [{\"id\": " + ids.get(0) + "}, {\"id\": " + ids.get(1)
+                                + ", \"power\": 43.0}, {\"type\": \"CCS\", \"power\": 150.0}]}"))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/stations/" + stationId + "/chargers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andReturn();
+        String body = result.getResponse().getContentAsString();
+        List<Integer> after = JsonPath.read(body, "$[*].id");
+        assertEquals(ids.subList(0, 2), after.subList(0, 2));
+        assertTrue(after.get(2) > ids.get(2));
+        assertEquals(List.of(0, 1, 0), JsonPath.read(body, "$[*].version"));
+        assertEquals(43.0, (Double) JsonPath.read(body, "$[1].power"));
+    }
+
+    @Test
+    void patchStation_rejectsChargerOfAnotherStation() throws Exception {
+        int first = createStationWithChargers("Patch Station A");
+        int second = createStationWithChargers("Patch Station B");
+        List<Integer> secondChargers = JsonPath.read(mockMvc.perform(get("/api/v1/stations/" + second + "/chargers"))
+                .andReturn().getResponse().getContentAsString(), "$[*].id");
+
+        mockMvc.perform(patch("/api/v1/stations/" + first)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"chargers\": [{\"id\": " + secondChargers.get(0) + "}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/stations/" + first + "/chargers"))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void patchStation_unknownStation_returns404() throws Exception {
+        mockMvc.perform(patch("/api/v1/stations/999999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Nowhere\"}"))
+                .andExpect(status().isNotFound());
+    }
+}
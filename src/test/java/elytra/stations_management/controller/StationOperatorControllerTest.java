@@ -1,11 +1,19 @@
 package elytra.stations_management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import elytra.stations_management.dto.MaintenanceWindowReport;
 import elytra.stations_management.dto.OperatorRegistrationRequest;
+import elytra.stations_management.dto.StationUptime;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.MaintenanceWindow;
 import elytra.stations_management.models.Station;
 import elytra.stations_management.models.StationOperator;
 import elytra.stations_management.models.User;
+import elytra.stations_management.models.DailyUsageRollup;
+import elytra.stations_management.services.ChargerUptimeService;
+import elytra.stations_management.services.MaintenanceService;
 import elytra.stations_management.services.StationOperatorService;
+import elytra.stations_management.services.UsageRollupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,8 +24,12 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,6 +50,15 @@ class StationOperatorControllerTest {
     @MockBean
     private StationOperatorService stationOperatorService;
 
+    @MockBean
+    private UsageRollupService usageRollupService;
+
+    @MockBean
+    private ChargerUptimeService chargerUptimeService;
+
+    @MockBean
+    private MaintenanceService maintenanceService;
+
     private StationOperator testOperator;
     private User testUser;
     private Station testStation;
@@ -518,4 +539,125 @@ class StationOperatorControllerTest {
 
         verify(stationOperatorService).updateStationOperator(eq(99L), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void getChargerUsage_ShouldReturnRollupRows() throws Exception {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        when(usageRollupService.getChargerReport(1L, day, day.plusDays(6))).thenReturn(List.of(
+                DailyUsageRollup.builder().stationId(1L).chargerId(5L).usageDate(day)
+                        .sessions(3L).energyKwh(150.0).bookedMinutes(180L).build()));
+
+        mockMvc.perform(get("/api/v1/station-operators/station/1/usage/chargers")
+                        .param("from", "2026-03-01")
+                        .param("to", "2026-03-07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].chargerId").value(5))
+                .andExpect(jsonPath("$[0].sessions").value(3))
+                .andExpect(jsonPath("$[0].energyKwh").value(150.0));
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void getStationUsage_ShouldReturn400_WhenRangeInvalid() throws Exception {
+        when(usageRollupService.getStationReport(eq(1L), any(), any()))
+                .thenThrow(new IllegalArgumentException("Report range must have a start on or before its end"));
+
+        mockMvc.perform(get("/api/v1/station-operators/station/1/usage")
+                        .param("from", "2026-03-07")
+                        .param("to", "2026-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void rebuildUsage_ShouldReturn403_WhenNotAdmin() throws Exception {
+        mockMvc.perform(post("/api/v1/station-operators/usage/rebuild"))
+                .andExpect(status().isForbidden());
+
+        verify(usageRollupService, never()).rebuild();
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void getStationUptime_ShouldReturnStationTotals() throws Exception {
+        Instant from = Instant.parse("2026-03-01T00:00:00Z");
+        Instant to = Instant.parse("2026-03-01T01:00:00Z");
+        when(chargerUptimeService.getStationUptime(1L, from, to)).thenReturn(new StationUptime(1L, from, to,
+                Map.of(Charger.Status.AVAILABLE, 3_600_000L), 1.0, 1.0, List.of()));
+
+        mockMvc.perform(get("/api/v1/station-operators/station/1/uptime")
+                        .param("from", "2026-03-01T00:00:00Z")
+                        .param("to", "2026-03-01T01:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stationId").value(1))
+                .andExpect(jsonPath("$.uptime").value(1.0))
+                .andExpect(jsonPath("$.millisByStatus.AVAILABLE").value(3_600_000));
+    }
+
+    @Test
+    @WithMockUser(roles = "EV_DRIVER")
+    void getStationUptime_ShouldReturn403_ForDrivers() throws Exception {
+        mockMvc.perform(get("/api/v1/station-operators/station/1/uptime")
+                        .param("from", "2026-03-01T00:00:00Z")
+                        .param("to", "2026-03-01T01:00:00Z"))
+                .andExpect(status().isForbidden());
+
+        verify(chargerUptimeService, never()).getStationUptime(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void scheduleMaintenance_ShouldReturnWindowWithConflicts() throws Exception {
+        MaintenanceWindow window = MaintenanceWindow.builder()
+                .id(7L)
+                .stationId(1L)
+                .chargerId(2L)
+                .startTime(LocalDateTime.of(2026, 3, 1, 8, 0))
+                .endTime(LocalDateTime.of(2026, 3, 1, 12, 0))
+                .build();
+        when(maintenanceService.scheduleWindow(eq(1L), any()))
+                .thenReturn(new MaintenanceWindowReport(window, List.of()));
+
+        mockMvc.perform(post("/api/v1/station-operators/station/1/maintenance")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"chargerId\":2,\"startTime\":\"2026-03-01T08:00:00\",\"endTime\":\"2026-03-01T12:00:00\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.window.id").value(7))
+                .andExpect(jsonPath("$.window.status").value("SCHEDULED"))
+                .andExpect(jsonPath("$.conflicts", hasSize(0)));
+    }
+
+    @Test
+    @WithMockUser(roles = "STATION_OPERATOR")
+    void scheduleMaintenance_ShouldReturnBadRequest_WhenInvalid() throws Exception {
+        when(maintenanceService.scheduleWindow(eq(1L), any()))
+                .thenThrow(new IllegalArgumentException("End time must be after start time"));
+
+        mockMvc.perform(post("/api/v1/station-operators/station/1/maintenance")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startTime\":\"2026-03-01T12:00:00\",\"endTime\":\"2026-03-01T08:00:00\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "EV_DRIVER")
+    void scheduleMaintenance_ShouldReturn403_ForDrivers() throws Exception {
+        mockMvc.perform(post("/api/v1/station-operators/station/1/maintenance")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startTime\":\"2026-03-01T08:00:00\",\"endTime\":\"2026-03-01T12:00:00\"}"))
+                .andExpect(status().isForbidden());
+
+        verify(maintenanceService, never()).scheduleWindow(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getMaintenanceConflicts_ShouldReturn404_WhenWindowMissing() throws Exception {
+        when(maintenanceService.getConflicts(99L)).thenThrow(new RuntimeException("Maintenance window not found"));
+
+        mockMvc.perform(get("/api/v1/station-operators/maintenance/99/conflicts"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -102,7 +102,8 @@ class UserControllerTest {
         
         when(authenticationManager.authenticate(any(Authentication.class)))
                 .thenReturn(authentication);
-        when(jwtService.generateToken("testuser")).thenReturn("test-jwt-token-12345");
+        when(jwtService.generateToken(any(User.class))).thenReturn("test-jwt-token-12345");
+        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
 
         mockMvc.perform(post("/api/v1/auth/generateToken")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -111,7 +112,7 @@ class UserControllerTest {
                 .andExpect(content().string("test-jwt-token-12345"));
 
         verify(authenticationManager).authenticate(any(Authentication.class));
-        verify(jwtService).generateToken("testuser");
+        verify(jwtService).generateToken(testUser);
     }
 
     @Test
@@ -0,0 +1,96 @@
+package elytra.stations_management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import elytra.stations_management.config.TestSecurityConfig;
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.WaitlistEntry;
+import elytra.stations_management.services.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestSecurityConfig.class)
+class WaitlistControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private WaitlistService waitlistService;
+
+    private WaitlistEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+        entry = WaitlistEntry.builder()
+                .id(1L)
+                .userId(5L)
+                .stationId(2L)
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void joinWaitlist_ShouldReturnCreatedEntry() throws Exception {
+        when(waitlistService.join(any(WaitlistEntry.class))).thenReturn(entry);
+
+        mockMvc.perform(post("/api/v1/waitlist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entry)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("WAITING"));
+    }
+
+    @Test
+    void joinWaitlist_WithInvalidData_ShouldReturnBadRequest() throws Exception {
+        when(waitlistService.join(any(WaitlistEntry.class)))
+                .thenThrow(new InvalidBookingException("End time must be after start time"));
+
+        mockMvc.perform(post("/api/v1/waitlist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entry)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEntriesByUser_ShouldReturnEntries() throws Exception {
+        when(waitlistService.getEntriesByUser(5L)).thenReturn(List.of(entry));
+
+        mockMvc.perform(get("/api/v1/waitlist/user/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].stationId").value(2));
+    }
+
+    @Test
+    void leaveWaitlist_ShouldReturnCancelledEntry() throws Exception {
+        entry.setStatus(WaitlistEntry.Status.CANCELLED);
+        when(waitlistService.leave(1L)).thenReturn(entry);
+
+        mockMvc.perform(delete("/api/v1/waitlist/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+}
@@ -1,5 +1,6 @@
 package elytra.stations_management.exception;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -11,6 +12,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.sql.SQLException;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,7 +50,7 @@ class GlobalExceptionHandlerTest {
 
     @Test
     void handleDataIntegrityViolation_WithUsername() {
-        DataIntegrityViolationException exception = new DataIntegrityViolationException("Constraint violation: USERNAME unique constraint");
+        DataIntegrityViolationException exception = uniqueViolation("PUBLIC.UK_USERS_USERNAME_INDEX_4");
         
         ResponseEntity<Map<String, String>> response = exceptionHandler.handleDataIntegrityViolation(exception);
         
@@ -58,7 +60,7 @@ class GlobalExceptionHandlerTest {
 
     @Test
     void handleDataIntegrityViolation_WithEmail() {
-        DataIntegrityViolationException exception = new DataIntegrityViolationException("Constraint violation: EMAIL unique constraint");
+        DataIntegrityViolationException exception = uniqueViolation("PUBLIC.UK_USERS_EMAIL_INDEX_4");
         
         ResponseEntity<Map<String, String>> response = exceptionHandler.handleDataIntegrityViolation(exception);
         
@@ -66,6 +68,25 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody()).containsEntry("error", "Email already exists");
     }
 
+    @Test
+    void handleDataIntegrityViolation_WithLicensePlate() {
+        DataIntegrityViolationException exception = uniqueViolation("uk_cars_license_plate");
+
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handleDataIntegrityViolation(exception);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).containsEntry("error", "License plate already registered");
+    }
+
+    @Test
+    void handleDataIntegrityViolation_IgnoresMessageText() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("Constraint violation: USERNAME unique constraint");
+
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handleDataIntegrityViolation(exception);
+
+        assertThat(response.getBody()).containsEntry("error", "Data integrity violation");
+    }
+
     @Test
     void handleDataIntegrityViolation_WithGeneric() {
         DataIntegrityViolationException exception = new DataIntegrityViolationException("Generic constraint violation");
@@ -169,4 +190,9 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
         assertThat(response.getBody()).containsEntry("error", "Data integrity violation");
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException uniqueViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation", new SQLException(), constraint));
+    }
+}
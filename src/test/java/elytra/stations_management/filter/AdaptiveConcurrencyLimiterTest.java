@@ -0,0 +1,47 @@
+package elytra.stations_management.filter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_rejectsBeyondLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 100 * MS, 0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(MS, 0);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 5, 500, 2.0, 100 * MS, 0);
+        long now = 0;
+
+        // Establish a 10ms baseline
+        for (int window = 1; window <= 3; window++) {
+            now = window * 100 * MS;
+            limiter.tryAcquire();
+            limiter.release(10 * MS, now);
+        }
+        int steadyLimit = limiter.getLimit();
+
+        // Latency jumps tenfold
+        for (int window = 4; window <= 8; window++) {
+            now = window * 100 * MS;
+            limiter.tryAcquire();
+            limiter.release(100 * MS, now);
+        }
+
+        assertTrue(limiter.getLimit() < steadyLimit / 4);
+    }
+}
@@ -0,0 +1,105 @@
+package elytra.stations_management.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.LeaderElection;
+import elytra.stations_management.config.JwtProperties;
+import elytra.stations_management.config.TracingProperties;
+import elytra.stations_management.models.User;
+import elytra.stations_management.observability.SpanExporter;
+import elytra.stations_management.observability.Tracer;
+import elytra.stations_management.repositories.SigningKeyRepository;
+import elytra.stations_management.services.JwtService;
+import elytra.stations_management.services.SigningKeyService;
+import elytra.stations_management.services.TokenRevocationService;
+import elytra.stations_management.services.UserInfoDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtAuthFilterTest {
+
+
+    private UserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
+    private JwtService jwtService;
+    private JwtAuthFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsService.class);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        JwtProperties properties = new JwtProperties();
+        jwtService = new JwtService(properties, new SigningKeyService(mock(SigningKeyRepository.class),
+                mock(ClusterEventBus.class), mock(LeaderElection.class), properties));
+        TracingProperties tracing = new TracingProperties();
+        Tracer tracer = new Tracer(new SpanExporter(tracing, new ObjectMapper(), new SimpleMeterRegistry()), tracing);
+        filter = new JwtAuthFilter(userDetailsService, jwtService, tokenRevocationService, tracer);
+        user = User.builder().id(5L).username("operator").password("secret")
+                .userType(User.UserType.STATION_OPERATOR).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessToken_ShouldAuthenticateFromClaimsWithoutLoadingUser() throws Exception {
+        doFilter(jwtService.generateToken(user));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("operator", authentication.getName());
+        assertEquals("ROLE_STATION_OPERATOR", authentication.getAuthorities().iterator().next().getAuthority());
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void legacyToken_ShouldFallBackToLoadingUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("operator")).thenReturn(new UserInfoDetails(user));
+
+        doFilter(jwtService.generateToken("operator"));
+
+        assertEquals("operator", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void revokedToken_ShouldNotAuthenticate() throws Exception {
+        when(tokenRevocationService.isRevoked(any())).thenReturn(true);
+
+        doFilter(jwtService.generateToken(user));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void refreshToken_ShouldNotAuthenticate() throws Exception {
+        doFilter(jwtService.generateRefreshToken(user, "family", "jti"));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private void doFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stations");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
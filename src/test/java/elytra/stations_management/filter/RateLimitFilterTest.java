@@ -0,0 +1,107 @@
+package elytra.stations_management.filter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import elytra.stations_management.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Route bookings = new RateLimitProperties.Route();
+        bookings.setMethod("POST");
+        bookings.setPath("/api/v1/bookings");
+        bookings.setCapacity(2);
+        bookings.setRefillPeriod(Duration.ofMinutes(1));
+
+        properties = new RateLimitProperties();
+        properties.setRoutes(List.of(bookings));
+        properties.getConcurrency().setEnabled(false);
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse perform(String method, String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void exceedingRouteLimit_returns429WithRetryAfter() throws Exception {
+        assertEquals(200, perform("POST", "/api/v1/bookings", "10.0.0.1").getStatus());
+        assertEquals(200, perform("POST", "/api/v1/bookings", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = perform("POST", "/api/v1/bookings", "10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("60", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("http.server.requests.rejected")
+                .tag("reason", "rate_limit").counter().count());
+    }
+
+    @Test
+    void limitsAreTrackedPerClient() throws Exception {
+        perform("POST", "/api/v1/bookings", "10.0.0.1");
+        perform("POST", "/api/v1/bookings", "10.0.0.1");
+
+        assertEquals(200, perform("POST", "/api/v1/bookings", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void authenticatedUser_isLimitedAcrossAddresses() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "driver1", null, List.of(new SimpleGrantedAuthority("ROLE_EV_DRIVER"))));
+
+        perform("POST", "/api/v1/bookings", "10.0.0.1");
+        perform("POST", "/api/v1/bookings", "10.0.0.2");
+
+        assertEquals(429, perform("POST", "/api/v1/bookings", "10.0.0.3").getStatus());
+    }
+
+    @Test
+    void unmatchedRoutes_areNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = perform("GET", "/api/v1/bookings", "10.0.0.1");
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader("Retry-After"));
+        }
+    }
+
+    @Test
+    void clientsBeyondKeyLimit_shareOverflowBucket() throws Exception {
+        properties.setMaxKeysPerRoute(1);
+        perform("POST", "/api/v1/bookings", "10.0.0.1");
+
+        assertEquals(200, perform("POST", "/api/v1/bookings", "10.0.0.2").getStatus());
+        assertEquals(200, perform("POST", "/api/v1/bookings", "10.0.0.3").getStatus());
+        assertEquals(429, perform("POST", "/api/v1/bookings", "10.0.0.4").getStatus());
+        assertEquals(200, perform("POST", "/api/v1/bookings", "10.0.0.1").getStatus());
+    }
+}
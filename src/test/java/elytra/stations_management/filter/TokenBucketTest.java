@@ -0,0 +1,48 @@
+package elytra.stations_management.filter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsume_allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, SECOND);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND, bucket.tryConsume(0));
+    }
+
+    @Test
+    void tryConsume_refillsOneTokenPerPeriod() {
+        TokenBucket bucket = new TokenBucket(1, SECOND);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND / 2, bucket.tryConsume(SECOND / 2));
+        assertEquals(0, bucket.tryConsume(SECOND));
+    }
+
+    @Test
+    void isFull_onceAllTokensRefilled() {
+        TokenBucket bucket = new TokenBucket(2, SECOND);
+        assertTrue(bucket.isFull(0));
+
+        bucket.tryConsume(0);
+        assertFalse(bucket.isFull(0));
+        assertTrue(bucket.isFull(SECOND));
+    }
+
+    @Test
+    void constructor_rejectsEmptyBucket() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, SECOND));
+    }
+}
@@ -0,0 +1,100 @@
+package elytra.stations_management.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Minimal JSON client for the running server. Every call is timed into
+ * {@link EndpointStats} under its endpoint name; a status outside
+ * {@code expected} counts as an error.
+ */
+class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final EndpointStats stats;
+
+    ApiClient(String baseUrl, ObjectMapper objectMapper, EndpointStats stats) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+    }
+
+    Response get(String endpoint, String path, String token, Set<Integer> expected) {
+        return send(endpoint, request(path, token).GET().build(), expected);
+    }
+
+    Response post(String endpoint, String path, String token, Object body, Set<Integer> expected) {
+        return send(endpoint, request(path, token).POST(json(body)).build(), expected);
+    }
+
+    Response put(String endpoint, String path, String token, Object body, Set<Integer> expected) {
+        return send(endpoint, request(path, token).PUT(json(body)).build(), expected);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private Response send(String endpoint, HttpRequest request, Set<Integer> expected) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(endpoint, System.nanoTime() - start,
+                    expected.contains(response.statusCode()) ? null : response.statusCode());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, -1);
+            return new Response(-1, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, null);
+        }
+    }
+
+    class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        Map<String, Object> json() {
+            try {
+                return objectMapper.readValue(body, new TypeReference<>() {
+                });
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected response body: " + body, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package elytra.stations_management.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms and error counts per endpoint. Recording is lock-free;
+ * {@link #reset()} discards setup and warmup calls.
+ */
+class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /** Records one call; {@code errorStatus} is the unexpected HTTP status (-1 for I/O failures), or null. */
+    void record(String endpoint, long latencyNanos, Integer errorStatus) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latencies.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        if (errorStatus != null) {
+            stats.errors.increment();
+            stats.errorStatuses.computeIfAbsent(errorStatus, status -> new LongAdder()).increment();
+        }
+    }
+
+    void reset() {
+        endpoints.clear();
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(stats -> stats.latencies.getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+    }
+
+    /** Worst p99 across endpoints, in milliseconds. */
+    double worstP99Millis() {
+        return endpoints.values().stream()
+                .mapToDouble(stats -> millis(stats.latencies.getValueAtPercentile(99)))
+                .max().orElse(0);
+    }
+
+    String report(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder(String.format("%-36s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            Histogram h = stats.latencies;
+            out.append(String.format("%-36s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                    h.getTotalCount(), h.getTotalCount() / elapsedSeconds, stats.errors.sum(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue())));
+            stats.errorStatuses.forEach((status, count) -> out.append(String.format("%-36s status %d: %d%n",
+                    "", status, count.sum())));
+        });
+        out.append(String.format("total: %d requests, %.1f req/s, %d errors%n",
+                totalRequests(), totalRequests() / elapsedSeconds, totalErrors()));
+        return out.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Endpoint {
+        final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> errorStatuses = new ConcurrentHashMap<>();
+    }
+}
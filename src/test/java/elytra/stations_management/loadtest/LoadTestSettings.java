@@ -0,0 +1,67 @@
+package elytra.stations_management.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from {@code -Dload.*} system properties so they can be
+ * set on the Maven command line.
+ */
+record LoadTestSettings(
+        int users,
+        Duration warmup,
+        Duration duration,
+        int stations,
+        int chargersPerStation,
+        int drivers,
+        Map<Operation, Integer> mix,
+        double maxP99Millis,
+        double maxErrorRate) {
+
+    /** One step of a virtual user; weights in {@code load.mix} use these names in lower case. */
+    enum Operation {
+        LOGIN,
+        BROWSE,
+        SEARCH,
+        BOOK
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.users", 20),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5L)),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 30L)),
+                Integer.getInteger("load.stations", 10),
+                Integer.getInteger("load.chargers-per-station", 4),
+                Integer.getInteger("load.drivers", 50),
+                parseMix(System.getProperty("load.mix", "login:10,browse:40,search:30,book:20")),
+                Double.parseDouble(System.getProperty("load.max-p99-ms", "5000")),
+                Double.parseDouble(System.getProperty("load.max-error-rate", "0.01")));
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            weights.put(Operation.valueOf(nameAndWeight[0].trim().toUpperCase()),
+                    Integer.parseInt(nameAndWeight[1].trim()));
+        }
+        return weights;
+    }
+
+    /** Maps a roll in [0, total weight) to an operation. */
+    Operation pick(int roll) {
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Roll beyond total weight");
+    }
+
+    int totalWeight() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,166 @@
+package elytra.stations_management.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import elytra.stations_management.loadtest.LoadTestSettings.Operation;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays a weighted mix of driver traffic against an embedded server with the
+ * production security chain, then reports per-endpoint throughput and latency
+ * percentiles and fails when p99 or the error rate exceed their gates.
+ * Excluded from the normal build; run with {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.enabled=false",
+        "app.tracing.sample-ratio=0",
+        "logging.level.elytra.stations_management=WARN"
+})
+class TrafficMixLoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final Set<Integer> OK = Set.of(200);
+    private static final Set<Integer> CREATED = Set.of(201);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final EndpointStats stats = new EndpointStats();
+    private final List<Long> stationIds = new ArrayList<>();
+    private final List<Driver> drivers = new ArrayList<>();
+
+    @Test
+    void trafficMix_staysWithinLatencyAndErrorBudget() throws InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ApiClient api = new ApiClient("http://localhost:" + port, objectMapper, stats);
+        seed(api, settings);
+
+        ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+        long warmupEnd = System.nanoTime() + settings.warmup().toNanos();
+        long end = warmupEnd + settings.duration().toNanos();
+        for (int i = 0; i < settings.users(); i++) {
+            users.submit(() -> runUser(api, settings, end));
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        stats.reset();
+        users.shutdown();
+        assertTrue(users.awaitTermination(settings.duration().toSeconds() + 60, TimeUnit.SECONDS));
+
+        double seconds = settings.duration().toMillis() / 1000.0;
+        log.warn("Load test: {} users, {}s, mix {}\n{}", settings.users(), seconds, settings.mix(),
+                stats.report(seconds));
+
+        double errorRate = stats.totalRequests() == 0 ? 1 : (double) stats.totalErrors() / stats.totalRequests();
+        assertTrue(errorRate <= settings.maxErrorRate(), "error rate " + errorRate);
+        assertTrue(stats.worstP99Millis() <= settings.maxP99Millis(), "worst p99 " + stats.worstP99Millis() + " ms");
+    }
+
+    /**
+     * Stations with chargers (created by the seeded admin), one operator
+     * claiming each station, and a pool of drivers, all through the public API.
+     */
+    private void seed(ApiClient api, LoadTestSettings settings) {
+        String adminToken = login(api, "admin", "admin123");
+        for (int s = 0; s < settings.stations(); s++) {
+            List<Map<String, Object>> chargers = new ArrayList<>();
+            for (int c = 0; c < settings.chargersPerStation(); c++) {
+                chargers.add(Map.of("type", c % 2 == 0 ? "CCS" : "Type 2", "power", c % 2 == 0 ? 50.0 : 22.0));
+            }
+            ApiClient.Response station = api.post("seed station", "/api/v1/stations", adminToken, Map.of(
+                    "name", "Load Station " + s, "address", s + " Load Ave",
+                    "latitude", 40.0 + s * 0.01, "longitude", -8.0, "chargers", chargers), CREATED);
+            assertEquals(201, station.status, station.body);
+            Long stationId = ((Number) station.json().get("id")).longValue();
+            stationIds.add(stationId);
+
+            ApiClient.Response operator = api.post("seed operator", "/api/v1/auth/register/operator", null, Map.of(
+                    "user", user("load-operator-" + s), "operator", Map.of(), "stationId", stationId), OK);
+            assertEquals(200, operator.status, operator.body);
+        }
+        for (int d = 0; d < settings.drivers(); d++) {
+            String username = "load-driver-" + d;
+            ApiClient.Response driver = api.post("seed driver", "/api/v1/auth/register/driver", null, Map.of(
+                    "user", user(username), "driver", Map.of()), OK);
+            assertEquals(200, driver.status, driver.body);
+            Map<String, Object> body = driver.json();
+            drivers.add(new Driver(username, ((Number) body.get("userId")).longValue(), (String) body.get("token")));
+        }
+    }
+
+    private void runUser(ApiClient api, LoadTestSettings settings, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Driver driver = drivers.get(random.nextInt(drivers.size()));
+            Long stationId = stationIds.get(random.nextInt(stationIds.size()));
+            Operation operation = settings.pick(random.nextInt(settings.totalWeight()));
+            switch (operation) {
+                case LOGIN -> login(api, driver.username(), PASSWORD);
+                case BROWSE -> {
+                    api.get("GET /stations", "/api/v1/stations", driver.token(), OK);
+                    api.get("GET /stations/{id}", "/api/v1/stations/" + stationId, driver.token(), OK);
+                }
+                case SEARCH -> {
+                    api.get("GET /stations/{id}/chargers", "/api/v1/stations/" + stationId + "/chargers",
+                            driver.token(), OK);
+                    api.get("GET /chargers/availability", "/api/v1/chargers/availability/AVAILABLE",
+                            driver.token(), OK);
+                }
+                case BOOK -> book(api, driver, stationId, random);
+            }
+        }
+    }
+
+    // A full station (409) is a normal outcome under load, not an error
+    private void book(ApiClient api, Driver driver, Long stationId, ThreadLocalRandom random) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(30))
+                .truncatedTo(ChronoUnit.HOURS).plusHours(random.nextInt(24));
+        ApiClient.Response booked = api.post("POST /stations/{id}/bookings/auto",
+                "/api/v1/stations/" + stationId + "/bookings/auto", driver.token(), Map.of(
+                        "userId", driver.userId(), "startTime", start.toString(),
+                        "endTime", start.plusHours(1).toString()), Set.of(201, 409));
+        if (booked.status == 201) {
+            Object bookingId = booked.json().get("id");
+            api.put("PUT /bookings/{id}/status", "/api/v1/bookings/" + bookingId + "/status", driver.token(),
+                    "CANCELLED", OK);
+        }
+    }
+
+    private String login(ApiClient api, String username, String password) {
+        ApiClient.Response response = api.post("POST /auth/login", "/api/v1/auth/login", null,
+                Map.of("username", username, "password", password), OK);
+        return response.status == 200 ? (String) response.json().get("token") : null;
+    }
+
+    private static Map<String, Object> user(String username) {
+        return Map.of("username", username, "password", PASSWORD, "email", username + "@load.test",
+                "firstName", "Load", "lastName", "Test");
+    }
+
+    private record Driver(String username, Long userId, String token) {
+    }
+}
@@ -17,11 +17,11 @@ class BookingTest {
         LocalDateTime startTime = LocalDateTime.now();
         LocalDateTime endTime = startTime.plusHours(1);
         Charger charger = new Charger();
-        Booking booking = new Booking(1L, startTime, endTime, "user123", charger, Booking.Status.PENDING);
+        Booking booking = new Booking(1L, startTime, endTime, 123L, charger, Booking.Status.PENDING, null);
         assertEquals(1L, booking.getId());
         assertEquals(startTime, booking.getStartTime());
         assertEquals(endTime, booking.getEndTime());
-        assertEquals("user123", booking.getUserId());
+        assertEquals(123L, booking.getUserId());
         assertEquals(charger, booking.getCharger());
         assertEquals(Booking.Status.PENDING, booking.getStatus());
     }
@@ -35,14 +35,14 @@ class BookingTest {
                 .id(2L)
                 .startTime(startTime)
                 .endTime(endTime)
-                .userId("user456")
+                .userId(456L)
                 .charger(charger)
                 .status(Booking.Status.CONFIRMED)
                 .build();
         assertEquals(2L, booking.getId());
         assertEquals(startTime, booking.getStartTime());
         assertEquals(endTime, booking.getEndTime());
-        assertEquals("user456", booking.getUserId());
+        assertEquals(456L, booking.getUserId());
         assertEquals(charger, booking.getCharger());
         assertEquals(Booking.Status.CONFIRMED, booking.getStatus());
     }
@@ -57,14 +57,14 @@ class BookingTest {
         booking.setId(3L);
         booking.setStartTime(startTime);
         booking.setEndTime(endTime);
-        booking.setUserId("user789");
+        booking.setUserId(789L);
         booking.setCharger(charger);
         booking.setStatus(Booking.Status.COMPLETED);
 
         assertEquals(3L, booking.getId());
         assertEquals(startTime, booking.getStartTime());
         assertEquals(endTime, booking.getEndTime());
-        assertEquals("user789", booking.getUserId());
+        assertEquals(789L, booking.getUserId());
         assertEquals(charger, booking.getCharger());
         assertEquals(Booking.Status.COMPLETED, booking.getStatus());
     }
@@ -82,7 +82,7 @@ class BookingTest {
         LocalDateTime startTime = LocalDateTime.now();
         LocalDateTime endTime = startTime.plusHours(1);
         Charger charger = Charger.builder().id(1L).build();
-        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger).status(Booking.Status.PENDING).build();
+        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger).status(Booking.Status.PENDING).build();
         assertEquals(booking1, booking1);
     }
 
@@ -93,8 +93,8 @@ class BookingTest {
         Charger charger1 = Charger.builder().id(1L).build();
         Charger charger2 = Charger.builder().id(1L).build();
 
-        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
-        Booking booking2 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger2).status(Booking.Status.PENDING).build();
+        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
+        Booking booking2 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger2).status(Booking.Status.PENDING).build();
 
         assertEquals(booking1, booking2);
     }
@@ -105,8 +105,8 @@ class BookingTest {
         LocalDateTime endTime = startTime.now().plusHours(1);
         Charger charger1 = Charger.builder().id(1L).build();
 
-        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
-        Booking booking2 = Booking.builder().id(2L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
+        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
+        Booking booking2 = Booking.builder().id(2L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
 
         assertNotEquals(booking1, booking2);
     }
@@ -117,8 +117,8 @@ class BookingTest {
         LocalDateTime endTime = startTime.now().plusHours(1);
         Charger charger = Charger.builder().id(1L).build();
 
-        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger).status(Booking.Status.PENDING).build();
-        Booking booking2 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userB").charger(charger).status(Booking.Status.PENDING).build();
+        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger).status(Booking.Status.PENDING).build();
+        Booking booking2 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(2L).charger(charger).status(Booking.Status.PENDING).build();
 
         assertNotEquals(booking1, booking2);
     }
@@ -145,35 +145,35 @@ class BookingTest {
         // Test with null userId
         Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(null).charger(charger1).status(Booking.Status.PENDING).build();
         Booking booking2 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(null).charger(charger2).status(Booking.Status.PENDING).build();
-        Booking booking3 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
+        Booking booking3 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
         assertEquals(booking1, booking2);
         assertNotEquals(booking1, booking3);
 
         // Test with null startTime
-        Booking booking4 = Booking.builder().id(1L).startTime(null).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
-        Booking booking5 = Booking.builder().id(1L).startTime(null).endTime(endTime).userId("userA").charger(charger2).status(Booking.Status.PENDING).build();
-         Booking booking6 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
+        Booking booking4 = Booking.builder().id(1L).startTime(null).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
+        Booking booking5 = Booking.builder().id(1L).startTime(null).endTime(endTime).userId(1L).charger(charger2).status(Booking.Status.PENDING).build();
+         Booking booking6 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
         assertEquals(booking4, booking5);
         assertNotEquals(booking4, booking6);
 
         // Test with null endTime
-         Booking booking7 = Booking.builder().id(1L).startTime(startTime).endTime(null).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
-        Booking booking8 = Booking.builder().id(1L).startTime(startTime).endTime(null).userId("userA").charger(charger2).status(Booking.Status.PENDING).build();
-         Booking booking9 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
+         Booking booking7 = Booking.builder().id(1L).startTime(startTime).endTime(null).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
+        Booking booking8 = Booking.builder().id(1L).startTime(startTime).endTime(null).userId(1L).charger(charger2).status(Booking.Status.PENDING).build();
+         Booking booking9 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
         assertEquals(booking7, booking8);
         assertNotEquals(booking7, booking9);
 
          // Test with null charger
-         Booking booking10 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(null).status(Booking.Status.PENDING).build();
-        Booking booking11 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(null).status(Booking.Status.PENDING).build();
-         Booking booking12 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
+         Booking booking10 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(null).status(Booking.Status.PENDING).build();
+        Booking booking11 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(null).status(Booking.Status.PENDING).build();
+         Booking booking12 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
         assertEquals(booking10, booking11);
         assertNotEquals(booking10, booking12);
 
          // Test with null status
-         Booking booking13 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(null).build();
-        Booking booking14 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger2).status(null).build();
-         Booking booking15 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
+         Booking booking13 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(null).build();
+        Booking booking14 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger2).status(null).build();
+         Booking booking15 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
         assertEquals(booking13, booking14);
         assertNotEquals(booking13, booking15);
     }
@@ -185,8 +185,8 @@ class BookingTest {
         Charger charger1 = Charger.builder().id(1L).build();
         Charger charger2 = Charger.builder().id(1L).build();
 
-        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger1).status(Booking.Status.PENDING).build();
-        Booking booking2 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger2).status(Booking.Status.PENDING).build();
+        Booking booking1 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger1).status(Booking.Status.PENDING).build();
+        Booking booking2 = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger2).status(Booking.Status.PENDING).build();
         assertEquals(booking1.hashCode(), booking2.hashCode());
     }
 
@@ -203,12 +203,12 @@ class BookingTest {
         LocalDateTime endTime = startTime.plusHours(1);
         Charger charger = new Charger();
         charger.setId(1L);
-        Booking booking = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId("userA").charger(charger).status(Booking.Status.PENDING).build();
+        Booking booking = Booking.builder().id(1L).startTime(startTime).endTime(endTime).userId(1L).charger(charger).status(Booking.Status.PENDING).build();
         String toStringResult = booking.toString();
         assertNotNull(toStringResult);
         assertTrue(toStringResult.contains("Booking"));
         assertTrue(toStringResult.contains("id=1"));
-        assertTrue(toStringResult.contains("userId=userA"));
+        assertTrue(toStringResult.contains("userId=1"));
         assertTrue(toStringResult.contains("status=PENDING"));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,75 @@
+package elytra.stations_management.observability;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.StationUtilization;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookingMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ChargerRepository chargerRepository;
+    private BookingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        chargerRepository = mock(ChargerRepository.class);
+        metrics = new BookingMetrics(registry, chargerRepository, 2);
+    }
+
+    @Test
+    void countsCreatedRejectedAndTransitions() {
+        Booking booking = Booking.builder().startTime(LocalDateTime.now().plusHours(2)).build();
+        metrics.bookingCreated(booking);
+        metrics.bookingRejected(InvalidBookingException.Reason.OVERLAP);
+        metrics.bookingRejected(InvalidBookingException.Reason.OVERLAP);
+        metrics.bookingStatusChanged(Booking.Status.PENDING, Booking.Status.CONFIRMED);
+        metrics.chargerStatusChanged(Charger.Status.AVAILABLE, Charger.Status.BEING_USED);
+
+        assertEquals(1.0, registry.get("bookings.created").counter().count());
+        assertEquals(2.0, registry.get("bookings.rejected").tag("reason", "overlap").counter().count());
+        assertEquals(1.0, registry.get("bookings.status.transitions")
+                .tags("from", "PENDING", "to", "CONFIRMED").counter().count());
+        assertEquals(1.0, registry.get("chargers.status.transitions")
+                .tags("from", "AVAILABLE", "to", "BEING_USED").counter().count());
+        assertEquals(1, registry.get("bookings.lead.time").timer().count());
+        assertTrue(registry.get("bookings.lead.time").timer().totalTime(TimeUnit.MINUTES) > 100);
+    }
+
+    @Test
+    void refreshUtilization_capsStationTagsAndFoldsOverflowIntoOther() {
+        when(chargerRepository.countUtilizationByStation(Charger.Status.BEING_USED)).thenReturn(List.of(
+                row(1L, 4L, 1L), row(2L, 2L, 2L), row(3L, 2L, 0L), row(4L, 2L, 2L)));
+
+        metrics.refreshUtilization();
+
+        assertEquals(0.25, registry.get("chargers.utilization").tag("station", "1").gauge().value());
+        assertEquals(1.0, registry.get("chargers.utilization").tag("station", "2").gauge().value());
+        assertEquals(0.5, registry.get("chargers.utilization").tag("station", BookingMetrics.OTHER_STATIONS)
+                .gauge().value());
+        assertEquals(3, registry.find("chargers.utilization").gauges().size());
+    }
+
+    private static StationUtilization row(Long stationId, Long total, Long inUse) {
+        return new StationUtilization() {
+            public Long getStationId() { return stationId; }
+            public Long getTotal() { return total; }
+            public Long getInUse() { return inUse; }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package elytra.stations_management.observability;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import elytra.stations_management.config.TestSecurityConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class LatencyMetricsAspectTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HotPathsEndpoint hotPathsEndpoint;
+
+    @Test
+    void stationRead_recordsControllerServiceAndRepositoryTimers() throws Exception {
+        mockMvc.perform(get("/api/v1/stations/999")).andExpect(status().isNotFound());
+
+        assertTrue(meterRegistry.find("app.method.latency")
+                .tags("layer", "controller", "class", "StationController", "method", "getStationById")
+                .timer().count() > 0);
+        assertTrue(meterRegistry.find("app.method.latency")
+                .tags("layer", "service", "class", "StationService")
+                .timers().stream().anyMatch(timer -> timer.count() > 0));
+        assertTrue(meterRegistry.find("app.repository.latency")
+                .tags("entity", "Station", "query", "findVersionStampById")
+                .timer().count() > 0);
+    }
+
+    @Test
+    void request_recordsSqlStatementCountAndHotPath() throws Exception {
+        mockMvc.perform(get("/api/v1/chargers/availability/AVAILABLE")).andExpect(status().isOk());
+
+        assertTrue(meterRegistry.find("http.server.requests.sql_statements")
+                .tags("method", "GET", "uri", "/api/v1/chargers/availability/{status}")
+                .summary().totalAmount() >= 2);
+
+        @SuppressWarnings("unchecked")
+        List<SlidingWindowStats.Summary> endpoints = (List<SlidingWindowStats.Summary>) hotPathsEndpoint.hotPaths(null).get("endpoints");
+        assertFalse(endpoints.isEmpty());
+        assertTrue(endpoints.stream()
+                .anyMatch(summary -> summary.name().equals("GET /api/v1/chargers/availability/{status}")));
+    }
+}
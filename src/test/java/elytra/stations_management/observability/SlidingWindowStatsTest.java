@@ -0,0 +1,60 @@
+package elytra.stations_management.observability;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowStatsTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void top_ordersByTotalTime() {
+        SlidingWindowStats stats = new SlidingWindowStats(6, 1_000 * MS, 10);
+        stats.record("GET /stations", 5 * MS, 0);
+        stats.record("GET /stations", 5 * MS, 0);
+        stats.record("POST /bookings", 40 * MS, 0);
+
+        List<SlidingWindowStats.Summary> top = stats.top(10, 0);
+
+        assertEquals("POST /bookings", top.get(0).name());
+        assertEquals(2, top.get(1).count());
+        assertEquals(5.0, top.get(1).meanMillis());
+        assertEquals(5.0, top.get(1).maxMillis());
+    }
+
+    @Test
+    void top_dropsSamplesOlderThanWindow() {
+        SlidingWindowStats stats = new SlidingWindowStats(3, 1_000 * MS, 10);
+        stats.record("old", 10 * MS, 0);
+        stats.record("recent", 10 * MS, 2_500 * MS);
+
+        List<SlidingWindowStats.Summary> top = stats.top(10, 3_500 * MS);
+
+        assertEquals(1, top.size());
+        assertEquals("recent", top.get(0).name());
+    }
+
+    @Test
+    void record_reusedBucketIsReset() {
+        SlidingWindowStats stats = new SlidingWindowStats(2, 1_000 * MS, 10);
+        stats.record("query", 100 * MS, 0);
+        stats.record("query", 1 * MS, 2_000 * MS);
+
+        SlidingWindowStats.Summary summary = stats.top(1, 2_000 * MS).get(0);
+
+        assertEquals(1, summary.count());
+        assertEquals(1.0, summary.maxMillis());
+    }
+
+    @Test
+    void record_ignoresNewKeysBeyondLimit() {
+        SlidingWindowStats stats = new SlidingWindowStats(2, 1_000 * MS, 1);
+        stats.record("first", MS, 0);
+        stats.record("second", MS, 0);
+
+        assertTrue(stats.top(10, 0).stream().noneMatch(s -> s.name().equals("second")));
+    }
+}
@@ -0,0 +1,104 @@
+package elytra.stations_management.observability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import elytra.stations_management.config.TracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TracerTest {
+
+    private TracingProperties properties;
+    private SpanExporter exporter;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TracingProperties();
+        exporter = new SpanExporter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        tracer = new Tracer(exporter, properties);
+    }
+
+    @Test
+    void sampledTrace_linksChildrenAndRestoresParent() {
+        properties.setSampleRatio(1.0);
+
+        Span root = tracer.startTrace("root", null);
+        Span child = tracer.startSpan("child");
+        Span sql = tracer.startDetachedSpan("sql");
+        sql.end();
+        child.end();
+        Span sibling = tracer.startSpan("sibling");
+        sibling.end();
+        root.end();
+
+        List<Span> spans = exporter.drain();
+        assertEquals(List.of("sql", "child", "sibling", "root"), spans.stream().map(Span::getName).toList());
+        assertEquals(root.getSpanId(), child.getParentSpanId());
+        assertEquals(child.getSpanId(), sql.getParentSpanId());
+        assertEquals(root.getSpanId(), sibling.getParentSpanId());
+        assertNull(root.getParentSpanId());
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(root.getTraceId())));
+        assertFalse(tracer.isRecording());
+    }
+
+    @Test
+    void unsampledTrace_recordsNothing() {
+        properties.setSampleRatio(0.0);
+
+        Span root = tracer.startTrace("root", null);
+        assertSame(Span.NOOP, tracer.startSpan("child"));
+        root.end();
+
+        assertTrue(exporter.drain().isEmpty());
+        assertFalse(tracer.isRecording());
+    }
+
+    @Test
+    void incomingTraceparent_decidesSamplingAndContinuesTrace() {
+        properties.setSampleRatio(0.0);
+        String parent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+        Span root = tracer.startTrace("root", parent);
+        root.end();
+
+        assertTrue(root.isRecording());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", root.getTraceId());
+        assertEquals("00f067aa0ba902b7", root.getParentSpanId());
+        assertTrue(root.traceparent().startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-"));
+    }
+
+    @Test
+    void incomingSampledFlag_isHonouredOnlyUpToRateCap() {
+        properties.setSampleRatio(0.0);
+        properties.setMaxParentSampledPerSecond(2);
+        tracer = new Tracer(exporter, properties);
+        String parent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+        List<Boolean> recorded = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Span root = tracer.startTrace("root", parent);
+            recorded.add(root.isRecording());
+            root.end();
+        }
+
+        assertEquals(List.of(true, true, false), recorded);
+    }
+
+    @Test
+    void noTrace_childSpansAreNoop() {
+        assertSame(Span.NOOP, tracer.startSpan("orphan"));
+        assertSame(Span.NOOP, tracer.startDetachedSpan("orphan"));
+    }
+}
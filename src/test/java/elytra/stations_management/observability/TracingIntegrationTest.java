@@ -0,0 +1,61 @@
+package elytra.stations_management.observability;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import elytra.stations_management.config.TestSecurityConfig;
+
+@SpringBootTest(properties = {"app.tracing.sample-ratio=1.0", "app.tracing.flush-interval-ms=3600000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class TracingIntegrationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SpanExporter spanExporter;
+
+    @Test
+    void stationRead_producesSpansForEveryLayerInOneTrace() throws Exception {
+        spanExporter.drain();
+
+        mockMvc.perform(get("/api/v1/stations/999/chargers")
+                        .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("traceparent", Matchers.startsWith("00-" + TRACE_ID + "-")));
+
+        List<Span> spans = spanExporter.drain().stream()
+                .filter(span -> span.getTraceId().equals(TRACE_ID))
+                .toList();
+        List<String> names = spans.stream().map(Span::getName).toList();
+        assertTrue(names.contains("GET /api/v1/stations/{stationId}/chargers"), names.toString());
+        assertTrue(names.contains("JwtAuthFilter"), names.toString());
+        assertTrue(names.stream().anyMatch(name -> name.startsWith("StationController.")), names.toString());
+        assertTrue(names.stream().anyMatch(name -> name.startsWith("transaction StationService.")),
+                names.toString());
+        Span sql = spans.stream().filter(span -> span.getName().equals("SQL SELECT")).findFirst().orElseThrow();
+        assertTrue(sql.getAttributes().containsKey("db.statement"));
+        assertEquals(0L, sql.getAttributes().get("db.rows_returned"));
+        Span service = spans.stream().filter(span -> span.getName().startsWith("StationService.")).findFirst()
+                .orElseThrow();
+        assertEquals(999L, service.getAttributes().get("app.stationId"));
+    }
+}
@@ -8,10 +8,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import elytra.stations_management.models.Booking;
 import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ArchivedBooking;
 import elytra.stations_management.models.Station;
+import elytra.stations_management.models.User;
 
 @DataJpaTest
 class BookingRepositoryTest {
@@ -41,6 +45,7 @@ class BookingRepositoryTest {
                 .station(station)
                 .build();
         entityManager.persist(charger);
+        Long driverId = persistDriver("user123");
 
         // Create and save booking
         LocalDateTime startTime = LocalDateTime.now().plusHours(1);
@@ -48,7 +53,7 @@ class BookingRepositoryTest {
         Booking booking = Booking.builder()
                 .startTime(startTime)
                 .endTime(endTime)
-                .userId("user123")
+                .userId(driverId)
                 .charger(charger)
                 .status(Booking.Status.PENDING)
                 .build();
@@ -57,7 +62,7 @@ class BookingRepositoryTest {
         // Retrieve booking
         Booking found = bookingRepository.findById(booking.getId()).orElse(null);
         assertThat(found).isNotNull();
-        assertThat(found.getUserId()).isEqualTo("user123");
+        assertThat(found.getUserId()).isEqualTo(driverId);
         assertThat(found.getEndTime()).isEqualTo(endTime);
         assertThat(found.getStatus()).isEqualTo(Booking.Status.PENDING);
     }
@@ -81,6 +86,7 @@ class BookingRepositoryTest {
                 .station(station)
                 .build();
         entityManager.persist(charger);
+        Long driverId = persistDriver("user123");
 
         // Create and save bookings
         LocalDateTime startTime = LocalDateTime.now().plusHours(1);
@@ -88,7 +94,7 @@ class BookingRepositoryTest {
         Booking booking1 = Booking.builder()
                 .startTime(startTime)
                 .endTime(endTime)
-                .userId("user123")
+                .userId(driverId)
                 .charger(charger)
                 .status(Booking.Status.PENDING)
                 .build();
@@ -98,7 +104,7 @@ class BookingRepositoryTest {
         Booking booking2 = Booking.builder()
                 .startTime(startTime2)
                 .endTime(endTime2)
-                .userId("user123")
+                .userId(driverId)
                 .charger(charger)
                 .status(Booking.Status.CONFIRMED)
                 .build();
@@ -108,10 +114,10 @@ class BookingRepositoryTest {
         entityManager.flush();
 
         // Test findByUserId
-        List<Booking> userBookings = bookingRepository.findByUserId("user123");
+        List<Booking> userBookings = bookingRepository.findByUserId(driverId);
         assertThat(userBookings)
             .hasSize(2)
-            .allMatch(booking -> booking.getUserId().equals("user123"));
+            .allMatch(booking -> booking.getUserId().equals(driverId));
     }
 
     @Test
@@ -133,6 +139,7 @@ class BookingRepositoryTest {
                 .station(station)
                 .build();
         entityManager.persist(charger);
+        Long driverId = persistDriver("user123");
 
         // Create and save booking
         LocalDateTime startTime = LocalDateTime.now().plusHours(1);
@@ -140,7 +147,7 @@ class BookingRepositoryTest {
         Booking booking = Booking.builder()
                 .startTime(startTime)
                 .endTime(endTime)
-                .userId("user123")
+                .userId(driverId)
                 .charger(charger)
                 .status(Booking.Status.PENDING)
                 .build();
@@ -171,6 +178,7 @@ class BookingRepositoryTest {
                 .station(station)
                 .build();
         entityManager.persist(charger);
+        Long driverId = persistDriver("user123");
 
         // Create and save booking
         LocalDateTime startTime = LocalDateTime.now().plusHours(1);
@@ -178,7 +186,7 @@ class BookingRepositoryTest {
         Booking booking = Booking.builder()
                 .startTime(startTime)
                 .endTime(endTime)
-                .userId("user123")
+                .userId(driverId)
                 .charger(charger)
                 .status(Booking.Status.PENDING)
                 .build();
@@ -212,6 +220,7 @@ class BookingRepositoryTest {
                 .station(station)
                 .build();
         entityManager.persist(charger);
+        Long driverId = persistDriver("user123");
 
         // Create and save bookings
         LocalDateTime startTime = LocalDateTime.now().plusHours(1);
@@ -219,7 +228,7 @@ class BookingRepositoryTest {
         Booking booking1 = Booking.builder()
                 .startTime(startTime)
                 .endTime(endTime)
-                .userId("user123")
+                .userId(driverId)
                 .charger(charger)
                 .status(Booking.Status.PENDING)
                 .build();
@@ -228,7 +237,7 @@ class BookingRepositoryTest {
         Booking booking2 = Booking.builder()
                 .startTime(startTime.plusHours(2))
                 .endTime(startTime.plusHours(3))
-                .userId("user456")
+                .userId(persistDriver("user456"))
                 .charger(charger)
                 .status(Booking.Status.CONFIRMED)
                 .build();
@@ -241,4 +250,93 @@ class BookingRepositoryTest {
         assertThat(pendingBookings.get(0).getCharger().getId()).isEqualTo(charger.getId());
         assertThat(pendingBookings.get(0).getStatus()).isEqualTo(Booking.Status.PENDING);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findUpcoming_returnsOnlyFutureOpenBookingsOfUserSoonestFirst() {
+        Charger charger = persistCharger();
+        Long driverId = persistDriver("upcoming");
+        Long otherDriverId = persistDriver("someone-else");
+        LocalDateTime now = LocalDateTime.now();
+        Booking later = persistBooking(driverId, charger, now.plusDays(2), Booking.Status.CONFIRMED);
+        Booking sooner = persistBooking(driverId, charger, now.plusHours(3), Booking.Status.PENDING);
+        persistBooking(driverId, charger, now.plusHours(5), Booking.Status.CANCELLED);
+        persistBooking(driverId, charger, now.minusDays(1), Booking.Status.CONFIRMED);
+        persistBooking(otherDriverId, charger, now.plusHours(1), Booking.Status.PENDING);
+
+        List<Booking> upcoming = bookingRepository.findUpcoming(driverId, now,
+                List.of(Booking.Status.PENDING, Booking.Status.CONFIRMED), PageRequest.of(0, 10));
+
+        assertThat(upcoming).extracting(Booking::getId).containsExactly(sooner.getId(), later.getId());
+    }
+
+    @Test
+    void findHistory_pagesAcrossHotAndArchivedBookingsNewestFirst() {
+        Charger charger = persistCharger();
+        Long driverId = persistDriver("history");
+        LocalDateTime now = LocalDateTime.now();
+        Booking recent = persistBooking(driverId, charger, now.minusDays(1), Booking.Status.COMPLETED);
+        Booking upcoming = persistBooking(driverId, charger, now.plusDays(1), Booking.Status.PENDING);
+        entityManager.persist(ArchivedBooking.builder().id(9_000L).startTime(now.minusDays(60))
+                .endTime(now.minusDays(60).plusHours(1)).userId(driverId).chargerId(charger.getId())
+                .status(Booking.Status.COMPLETED).archivedAt(now).build());
+        entityManager.flush();
+        List<String> all = List.of("PENDING", "CONFIRMED", "CANCELLED", "COMPLETED");
+
+        Page<BookingHistoryEntry> first = bookingRepository.findHistory(driverId, all,
+                now.minusYears(1), now.plusYears(1), PageRequest.of(0, 2));
+        Page<BookingHistoryEntry> second = bookingRepository.findHistory(driverId, all,
+                now.minusYears(1), now.plusYears(1), PageRequest.of(1, 2));
+        Page<BookingHistoryEntry> completedOnly = bookingRepository.findHistory(driverId, List.of("COMPLETED"),
+                now.minusYears(1), now.plusYears(1), PageRequest.of(0, 10));
+
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getContent()).extracting(BookingHistoryEntry::getId)
+                .containsExactly(upcoming.getId(), recent.getId());
+        assertThat(second.getContent()).singleElement().satisfies(entry -> {
+            assertThat(entry.getId()).isEqualTo(9_000L);
+            assertThat(entry.isArchived()).isTrue();
+            assertThat(entry.getStatus()).isEqualTo(Booking.Status.COMPLETED);
+            assertThat(entry.getStartTime()).isBefore(now.minusDays(59));
+        });
+        assertThat(completedOnly.getContent()).extracting(BookingHistoryEntry::getId)
+                .containsExactly(recent.getId(), 9_000L);
+    }
+
+    private Long persistDriver(String username) {
+        User user = User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@example.com")
+                .firstName("Test")
+                .lastName("Driver")
+                .userType(User.UserType.EV_DRIVER)
+                .build();
+        entityManager.persist(user);
+        return user.getId();
+    }
+
+    private Charger persistCharger() {
+        Station station = Station.builder().name("Test Station").address("123 Main St").build();
+        entityManager.persist(station);
+        Charger charger = Charger.builder()
+                .type("Type 2")
+                .power(50.0)
+                .status(Charger.Status.AVAILABLE)
+                .station(station)
+                .build();
+        entityManager.persist(charger);
+        return charger;
+    }
+
+    private Booking persistBooking(Long userId, Charger charger, LocalDateTime start, Booking.Status status) {
+        Booking booking = Booking.builder()
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .userId(userId)
+                .charger(charger)
+                .status(status)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
+}
@@ -3,11 +3,13 @@ package elytra.stations_management.repositories;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import elytra.stations_management.models.Charger;
 import elytra.stations_management.models.Station;
 
 @DataJpaTest
@@ -28,4 +30,30 @@ class StationRepositoryTest {
         assertTrue(found.isPresent());
         assertEquals("Central Station", found.get().getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findVersionStampById_changesWhenChargerChanges() {
+        Station station = Station.builder()
+                .name("Central Station")
+                .address("123 Main St")
+                .build();
+        Charger charger = Charger.builder().type("CCS").power(50.0).station(station).build();
+        station.getChargers().add(charger);
+        Station saved = stationRepository.saveAndFlush(station);
+
+        StationVersionStamp before = stationRepository.findVersionStampById(saved.getId()).orElseThrow();
+        assertEquals(0L, before.getVersion());
+        assertEquals(1L, before.getRowCount());
+
+        saved.getChargers().get(0).setStatus(Charger.Status.UNDER_MAINTENANCE);
+        stationRepository.saveAndFlush(saved);
+
+        StationVersionStamp after = stationRepository.findVersionStampById(saved.getId()).orElseThrow();
+        assertNotEquals(before.toTag(), after.toTag());
+    }
+
+    @Test
+    void findVersionStampById_unknownStation_returnsEmpty() {
+        assertTrue(stationRepository.findVersionStampById(999L).isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package elytra.stations_management.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import elytra.stations_management.models.EVDriver;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.models.StationOperator;
+import elytra.stations_management.models.User;
+
+@DataJpaTest
+class UserRepositoryTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findProfileByUsername_operatorWithStation() {
+        Station station = entityManager.persist(Station.builder().name("Central Station").address("1 Main St").build());
+        StationOperator operator = entityManager.persist(StationOperator.builder()
+                .user(user("operator", User.UserType.STATION_OPERATOR))
+                .station(station)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        UserProfile profile = userRepository.findProfileByUsername("operator").orElseThrow();
+
+        assertEquals(operator.getUser().getId(), profile.getId());
+        assertEquals("secret", profile.getPassword());
+        assertEquals(User.UserType.STATION_OPERATOR, profile.getUserType());
+        assertEquals(operator.getId(), profile.getOperatorId());
+        assertEquals(station.getId(), profile.getStationId());
+        assertEquals("Central Station", profile.getStationName());
+        assertNull(profile.getDriverId());
+        assertNull(profile.getAdminId());
+    }
+
+    @Test
+    void findProfileByUsername_driverAndUserWithoutRoleRecord() {
+        EVDriver driver = entityManager.persist(EVDriver.builder().user(user("driver", User.UserType.EV_DRIVER)).build());
+        entityManager.persist(user("pending", User.UserType.EV_DRIVER));
+        entityManager.flush();
+
+        assertEquals(driver.getId(), userRepository.findProfileByUsername("driver").orElseThrow().getDriverId());
+        UserProfile pending = userRepository.findProfileByUsername("pending").orElseThrow();
+        assertNull(pending.getDriverId());
+        assertEquals("ROLE_EV_DRIVER", pending.toUser().getRoles());
+        assertTrue(userRepository.findProfileByUsername("nobody").isEmpty());
+    }
+
+    private static User user(String username, User.UserType userType) {
+        return User.builder()
+                .username(username)
+                .password("secret")
+                .email(username + "@example.com")
+                .firstName("First")
+                .lastName("Last")
+                .userType(userType)
+                .build();
+    }
+}
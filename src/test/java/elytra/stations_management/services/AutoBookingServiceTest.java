@@ -0,0 +1,187 @@
+package elytra.stations_management.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import elytra.stations_management.dto.AutoBookingRequest;
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Car;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.observability.BookingMetrics;
+import elytra.stations_management.repositories.BookingRepository;
+import elytra.stations_management.repositories.CarRepository;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.StationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AutoBookingServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ChargerRepository chargerRepository;
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AutoBookingService autoBookingService;
+    private LocalDateTime start;
+    private Charger wideOpen;
+    private Charger tight;
+    private Charger busy;
+
+    @BeforeEach
+    void setUp() {
+        autoBookingService = new AutoBookingService(bookingService, bookingRepository, chargerRepository,
+                stationRepository, carRepository, bookingMetrics, transactionManager, 24);
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        wideOpen = charger(1L, "CCS");
+        tight = charger(2L, "CCS");
+        busy = charger(3L, "CCS");
+    }
+
+    @Test
+    void rankChargers_ShouldPreferTightestGapAndSkipOverlaps() {
+        when(chargerRepository.findByStationIdAndStatus(7L, Charger.Status.AVAILABLE))
+                .thenReturn(List.of(wideOpen, tight, busy));
+        when(bookingRepository.findActiveAtStation(eq(7L), any(), any())).thenReturn(List.of(
+                booking(tight, start.minusHours(2), start.minusMinutes(30)),
+                booking(tight, start.plusHours(2), start.plusHours(3)),
+                booking(busy, start.plusMinutes(30), start.plusHours(2))));
+
+        List<Charger> ranked = autoBookingService.rankChargers(7L, null, start, start.plusHours(1));
+
+        assertEquals(List.of(tight, wideOpen), ranked);
+    }
+
+    @Test
+    void rankChargers_ShouldSkipIncompatibleTypes() {
+        Charger type2 = charger(4L, "Type 2");
+        when(chargerRepository.findByStationIdAndStatus(7L, Charger.Status.AVAILABLE))
+                .thenReturn(List.of(wideOpen, type2));
+        when(bookingRepository.findActiveAtStation(eq(7L), any(), any())).thenReturn(List.of());
+
+        assertEquals(List.of(type2), autoBookingService.rankChargers(7L, "type 2", start, start.plusHours(1)));
+    }
+
+    @Test
+    void freeGap_ShouldTreatTouchingBookingAsOverlap() {
+        List<Booking> bookings = List.of(booking(tight, start.minusHours(1), start));
+
+        assertNull(AutoBookingService.freeGap(bookings, start, start.plusHours(1),
+                start.minusDays(1), start.plusDays(1)));
+        assertEquals(Duration.ofHours(49), AutoBookingService.freeGap(List.of(), start, start.plusHours(1),
+                start.minusDays(1), start.plusHours(1).plusDays(1)));
+    }
+
+    @Test
+    void autoBook_ShouldFallBackToNextChargerWhenBestIsTaken() {
+        when(stationRepository.existsById(7L)).thenReturn(true);
+        when(carRepository.findById(9L)).thenReturn(Optional.of(Car.builder().id(9L).chargerType("CCS").build()));
+        when(chargerRepository.findByStationIdAndStatus(7L, Charger.Status.AVAILABLE))
+                .thenReturn(List.of(wideOpen, tight));
+        when(bookingRepository.findActiveAtStation(eq(7L), any(), any())).thenReturn(List.of(
+                booking(tight, start.minusHours(2), start.minusMinutes(30))));
+        when(bookingService.createBookingWithoutMetrics(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            if (booking.getCharger() == tight) {
+                throw new InvalidBookingException("Charger is already booked for this time period",
+                        InvalidBookingException.Reason.OVERLAP);
+            }
+            return booking;
+        });
+
+        Booking booked = autoBookingService.autoBook(7L, new AutoBookingRequest(5L, 9L, start, start.plusHours(1)));
+
+        assertSame(wideOpen, booked.getCharger());
+        verify(bookingService, times(2)).createBookingWithoutMetrics(any(Booking.class));
+        verify(bookingMetrics).bookingCreated(booked);
+        verify(bookingMetrics, never()).bookingRejected(any());
+    }
+
+    @Test
+    void autoBook_WhenEveryChargerIsTaken_ShouldRecordOneRejection() {
+        when(stationRepository.existsById(7L)).thenReturn(true);
+        when(chargerRepository.findByStationIdAndStatus(7L, Charger.Status.AVAILABLE))
+                .thenReturn(List.of(wideOpen, tight));
+        when(bookingRepository.findActiveAtStation(eq(7L), any(), any())).thenReturn(List.of());
+        when(bookingService.createBookingWithoutMetrics(any(Booking.class)))
+                .thenThrow(new InvalidBookingException("Charger is already booked for this time period",
+                        InvalidBookingException.Reason.OVERLAP));
+
+        assertThrows(InvalidBookingException.class,
+                () -> autoBookingService.autoBook(7L, new AutoBookingRequest(5L, null, start, start.plusHours(1))));
+
+        verify(bookingService, times(2)).createBookingWithoutMetrics(any(Booking.class));
+        verify(bookingMetrics).bookingRejected(InvalidBookingException.Reason.STATION_FULL);
+        verifyNoMoreInteractions(bookingMetrics);
+    }
+
+    @Test
+    void autoBook_ShouldFallBackWhenChargerUpdatedConcurrently() {
+        when(stationRepository.existsById(7L)).thenReturn(true);
+        when(chargerRepository.findByStationIdAndStatus(7L, Charger.Status.AVAILABLE))
+                .thenReturn(List.of(wideOpen, tight));
+        when(bookingRepository.findActiveAtStation(eq(7L), any(), any())).thenReturn(List.of());
+        when(bookingService.createBookingWithoutMetrics(any(Booking.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Charger.class, 1L))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Booking booked = autoBookingService.autoBook(7L, new AutoBookingRequest(5L, null, start, start.plusHours(1)));
+
+        assertSame(tight, booked.getCharger());
+    }
+
+    @Test
+    void autoBook_WhenStationFull_ShouldThrowStationFull() {
+        when(stationRepository.existsById(7L)).thenReturn(true);
+        when(chargerRepository.findByStationIdAndStatus(7L, Charger.Status.AVAILABLE)).thenReturn(List.of(busy));
+        when(bookingRepository.findActiveAtStation(eq(7L), any(), any())).thenReturn(List.of(
+                booking(busy, start, start.plusHours(1))));
+
+        InvalidBookingException e = assertThrows(InvalidBookingException.class,
+                () -> autoBookingService.autoBook(7L, new AutoBookingRequest(5L, null, start, start.plusHours(1))));
+
+        assertEquals(InvalidBookingException.Reason.STATION_FULL, e.getReason());
+        verify(bookingService, never()).createBookingWithoutMetrics(any());
+        verify(bookingMetrics).bookingRejected(InvalidBookingException.Reason.STATION_FULL);
+    }
+
+    private static Charger charger(Long id, String type) {
+        return Charger.builder().id(id).type(type).power(50.0).status(Charger.Status.AVAILABLE).build();
+    }
+
+    private static Booking booking(Charger charger, LocalDateTime from, LocalDateTime to) {
+        return Booking.builder().charger(charger).startTime(from).endTime(to).userId(1L)
+                .status(Booking.Status.CONFIRMED).build();
+    }
+}
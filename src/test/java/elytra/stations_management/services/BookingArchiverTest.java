@@ -0,0 +1,93 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.ArchivedBookingRepository;
+import elytra.stations_management.repositories.BookingRepository;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.StationRepository;
+import elytra.stations_management.repositories.UserRepository;
+
+@SpringBootTest(properties = "app.bookings.archive.batch-size=2")
+@ActiveProfiles("test")
+class BookingArchiverTest {
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private ChargerRepository chargerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Charger charger;
+    private Long driverId;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        archivedBookingRepository.deleteAll();
+        Station station = stationRepository.save(Station.builder().name("Archive Station").address("1 Old Rd").build());
+        charger = chargerRepository.save(Charger.builder()
+                .type("CCS").power(50.0).status(Charger.Status.AVAILABLE).station(station).build());
+        driverId = userRepository.findByUsername("archive-user")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .username("archive-user").password("password").email("archive-user@example.com")
+                        .firstName("Archive").lastName("User").userType(User.UserType.EV_DRIVER).build()))
+                .getId();
+    }
+
+    @Test
+    void archive_movesOnlyFinishedBookingsOlderThanCutoffInBatches() {
+        LocalDateTime old = LocalDateTime.now().minusDays(90);
+        Long completed1 = save(old, Booking.Status.COMPLETED);
+        Long completed2 = save(old.plusHours(2), Booking.Status.COMPLETED);
+        Long cancelled = save(old.plusHours(4), Booking.Status.CANCELLED);
+        Long oldPending = save(old, Booking.Status.PENDING);
+        Long recentCompleted = save(LocalDateTime.now().minusDays(1), Booking.Status.COMPLETED);
+
+        int moved = bookingArchiver.archive(LocalDateTime.now().minusDays(30));
+
+        assertEquals(3, moved);
+        assertEquals(2, bookingRepository.count());
+        assertTrue(bookingRepository.existsById(oldPending));
+        assertTrue(bookingRepository.existsById(recentCompleted));
+        assertTrue(archivedBookingRepository.existsById(completed1));
+        assertTrue(archivedBookingRepository.existsById(completed2));
+        assertEquals(charger.getId(), archivedBookingRepository.findById(cancelled).orElseThrow().getChargerId());
+        assertEquals(Booking.Status.CANCELLED, archivedBookingRepository.findById(cancelled).orElseThrow().getStatus());
+    }
+
+    private Long save(LocalDateTime start, Booking.Status status) {
+        return bookingRepository.save(Booking.builder()
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .userId(driverId)
+                .charger(charger)
+                .status(status)
+                .build()).getId();
+    }
+}
@@ -13,9 +13,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
+import elytra.stations_management.exception.InvalidBookingException;
 import elytra.stations_management.models.Booking;
 import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.models.ArchivedBooking;
+import elytra.stations_management.observability.BookingMetrics;
+import elytra.stations_management.repositories.ArchivedBookingRepository;
 import elytra.stations_management.repositories.BookingRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,9 +33,21 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @Mock
     private ChargerService chargerService;
 
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @Mock
+    private UsageRollupService usageRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -44,24 +65,25 @@ class BookingServiceTest {
                 .type("Type 2")
                 .power(50.0)
                 .status(Charger.Status.AVAILABLE)
+                .station(Station.builder().id(9L).name("Test Station").build())
                 .build();
 
         booking = Booking.builder()
                 .id(1L)
                 .startTime(startTime)
                 .endTime(endTime)
-                .userId("user123")
+                .userId(123L)
                 .charger(charger)
                 .status(Booking.Status.PENDING)
                 .build();
 
-        // Manually create BookingService with self-injection
-        bookingService = new BookingService(bookingRepository, chargerService, bookingService);
+        bookingService = new BookingService(bookingRepository, archivedBookingRepository, chargerService,
+                bookingMetrics, usageRollupService, eventPublisher);
     }
 
     @Test
     void createBooking_ShouldCreateValidBooking() {
-        when(bookingRepository.findOverlappingBookings(
+        when(bookingRepository.findConflicts(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(List.of());
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
@@ -70,7 +92,9 @@ class BookingServiceTest {
 
         assertNotNull(createdBooking);
         assertEquals(Booking.Status.PENDING, createdBooking.getStatus());
-        verify(chargerService).updateChargerAvailability(charger.getId(), Charger.Status.BEING_USED);
+        verify(chargerService).updateChargerAvailability(charger.getId(), Charger.Status.BEING_USED,
+                ChargerStatusSegment.Cause.BOOKING);
+        verify(bookingMetrics).bookingCreated(booking);
     }
 
     @Test
@@ -78,15 +102,31 @@ class BookingServiceTest {
         charger.setStatus(Charger.Status.BEING_USED);
 
         assertThrows(RuntimeException.class, () -> bookingService.createBooking(booking));
+        verify(bookingMetrics).bookingRejected(InvalidBookingException.Reason.CHARGER_NOT_AVAILABLE);
     }
 
     @Test
     void createBooking_WhenOverlappingBookingExists_ShouldThrowException() {
-        when(bookingRepository.findOverlappingBookings(
+        when(bookingRepository.findConflicts(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of("BOOKING"));
 
         assertThrows(RuntimeException.class, () -> bookingService.createBooking(booking));
+        verify(bookingMetrics).bookingRejected(InvalidBookingException.Reason.OVERLAP);
+        verify(bookingMetrics, never()).bookingCreated(any());
+    }
+
+    @Test
+    void createBooking_WhenMaintenanceWindowOverlaps_ShouldThrowException() {
+        when(bookingRepository.findConflicts(
+                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of("BOOKING", "MAINTENANCE"));
+
+        InvalidBookingException e = assertThrows(InvalidBookingException.class,
+                () -> bookingService.createBooking(booking));
+        assertEquals(InvalidBookingException.Reason.MAINTENANCE, e.getReason());
+        verify(bookingMetrics).bookingRejected(InvalidBookingException.Reason.MAINTENANCE);
+        verify(chargerService, never()).updateChargerAvailability(anyLong(), any(), any());
     }
 
     @Test
@@ -102,7 +142,7 @@ class BookingServiceTest {
         booking.setUserId(null);
         assertThrows(RuntimeException.class, () -> bookingService.createBooking(booking));
 
-        booking.setUserId("user123");
+        booking.setUserId(123L);
         booking.setCharger(null);
         assertThrows(RuntimeException.class, () -> bookingService.createBooking(booking));
     }
@@ -138,12 +178,12 @@ class BookingServiceTest {
     @Test
     void getBookingsByUser_ShouldReturnUserBookings() {
         List<Booking> bookings = Arrays.asList(booking);
-        when(bookingRepository.findByUserId("user123")).thenReturn(bookings);
+        when(bookingRepository.findByUserId(123L)).thenReturn(bookings);
 
-        List<Booking> result = bookingService.getBookingsByUser("user123");
+        List<Booking> result = bookingService.getBookingsByUser(123L);
 
         assertEquals(bookings, result);
-        verify(bookingRepository).findByUserId("user123");
+        verify(bookingRepository).findByUserId(123L);
     }
 
     @Test
@@ -166,6 +206,7 @@ class BookingServiceTest {
 
         assertEquals(Booking.Status.CONFIRMED, updatedBooking.getStatus());
         verify(bookingRepository).save(booking);
+        verify(bookingMetrics).bookingStatusChanged(Booking.Status.PENDING, Booking.Status.CONFIRMED);
     }
 
     @Test
@@ -175,7 +216,21 @@ class BookingServiceTest {
 
         bookingService.updateBookingStatus(1L, Booking.Status.COMPLETED);
 
-        verify(chargerService).updateChargerAvailability(charger.getId(), Charger.Status.AVAILABLE);
+        verify(chargerService).updateChargerAvailability(charger.getId(), Charger.Status.AVAILABLE,
+                ChargerStatusSegment.Cause.BOOKING);
+        verify(usageRollupService).recordCompleted(booking);
+    }
+
+    @Test
+    void updateBookingStatus_WhenAlreadyCompleted_ShouldNotCountSessionTwice() {
+        booking.setStatus(Booking.Status.COMPLETED);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        bookingService.updateBookingStatus(1L, Booking.Status.COMPLETED);
+
+        verify(usageRollupService, never()).recordCompleted(any());
+        verify(bookingMetrics, never()).bookingStatusChanged(any(), any());
     }
 
     @Test
@@ -185,7 +240,19 @@ class BookingServiceTest {
 
         bookingService.updateBookingStatus(1L, Booking.Status.CANCELLED);
 
-        verify(chargerService).updateChargerAvailability(charger.getId(), Charger.Status.AVAILABLE);
+        verify(chargerService).updateChargerAvailability(charger.getId(), Charger.Status.AVAILABLE,
+                ChargerStatusSegment.Cause.BOOKING);
+        verify(eventPublisher).publishEvent(new SlotReleasedEvent(1L, 9L, startTime, endTime));
+    }
+
+    @Test
+    void deleteBooking_WhenFinished_ShouldNotReleaseSlot() {
+        booking.setStatus(Booking.Status.COMPLETED);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        bookingService.deleteBooking(1L);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -213,7 +280,9 @@ class BookingServiceTest {
 
         bookingService.deleteBooking(1L);
 
-        verify(chargerService).updateChargerAvailability(charger.getId(), Charger.Status.AVAILABLE);
+        verify(chargerService).updateChargerAvailability(charger.getId(), Charger.Status.AVAILABLE,
+                ChargerStatusSegment.Cause.BOOKING);
+        verify(eventPublisher).publishEvent(new SlotReleasedEvent(1L, 9L, startTime, endTime));
     }
 
     @Test
@@ -238,4 +307,65 @@ class BookingServiceTest {
         assertThrows(RuntimeException.class,
                 () -> bookingService.updateBookingStatus(1L, Booking.Status.CONFIRMED));
     }
+
+    @Test
+    void getBookingsByUser_ShouldIncludeArchivedBookings() {
+        ArchivedBooking archived = ArchivedBooking.builder()
+                .id(7L)
+                .startTime(startTime.minusDays(60))
+                .endTime(endTime.minusDays(60))
+                .userId(123L)
+                .chargerId(1L)
+                .status(Booking.Status.COMPLETED)
+                .archivedAt(LocalDateTime.now())
+                .build();
+        when(bookingRepository.findByUserId(123L)).thenReturn(List.of(booking));
+        when(archivedBookingRepository.findByUserId(123L)).thenReturn(List.of(archived));
+
+        List<Booking> result = bookingService.getBookingsByUser(123L);
+
+        assertEquals(List.of(1L, 7L), result.stream().map(Booking::getId).toList());
+        assertEquals(Booking.Status.COMPLETED, result.get(1).getStatus());
+    }
+
+    @Test
+    void getBookingById_WhenArchived_ShouldReturnArchivedBooking() {
+        when(bookingRepository.findById(7L)).thenReturn(Optional.empty());
+        when(archivedBookingRepository.findById(7L)).thenReturn(Optional.of(ArchivedBooking.builder()
+                .id(7L).startTime(startTime).endTime(endTime).userId(123L).chargerId(1L)
+                .status(Booking.Status.CANCELLED).archivedAt(LocalDateTime.now()).build()));
+
+        Booking result = bookingService.getBookingById(7L);
+
+        assertEquals(Booking.Status.CANCELLED, result.getStatus());
+        assertEquals(1L, result.getCharger().getId());
+    }
+
+    @Test
+    void updateBookingStatus_WhenOnlyArchived_ShouldThrowNotFound() {
+        when(bookingRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(InvalidBookingException.class,
+                () -> bookingService.updateBookingStatus(7L, Booking.Status.COMPLETED));
+        verify(archivedBookingRepository, never()).findById(any());
+    }
+
+    @Test
+    void getBookingHistory_WithOversizedPage_ShouldThrowException() {
+        assertThrows(InvalidBookingException.class,
+                () -> bookingService.getBookingHistory(123L, null, null, null, 0, 1000));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getBookingHistory_WithoutFilters_ShouldQueryAllStatusesAndOpenRange() {
+        when(bookingRepository.findHistory(eq(123L), anyList(), any(LocalDateTime.class), any(LocalDateTime.class),
+                any())).thenReturn(Page.empty());
+
+        bookingService.getBookingHistory(123L, null, null, null, 0, 20);
+
+        verify(bookingRepository).findHistory(eq(123L),
+                eq(List.of("PENDING", "CONFIRMED", "CANCELLED", "COMPLETED")),
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(PageRequest.of(0, 20)));
+    }
 }
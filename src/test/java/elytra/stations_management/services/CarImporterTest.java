@@ -0,0 +1,111 @@
+package elytra.stations_management.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import elytra.stations_management.dto.CarImportResult;
+import elytra.stations_management.models.Car;
+import elytra.stations_management.models.EVDriver;
+import elytra.stations_management.models.User;
+import elytra.stations_management.observability.SqlStatementCounter;
+import elytra.stations_management.repositories.CarRepository;
+import elytra.stations_management.repositories.EVDriverRepository;
+
+@SpringBootTest(properties = "app.cars.import.batch-size=3")
+@ActiveProfiles("test")
+class CarImporterTest {
+
+    @Autowired
+    private CarImporter carImporter;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private EVDriverRepository evDriverRepository;
+
+    private final String suffix = UUID.randomUUID().toString().substring(0, 8);
+    private EVDriver driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = evDriverRepository.save(EVDriver.builder().user(User.builder()
+                .username("fleet-" + suffix).password("password").email("fleet-" + suffix + "@example.com")
+                .firstName("Fleet").lastName("Owner").userType(User.UserType.EV_DRIVER).build()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAll(carRepository.findByEvDriverId(driver.getId()));
+        evDriverRepository.delete(driver);
+    }
+
+    @Test
+    void importCars_insertsValidRowsAndReportsEveryRowInOrder() {
+        carRepository.save(car("TAKEN-" + suffix));
+        List<Car> cars = Arrays.asList(
+                car("F1-" + suffix),
+                car("F2-" + suffix),
+                car("F1-" + suffix),
+                car("TAKEN-" + suffix),
+                Car.builder().licensePlate("F5-" + suffix).build(),
+                car("F6-" + suffix),
+                car("F7-" + suffix));
+        List<List<CarImportResult>> chunks = new ArrayList<>();
+
+        int created = carImporter.importCars(driver.getId(), cars, chunks::add);
+
+        assertEquals(4, created);
+        assertEquals(3, chunks.size());
+        List<CarImportResult> results = chunks.stream().flatMap(List::stream).toList();
+        assertEquals(cars.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getRow());
+        }
+        assertNotNull(results.get(0).getCarId());
+        assertNotNull(results.get(1).getCarId());
+        assertEquals(CarImporter.DUPLICATE_IN_REQUEST, results.get(2).getError());
+        assertEquals(CarImporter.ALREADY_REGISTERED, results.get(3).getError());
+        assertEquals(CarImporter.INCOMPLETE, results.get(4).getError());
+        assertNull(results.get(6).getError());
+
+        List<Car> stored = carRepository.findByEvDriverId(driver.getId());
+        assertEquals(5, stored.size());
+        Car first = carRepository.findById(results.get(0).getCarId()).orElseThrow();
+        assertEquals("F1-" + suffix, first.getLicensePlate());
+        assertEquals(driver.getId(), first.getEvDriver().getId());
+    }
+
+    @Test
+    void importCars_looksPlatesUpWithOneQueryPerChunk() {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cars.add(car("B" + i + "-" + suffix));
+        }
+
+        SqlStatementCounter.reset();
+        carImporter.importCars(driver.getId(), cars, results -> { });
+
+        // The batch insert goes through JDBC, so Hibernate only sees the IN lookup
+        assertEquals(1, SqlStatementCounter.current());
+        assertEquals(3, carRepository.findByEvDriverId(driver.getId()).size());
+    }
+
+    private Car car(String plate) {
+        return Car.builder().model("Fleet Van").licensePlate(plate).batteryCapacity(75.0).chargerType("CCS")
+                .evDriver(driver).build();
+    }
+}
@@ -1,16 +1,20 @@
 package elytra.stations_management.services;
 
+import elytra.stations_management.exception.LicensePlateAlreadyRegisteredException;
 import elytra.stations_management.models.Car;
 import elytra.stations_management.models.EVDriver;
 import elytra.stations_management.repositories.CarRepository;
 import elytra.stations_management.repositories.EVDriverRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -62,15 +66,13 @@ class CarServiceTest {
                 .build();
 
         when(evDriverRepository.findById(1L)).thenReturn(Optional.of(testDriver));
-        when(carRepository.existsByLicensePlate("XYZ-5678")).thenReturn(false);
-        when(carRepository.save(any(Car.class))).thenReturn(testCar);
+        when(carRepository.saveAndFlush(any(Car.class))).thenReturn(testCar);
 
         Car savedCar = carService.registerCar(newCar, 1L);
 
         assertThat(savedCar).isEqualTo(testCar);
         verify(evDriverRepository).findById(1L);
-        verify(carRepository).existsByLicensePlate("XYZ-5678");
-        verify(carRepository).save(any(Car.class));
+        verify(carRepository).saveAndFlush(any(Car.class));
     }
 
     @Test
@@ -89,7 +91,7 @@ class CarServiceTest {
                 .hasMessage("Driver not found");
 
         verify(evDriverRepository).findById(999L);
-        verify(carRepository, never()).save(any());
+        verify(carRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -102,14 +104,11 @@ class CarServiceTest {
                 .build();
 
         when(evDriverRepository.findById(1L)).thenReturn(Optional.of(testDriver));
-        when(carRepository.existsByLicensePlate("EXISTING-123")).thenReturn(true);
+        when(carRepository.saveAndFlush(any(Car.class))).thenThrow(licensePlateViolation());
 
         assertThatThrownBy(() -> carService.registerCar(newCar, 1L))
-                .isInstanceOf(RuntimeException.class)
+                .isInstanceOf(LicensePlateAlreadyRegisteredException.class)
                 .hasMessage("License plate already registered");
-
-        verify(carRepository).existsByLicensePlate("EXISTING-123");
-        verify(carRepository, never()).save(any());
     }
 
     @Test
@@ -174,14 +173,13 @@ class CarServiceTest {
                 .build();
 
         when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
-        when(carRepository.save(any(Car.class))).thenReturn(testCar);
+        when(carRepository.saveAndFlush(any(Car.class))).thenReturn(testCar);
 
         Car updatedCar = carService.updateCar(1L, updatedCarData);
 
         assertThat(updatedCar).isEqualTo(testCar);
         verify(carRepository).findById(1L);
-        verify(carRepository, never()).existsByLicensePlate(anyString());
-        verify(carRepository).save(testCar);
+        verify(carRepository).saveAndFlush(testCar);
     }
 
     @Test
@@ -200,7 +198,7 @@ class CarServiceTest {
                 .hasMessage("Car not found");
 
         verify(carRepository).findById(999L);
-        verify(carRepository, never()).save(any());
+        verify(carRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -213,15 +211,13 @@ class CarServiceTest {
                 .build();
 
         when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
-        when(carRepository.existsByLicensePlate("NEW-LICENSE")).thenReturn(true);
+        when(carRepository.saveAndFlush(any(Car.class))).thenThrow(licensePlateViolation());
 
         assertThatThrownBy(() -> carService.updateCar(1L, updatedCarData))
-                .isInstanceOf(RuntimeException.class)
+                .isInstanceOf(LicensePlateAlreadyRegisteredException.class)
                 .hasMessage("License plate already registered");
 
         verify(carRepository).findById(1L);
-        verify(carRepository).existsByLicensePlate("NEW-LICENSE");
-        verify(carRepository, never()).save(any());
     }
 
     @Test
@@ -245,4 +241,9 @@ class CarServiceTest {
         verify(carRepository).findById(999L);
         verify(carRepository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException licensePlateViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "cars.uk_cars_license_plate"));
+    }
+}
@@ -5,22 +5,35 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.never;
 
+import elytra.stations_management.dto.ChargerStatusUpdateResult;
 import elytra.stations_management.exception.InvalidStatusTransitionException;
 import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.observability.BookingMetrics;
 import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.ChargerStatusView;
+import elytra.stations_management.repositories.StationRepository;
 
 @ExtendWith(MockitoExtension.class)
 class ChargerServiceTest {
@@ -28,6 +41,18 @@ class ChargerServiceTest {
     @Mock
     private ChargerRepository chargerRepository;
 
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private StationJsonCache stationJsonCache;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ChargerService chargerService;
 
@@ -179,4 +204,130 @@ class ChargerServiceTest {
         verify(chargerRepository, times(1)).findById(nonExistentChargerId);
         verify(chargerRepository, never()).save(any(Charger.class)); // Ensure save is not called
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateChargerAvailabilityIf_OnlyChangesFromExpectedStatus() {
+        when(chargerRepository.findById(1L)).thenReturn(Optional.of(charger));
+
+        assertTrue(chargerService.updateChargerAvailabilityIf(1L, Charger.Status.AVAILABLE, Charger.Status.BEING_USED,
+                ChargerStatusSegment.Cause.TELEMETRY));
+        assertEquals(Charger.Status.BEING_USED, charger.getStatus());
+
+        charger.setStatus(Charger.Status.OUT_OF_SERVICE);
+        assertFalse(chargerService.updateChargerAvailabilityIf(1L, Charger.Status.AVAILABLE,
+                Charger.Status.BEING_USED, ChargerStatusSegment.Cause.TELEMETRY));
+        assertEquals(Charger.Status.OUT_OF_SERVICE, charger.getStatus());
+        verify(chargerRepository, times(1)).save(charger);
+    }
+
+    @Test
+    void updateChargerAvailability_PublishesStatusChange() {
+        charger.setStation(Station.builder().id(7L).build());
+        when(chargerRepository.findById(1L)).thenReturn(Optional.of(charger));
+        when(chargerRepository.save(any(Charger.class))).thenReturn(charger);
+
+        chargerService.updateChargerAvailability(1L, Charger.Status.BEING_USED, ChargerStatusSegment.Cause.BOOKING);
+
+        ArgumentCaptor<ChargerStatusChangedEvent> event = ArgumentCaptor.forClass(ChargerStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().chargerId());
+        assertEquals(7L, event.getValue().stationId());
+        assertEquals(Charger.Status.AVAILABLE, event.getValue().from());
+        assertEquals(Charger.Status.BEING_USED, event.getValue().to());
+        assertEquals(ChargerStatusSegment.Cause.BOOKING, event.getValue().cause());
+    }
+
+    @Test
+    void updateCharger_WithSameStatus_DoesNotPublishStatusChange() {
+        when(chargerRepository.findById(1L)).thenReturn(Optional.of(charger));
+        when(chargerRepository.save(any(Charger.class))).thenReturn(charger);
+
+        chargerService.updateCharger(1L, Charger.builder().type("CCS").power(50.0)
+                .status(Charger.Status.AVAILABLE).build());
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void updateChargerStatuses_UpdatesChangingChargersPerCurrentStatusAndPublishesOneEvent() {
+        when(stationRepository.countByIdIn(anyCollection())).thenReturn(2L);
+        when(chargerRepository.findStatusesByStationIds(anyCollection())).thenReturn(List.of(
+                view(1L, 7L, Charger.Status.AVAILABLE),
+                view(2L, 7L, Charger.Status.OUT_OF_SERVICE),
+                view(3L, 8L, Charger.Status.BEING_USED)));
+        when(chargerRepository.updateStatuses(anyCollection(), any(), eq(Charger.Status.OUT_OF_SERVICE)))
+                .thenReturn(1);
+
+        ChargerStatusUpdateResult result = chargerService.updateChargerStatuses(List.of(7L, 8L), null,
+                Charger.Status.OUT_OF_SERVICE);
+
+        assertEquals(List.of(1L, 3L), result.getUpdated());
+        assertEquals(List.of(2L), result.getUnchanged());
+        verify(chargerRepository).updateStatuses(List.of(1L), Charger.Status.AVAILABLE, Charger.Status.OUT_OF_SERVICE);
+        verify(chargerRepository).updateStatuses(List.of(3L), Charger.Status.BEING_USED, Charger.Status.OUT_OF_SERVICE);
+        ArgumentCaptor<ChargerStatusBulkChangedEvent> event = ArgumentCaptor.forClass(ChargerStatusBulkChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(2, event.getValue().changes().size());
+        assertEquals(8L, event.getValue().changes().get(1).stationId());
+        assertEquals(Charger.Status.BEING_USED, event.getValue().changes().get(1).from());
+        verify(chargerRepository, never()).save(any(Charger.class));
+        verify(stationJsonCache).invalidate();
+    }
+
+    @Test
+    void updateChargerStatuses_WithInvalidTransition_WritesNothing() {
+        when(stationRepository.countByIdIn(anyCollection())).thenReturn(1L);
+        when(chargerRepository.findStatusesByStationIds(anyCollection())).thenReturn(List.of(
+                view(1L, 7L, Charger.Status.AVAILABLE),
+                view(2L, 7L, Charger.Status.OUT_OF_SERVICE)));
+
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> chargerService.updateChargerStatuses(List.of(7L), null, Charger.Status.BEING_USED));
+
+        verify(chargerRepository, never()).updateStatuses(anyCollection(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void updateChargerStatuses_WithChargerOfAnotherStation_ShouldThrowException() {
+        when(stationRepository.countByIdIn(anyCollection())).thenReturn(1L);
+        when(chargerRepository.findStatusesByStationIds(anyCollection()))
+                .thenReturn(List.of(view(1L, 7L, Charger.Status.AVAILABLE)));
+
+        assertThrows(RuntimeException.class,
+                () -> chargerService.updateChargerStatuses(List.of(7L), List.of(1L, 99L), Charger.Status.OUT_OF_SERVICE));
+        verify(chargerRepository, never()).updateStatuses(anyCollection(), any(), any());
+    }
+
+    @Test
+    void updateChargerStatuses_WhenAChargerChangedConcurrently_ShouldThrowException() {
+        when(stationRepository.countByIdIn(anyCollection())).thenReturn(1L);
+        when(chargerRepository.findStatusesByStationIds(anyCollection())).thenReturn(List.of(
+                view(1L, 7L, Charger.Status.AVAILABLE),
+                view(2L, 7L, Charger.Status.AVAILABLE)));
+        when(chargerRepository.updateStatuses(anyCollection(), any(), any())).thenReturn(1);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> chargerService.updateChargerStatuses(List.of(7L), null, Charger.Status.OUT_OF_SERVICE));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private static ChargerStatusView view(Long id, Long stationId, Charger.Status status) {
+        return new ChargerStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getStationId() {
+                return stationId;
+            }
+
+            @Override
+            public Charger.Status getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package elytra.stations_management.services;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.services.ChargerStatusCodec.Change;
+
+class ChargerStatusCodecTest {
+
+    @Test
+    void encode_roundTripsChangesRelativeToTheFirst() {
+        long start = 1_700_000_000_000L;
+        List<Change> changes = List.of(
+                new Change(start, Charger.Status.AVAILABLE, Charger.Status.BEING_USED, ChargerStatusSegment.Cause.BOOKING),
+                new Change(start + 90, Charger.Status.BEING_USED, Charger.Status.AVAILABLE,
+                        ChargerStatusSegment.Cause.TELEMETRY),
+                new Change(start + 90, Charger.Status.AVAILABLE, Charger.Status.OUT_OF_SERVICE,
+                        ChargerStatusSegment.Cause.MANUAL),
+                new Change(start + 40L * 24 * 3600 * 1000, Charger.Status.OUT_OF_SERVICE,
+                        Charger.Status.UNDER_MAINTENANCE, ChargerStatusSegment.Cause.MAINTENANCE));
+
+        byte[] encoded = ChargerStatusCodec.encode(changes);
+
+        assertEquals(changes, ChargerStatusCodec.decode(start, encoded));
+    }
+
+    @Test
+    void encode_usesAtMostFourBytesForChangesUnderSixteenSecondsApart() {
+        List<Change> changes = List.of(
+                new Change(0, Charger.Status.AVAILABLE, Charger.Status.BEING_USED, ChargerStatusSegment.Cause.BOOKING),
+                new Change(127, Charger.Status.BEING_USED, Charger.Status.AVAILABLE, ChargerStatusSegment.Cause.BOOKING),
+                new Change(16_000, Charger.Status.AVAILABLE, Charger.Status.BEING_USED,
+                        ChargerStatusSegment.Cause.BOOKING));
+
+        assertEquals(3 + 3 + 4, ChargerStatusCodec.encode(changes).length);
+    }
+
+    @Test
+    void encode_rejectsChangesOutOfOrder() {
+        List<Change> changes = List.of(
+                new Change(10, Charger.Status.AVAILABLE, Charger.Status.BEING_USED, ChargerStatusSegment.Cause.BOOKING),
+                new Change(5, Charger.Status.BEING_USED, Charger.Status.AVAILABLE, ChargerStatusSegment.Cause.BOOKING));
+
+        assertThrows(IllegalArgumentException.class, () -> ChargerStatusCodec.encode(changes));
+    }
+}
@@ -0,0 +1,105 @@
+package elytra.stations_management.services;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.repositories.ChargerStatusSegmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ChargerStatusLogTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Mock
+    private ChargerStatusSegmentRepository segmentRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChargerStatusLog statusLog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        statusLog = new ChargerStatusLog(segmentRepository, meterRegistry, 4, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_writesOneSegmentPerChargerAndBatchInTimeOrder() {
+        statusLog.onStatusChanged(event(1L, 5, Charger.Status.BEING_USED, Charger.Status.AVAILABLE));
+        statusLog.onStatusChanged(event(2L, 1, Charger.Status.AVAILABLE, Charger.Status.OUT_OF_SERVICE));
+        statusLog.onStatusChanged(event(1L, 0, Charger.Status.AVAILABLE, Charger.Status.BEING_USED));
+
+        statusLog.flush();
+
+        ArgumentCaptor<List<ChargerStatusSegment>> saved = ArgumentCaptor.forClass(List.class);
+        verify(segmentRepository).saveAll(saved.capture());
+        List<ChargerStatusSegment> segments = saved.getValue();
+        assertEquals(2, segments.size());
+        ChargerStatusSegment first = segments.get(0);
+        assertEquals(1L, first.getChargerId());
+        assertEquals(9L, first.getStationId());
+        assertEquals(T0, first.getStartedAt());
+        assertEquals(T0.plusSeconds(5), first.getEndedAt());
+        assertEquals(2, first.getChangeCount());
+        List<ChargerStatusCodec.Change> changes = ChargerStatusCodec.decode(T0.toEpochMilli(), first.getChanges());
+        assertEquals(Charger.Status.BEING_USED, changes.get(0).to());
+        assertEquals(T0.plusSeconds(5).toEpochMilli(), changes.get(1).atMillis());
+        assertEquals(3, meterRegistry.counter("charger.status.changes.logged").count());
+    }
+
+    @Test
+    void flush_drainsTheQueueInBatches() {
+        for (int i = 0; i < 4; i++) {
+            statusLog.onStatusChanged(event(1L, i, Charger.Status.AVAILABLE, Charger.Status.BEING_USED));
+        }
+
+        statusLog.flush();
+
+        verify(segmentRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onStatusesChanged_queuesEveryChangeOfABulkUpdate() {
+        statusLog.onStatusesChanged(new ChargerStatusBulkChangedEvent(List.of(
+                event(1L, 0, Charger.Status.AVAILABLE, Charger.Status.OUT_OF_SERVICE),
+                event(2L, 0, Charger.Status.BEING_USED, Charger.Status.OUT_OF_SERVICE))));
+
+        statusLog.flush();
+
+        ArgumentCaptor<List<ChargerStatusSegment>> saved = ArgumentCaptor.forClass(List.class);
+        verify(segmentRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals(2, meterRegistry.counter("charger.status.changes.logged").count());
+    }
+
+    @Test
+    void onStatusChanged_countsChangesDroppedWhenQueueIsFull() {
+        for (int i = 0; i < 6; i++) {
+            statusLog.onStatusChanged(event(1L, i, Charger.Status.AVAILABLE, Charger.Status.BEING_USED));
+        }
+
+        assertEquals(2, meterRegistry.counter("charger.status.changes.dropped").count());
+    }
+
+    private static ChargerStatusChangedEvent event(Long chargerId, int second, Charger.Status from,
+            Charger.Status to) {
+        return new ChargerStatusChangedEvent(chargerId, 9L, from, to, T0.plusSeconds(second),
+                ChargerStatusSegment.Cause.MANUAL);
+    }
+}
@@ -0,0 +1,74 @@
+package elytra.stations_management.services;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import elytra.stations_management.models.Charger;
+
+class ChargerTelemetryBufferTest {
+
+    @Test
+    void drain_downsamplesUnflushedSamplesIntoBuckets() {
+        ChargerTelemetryBuffer buffer = new ChargerTelemetryBuffer(16, 0.5, 60_000);
+        buffer.append(0, 10, 1.0);
+        buffer.append(30_000, 20, 1.5);
+        buffer.append(60_000, 40, 2.0);
+
+        List<ChargerTelemetryBuffer.Bucket> buckets = buffer.drain(60_000);
+
+        assertEquals(2, buckets.size());
+        assertEquals(new ChargerTelemetryBuffer.Bucket(0, 15, 20, 1.5, 2), buckets.get(0));
+        assertEquals(new ChargerTelemetryBuffer.Bucket(60_000, 40, 40, 2.0, 1), buckets.get(1));
+        assertTrue(buffer.drain(60_000).isEmpty());
+    }
+
+    @Test
+    void ring_keepsNewestSamplesAndCountsOverwrittenOnes() {
+        ChargerTelemetryBuffer buffer = new ChargerTelemetryBuffer(4, 0.5, 60_000);
+        for (int i = 0; i < 6; i++) {
+            buffer.append(i * 1000L, i, i);
+        }
+
+        List<ChargerTelemetryBuffer.Bucket> buckets = buffer.drain(60_000);
+
+        assertEquals(1, buckets.size());
+        assertEquals(4, buckets.get(0).samples());
+        assertEquals(3.5, buckets.get(0).avgPowerKw());
+        assertEquals(2, buffer.takeOverwritten());
+        assertEquals(5_000, buffer.live(60_000).timestamp());
+    }
+
+    @Test
+    void append_reportsTransitionsOnPowerEdgesAfterIdlePeriod() {
+        ChargerTelemetryBuffer buffer = new ChargerTelemetryBuffer(16, 0.5, 60_000);
+
+        assertNull(buffer.append(0, 0, 0));
+        assertEquals(Charger.Status.BEING_USED, buffer.append(1_000, 22, 0.1));
+        assertNull(buffer.append(2_000, 22, 0.2));
+        assertNull(buffer.append(30_000, 0, 0.2));
+        assertTrue(buffer.live(60_000).charging());
+        assertEquals(Charger.Status.AVAILABLE, buffer.append(62_000, 0, 0.2));
+        assertFalse(buffer.live(60_000).charging());
+    }
+
+    @Test
+    void live_averagesOverWindow() {
+        ChargerTelemetryBuffer buffer = new ChargerTelemetryBuffer(16, 0.5, 60_000);
+        assertNull(buffer.live(60_000));
+        buffer.append(0, 100, 1);
+        buffer.append(70_000, 10, 2);
+        buffer.append(80_000, 30, 3);
+
+        ChargerTelemetryBuffer.Live live = buffer.live(60_000);
+
+        assertEquals(30, live.powerKw());
+        assertEquals(20, live.averagePowerKw());
+        assertEquals(3, live.energyKwh());
+    }
+}
@@ -0,0 +1,149 @@
+package elytra.stations_management.services;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import elytra.stations_management.dto.ChargerUptime;
+import elytra.stations_management.dto.StationUptime;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.ChargerStatusSegmentRepository;
+import elytra.stations_management.repositories.StationRepository;
+import elytra.stations_management.services.ChargerStatusCodec.Change;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChargerUptimeServiceTest {
+
+    private static final Instant T0 = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+    private static final Instant T1 = T0.plusSeconds(100);
+
+    @Autowired
+    private ChargerUptimeService chargerUptimeService;
+
+    @Autowired
+    private ChargerStatusSegmentRepository segmentRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private ChargerRepository chargerRepository;
+
+    private Station station;
+    private Charger changing;
+    private Charger quiet;
+    private Charger newlyLogged;
+
+    @BeforeEach
+    void setUp() {
+        station = stationRepository.save(Station.builder().name("Uptime Station").address("1 Uptime Rd").build());
+        changing = saveCharger();
+        quiet = saveCharger();
+        newlyLogged = saveCharger();
+
+        // Out of service from before the period, back 10 s into it, in use from 40 s to 70 s
+        segment(changing, change(-50, Charger.Status.AVAILABLE, Charger.Status.OUT_OF_SERVICE),
+                change(10, Charger.Status.OUT_OF_SERVICE, Charger.Status.AVAILABLE));
+        segment(changing, change(40, Charger.Status.AVAILABLE, Charger.Status.BEING_USED),
+                change(70, Charger.Status.BEING_USED, Charger.Status.AVAILABLE),
+                change(150, Charger.Status.AVAILABLE, Charger.Status.OUT_OF_SERVICE));
+        // No history before the period: its first change tells what it was
+        segment(newlyLogged, change(20, Charger.Status.UNDER_MAINTENANCE, Charger.Status.AVAILABLE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        segmentRepository.deleteAll();
+        chargerRepository.deleteAll(chargerRepository.findByStationIdOrderById(station.getId()));
+        stationRepository.delete(station);
+    }
+
+    @Test
+    void getChargerUptime_replaysChangesAcrossThePeriod() {
+        ChargerUptime uptime = chargerUptimeService.getChargerUptime(changing.getId(), T0, T1);
+
+        assertEquals(10_000L, uptime.getMillisByStatus().get(Charger.Status.OUT_OF_SERVICE));
+        assertEquals(60_000L, uptime.getMillisByStatus().get(Charger.Status.AVAILABLE));
+        assertEquals(30_000L, uptime.getMillisByStatus().get(Charger.Status.BEING_USED));
+        assertEquals(0.9, uptime.getUptime(), 1e-9);
+        assertEquals(0.6, uptime.getAvailability(), 1e-9);
+    }
+
+    @Test
+    void getStationUptime_sumsEveryChargerOfTheStation() {
+        StationUptime uptime = chargerUptimeService.getStationUptime(station.getId(), T0, T1);
+
+        assertEquals(3, uptime.getChargers().size());
+        assertEquals(100_000L, uptime.getChargers().get(1).getMillisByStatus().get(Charger.Status.AVAILABLE));
+        assertEquals(20_000L, uptime.getChargers().get(2).getMillisByStatus().get(Charger.Status.UNDER_MAINTENANCE));
+        assertEquals(60_000L + 100_000L + 80_000L, uptime.getMillisByStatus().get(Charger.Status.AVAILABLE));
+        assertEquals(270_000.0 / 300_000, uptime.getUptime(), 1e-9);
+    }
+
+    @Test
+    void getChargerUptime_mergesSegmentsThatOverlapInTime() {
+        Charger lateLogged = saveCharger();
+        // In use from 10 s to 30 s, out of service from 60 s; the change at 30 s committed last
+        segment(lateLogged, change(10, Charger.Status.AVAILABLE, Charger.Status.BEING_USED),
+                change(60, Charger.Status.AVAILABLE, Charger.Status.OUT_OF_SERVICE));
+        segment(lateLogged, change(30, Charger.Status.BEING_USED, Charger.Status.AVAILABLE));
+
+        ChargerUptime whole = chargerUptimeService.getChargerUptime(lateLogged.getId(), T0, T1);
+        ChargerUptime tail = chargerUptimeService.getChargerUptime(lateLogged.getId(), T0.plusSeconds(40), T1);
+
+        assertEquals(40_000L, whole.getMillisByStatus().get(Charger.Status.AVAILABLE));
+        assertEquals(20_000L, whole.getMillisByStatus().get(Charger.Status.BEING_USED));
+        assertEquals(40_000L, whole.getMillisByStatus().get(Charger.Status.OUT_OF_SERVICE));
+        assertEquals(20_000L, tail.getMillisByStatus().get(Charger.Status.AVAILABLE));
+        assertEquals(40_000L, tail.getMillisByStatus().get(Charger.Status.OUT_OF_SERVICE));
+    }
+
+    @Test
+    void getChargerUptime_capsThePeriodAtNow() {
+        ChargerUptime uptime = chargerUptimeService.getChargerUptime(quiet.getId(), Instant.now().plusSeconds(60),
+                Instant.now().plusSeconds(120));
+
+        assertEquals(0.0, uptime.getUptime());
+        assertEquals(0L, uptime.getMillisByStatus().get(Charger.Status.AVAILABLE));
+    }
+
+    @Test
+    void getChargerUptime_rejectsEmptyPeriod() {
+        assertThrows(IllegalArgumentException.class,
+                () -> chargerUptimeService.getChargerUptime(changing.getId(), T1, T0));
+    }
+
+    private Charger saveCharger() {
+        return chargerRepository.save(Charger.builder()
+                .type("CCS").power(50.0).status(Charger.Status.AVAILABLE).station(station).build());
+    }
+
+    private static Change change(int second, Charger.Status from, Charger.Status to) {
+        return new Change(T0.plusSeconds(second).toEpochMilli(), from, to, ChargerStatusSegment.Cause.MANUAL);
+    }
+
+    private void segment(Charger charger, Change... changes) {
+        segmentRepository.save(ChargerStatusSegment.builder()
+                .chargerId(charger.getId())
+                .stationId(station.getId())
+                .startedAt(Instant.ofEpochMilli(changes[0].atMillis()))
+                .endedAt(Instant.ofEpochMilli(changes[changes.length - 1].atMillis()))
+                .changeCount(changes.length)
+                .changes(ChargerStatusCodec.encode(List.of(changes)))
+                .build());
+    }
+}
@@ -0,0 +1,121 @@
+package elytra.stations_management.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import elytra.stations_management.config.IdempotencyProperties;
+import elytra.stations_management.models.IdempotencyRecord;
+import elytra.stations_management.repositories.IdempotencyRecordRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyService idempotencyService;
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(repository, new ObjectMapper(), new IdempotencyProperties());
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldAlwaysRun() {
+        idempotencyService.execute("s", null, "req", this::created);
+        idempotencyService.execute("s", " ", "req", this::created);
+
+        assertEquals(2, runs.get());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void execute_SecondCall_ShouldReplayFromLocalCache() {
+        when(repository.findById("s:k")).thenReturn(Optional.empty());
+        when(repository.claim(eq("s:k"), anyString(), any())).thenReturn(1);
+
+        idempotencyService.execute("s", "k", "req", this::created);
+        ResponseEntity<?> replay = idempotencyService.execute("s", "k", "req", this::created);
+
+        assertEquals(1, runs.get());
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("{\"id\":1}", replay.getBody());
+        verify(repository).complete("s:k", 201, "{\"id\":1}");
+    }
+
+    @Test
+    void execute_WhenClaimedByAnotherNode_ShouldReportInProgress() {
+        IdempotencyRecord running = IdempotencyRecord.builder()
+                .id("s:k").requestHash(sha256("\"req\"")).expiresAt(Instant.now().plusSeconds(60)).build();
+        when(repository.findById("s:k")).thenReturn(Optional.empty(), Optional.of(running));
+        when(repository.claim(eq("s:k"), anyString(), any())).thenThrow(new DataIntegrityViolationException("dup"));
+
+        ResponseEntity<?> response = idempotencyService.execute("s", "k", "req", this::created);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void execute_WithDifferentRequest_ShouldReject() {
+        when(repository.findById("s:k")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .id("s:k").requestHash("other").status(201).body("{}")
+                .expiresAt(Instant.now().plusSeconds(60)).build()));
+
+        ResponseEntity<?> response = idempotencyService.execute("s", "k", "req", this::created);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void execute_OnServerError_ShouldReleaseClaim() {
+        when(repository.findById("s:k")).thenReturn(Optional.empty());
+        when(repository.claim(eq("s:k"), anyString(), any())).thenReturn(1);
+
+        idempotencyService.execute("s", "k", "req", () -> ResponseEntity.internalServerError().build());
+
+        verify(repository).release("s:k");
+        verify(repository, never()).complete(anyString(), anyInt(), any());
+    }
+
+    private ResponseEntity<?> created() {
+        runs.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", 1));
+    }
+
+    private static String sha256(String json) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,31 +1,44 @@
 package elytra.stations_management.services;
 
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.LeaderElection;
+import elytra.stations_management.config.JwtProperties;
+import elytra.stations_management.repositories.SigningKeyRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
 
 @ExtendWith(MockitoExtension.class)
 class JwtServiceTest {
 
     private JwtService jwtService;
+    private JwtProperties properties;
     private UserDetails userDetails;
     private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-        // Set the SECRET field using reflection since @Value won't work without Spring context
-        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        jwtService = new JwtService(properties, new SigningKeyService(mock(SigningKeyRepository.class),
+                mock(ClusterEventBus.class), mock(LeaderElection.class), properties));
         userDetails = User.builder()
                 .username("testuser")
                 .password("password")
@@ -105,4 +118,81 @@ class JwtServiceTest {
         assertThat(jwtService.extractUsername(token1))
                 .isEqualTo(jwtService.extractUsername(token2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateToken_ForUser_ShouldEmbedRoleAndUserId() {
+        elytra.stations_management.models.User user = elytra.stations_management.models.User.builder()
+                .id(7L)
+                .username("driver7")
+                .userType(elytra.stations_management.models.User.UserType.EV_DRIVER)
+                .build();
+
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        assertThat(claims.getSubject()).isEqualTo("driver7");
+        assertThat(claims.get(JwtService.CLAIM_ROLE)).isEqualTo("ROLE_EV_DRIVER");
+        assertThat(((Number) claims.get(JwtService.CLAIM_USER_ID)).longValue()).isEqualTo(7L);
+        assertThat(claims.get(JwtService.CLAIM_TYPE)).isEqualTo(JwtService.TYPE_ACCESS);
+        assertThat(claims.getId()).isNotBlank();
+        assertThat(claims.getExpiration()).isBefore(new Date(System.currentTimeMillis() + 16 * 60 * 1000));
+    }
+
+    @Test
+    void generateRefreshToken_ShouldCarryFamilyAndNoRole() {
+        elytra.stations_management.models.User user = elytra.stations_management.models.User.builder()
+                .id(7L)
+                .username("driver7")
+                .userType(elytra.stations_management.models.User.UserType.EV_DRIVER)
+                .build();
+
+        Claims claims = jwtService.extractAllClaims(jwtService.generateRefreshToken(user, "family-1", "jti-1"));
+
+        assertThat(claims.get(JwtService.CLAIM_TYPE)).isEqualTo(JwtService.TYPE_REFRESH);
+        assertThat(claims.get(JwtService.CLAIM_FAMILY)).isEqualTo("family-1");
+        assertThat(claims.getId()).isEqualTo("jti-1");
+        assertThat(claims.get(JwtService.CLAIM_ROLE)).isNull();
+    }
+
+    @Test
+    void generateToken_ShouldBeSignedWithKeyPairAndNameItsKid() {
+        String token = jwtService.generateToken("testuser");
+
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]));
+        assertThat(header).contains("\"alg\":\"RS256\"").contains("\"kid\":");
+    }
+
+    @Test
+    void es256Keys_ShouldSignAndVerify() {
+        properties.getKeys().setAlgorithm(SignatureAlgorithm.ES256);
+        JwtService es256 = new JwtService(properties, new SigningKeyService(mock(SigningKeyRepository.class),
+                mock(ClusterEventBus.class), mock(LeaderElection.class), properties));
+
+        assertThat(es256.extractUsername(es256.generateToken("testuser"))).isEqualTo("testuser");
+    }
+
+    @Test
+    void legacyHs256Token_ShouldVerifyOnlyWhileSecretIsConfigured() {
+        String legacy = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtService.extractUsername(legacy)).isEqualTo("testuser");
+
+        JwtProperties withoutSecret = new JwtProperties();
+        JwtService keyPairsOnly = new JwtService(withoutSecret, new SigningKeyService(
+                mock(SigningKeyRepository.class), mock(ClusterEventBus.class), mock(LeaderElection.class),
+                withoutSecret));
+        assertThatThrownBy(() -> keyPairsOnly.extractUsername(legacy)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void tokenFromAnotherKeySet_ShouldBeRejected() {
+        JwtService other = new JwtService(properties, new SigningKeyService(mock(SigningKeyRepository.class),
+                mock(ClusterEventBus.class), mock(LeaderElection.class), properties));
+
+        assertThatThrownBy(() -> jwtService.extractUsername(other.generateToken("testuser")))
+                .isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,238 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import elytra.stations_management.dto.MaintenanceWindowReport;
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.MaintenanceWindow;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.BookingRepository;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.MaintenanceWindowRepository;
+import elytra.stations_management.repositories.StationRepository;
+import elytra.stations_management.repositories.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MaintenanceServiceTest {
+
+    private static final LocalDateTime TOMORROW = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @SpyBean
+    private MaintenanceWindowRepository maintenanceWindowRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private ChargerRepository chargerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Station station;
+    private Charger first;
+    private Charger second;
+    private Long driverId;
+
+    @BeforeEach
+    void setUp() {
+        station = stationRepository.save(Station.builder().name("Maintenance Station").address("1 Fix Rd").build());
+        first = saveCharger();
+        second = saveCharger();
+        driverId = userRepository.findByUsername("maintenance-user")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .username("maintenance-user").password("password").email("maintenance-user@example.com")
+                        .firstName("Maintenance").lastName("User").userType(User.UserType.EV_DRIVER).build()))
+                .getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        maintenanceWindowRepository.deleteAll();
+        bookingRepository.deleteAll();
+        chargerRepository.deleteAllById(List.of(first.getId(), second.getId()));
+        stationRepository.delete(station);
+    }
+
+    @Test
+    void scheduleWindow_reportsOverlappingActiveBookingsOfTheCoveredChargers() {
+        Long hit = saveBooking(first, TOMORROW.plusHours(1), Booking.Status.CONFIRMED);
+        saveBooking(first, TOMORROW.plusHours(1), Booking.Status.CANCELLED);
+        saveBooking(first, TOMORROW.plusHours(5), Booking.Status.PENDING);
+        Long otherCharger = saveBooking(second, TOMORROW, Booking.Status.PENDING);
+
+        MaintenanceWindowReport chargerReport = maintenanceService.scheduleWindow(station.getId(),
+                window(first.getId(), TOMORROW, TOMORROW.plusHours(3)));
+        MaintenanceWindowReport stationReport = maintenanceService.scheduleWindow(station.getId(),
+                window(null, TOMORROW, TOMORROW.plusHours(3)));
+
+        assertNotNull(chargerReport.getWindow().getId());
+        assertEquals(MaintenanceWindow.Status.SCHEDULED, chargerReport.getWindow().getStatus());
+        assertEquals(List.of(hit), chargerReport.getConflicts().stream().map(c -> c.getBookingId()).toList());
+        assertEquals(List.of(otherCharger, hit),
+                stationReport.getConflicts().stream().map(c -> c.getBookingId()).toList());
+        assertEquals(2, maintenanceService.getOpenWindows(station.getId()).size());
+    }
+
+    @Test
+    void scheduleWindow_rejectsChargerOfAnotherStationAndEmptyPeriods() {
+        Station other = stationRepository.save(Station.builder().name("Other Station").address("2 Fix Rd").build());
+        try {
+            assertThrows(IllegalArgumentException.class, () -> maintenanceService.scheduleWindow(other.getId(),
+                    window(first.getId(), TOMORROW, TOMORROW.plusHours(1))));
+            assertThrows(IllegalArgumentException.class, () -> maintenanceService.scheduleWindow(station.getId(),
+                    window(null, TOMORROW, TOMORROW)));
+        } finally {
+            stationRepository.delete(other);
+        }
+    }
+
+    @Test
+    void createBooking_isRejectedInsideAStationWindowOnly() {
+        maintenanceService.scheduleWindow(station.getId(), window(null, TOMORROW, TOMORROW.plusHours(2)));
+
+        InvalidBookingException e = assertThrows(InvalidBookingException.class, () -> bookingService.createBooking(
+                booking(second, TOMORROW.plusHours(1))));
+        assertEquals(InvalidBookingException.Reason.MAINTENANCE, e.getReason());
+
+        // Windows are half-open, so a booking may start the moment maintenance ends
+        Booking after = bookingService.createBooking(booking(second, TOMORROW.plusHours(2)));
+        assertNotNull(after.getId());
+    }
+
+    @Test
+    void applyTransitions_holdsChargersWhileTheWindowRunsAndReleasesThemAfter() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        MaintenanceWindow window = maintenanceService.scheduleWindow(station.getId(),
+                window(first.getId(), now.minusMinutes(5), now.plusHours(1))).getWindow();
+
+        maintenanceService.applyTransitions(now);
+
+        assertEquals(MaintenanceWindow.Status.ACTIVE, status(window));
+        assertEquals(Charger.Status.UNDER_MAINTENANCE, chargerStatus(first));
+        assertEquals(Charger.Status.AVAILABLE, chargerStatus(second));
+
+        maintenanceService.applyTransitions(now.plusHours(1));
+
+        assertEquals(MaintenanceWindow.Status.COMPLETED, status(window));
+        assertEquals(Charger.Status.AVAILABLE, chargerStatus(first));
+    }
+
+    @Test
+    void applyTransitions_keepsChargersCoveredByAnotherRunningWindow() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        MaintenanceWindow shortWindow = maintenanceService.scheduleWindow(station.getId(),
+                window(first.getId(), now.minusMinutes(5), now.plusMinutes(30))).getWindow();
+        maintenanceService.scheduleWindow(station.getId(), window(null, now.minusMinutes(5), now.plusHours(2)));
+        maintenanceService.applyTransitions(now);
+
+        maintenanceService.applyTransitions(now.plusHours(1));
+
+        assertEquals(MaintenanceWindow.Status.COMPLETED, status(shortWindow));
+        assertEquals(Charger.Status.UNDER_MAINTENANCE, chargerStatus(first));
+        assertEquals(Charger.Status.UNDER_MAINTENANCE, chargerStatus(second));
+    }
+
+    @Test
+    void applyTransitions_leavesChargersPutUnderMaintenanceByHand() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        first.setStatus(Charger.Status.UNDER_MAINTENANCE);
+        chargerRepository.save(first);
+        maintenanceService.scheduleWindow(station.getId(), window(null, now.minusMinutes(5), now.plusMinutes(30)));
+        maintenanceService.applyTransitions(now);
+
+        maintenanceService.applyTransitions(now.plusHours(1));
+
+        assertEquals(Charger.Status.UNDER_MAINTENANCE, chargerStatus(first));
+        assertEquals(Charger.Status.AVAILABLE, chargerStatus(second));
+    }
+
+    @Test
+    void cancelWindow_releasesTheChargersOfARunningWindow() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        MaintenanceWindow window = maintenanceService.scheduleWindow(station.getId(),
+                window(null, now.minusMinutes(5), now.plusHours(1))).getWindow();
+        maintenanceService.applyTransitions(now);
+
+        maintenanceService.cancelWindow(window.getId());
+
+        assertEquals(MaintenanceWindow.Status.CANCELLED, status(window));
+        assertEquals(Charger.Status.AVAILABLE, chargerStatus(first));
+        assertEquals(Charger.Status.AVAILABLE, chargerStatus(second));
+        assertThrows(IllegalStateException.class, () -> maintenanceService.cancelWindow(window.getId()));
+    }
+
+    @Test
+    void applyTransitions_doesNotStartAWindowCancelledAfterItWasListed() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        MaintenanceWindow window = maintenanceService.scheduleWindow(station.getId(),
+                window(null, now.minusMinutes(5), now.plusHours(1))).getWindow();
+        List<MaintenanceWindow> listed = maintenanceWindowRepository.findDue(now);
+        maintenanceService.cancelWindow(window.getId());
+        doReturn(listed).when(maintenanceWindowRepository).findDue(any());
+
+        maintenanceService.applyTransitions(now);
+
+        assertEquals(MaintenanceWindow.Status.CANCELLED, status(window));
+        assertEquals(Charger.Status.AVAILABLE, chargerStatus(first));
+        assertEquals(Charger.Status.AVAILABLE, chargerStatus(second));
+    }
+
+    private Charger saveCharger() {
+        return chargerRepository.save(Charger.builder()
+                .type("CCS").power(50.0).status(Charger.Status.AVAILABLE).station(station).build());
+    }
+
+    private static MaintenanceWindow window(Long chargerId, LocalDateTime start, LocalDateTime end) {
+        return MaintenanceWindow.builder().chargerId(chargerId).startTime(start).endTime(end).reason("Inspection")
+                .build();
+    }
+
+    private Booking booking(Charger charger, LocalDateTime start) {
+        return Booking.builder().userId(driverId).charger(charger).startTime(start).endTime(start.plusHours(1))
+                .build();
+    }
+
+    private Long saveBooking(Charger charger, LocalDateTime start, Booking.Status status) {
+        Booking booking = booking(charger, start);
+        booking.setStatus(status);
+        return bookingRepository.save(booking).getId();
+    }
+
+    private MaintenanceWindow.Status status(MaintenanceWindow window) {
+        return maintenanceWindowRepository.findById(window.getId()).orElseThrow().getStatus();
+    }
+
+    private Charger.Status chargerStatus(Charger charger) {
+        return chargerRepository.findById(charger.getId()).orElseThrow().getStatus();
+    }
+}
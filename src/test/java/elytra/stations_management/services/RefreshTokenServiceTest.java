@@ -0,0 +1,99 @@
+package elytra.stations_management.services;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.LeaderElection;
+import elytra.stations_management.config.JwtProperties;
+import elytra.stations_management.exception.InvalidTokenException;
+import elytra.stations_management.models.RefreshToken;
+import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.RefreshTokenRepository;
+import elytra.stations_management.repositories.SigningKeyRepository;
+import elytra.stations_management.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtService jwtService;
+    private RefreshTokenService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        jwtService = new JwtService(properties, new SigningKeyService(mock(SigningKeyRepository.class),
+                mock(ClusterEventBus.class), mock(LeaderElection.class), properties));
+        service = new RefreshTokenService(repository, userRepository, jwtService);
+        user = User.builder().id(3L).username("driver").userType(User.UserType.EV_DRIVER).build();
+    }
+
+    @Test
+    void issue_ShouldPersistTokenOfNewFamily() {
+        Claims claims = jwtService.extractAllClaims(service.issue(user));
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertEquals(claims.getId(), saved.getValue().getId());
+        assertEquals(claims.get(JwtService.CLAIM_FAMILY), saved.getValue().getFamilyId());
+        assertEquals(3L, saved.getValue().getUserId());
+    }
+
+    @Test
+    void rotate_ShouldIssueNextTokenInSameFamily() {
+        String refreshToken = service.issue(user);
+        Claims first = jwtService.extractAllClaims(refreshToken);
+        when(repository.markUsed(eq(first.getId()), any())).thenReturn(1);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+
+        RefreshTokenService.TokenPair tokens = service.rotate(refreshToken);
+
+        Claims access = jwtService.extractAllClaims(tokens.accessToken());
+        Claims next = jwtService.extractAllClaims(tokens.refreshToken());
+        assertEquals("ROLE_EV_DRIVER", access.get(JwtService.CLAIM_ROLE));
+        assertEquals(first.get(JwtService.CLAIM_FAMILY), next.get(JwtService.CLAIM_FAMILY));
+        assertNotEquals(first.getId(), next.getId());
+        verify(repository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void rotate_ReusedToken_ShouldRevokeWholeFamily() {
+        String refreshToken = service.issue(user);
+        String family = jwtService.extractAllClaims(refreshToken).get(JwtService.CLAIM_FAMILY, String.class);
+        when(repository.markUsed(any(), any())).thenReturn(0);
+
+        assertThrows(InvalidTokenException.class, () -> service.rotate(refreshToken));
+
+        verify(repository).revokeFamily(family);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rotate_AccessToken_ShouldBeRejected() {
+        String accessToken = jwtService.generateToken(user);
+
+        assertThrows(InvalidTokenException.class, () -> service.rotate(accessToken));
+        assertThrows(InvalidTokenException.class, () -> service.rotate("not.a.token"));
+        verify(repository, never()).markUsed(any(), any());
+    }
+}
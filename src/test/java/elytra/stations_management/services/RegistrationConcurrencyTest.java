@@ -0,0 +1,146 @@
+package elytra.stations_management.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import elytra.stations_management.exception.LicensePlateAlreadyRegisteredException;
+import elytra.stations_management.exception.UserException;
+import elytra.stations_management.models.Car;
+import elytra.stations_management.models.EVDriver;
+import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.CarRepository;
+import elytra.stations_management.repositories.EVDriverRepository;
+import elytra.stations_management.repositories.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RegistrationConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EVDriverRepository evDriverRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    private final String suffix = UUID.randomUUID().toString().substring(0, 8);
+    private final List<EVDriver> drivers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        carRepository.findAll().stream()
+                .filter(car -> car.getLicensePlate().endsWith(suffix))
+                .forEach(carRepository::delete);
+        evDriverRepository.deleteAll(drivers);
+        userRepository.findAll().stream()
+                .filter(user -> user.getUsername().endsWith(suffix))
+                .forEach(userRepository::delete);
+    }
+
+    @Test
+    void registerUser_concurrentSameUsername_onlyOneSucceeds() throws Exception {
+        String username = "racer-" + suffix;
+
+        List<Throwable> failures = race(i -> userService.registerUser(User.builder()
+                .username(username).password("password").email("racer" + i + "-" + suffix + "@example.com")
+                .firstName("Race").lastName("Condition").userType(User.UserType.EV_DRIVER).build()));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(failure -> {
+            assertInstanceOf(UserException.class, failure);
+            assertEquals("Username already exists: " + username, failure.getMessage());
+        });
+        assertEquals(1, userRepository.findAll().stream().filter(user -> user.getUsername().equals(username)).count());
+    }
+
+    @Test
+    void registerUser_concurrentSameEmail_onlyOneSucceeds() throws Exception {
+        String email = "shared-" + suffix + "@example.com";
+
+        List<Throwable> failures = race(i -> userService.registerUser(User.builder()
+                .username("mail" + i + "-" + suffix).password("password").email(email)
+                .firstName("Race").lastName("Condition").userType(User.UserType.EV_DRIVER).build()));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(failure -> assertEquals("Email already exists: " + email, failure.getMessage()));
+        assertEquals(1, userRepository.findAll().stream().filter(user -> email.equals(user.getEmail())).count());
+    }
+
+    @Test
+    void registerCar_concurrentSamePlate_onlyOneSucceeds() throws Exception {
+        User owner = User.builder()
+                .username("owner-" + suffix).password("password").email("owner-" + suffix + "@example.com")
+                .firstName("Car").lastName("Owner").userType(User.UserType.EV_DRIVER).build();
+        EVDriver driver = evDriverRepository.save(EVDriver.builder().user(owner).build());
+        drivers.add(driver);
+        String plate = "RACE-" + suffix;
+
+        List<Throwable> failures = race(i -> carService.registerCar(Car.builder()
+                .model("Model " + i).licensePlate(plate).batteryCapacity(60.0).chargerType("CCS").build(),
+                driver.getId()));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(failure -> assertInstanceOf(LicensePlateAlreadyRegisteredException.class, failure));
+        assertEquals(1, carRepository.findByEvDriverId(driver.getId()).size());
+    }
+
+    private interface Attempt {
+        void run(int i);
+    }
+
+    /** Runs {@link #THREADS} attempts released at once and returns the ones that failed. */
+    private List<Throwable> race(Attempt attempt) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                attempt.run(index);
+                return null;
+            }));
+        }
+        start.countDown();
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("Registration did not finish", e);
+            }
+        }
+        executor.shutdown();
+        return failures;
+    }
+}
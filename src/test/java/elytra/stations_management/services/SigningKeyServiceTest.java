@@ -0,0 +1,137 @@
+package elytra.stations_management.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.ClusterInvalidationEvent;
+import elytra.stations_management.cluster.LeaderElection;
+import elytra.stations_management.config.JwtProperties;
+import elytra.stations_management.models.SigningKey;
+import elytra.stations_management.repositories.SigningKeyRepository;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+@ExtendWith(MockitoExtension.class)
+class SigningKeyServiceTest {
+
+    @Mock
+    private SigningKeyRepository repository;
+
+    @Mock
+    private ClusterEventBus clusterEventBus;
+
+    @Mock
+    private LeaderElection leaderElection;
+
+    private JwtProperties properties;
+    private SigningKeyService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        service = new SigningKeyService(repository, clusterEventBus, leaderElection, properties);
+    }
+
+    @Test
+    void signingKey_EmptyTable_ShouldCreateAndPersistActiveKey() {
+        SigningKeyService.ActiveKey key = service.signingKey();
+
+        ArgumentCaptor<SigningKey> saved = ArgumentCaptor.forClass(SigningKey.class);
+        verify(repository).save(saved.capture());
+        assertEquals(key.kid(), saved.getValue().getKid());
+        assertEquals("RS256", saved.getValue().getAlgorithm());
+        assertFalse(saved.getValue().getActivatesAt().isAfter(Instant.now()));
+        assertNotNull(service.verificationKey(key.kid()));
+        assertSame(key, service.signingKey());
+    }
+
+    @Test
+    void rotate_WhenNewestKeyIsOld_ShouldPublishPendingKeyAndKeepSigningWithCurrent() {
+        SigningKeyService.ActiveKey current = service.signingKey();
+        SigningKey currentRow = captureSaved();
+        currentRow.setCreatedAt(Instant.now().minus(Duration.ofDays(8)));
+        currentRow.setActivatesAt(currentRow.getCreatedAt());
+        when(leaderElection.tryAcquire(anyString())).thenReturn(true);
+        when(repository.findFirstByOrderByCreatedAtDesc()).thenReturn(Optional.of(currentRow));
+
+        service.rotate();
+
+        ArgumentCaptor<SigningKey> saved = ArgumentCaptor.forClass(SigningKey.class);
+        verify(repository, times(2)).save(saved.capture());
+        SigningKey pending = saved.getAllValues().get(1);
+        assertTrue(pending.getActivatesAt().isAfter(Instant.now()));
+        verify(repository).deleteExpired(any(), eq(current.kid()));
+        verify(clusterEventBus).publish(SigningKeyService.CLUSTER_TOPIC);
+
+        when(repository.findAll()).thenReturn(List.of(currentRow, pending));
+        service.reload();
+        assertEquals(current.kid(), service.signingKey().kid());
+        assertEquals(2, service.publishedKeys().size());
+
+        pending.setActivatesAt(Instant.now().minusSeconds(1));
+        service.onClusterInvalidation(new ClusterInvalidationEvent(SigningKeyService.CLUSTER_TOPIC));
+        assertEquals(pending.getKid(), service.signingKey().kid());
+        assertNotNull(service.verificationKey(current.kid()));
+    }
+
+    @Test
+    void rotate_WhenNotLeader_ShouldDoNothing() {
+        when(leaderElection.tryAcquire(anyString())).thenReturn(false);
+
+        service.rotate();
+
+        verifyNoInteractions(repository, clusterEventBus);
+    }
+
+    @Test
+    void verificationKey_UnknownKid_ShouldReloadAtMostOncePerInterval() {
+        properties.getKeys().setMinReloadInterval(Duration.ofHours(1));
+
+        assertNull(service.verificationKey("unknown"));
+        assertNull(service.verificationKey("unknown"));
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void toJwk_ShouldExposeOnlyPublicParameters() {
+        SigningKeyService.ActiveKey key = service.signingKey();
+
+        Map<String, Object> rsa = SigningKeyService.toJwk(service.publishedKeys().get(0));
+        assertEquals(key.kid(), rsa.get("kid"));
+        assertEquals("RSA", rsa.get("kty"));
+        assertEquals("RS256", rsa.get("alg"));
+        assertEquals("AQAB", rsa.get("e"));
+        assertFalse(rsa.containsKey("d"));
+
+        properties.getKeys().setAlgorithm(SignatureAlgorithm.ES256);
+        SigningKeyService ec = new SigningKeyService(repository, clusterEventBus, leaderElection, properties);
+        ec.signingKey();
+        Map<String, Object> jwk = SigningKeyService.toJwk(ec.publishedKeys().get(0));
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals(43, ((String) jwk.get("x")).length());
+    }
+
+    private SigningKey captureSaved() {
+        ArgumentCaptor<SigningKey> saved = ArgumentCaptor.forClass(SigningKey.class);
+        verify(repository).save(saved.capture());
+        return saved.getValue();
+    }
+}
@@ -0,0 +1,95 @@
+package elytra.stations_management.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.ClusterInvalidationEvent;
+
+import elytra.stations_management.models.Station;
+
+class StationJsonCacheTest {
+
+    private StationJsonCache cache;
+    private ClusterEventBus clusterEventBus;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clusterEventBus = mock(ClusterEventBus.class);
+        cache = new StationJsonCache(new ObjectMapper(), clusterEventBus);
+        loads = new AtomicInteger();
+    }
+
+    private List<Station> loadStations() {
+        loads.incrementAndGet();
+        return List.of(Station.builder().id(1L).name("Central Station").address("123 Main St").build());
+    }
+
+    @Test
+    void getStations_servesCachedBytesUntilInvalidated() {
+        StationJsonCache.Entry first = cache.getStations(() -> "v1", this::loadStations);
+        StationJsonCache.Entry second = cache.getStations(() -> "v1", this::loadStations);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        cache.invalidate();
+        StationJsonCache.Entry third = cache.getStations(() -> "v2", this::loadStations);
+
+        assertEquals(2, loads.get());
+        assertEquals("v2", third.eTag());
+    }
+
+    @Test
+    void getStation_gzipCopyDecompressesToJson() throws IOException {
+        StationJsonCache.Entry entry = cache.getStation(1L, () -> "v1",
+                () -> Station.builder().id(1L).name("Central Station").address("123 Main St").build());
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.gzip()))) {
+            assertArrayEquals(entry.json(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void get_whenInvalidatedDuringLoad_doesNotPublishStaleEntry() {
+        cache.getStations(() -> "v1", () -> {
+            cache.invalidate();
+            return loadStations();
+        });
+        cache.getStations(() -> "v2", this::loadStations);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_broadcastsAndRemoteInvalidationClears() {
+        cache.getStations(() -> "v1", this::loadStations);
+
+        cache.invalidate();
+        verify(clusterEventBus).publish(StationJsonCache.CLUSTER_TOPIC);
+
+        cache.getStations(() -> "v2", this::loadStations);
+        cache.onClusterInvalidation(new ClusterInvalidationEvent("other-topic"));
+        cache.getStations(() -> "v2", this::loadStations);
+        assertEquals(2, loads.get());
+
+        cache.onClusterInvalidation(new ClusterInvalidationEvent(StationJsonCache.CLUSTER_TOPIC));
+        cache.getStations(() -> "v3", this::loadStations);
+        assertEquals(3, loads.get());
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,7 +17,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import static org.mockito.Mockito.never;
+import static org.mockito.ArgumentMatchers.any;
 
+import elytra.stations_management.dto.ChargerPatch;
+import elytra.stations_management.dto.StationPatch;
 import elytra.stations_management.models.Charger;
 import elytra.stations_management.models.Station;
 import elytra.stations_management.repositories.StationRepository;
@@ -25,6 +30,12 @@ class StationServiceTest {
     @Mock
     private StationRepository stationRepository;
 
+    @Mock
+    private StationJsonCache stationJsonCache;
+
+    @Mock
+    private ChargerService chargerService;
+
     @InjectMocks
     private StationService stationService;
 
@@ -284,5 +295,97 @@ class StationServiceTest {
         verify(stationRepository, times(1)).delete(station);
     }
 
+    @Test
+    void patchStation_changesOnlyTheGivenFields() {
+        Charger charger = Charger.builder().id(5L).type("CCS").power(50.0).build();
+        Station existingStation = Station.builder()
+                .id(1L)
+                .name("Central Station")
+                .address("123 Main St")
+                .latitude(40.12345)
+                .chargers(new ArrayList<>(List.of(charger)))
+                .build();
+        when(stationRepository.findById(1L)).thenReturn(java.util.Optional.of(existingStation));
+
+        Station result = stationService.patchStation(1L, new StationPatch("Renamed", null, null, null, null));
+
+        assertEquals("Renamed", result.getName());
+        assertEquals("123 Main St", result.getAddress());
+        assertEquals(40.12345, result.getLatitude());
+        assertEquals(List.of(charger), result.getChargers());
+        verify(stationJsonCache).invalidate();
+    }
+
+    @Test
+    void patchStation_updatesListedChargersInPlaceAndRoutesStatusThroughChargerService() {
+        Charger kept = Charger.builder().id(5L).type("CCS").power(50.0).status(Charger.Status.BEING_USED).build();
+        Charger dropped = Charger.builder().id(6L).type("Type2").power(22.0).build();
+        Station existingStation = Station.builder()
+                .id(1L)
+                .name("Central Station")
+                .address("123 Main St")
+                .chargers(new ArrayList<>(List.of(kept, dropped)))
+                .build();
+        when(stationRepository.findById(1L)).thenReturn(java.util.Optional.of(existingStation));
 
-}
\ No newline at end of file
+        Station result = stationService.patchStation(1L, new StationPatch(null, null, null, null, List.of(
+                new ChargerPatch(5L, null, 150.0, null),
+                new ChargerPatch(null, "CHAdeMO", 50.0, null))));
+
+        assertEquals(2, result.getChargers().size());
+        assertSame(kept, result.getChargers().get(0));
+        assertEquals(150.0, kept.getPower());
+        // The patch left the status out, so the charger keeps it
+        assertEquals(Charger.Status.BEING_USED, kept.getStatus());
+        assertEquals(Charger.Status.AVAILABLE, result.getChargers().get(1).getStatus());
+        assertEquals(existingStation, result.getChargers().get(1).getStation());
+        verify(chargerService, never()).updateChargerAvailability(any(), any());
+
+        stationService.patchStation(1L, new StationPatch(null, null, null, null, List.of(
+                new ChargerPatch(5L, null, null, Charger.Status.OUT_OF_SERVICE))));
+
+        verify(chargerService).updateChargerAvailability(5L, Charger.Status.OUT_OF_SERVICE);
+    }
+
+    @Test
+    void patchStation_rejectsInvalidPatches() {
+        Station existingStation = Station.builder()
+                .id(1L)
+                .name("Central Station")
+                .address("123 Main St")
+                .chargers(new ArrayList<>(List.of(Charger.builder().id(5L).type("CCS").power(50.0).build())))
+                .build();
+        when(stationRepository.findById(1L)).thenReturn(java.util.Optional.of(existingStation));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> stationService.patchStation(1L, new StationPatch(" ", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> stationService.patchStation(1L,
+                new StationPatch(null, null, null, null, List.of(new ChargerPatch(99L, null, null, null)))));
+        assertThrows(IllegalArgumentException.class, () -> stationService.patchStation(1L,
+                new StationPatch(null, null, null, null, List.of(new ChargerPatch(null, "CCS", null, null)))));
+        assertEquals(1, existingStation.getChargers().size());
+    }
+
+    @Test
+    void updateStation_keepsChargersThatAreListedById() {
+        Charger kept = Charger.builder().id(5L).type("CCS").power(50.0).build();
+        Station existingStation = Station.builder()
+                .id(1L)
+                .name("Central Station")
+                .address("123 Main St")
+                .chargers(new ArrayList<>(List.of(kept, Charger.builder().id(6L).type("Type2").power(22.0).build())))
+                .build();
+        when(stationRepository.findById(1L)).thenReturn(java.util.Optional.of(existingStation));
+
+        Station updateData = Station.builder()
+                .name("Central Station")
+                .address("123 Main St")
+                .chargers(new ArrayList<>(List.of(Charger.builder().id(5L).type("CCS").power(50.0).build())))
+                .build();
+        Station result = stationService.updateStation(1L, updateData);
+
+        // Same managed instance, so its row is kept rather than deleted and reinserted
+        assertEquals(1, result.getChargers().size());
+        assertSame(kept, result.getChargers().get(0));
+    }
+}
@@ -0,0 +1,178 @@
+package elytra.stations_management.services;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import elytra.stations_management.dto.LivePowerReading;
+import elytra.stations_management.dto.TelemetrySample;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.ChargerStatusSegment;
+import elytra.stations_management.models.ChargerTelemetry;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.ChargerTelemetryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryServiceTest {
+
+    @Mock
+    private ChargerTelemetryRepository chargerTelemetryRepository;
+
+    @Mock
+    private ChargerRepository chargerRepository;
+
+    @Mock
+    private ChargerService chargerService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TelemetryService telemetryService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(chargerRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 5L));
+        telemetryService = newService(600_000);
+    }
+
+    private TelemetryService newService(long evictAfterMillis) {
+        return new TelemetryService(chargerTelemetryRepository, chargerRepository, chargerService,
+                new SimpleMeterRegistry(), transactionManager, 64, 2, 0.5, 60_000, 60_000, evictAfterMillis);
+    }
+
+    @Test
+    void ingest_rejectsMissingIdsAndChargersBeyondLimit() {
+        int accepted = telemetryService.ingest(List.of(
+                new TelemetrySample(1L, 0, 11, 0.1),
+                new TelemetrySample(null, 0, 11, 0.1),
+                new TelemetrySample(2L, 0, 0, 0),
+                new TelemetrySample(3L, 0, 7, 0.1)));
+
+        assertEquals(2, accepted);
+        LivePowerReading live = telemetryService.getLiveReading(1L);
+        assertEquals(11, live.getPowerKw());
+        assertThrows(RuntimeException.class, () -> telemetryService.getLiveReading(3L));
+    }
+
+    @Test
+    void ingest_rejectsUnknownChargerIds() {
+        assertEquals(0, telemetryService.ingest(List.of(new TelemetrySample(99L, 0, 11, 0.1))));
+
+        assertThrows(RuntimeException.class, () -> telemetryService.getLiveReading(99L));
+    }
+
+    @Test
+    void ingestFrames_decodesBinaryFrames() {
+        ByteBuffer frames = ByteBuffer.allocate(2 * TelemetryService.FRAME_BYTES);
+        frames.putLong(5L).putLong(1_000).putFloat(7.5f).putDouble(0.25);
+        frames.putLong(5L).putLong(2_000).putFloat(9.5f).putDouble(0.5);
+        frames.flip();
+
+        assertEquals(2, telemetryService.ingestFrames(frames));
+        assertEquals(9.5, telemetryService.getLiveReading(5L).getPowerKw());
+        assertEquals(8.5, telemetryService.getLiveReading(5L).getAveragePowerKw());
+        assertThrows(IllegalArgumentException.class, () -> telemetryService.ingestFrames(ByteBuffer.allocate(5)));
+    }
+
+    @Test
+    void applyStatusTransitions_marksChargerInUseOnceWhenPowerStarts() {
+        telemetryService.ingest(List.of(new TelemetrySample(1L, 0, 22, 0.1), new TelemetrySample(1L, 1_000, 22, 0.2)));
+
+        telemetryService.applyStatusTransitions();
+        telemetryService.applyStatusTransitions();
+
+        verify(chargerService).updateChargerAvailabilityIf(1L, Charger.Status.AVAILABLE, Charger.Status.BEING_USED,
+                ChargerStatusSegment.Cause.TELEMETRY);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_writesOneRowPerChargerBucket() {
+        telemetryService.ingest(List.of(
+                new TelemetrySample(1L, 0, 10, 1.0),
+                new TelemetrySample(1L, 30_000, 30, 2.0),
+                new TelemetrySample(2L, 0, 0, 0)));
+
+        telemetryService.flush();
+
+        ArgumentCaptor<List<ChargerTelemetry>> rows = ArgumentCaptor.forClass(List.class);
+        verify(chargerTelemetryRepository).saveAll(rows.capture());
+        ChargerTelemetry charger1 = rows.getValue().stream().filter(row -> row.getChargerId() == 1L).findFirst()
+                .orElseThrow();
+        assertEquals(2, rows.getValue().size());
+        assertEquals(20.0, charger1.getAvgPowerKw());
+        assertEquals(30.0, charger1.getMaxPowerKw());
+        assertEquals(2.0, charger1.getEnergyKwh());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_mergesLateAndOutOfOrderSamplesIntoStoredBucket() {
+        ChargerTelemetry stored = ChargerTelemetry.builder()
+                .chargerId(1L)
+                .bucketStart(Instant.ofEpochMilli(0))
+                .avgPowerKw(10.0)
+                .maxPowerKw(10.0)
+                .energyKwh(1.0)
+                .sampleCount(2)
+                .build();
+        when(chargerTelemetryRepository.findForUpdate(anyCollection(), anyCollection())).thenReturn(List.of(stored));
+        // Arrives after the 0-60s bucket was flushed, interleaved with the next bucket
+        telemetryService.ingest(List.of(
+                new TelemetrySample(1L, 65_000, 40, 3.0),
+                new TelemetrySample(1L, 50_000, 40, 2.0),
+                new TelemetrySample(1L, 70_000, 20, 3.5)));
+
+        telemetryService.flush();
+
+        ArgumentCaptor<List<ChargerTelemetry>> rows = ArgumentCaptor.forClass(List.class);
+        verify(chargerTelemetryRepository).saveAll(rows.capture());
+        assertEquals(2, rows.getValue().size());
+        ChargerTelemetry merged = rows.getValue().get(0);
+        assertEquals(stored, merged);
+        assertEquals(3, merged.getSampleCount());
+        assertEquals(20.0, merged.getAvgPowerKw());
+        assertEquals(40.0, merged.getMaxPowerKw());
+        assertEquals(2.0, merged.getEnergyKwh());
+        ChargerTelemetry next = rows.getValue().get(1);
+        assertEquals(Instant.ofEpochMilli(60_000), next.getBucketStart());
+        assertEquals(2, next.getSampleCount());
+        assertEquals(30.0, next.getAvgPowerKw());
+        assertEquals(3.5, next.getEnergyKwh());
+    }
+
+    @Test
+    void flush_evictsIdleBuffers() {
+        telemetryService = newService(-1);
+        telemetryService.ingest(List.of(new TelemetrySample(2L, 0, 0, 0)));
+
+        telemetryService.flush();
+
+        assertThrows(RuntimeException.class, () -> telemetryService.getLiveReading(2L));
+    }
+
+    @Test
+    void flush_withNothingBufferedWritesNothing() {
+        telemetryService.flush();
+
+        verify(chargerTelemetryRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,85 @@
+package elytra.stations_management.services;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import elytra.stations_management.cluster.ClusterEventBus;
+import elytra.stations_management.cluster.ClusterInvalidationEvent;
+import elytra.stations_management.models.RevokedToken;
+import elytra.stations_management.repositories.RevokedTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    @Mock
+    private ClusterEventBus clusterEventBus;
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenRevocationService(repository, clusterEventBus, 1000, 0.001);
+    }
+
+    @Test
+    void isRevoked_UnknownToken_ShouldNotTouchDatabase() {
+        assertFalse(service.isRevoked("jti-1"));
+        assertFalse(service.isRevoked(null));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void revoke_ShouldPersistAndConfirmAgainstDatabase() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(repository.existsById("jti-1")).thenReturn(true);
+
+        service.revoke("jti-1", expiresAt);
+
+        assertTrue(service.isRevoked("jti-1"));
+        verify(repository).save(RevokedToken.builder().jti("jti-1").expiresAt(expiresAt).build());
+        verify(clusterEventBus).publish(TokenRevocationService.CLUSTER_TOPIC);
+    }
+
+    @Test
+    void revoke_ExpiredToken_ShouldBeIgnored() {
+        service.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        verifyNoInteractions(repository, clusterEventBus);
+    }
+
+    @Test
+    void clusterInvalidation_ShouldRebuildFromDatabase() {
+        when(repository.findActiveJtis(any())).thenReturn(List.of("remote-jti"));
+        when(repository.existsById("remote-jti")).thenReturn(true);
+
+        service.onClusterInvalidation(new ClusterInvalidationEvent("stations"));
+        assertFalse(service.isRevoked("remote-jti"));
+
+        service.onClusterInvalidation(new ClusterInvalidationEvent(TokenRevocationService.CLUSTER_TOPIC));
+        assertTrue(service.isRevoked("remote-jti"));
+    }
+
+    @Test
+    void rebuild_ShouldDropTokensNoLongerActive() {
+        service.revoke("jti-1", Instant.now().plusSeconds(600));
+        when(repository.findActiveJtis(any())).thenReturn(List.of());
+
+        service.rebuild();
+
+        assertFalse(service.isRevoked("jti-1"));
+    }
+}
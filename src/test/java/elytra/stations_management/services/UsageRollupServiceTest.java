@@ -0,0 +1,189 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.DailyUsageRollup;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.ArchivedBookingRepository;
+import elytra.stations_management.repositories.BookingRepository;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.DailyUsageRollupRepository;
+import elytra.stations_management.repositories.StationDailyUsage;
+import elytra.stations_management.repositories.StationRepository;
+import elytra.stations_management.repositories.UserRepository;
+
+@SpringBootTest(properties = {
+        "app.reports.rollup.chunk-size=1",
+        "app.reports.rollup.parallelism=2"
+})
+@ActiveProfiles("test")
+class UsageRollupServiceTest {
+
+    @Autowired
+    private UsageRollupService usageRollupService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    @Autowired
+    private DailyUsageRollupRepository rollupRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private ChargerRepository chargerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Station station;
+    private Charger fast;
+    private Charger slow;
+    private Long driverId;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        archivedBookingRepository.deleteAll();
+        rollupRepository.deleteAll();
+        station = stationRepository.save(Station.builder().name("Rollup Station").address("2 Sum St").build());
+        fast = chargerRepository.save(Charger.builder()
+                .type("CCS").power(50.0).status(Charger.Status.AVAILABLE).station(station).build());
+        slow = chargerRepository.save(Charger.builder()
+                .type("Type 2").power(11.0).status(Charger.Status.AVAILABLE).station(station).build());
+        driverId = userRepository.findByUsername("rollup-user")
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .username("rollup-user").password("password").email("rollup-user@example.com")
+                        .firstName("Rollup").lastName("User").userType(User.UserType.EV_DRIVER).build()))
+                .getId();
+    }
+
+    @Test
+    void completingBookings_updatesRollupsIncrementally() {
+        LocalDateTime day = LocalDateTime.now().minusDays(2).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        complete(save(fast, day, 60));
+        complete(save(fast, day.plusHours(2), 30));
+        complete(save(slow, day, 120));
+        bookingService.updateBookingStatus(save(slow, day.plusHours(4), 60), Booking.Status.CANCELLED);
+
+        List<DailyUsageRollup> rows = usageRollupService.getChargerReport(station.getId(),
+                day.toLocalDate(), day.toLocalDate());
+
+        assertEquals(2, rows.size());
+        DailyUsageRollup fastRow = rows.stream().filter(r -> r.getChargerId().equals(fast.getId())).findFirst()
+                .orElseThrow();
+        assertEquals(2L, fastRow.getSessions());
+        assertEquals(75.0, fastRow.getEnergyKwh(), 1e-9);
+        assertEquals(90L, fastRow.getBookedMinutes());
+
+        List<StationDailyUsage> report = usageRollupService.getStationReport(station.getId(),
+                day.toLocalDate().minusDays(1), day.toLocalDate().plusDays(1));
+        assertEquals(1, report.size());
+        assertEquals(3L, report.get(0).getSessions());
+        assertEquals(97.0, report.get(0).getEnergyKwh(), 1e-9);
+        assertEquals(210L, report.get(0).getBookedMinutes());
+    }
+
+    @Test
+    void rebuild_recomputesFromHotAndArchivedBookings() {
+        LocalDateTime old = LocalDateTime.now().minusDays(90).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime recent = LocalDateTime.now().minusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        complete(save(fast, old, 60));
+        bookingArchiver.archive(LocalDateTime.now().minusDays(30));
+        complete(save(slow, recent, 60));
+        saveWithStatus(fast, recent, 60, Booking.Status.COMPLETED);
+
+        usageRollupService.rebuild();
+
+        List<DailyUsageRollup> oldRows = usageRollupService.getChargerReport(station.getId(),
+                old.toLocalDate(), old.toLocalDate());
+        assertEquals(1, oldRows.size());
+        assertEquals(50.0, oldRows.get(0).getEnergyKwh(), 1e-9);
+
+        List<StationDailyUsage> recentReport = usageRollupService.getStationReport(station.getId(),
+                recent.toLocalDate(), recent.toLocalDate());
+        assertEquals(2L, recentReport.get(0).getSessions());
+        assertEquals(61.0, recentReport.get(0).getEnergyKwh(), 1e-9);
+    }
+
+    @Test
+    void concurrentCompletions_onANewDay_shareOneRow() throws Exception {
+        for (int daysAgo = 10; daysAgo < 15; daysAgo++) {
+            LocalDateTime day = LocalDateTime.now().minusDays(daysAgo).withHour(8).withMinute(0).withSecond(0)
+                    .withNano(0);
+            Long first = save(fast, day, 60);
+            Long second = save(fast, day.plusHours(2), 60);
+            CountDownLatch start = new CountDownLatch(1);
+            CompletableFuture<Void> a = CompletableFuture.runAsync(() -> completeAfter(start, first));
+            CompletableFuture<Void> b = CompletableFuture.runAsync(() -> completeAfter(start, second));
+            start.countDown();
+            CompletableFuture.allOf(a, b).get();
+
+            List<DailyUsageRollup> rows = usageRollupService.getChargerReport(station.getId(),
+                    day.toLocalDate(), day.toLocalDate());
+            assertEquals(1, rows.size());
+            assertEquals(2L, rows.get(0).getSessions());
+        }
+    }
+
+    @Test
+    void report_rejectsInvertedRange() {
+        LocalDate today = LocalDate.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> usageRollupService.getStationReport(station.getId(), today, today.minusDays(1)));
+    }
+
+    private Long save(Charger charger, LocalDateTime start, int minutes) {
+        return saveWithStatus(charger, start, minutes, Booking.Status.CONFIRMED);
+    }
+
+    private Long saveWithStatus(Charger charger, LocalDateTime start, int minutes, Booking.Status status) {
+        return bookingRepository.save(Booking.builder()
+                .startTime(start)
+                .endTime(start.plusMinutes(minutes))
+                .userId(driverId)
+                .charger(charger)
+                .status(status)
+                .build()).getId();
+    }
+
+    private void complete(Long bookingId) {
+        bookingService.updateBookingStatus(bookingId, Booking.Status.COMPLETED);
+    }
+
+    private void completeAfter(CountDownLatch start, Long bookingId) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        complete(bookingId);
+    }
+}
@@ -1,19 +1,26 @@
 package elytra.stations_management.services;
 
+import elytra.stations_management.exception.UserException;
 import elytra.stations_management.models.User;
+import elytra.stations_management.repositories.UserProfile;
 import elytra.stations_management.repositories.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,24 +60,30 @@ class UserServiceTest {
 
     @Test
     void loadUserByUsername_ShouldReturnUserDetails_WhenUserExists() {
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        UserProfile profile = new SpelAwareProxyProjectionFactory().createProjection(UserProfile.class, Map.of(
+                "id", 1L, "username", "testuser", "password", "encodedPassword",
+                "userType", User.UserType.EV_DRIVER, "driverId", 4L));
+        when(userRepository.findProfileByUsername("testuser")).thenReturn(Optional.of(profile));
 
         UserDetails userDetails = userService.loadUserByUsername("testuser");
 
         assertThat(userDetails).isNotNull();
         assertThat(userDetails.getUsername()).isEqualTo("testuser");
-        verify(userRepository).findByUsername("testuser");
+        assertThat(userDetails.getPassword()).isEqualTo("encodedPassword");
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("ROLE_EV_DRIVER");
+        assertThat(((UserInfoDetails) userDetails).getProfile().getDriverId()).isEqualTo(4L);
+        verify(userRepository).findProfileByUsername("testuser");
     }
 
     @Test
     void loadUserByUsername_ShouldThrowException_WhenUserNotFound() {
-        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findProfileByUsername("nonexistent")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.loadUserByUsername("nonexistent"))
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("User not found: nonexistent");
 
-        verify(userRepository).findByUsername("nonexistent");
+        verify(userRepository).findProfileByUsername("nonexistent");
     }
 
     @Test
@@ -84,18 +97,15 @@ class UserServiceTest {
                 .userType(User.UserType.EV_DRIVER)
                 .build();
 
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
         when(passwordEncoder.encode("plainPassword")).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         User savedUser = userService.registerUser(newUser);
 
         assertThat(savedUser).isEqualTo(testUser);
-        verify(userRepository).existsByUsername("newuser");
-        verify(userRepository).existsByEmail("new@example.com");
         verify(passwordEncoder).encode("plainPassword");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -109,15 +119,11 @@ class UserServiceTest {
                 .userType(User.UserType.EV_DRIVER)
                 .build();
 
-        when(userRepository.existsByUsername("existinguser")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("PUBLIC.UK_USERS_USERNAME_INDEX_4"));
 
         assertThatThrownBy(() -> userService.registerUser(newUser))
-                .isInstanceOf(RuntimeException.class)
+                .isInstanceOf(UserException.class)
                 .hasMessageContaining("Username already exists: existinguser");
-
-        verify(userRepository).existsByUsername("existinguser");
-        verify(userRepository, never()).existsByEmail(anyString());
-        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -131,16 +137,20 @@ class UserServiceTest {
                 .userType(User.UserType.EV_DRIVER)
                 .build();
 
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("uk_users_email"));
 
         assertThatThrownBy(() -> userService.registerUser(newUser))
-                .isInstanceOf(RuntimeException.class)
+                .isInstanceOf(UserException.class)
                 .hasMessageContaining("Email already exists: existing@example.com");
+    }
+
+    @Test
+    void registerUser_ShouldRethrow_WhenOtherConstraintViolated() {
+        DataIntegrityViolationException violation = uniqueViolation("fk_users_something_else");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation);
 
-        verify(userRepository).existsByUsername("newuser");
-        verify(userRepository).existsByEmail("existing@example.com");
-        verify(userRepository, never()).save(any());
+        assertThatThrownBy(() -> userService.registerUser(User.builder().username("u").password("p").build()))
+                .isSameAs(violation);
     }
 
     @Test
@@ -151,13 +161,13 @@ class UserServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         User updatedUser = userService.updateUser(1L, updateData);
 
         assertThat(updatedUser).isNotNull();
         verify(userRepository).findById(1L);
-        verify(userRepository).save(testUser);
+        verify(userRepository).saveAndFlush(testUser);
     }
 
     @Test
@@ -168,13 +178,13 @@ class UserServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(passwordEncoder.encode("newPassword")).thenReturn("encodedNewPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         User updatedUser = userService.updateUser(1L, updateData);
 
         assertThat(updatedUser).isNotNull();
         verify(passwordEncoder).encode("newPassword");
-        verify(userRepository).save(testUser);
+        verify(userRepository).saveAndFlush(testUser);
     }
 
     @Test
@@ -185,13 +195,13 @@ class UserServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         User updatedUser = userService.updateUser(1L, updateData);
 
         assertThat(updatedUser).isNotNull();
         verify(passwordEncoder, never()).encode(anyString());
-        verify(userRepository).save(testUser);
+        verify(userRepository).saveAndFlush(testUser);
     }
 
     @Test
@@ -203,7 +213,7 @@ class UserServiceTest {
                 .hasMessageContaining("User not found with id: 999");
 
         verify(userRepository).findById(999L);
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -237,4 +247,9 @@ class UserServiceTest {
         assertThat(result).isEmpty();
         verify(userRepository).findAll();
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException uniqueViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation", new SQLException(), constraint));
+    }
+}
@@ -0,0 +1,158 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import elytra.stations_management.models.Booking;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.models.User;
+import elytra.stations_management.models.WaitlistEntry;
+import elytra.stations_management.repositories.BookingRepository;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.StationRepository;
+import elytra.stations_management.repositories.UserRepository;
+import elytra.stations_management.repositories.WaitlistEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = "app.waitlist.match-interval-ms=3600000")
+@ActiveProfiles("test")
+class WaitlistMatcherTest {
+
+    @Autowired
+    private WaitlistMatcher waitlistMatcher;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private ChargerRepository chargerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Station station;
+    private Charger charger;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        waitlistMatcher.matchBatch();
+        waitlistEntryRepository.deleteAll();
+        station = stationRepository.save(Station.builder().name("Waitlist Station").address("3 Queue Ln").build());
+        charger = chargerRepository.save(Charger.builder()
+                .type("CCS").power(50.0).status(Charger.Status.AVAILABLE).station(station).build());
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void cancellation_booksHighestPriorityWaitingDriver() {
+        Long booked = bookingService.createBooking(booking(driver("wl-holder"))).getId();
+        WaitlistEntry stationWide = waitlistService.join(WaitlistEntry.builder()
+                .userId(driver("wl-early")).stationId(station.getId())
+                .startTime(start).endTime(start.plusHours(1)).build());
+        WaitlistEntry chargerSpecific = waitlistService.join(WaitlistEntry.builder()
+                .userId(driver("wl-specific")).chargerId(charger.getId())
+                .startTime(start).endTime(start.plusHours(1)).build());
+
+        bookingService.updateBookingStatus(booked, Booking.Status.CANCELLED);
+        assertEquals(WaitlistEntry.Status.WAITING,
+                waitlistEntryRepository.findById(chargerSpecific.getId()).orElseThrow().getStatus());
+
+        assertEquals(1, waitlistMatcher.matchBatch());
+
+        WaitlistEntry winner = waitlistEntryRepository.findById(chargerSpecific.getId()).orElseThrow();
+        assertEquals(WaitlistEntry.Status.FULFILLED, winner.getStatus());
+        assertNotNull(winner.getBookingId());
+        Booking created = bookingRepository.findById(winner.getBookingId()).orElseThrow();
+        assertEquals(winner.getUserId(), created.getUserId());
+        assertEquals(start, created.getStartTime());
+        assertEquals(WaitlistEntry.Status.WAITING,
+                waitlistEntryRepository.findById(stationWide.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void withdrawnEntry_isNotMatched() {
+        Long booked = bookingService.createBooking(booking(driver("wl-holder"))).getId();
+        WaitlistEntry entry = waitlistService.join(WaitlistEntry.builder()
+                .userId(driver("wl-early")).chargerId(charger.getId())
+                .startTime(start).endTime(start.plusHours(1)).build());
+        waitlistService.leave(entry.getId());
+
+        bookingService.deleteBooking(booked);
+
+        assertEquals(0, waitlistMatcher.matchBatch());
+        assertEquals(WaitlistEntry.Status.CANCELLED,
+                waitlistEntryRepository.findById(entry.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void unexpectedFailure_movesOnToTheNextCandidate() {
+        WaitlistEntry chargerSpecific = waitlistService.join(WaitlistEntry.builder()
+                .userId(driver("wl-specific")).chargerId(charger.getId())
+                .startTime(start).endTime(start.plusHours(1)).build());
+        WaitlistEntry stationWide = waitlistService.join(WaitlistEntry.builder()
+                .userId(driver("wl-early")).stationId(station.getId())
+                .startTime(start).endTime(start.plusHours(1)).build());
+        BookingService flakyBookingService = mock(BookingService.class);
+        when(flakyBookingService.createBooking(any(Booking.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Charger.class, charger.getId()))
+                .thenAnswer(invocation -> bookingService.createBooking(invocation.getArgument(0)));
+        WaitlistMatcher matcher = new WaitlistMatcher(waitlistEntryRepository, chargerRepository,
+                flakyBookingService, transactionManager, new SimpleMeterRegistry(), 10, 10, 10);
+        matcher.onSlotReleased(new SlotReleasedEvent(charger.getId(), station.getId(), start, start.plusHours(1)));
+
+        assertEquals(1, matcher.matchBatch());
+
+        assertEquals(WaitlistEntry.Status.WAITING,
+                waitlistEntryRepository.findById(chargerSpecific.getId()).orElseThrow().getStatus());
+        assertEquals(WaitlistEntry.Status.FULFILLED,
+                waitlistEntryRepository.findById(stationWide.getId()).orElseThrow().getStatus());
+    }
+
+    private Booking booking(Long userId) {
+        return Booking.builder()
+                .userId(userId)
+                .charger(charger)
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .status(Booking.Status.CONFIRMED)
+                .build();
+    }
+
+    private Long driver(String username) {
+        return userRepository.findByUsername(username)
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .username(username).password("password").email(username + "@example.com")
+                        .firstName("Wait").lastName("List").userType(User.UserType.EV_DRIVER).build()))
+                .getId();
+    }
+}
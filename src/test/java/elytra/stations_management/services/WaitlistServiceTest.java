@@ -0,0 +1,88 @@
+package elytra.stations_management.services;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import elytra.stations_management.exception.InvalidBookingException;
+import elytra.stations_management.models.Charger;
+import elytra.stations_management.models.Station;
+import elytra.stations_management.models.WaitlistEntry;
+import elytra.stations_management.repositories.ChargerRepository;
+import elytra.stations_management.repositories.StationRepository;
+import elytra.stations_management.repositories.WaitlistEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private ChargerRepository chargerRepository;
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private WaitlistEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.now().plusHours(2);
+        entry = WaitlistEntry.builder()
+                .userId(5L)
+                .chargerId(1L)
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .build();
+    }
+
+    @Test
+    void join_ShouldResolveStationFromCharger() {
+        when(chargerRepository.findById(1L)).thenReturn(Optional.of(Charger.builder()
+                .id(1L).station(Station.builder().id(9L).build()).build()));
+        when(waitlistEntryRepository.save(any(WaitlistEntry.class))).thenAnswer(i -> i.getArgument(0));
+
+        WaitlistEntry joined = waitlistService.join(entry);
+
+        assertEquals(9L, joined.getStationId());
+        assertEquals(WaitlistEntry.Status.WAITING, joined.getStatus());
+        assertNotNull(joined.getCreatedAt());
+    }
+
+    @Test
+    void join_WhenNeitherChargerNorStation_ShouldThrowException() {
+        entry.setChargerId(null);
+
+        assertThrows(InvalidBookingException.class, () -> waitlistService.join(entry));
+        verify(waitlistEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void join_WhenWindowInPast_ShouldThrowException() {
+        entry.setStartTime(LocalDateTime.now().minusHours(1));
+
+        assertThrows(InvalidBookingException.class, () -> waitlistService.join(entry));
+    }
+
+    @Test
+    void leave_WhenAlreadyFulfilled_ShouldThrowException() {
+        entry.setStatus(WaitlistEntry.Status.FULFILLED);
+        when(waitlistEntryRepository.findById(3L)).thenReturn(Optional.of(entry));
+
+        assertThrows(InvalidBookingException.class, () -> waitlistService.leave(3L));
+    }
+}